@@ -34,6 +34,7 @@ import org.cloudbus.cloudsim.power.PowerVmAllocationPolicyMigrationAbstract;
 import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
 import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
 import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
+import org.cloudbus.cloudsim.util.LatencyHistogram;
 import org.cloudbus.cloudsim.util.MathUtil;
 
 /**
@@ -338,22 +339,18 @@ public class Helper {
 				PowerVmAllocationPolicyMigrationAbstract vmAllocationPolicy = (PowerVmAllocationPolicyMigrationAbstract) datacenter
 						.getVmAllocationPolicy();
 
-				double executionTimeVmSelectionMean = MathUtil.mean(vmAllocationPolicy
-						.getExecutionTimeHistoryVmSelection());
-				double executionTimeVmSelectionStDev = MathUtil.stDev(vmAllocationPolicy
-						.getExecutionTimeHistoryVmSelection());
-				double executionTimeHostSelectionMean = MathUtil.mean(vmAllocationPolicy
-						.getExecutionTimeHistoryHostSelection());
-				double executionTimeHostSelectionStDev = MathUtil.stDev(vmAllocationPolicy
-						.getExecutionTimeHistoryHostSelection());
-				double executionTimeVmReallocationMean = MathUtil.mean(vmAllocationPolicy
-						.getExecutionTimeHistoryVmReallocation());
-				double executionTimeVmReallocationStDev = MathUtil.stDev(vmAllocationPolicy
-						.getExecutionTimeHistoryVmReallocation());
-				double executionTimeTotalMean = MathUtil.mean(vmAllocationPolicy
-						.getExecutionTimeHistoryTotal());
-				double executionTimeTotalStDev = MathUtil.stDev(vmAllocationPolicy
-						.getExecutionTimeHistoryTotal());
+				LatencyHistogram executionTimeVmSelection = vmAllocationPolicy.getExecutionTimeVmSelection().getHistogram();
+				LatencyHistogram executionTimeHostSelection = vmAllocationPolicy.getExecutionTimeHostSelection().getHistogram();
+				LatencyHistogram executionTimeVmReallocation = vmAllocationPolicy.getExecutionTimeVmReallocation().getHistogram();
+				LatencyHistogram executionTimeTotal = vmAllocationPolicy.getExecutionTimeTotal().getHistogram();
+				double executionTimeVmSelectionMean = executionTimeVmSelection.getMean() / 1e9;
+				double executionTimeVmSelectionStDev = executionTimeVmSelection.getStDev() / 1e9;
+				double executionTimeHostSelectionMean = executionTimeHostSelection.getMean() / 1e9;
+				double executionTimeHostSelectionStDev = executionTimeHostSelection.getStDev() / 1e9;
+				double executionTimeVmReallocationMean = executionTimeVmReallocation.getMean() / 1e9;
+				double executionTimeVmReallocationStDev = executionTimeVmReallocation.getStDev() / 1e9;
+				double executionTimeTotalMean = executionTimeTotal.getMean() / 1e9;
+				double executionTimeTotalStDev = executionTimeTotal.getStDev() / 1e9;
 
 				data.append(String.format("%.5f", executionTimeVmSelectionMean)).append(delimeter);
 				data.append(String.format("%.5f", executionTimeVmSelectionStDev)).append(delimeter);
@@ -363,6 +360,12 @@ public class Helper {
 				data.append(String.format("%.5f", executionTimeVmReallocationStDev)).append(delimeter);
 				data.append(String.format("%.5f", executionTimeTotalMean)).append(delimeter);
 				data.append(String.format("%.5f", executionTimeTotalStDev)).append(delimeter);
+				for (LatencyHistogram executionTime : List.of(executionTimeVmSelection,
+						executionTimeHostSelection, executionTimeVmReallocation, executionTimeTotal)) {
+					data.append(String.format("%.5f", executionTime.getPercentile(50) / 1e9)).append(delimeter);
+					data.append(String.format("%.5f", executionTime.getPercentile(99) / 1e9)).append(delimeter);
+					data.append(String.format("%.5f", executionTime.getMax() / 1e9)).append(delimeter);
+				}
 
 				writeMetricHistory(hosts, vmAllocationPolicy, outputFolder + "/metrics/" + experimentName
 						+ "_metric");
@@ -415,22 +418,18 @@ public class Helper {
 				PowerVmAllocationPolicyMigrationAbstract vmAllocationPolicy = (PowerVmAllocationPolicyMigrationAbstract) datacenter
 						.getVmAllocationPolicy();
 
-				double executionTimeVmSelectionMean = MathUtil.mean(vmAllocationPolicy
-						.getExecutionTimeHistoryVmSelection());
-				double executionTimeVmSelectionStDev = MathUtil.stDev(vmAllocationPolicy
-						.getExecutionTimeHistoryVmSelection());
-				double executionTimeHostSelectionMean = MathUtil.mean(vmAllocationPolicy
-						.getExecutionTimeHistoryHostSelection());
-				double executionTimeHostSelectionStDev = MathUtil.stDev(vmAllocationPolicy
-						.getExecutionTimeHistoryHostSelection());
-				double executionTimeVmReallocationMean = MathUtil.mean(vmAllocationPolicy
-						.getExecutionTimeHistoryVmReallocation());
-				double executionTimeVmReallocationStDev = MathUtil.stDev(vmAllocationPolicy
-						.getExecutionTimeHistoryVmReallocation());
-				double executionTimeTotalMean = MathUtil.mean(vmAllocationPolicy
-						.getExecutionTimeHistoryTotal());
-				double executionTimeTotalStDev = MathUtil.stDev(vmAllocationPolicy
-						.getExecutionTimeHistoryTotal());
+				LatencyHistogram executionTimeVmSelection = vmAllocationPolicy.getExecutionTimeVmSelection().getHistogram();
+				LatencyHistogram executionTimeHostSelection = vmAllocationPolicy.getExecutionTimeHostSelection().getHistogram();
+				LatencyHistogram executionTimeVmReallocation = vmAllocationPolicy.getExecutionTimeVmReallocation().getHistogram();
+				LatencyHistogram executionTimeTotal = vmAllocationPolicy.getExecutionTimeTotal().getHistogram();
+				double executionTimeVmSelectionMean = executionTimeVmSelection.getMean() / 1e9;
+				double executionTimeVmSelectionStDev = executionTimeVmSelection.getStDev() / 1e9;
+				double executionTimeHostSelectionMean = executionTimeHostSelection.getMean() / 1e9;
+				double executionTimeHostSelectionStDev = executionTimeHostSelection.getStDev() / 1e9;
+				double executionTimeVmReallocationMean = executionTimeVmReallocation.getMean() / 1e9;
+				double executionTimeVmReallocationStDev = executionTimeVmReallocation.getStDev() / 1e9;
+				double executionTimeTotalMean = executionTimeTotal.getMean() / 1e9;
+				double executionTimeTotalStDev = executionTimeTotal.getStDev() / 1e9;
 
 				Log.println(String.format(
 						"Execution time - VM selection mean: %.5f sec",
@@ -453,6 +452,10 @@ public class Helper {
 				Log.println(String.format("Execution time - total mean: %.5f sec", executionTimeTotalMean));
 				Log.println(String
 						.format("Execution time - total stDev: %.5f sec", executionTimeTotalStDev));
+				printExecutionTimePercentiles("VM selection", executionTimeVmSelection);
+				printExecutionTimePercentiles("host selection", executionTimeHostSelection);
+				printExecutionTimePercentiles("VM reallocation", executionTimeVmReallocation);
+				printExecutionTimePercentiles("total", executionTimeTotal);
 			}
 			Log.println();
 		}
@@ -460,6 +463,22 @@ public class Helper {
 		Log.setDisabled(true);
 	}
 
+	/**
+	 * Prints the median, 99th percentile and maximum of the execution times of a phase of the optimization
+	 * of the VM allocation.
+	 *
+	 * @param phase the phase
+	 * @param executionTime the execution times, in nanoseconds
+	 */
+	protected static void printExecutionTimePercentiles(String phase, LatencyHistogram executionTime) {
+		Log.println(String.format(
+				"Execution time - %s p50/p99/max: %.5f/%.5f/%.5f sec",
+				phase,
+				executionTime.getPercentile(50) / 1e9,
+				executionTime.getPercentile(99) / 1e9,
+				executionTime.getMax() / 1e9));
+	}
+
 	/**
 	 * Parses the experiment name.
 	 * 
@@ -7,11 +7,14 @@
  */
 package org.cloudbus.cloudsim;
 
+import java.io.Serial;
+import java.io.Serializable;
 import java.text.DecimalFormat;
 import java.util.LinkedList;
 import java.util.List;
 
 import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.SimulationMetrics;
 
 /**
  * Cloudlet is a user activity to be deployed on a Cloud Resource. It stores, despite all the
@@ -22,7 +25,10 @@ import org.cloudbus.cloudsim.core.CloudSim;
  * @author Remo Andreoli
  * @since CloudSim Toolkit 1.0
  */
-public class Cloudlet {
+public class Cloudlet implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     public enum CloudletStatus {
         /** The Cloudlet has been created and added to the CloudletList object. */
         CREATED,
@@ -156,6 +162,7 @@ public class Cloudlet {
      * it starts and finishes executing in a single cloud resource, without
      * being migrated, this list will have only one item.
      */
+    @SuppressWarnings("serial")
     private final List<Resource> resList;
 
     /**
@@ -221,6 +228,7 @@ public class Cloudlet {
      * transfer these files by the network is considered when placing the
      * cloudlet inside a given VM
      */
+    @SuppressWarnings("serial")
     private List<String> requiredFiles = null;
 
     /**
@@ -447,7 +455,9 @@ public class Cloudlet {
      * CloudResources. Each time a cloudlet is run on a given VM, the cloudlet's
      * execution history on each VM is registered at {@link Cloudlet#resList}
      */
-    public static class Resource {
+    public static class Resource implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
 
         /** Cloudlet's submission (arrival) time to a CloudResource. */
         public double arrivalTime = 0.0;
@@ -507,7 +517,7 @@ public class Cloudlet {
 
         //if (cloudlet.getCloudletTotalLength() * Consts.MILLION < cloudletFinishedSoFar) {
         if (getStatus() == Cloudlet.CloudletStatus.SUCCESS) {
-            setCloudletFinishedSoFar(getCloudletLength());
+            setCloudletFinishedSoFar(getCloudletTotalLength() * Consts.MILLION);
         }
     }
 
@@ -986,6 +996,11 @@ public class Cloudlet {
         double clock = CloudSim.clock();
         this.status = status;
 
+        SimulationMetrics metrics = CloudSim.getMetrics();
+        if (metrics != null) {
+            metrics.cloudletStatusChanged(prevStatus, status);
+        }
+
         if (record) {
             write("Sets Cloudlet status from " + getCloudletStatusString() + " to " + status.toString());
         }
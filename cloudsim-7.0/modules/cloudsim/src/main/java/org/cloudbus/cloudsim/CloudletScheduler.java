@@ -8,7 +8,10 @@
 
 package org.cloudbus.cloudsim;
 
+import java.io.Serial;
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -27,7 +30,9 @@ import org.cloudbus.cloudsim.lists.CloudletList;
  * @author Remo Andreoli
  * @since CloudSim Toolkit 1.0
  */
-public abstract class CloudletScheduler {
+public abstract class CloudletScheduler implements Serializable {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** The previous time. */
 	private double previousTime;
@@ -35,29 +40,44 @@ public abstract class CloudletScheduler {
 	/** The list of current mips share available for the VM using the scheduler.
 	 * It is provided by {@link CloudletScheduler#updateCloudletsProcessing(double, List)} method.
 	 * at every simulation step. */
+	@SuppressWarnings("serial")
 	private List<Double> currentMipsShare;
 
 
 	private double currentCapacity;
 
 	/** The list of cloudlet waiting to be executed on the VM. */
+	@SuppressWarnings("serial")
 	protected List<? extends Cloudlet> cloudletWaitingList;
 
 	/** The list of cloudlets being executed on the VM. */
+	@SuppressWarnings("serial")
 	protected List<? extends Cloudlet> cloudletExecList;
 
 	/** The list of paused cloudlets. */
+	@SuppressWarnings("serial")
 	protected List<? extends Cloudlet> cloudletPausedList;
 
 	/** The list of finished cloudlets. */
+	@SuppressWarnings("serial")
 	protected List<? extends Cloudlet> cloudletFinishedList;
 
 	/** The list of failed cloudlets. */
+	@SuppressWarnings("serial")
 	protected List<? extends Cloudlet> cloudletFailedList;
 
 	/** Buffer list of the latest finished cloudlets. */
+	@SuppressWarnings("serial")
 	protected List<Cloudlet> cloudletJustFinishedList;
 
+	/**
+	 * The queue this scheduler adds itself to when a cloudlet finishes, so that the datacenter
+	 * can collect the finished cloudlets without polling every scheduler.
+	 * It is null if the scheduler is not tracked by any datacenter.
+	 */
+	@SuppressWarnings("serial")
+	private Collection<CloudletScheduler> completionQueue;
+
 	/**
 	 * Creates a new CloudletScheduler object. 
 	 * A CloudletScheduler must be created before starting the actual simulation.
@@ -270,6 +290,9 @@ public abstract class CloudletScheduler {
 		cl.updateStatus(Cloudlet.CloudletStatus.SUCCESS);
 		cl.finalizeCloudlet();
 		getCloudletFinishedList().add(cl);
+		if (completionQueue != null) {
+			completionQueue.add(this);
+		}
 	}
 
 	/**
@@ -310,6 +333,20 @@ public abstract class CloudletScheduler {
 	 */
 	public boolean isFinishedCloudlets() { return !getCloudletFinishedList().isEmpty(); }
 
+	/**
+	 * Sets the queue this scheduler adds itself to whenever a cloudlet finishes.
+	 * If some cloudlets already finished, the scheduler is added right away.
+	 *
+	 * @param completionQueue the completion queue of the datacenter, or null to stop notifying
+	 * @see Datacenter#checkCloudletCompletion()
+	 */
+	public void setCompletionQueue(Collection<CloudletScheduler> completionQueue) {
+		this.completionQueue = completionQueue;
+		if (completionQueue != null && isFinishedCloudlets()) {
+			completionQueue.add(this);
+		}
+	}
+
 	public List<Double> getCurrentMipsShare() { return currentMipsShare; }
 
 	/**
@@ -362,6 +399,23 @@ public abstract class CloudletScheduler {
 				+ ((cl.getRemainingCloudletLength()) / getTotalCurrentAllocatedMipsForCloudlet(cl, time));
 	}
 
+	/**
+	 * Gets the time of the next change of the utilization models of the running cloudlets.
+	 *
+	 * @param time the time from which the next change is searched
+	 * @return the earliest next change time
+	 * @see UtilizationModel#getNextChangeTime(double)
+	 */
+	public double getNextUtilizationChangeTime(double time) {
+		double nextChangeTime = Double.MAX_VALUE;
+		for (Cloudlet cl : getCloudletExecList()) {
+			nextChangeTime = Math.min(nextChangeTime, cl.getUtilizationModelCpu().getNextChangeTime(time));
+			nextChangeTime = Math.min(nextChangeTime, cl.getUtilizationModelRam().getNextChangeTime(time));
+			nextChangeTime = Math.min(nextChangeTime, cl.getUtilizationModelBw().getNextChangeTime(time));
+		}
+		return nextChangeTime;
+	}
+
 	/**
 	 * Gets total CPU utilization percentage of all cloudlets, according to CPU UtilizationModel of 
          * each one.
@@ -7,6 +7,7 @@
 
 package org.cloudbus.cloudsim;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -30,6 +31,8 @@ import org.cloudbus.cloudsim.core.CloudSim;
  */
 //@TODO The name of the class doesn't represent its goal. A clearer name would be
 public class CloudletSchedulerDynamicWorkload extends CloudletSchedulerTimeShared {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** The individual MIPS capacity of each PE allocated to the VM using the scheduler,
          * considering that all PEs have the same capacity. 
@@ -46,6 +49,7 @@ public class CloudletSchedulerDynamicWorkload extends CloudletSchedulerTimeShare
 	private double totalMips;
 
 	/** The under allocated MIPS. */
+	@SuppressWarnings("serial")
 	private Map<String, Double> underAllocatedMips;
 
 	/** The cache of the previous time when the {@link #getCurrentRequestedMips()} was called. */
@@ -54,7 +58,7 @@ public class CloudletSchedulerDynamicWorkload extends CloudletSchedulerTimeShare
 	/** The cache of the last current requested MIPS. 
          * @see  #getCurrentRequestedMips() 
          */
-	private List<Double> cacheCurrentRequestedMips;
+	private transient List<Double> cacheCurrentRequestedMips;
 
 	/**
 	 * Instantiates a new VM scheduler
@@ -129,7 +133,7 @@ public class CloudletSchedulerDynamicWorkload extends CloudletSchedulerTimeShare
 
 	@Override
 	public List<Double> getCurrentRequestedMips() {
-		if (getCachePreviousTime() == getPreviousTime()) {
+		if (getCachePreviousTime() == getPreviousTime() && getCacheCurrentRequestedMips() != null) {
 			return getCacheCurrentRequestedMips();
 		}
 		List<Double> currentMips = new ArrayList<>();
@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -28,6 +29,9 @@ import org.cloudbus.cloudsim.lists.CloudletList;
  * @since CloudSim Toolkit 1.0
  */
 public class CloudletSchedulerSpaceShared extends CloudletScheduler {
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/** The number of used PEs. */
 	protected int usedPes;
 
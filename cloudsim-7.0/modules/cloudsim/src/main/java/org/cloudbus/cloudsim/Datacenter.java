@@ -7,12 +7,16 @@
 
 package org.cloudbus.cloudsim;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.cloudbus.cloudsim.VmAllocationPolicy.GuestMapping;
 import org.cloudbus.cloudsim.core.*;
+import org.cloudbus.cloudsim.jfr.SchedulerUpdateEvent;
 
 /**
  * Datacenter class is a CloudResource whose hostList are virtualized. It deals with processing of
@@ -29,6 +33,8 @@ import org.cloudbus.cloudsim.core.*;
  * The last phrase of the class documentation appears to be out-of-date or wrong.
  */
 public class Datacenter extends SimEntity {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** The characteristics. */
 	private DatacenterCharacteristics characteristics;
@@ -45,14 +51,23 @@ public class Datacenter extends SimEntity {
 	private double lastProcessTime;
 
 	/** The storage list. */
+	@SuppressWarnings("serial")
 	private List<Storage> storageList;
 
 	/** The vm list. */
+	@SuppressWarnings("serial")
 	private List<? extends GuestEntity> vmList;
 
 	/** The scheduling delay to process each datacenter received event. */
 	private double schedulingInterval;
 
+	/**
+	 * The schedulers of this datacenter with finished cloudlets not yet returned to their users,
+	 * in the order the cloudlets finished.
+	 */
+	@SuppressWarnings("serial")
+	private final Set<CloudletScheduler> completionQueue = new LinkedHashSet<>();
+
 	/**
 	 * Allocates a new Datacenter object.
 	 * 
@@ -602,6 +617,7 @@ public class Datacenter extends SimEntity {
 				} else {
 					// time to transfer the files
 					double fileTransferTime = predictFileTransferTime(cl.getRequiredFiles());
+					trackCompletions(vm.getCloudletScheduler());
 					vm.getCloudletScheduler().cloudletSubmit(cl, fileTransferTime);
 				}
 			} else {// the cloudlet will migrate from one resource to another
@@ -713,6 +729,7 @@ public class Datacenter extends SimEntity {
 			// * Inserted Code: End *
 
 			CloudletScheduler scheduler = vm.getCloudletScheduler();
+			trackCompletions(scheduler);
 			double estimatedFinishTime = scheduler.cloudletSubmit(cl, fileTransferTime);
 
 			// if this cloudlet is in the exec queue
@@ -853,6 +870,8 @@ public class Datacenter extends SimEntity {
 		// R: for term is to allow loop at simulation start. Otherwise, one initial
 		// simulation step is skipped and schedulers are not properly initialized
 		if (CloudSim.clock() < 0.111 || CloudSim.clock() >= getLastProcessTime() + CloudSim.getMinTimeBetweenEvents()) {
+			SchedulerUpdateEvent event = new SchedulerUpdateEvent();
+			event.begin();
 			double smallerTime = Double.MAX_VALUE;
 			for (HostEntity host : getVmAllocationPolicy().getHostList()) {
 				// inform VMs to update processing
@@ -862,6 +881,9 @@ public class Datacenter extends SimEntity {
 					smallerTime = time;
 				}
 			}
+			if (event.shouldCommit()) {
+				event.commit(getName(), getVmAllocationPolicy().getHostList().size(), smallerTime);
+			}
 			// gurantees a minimal interval before scheduling the event
 			if (smallerTime < CloudSim.clock() + CloudSim.getMinTimeBetweenEvents() + 0.01) {
 				smallerTime = CloudSim.clock() + CloudSim.getMinTimeBetweenEvents() + 0.01;
@@ -875,22 +897,35 @@ public class Datacenter extends SimEntity {
 
 	/**
 	 * Verifies if some cloudlet inside this Datacenter already finished. 
-         * If yes, send it to the User/Broker
+         * If yes, send it to the User/Broker.
+	 * <p/>
+	 * The schedulers push themselves to the completion queue of the datacenter when a cloudlet
+	 * finishes (see {@link #trackCompletions(CloudletScheduler)}), so only the schedulers with
+	 * finished cloudlets are visited, instead of every guest of every host.
 	 * 
 	 * @pre $none
 	 * @post $none
 	 */
 	protected void checkCloudletCompletion() {
-		for (HostEntity host : getVmAllocationPolicy().getHostList()) {
-			for (GuestEntity vm : host.getGuestList()) {
-				while (vm.getCloudletScheduler().isFinishedCloudlets()) {
-					Cloudlet cl = vm.getCloudletScheduler().getNextFinishedCloudlet();
-					if (cl != null) {
-						sendNow(cl.getUserId(), CloudActionTags.CLOUDLET_RETURN, cl);
-					}
+		for (CloudletScheduler scheduler : completionQueue) {
+			while (scheduler.isFinishedCloudlets()) {
+				Cloudlet cl = scheduler.getNextFinishedCloudlet();
+				if (cl != null) {
+					sendNow(cl.getUserId(), CloudActionTags.CLOUDLET_RETURN, cl);
 				}
 			}
 		}
+		completionQueue.clear();
+	}
+
+	/**
+	 * Makes a cloudlet scheduler of this datacenter report its finished cloudlets
+	 * to {@link #checkCloudletCompletion()}. It must be called before submitting a cloudlet to the scheduler.
+	 *
+	 * @param scheduler the scheduler of a guest of this datacenter
+	 */
+	protected void trackCompletions(CloudletScheduler scheduler) {
+		scheduler.setCompletionQueue(completionQueue);
 	}
 
 	/**
@@ -1073,6 +1108,20 @@ public class Datacenter extends SimEntity {
 		this.vmAllocationPolicy = vmAllocationPolicy;
 	}
 
+	/**
+	 * Replaces the vm allocation policy, e.g., to try another policy in a simulation restored from a
+	 * checkpoint (see {@link CloudSim#restoreSimulation(String)}). The new policy must manage the same hosts,
+	 * and it takes over the guests allocated by the current policy, see
+	 * {@link VmAllocationPolicy#takeOver(VmAllocationPolicy)}.
+	 *
+	 * @param vmAllocationPolicy the new vm allocation policy
+	 */
+	public void replaceVmAllocationPolicy(VmAllocationPolicy vmAllocationPolicy) {
+		vmAllocationPolicy.takeOver(getVmAllocationPolicy());
+		vmAllocationPolicy.setDatacenter(this);
+		setVmAllocationPolicy(vmAllocationPolicy);
+	}
+
 	/**
 	 * Gets the last time some cloudlet was processed in the datacenter.
 	 * 
@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -28,22 +29,29 @@ import org.cloudbus.cloudsim.lists.VmList;
  * @since CloudSim Toolkit 1.0
  */
 public class DatacenterBroker extends SimEntity {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** The list of VMs submitted to be managed by the broker. */
+	@SuppressWarnings("serial")
 	protected List<? extends GuestEntity> vmList;
 
 	/** The list of VMs created by the broker. */
+	@SuppressWarnings("serial")
 	protected List<? extends GuestEntity> vmsCreatedList;
 
 	/** The list of cloudlet submitted to the broker. 
          * @see #submitCloudletList(java.util.List) 
          */
+	@SuppressWarnings("serial")
 	protected List<? extends Cloudlet> cloudletList;
 
 	/** The list of submitted cloudlets. */
+	@SuppressWarnings("serial")
 	protected List<? extends Cloudlet> cloudletSubmittedList;
 
 	/** The list of received cloudlet. */
+	@SuppressWarnings("serial")
 	protected List<? extends Cloudlet> cloudletReceivedList;
 
 	/** The number of submitted cloudlets. */
@@ -60,17 +68,21 @@ public class DatacenterBroker extends SimEntity {
 	protected int vmsDestroyed;
 
 	/** The id's list of available datacenters. */
+	@SuppressWarnings("serial")
 	protected List<Integer> datacenterIdsList;
 
 	/** The list of datacenters where was requested to place VMs. */
+	@SuppressWarnings("serial")
 	protected List<Integer> datacenterRequestedIdsList;
 
 	/** The vms to datacenters map, where each key is a VM id
          * and each value is the datacenter id whwere the VM is placed. */
+	@SuppressWarnings("serial")
 	protected Map<Integer, Integer> vmsToDatacentersMap;
 
 	/** The datacenter characteristics map where each key
          * is a datacenter id and each value is its characteristics.. */
+	@SuppressWarnings("serial")
 	protected Map<Integer, DatacenterCharacteristics> datacenterCharacteristicsList;
 
 	/** Next guest to which send the cloudlet */
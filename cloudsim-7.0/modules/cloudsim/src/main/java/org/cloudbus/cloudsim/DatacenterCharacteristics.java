@@ -8,6 +8,8 @@
 
 package org.cloudbus.cloudsim;
 
+import java.io.Serial;
+import java.io.Serializable;
 import java.util.List;
 
 import org.cloudbus.cloudsim.core.CloudSim;
@@ -31,7 +33,9 @@ import org.cloudbus.cloudsim.lists.PeList;
  * giving the idea that the class can be used to describe characteristics of other resources.
  * However, the class was found being used only for datacenters.
  */
-public class DatacenterCharacteristics {
+public class DatacenterCharacteristics implements Serializable {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** The datacenter id -- setup when datacenter is created. */
 	private int id;
@@ -43,6 +47,7 @@ public class DatacenterCharacteristics {
 	private String os;
 
 	/** The hosts owned by the datacenter. */
+	@SuppressWarnings("serial")
 	private List<? extends HostEntity> hostList;
 
 	/** The time zone, defined as the difference from GMT. */
@@ -11,6 +11,8 @@ import org.cloudbus.cloudsim.EX.vm.VmStatus;
 import org.cloudbus.cloudsim.EX.vm.VmEX;
 import org.cloudbus.cloudsim.lists.VmList;
 
+import java.io.Serial;
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.*;
 import java.util.logging.Level;
@@ -25,6 +27,9 @@ import java.util.logging.Level;
  * @author Remo Andreoli
  */
 public class DatacenterBrokerEX extends DatacenterBroker {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     /** Number of VM destructions requested. */
     private int vmDestructsRequested = 0;
 
@@ -35,6 +40,7 @@ public class DatacenterBrokerEX extends DatacenterBroker {
      * Events that will be executed after the broker has started. The are
      * usually set before the simulation start.
      */
+    @SuppressWarnings("serial")
     private final List<PresetEvent> presetEvents = new ArrayList<>();
 
     /** If this broker has started receiving and responding to events. */
@@ -431,9 +437,13 @@ public class DatacenterBrokerEX extends DatacenterBroker {
      * @author nikolay.grozev
      * 
      */
-    protected static class PresetEvent {
+    protected static class PresetEvent implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
         final int id;
         final CloudSimTags tag;
+        @SuppressWarnings("serial")
         final Object data;
         final double delay;
 
@@ -5,6 +5,7 @@ import org.cloudbus.cloudsim.core.*;
 import org.cloudbus.cloudsim.EX.delay.ConstantVmBootDelay;
 import org.cloudbus.cloudsim.EX.delay.IVmBootDelayDistribution;
 
+import java.io.Serial;
 import java.util.List;
 import java.util.Objects;
 
@@ -16,6 +17,9 @@ import java.util.Objects;
  * 
  */
 public class DatacenterEX extends Datacenter {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     private IVmBootDelayDistribution delayDistribution = new ConstantVmBootDelay(0);
 
     public DatacenterEX(String name, DatacenterCharacteristics characteristics, VmAllocationPolicy vmAllocationPolicy,
@@ -0,0 +1,236 @@
+package org.cloudbus.cloudsim.EX;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.EX.billing.IVmBillingPolicy;
+import org.cloudbus.cloudsim.EX.delay.IVmBootDelayDistribution;
+import org.cloudbus.cloudsim.EX.forecast.ILoadForecaster;
+import org.cloudbus.cloudsim.EX.vm.MonitoredVmEX;
+import org.cloudbus.cloudsim.EX.vm.VmStatus;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * An autoscaling policy, which provisions VMs ahead of the forecasted load,
+ * rather than in reaction to the current one. Upon every invocation the
+ * overall CPU demand of the running VMs - the sum of their CPU utilisations -
+ * is fed to an {@link ILoadForecaster}, and the demand is forecasted for the
+ * time a newly started VM would be ready to serve - i.e. after its expected
+ * boot delay and until the next invocation. Then as many VMs are started or stopped, as
+ * needed to serve the forecasted demand at the target utilisation.
+ * 
+ * <br>
+ * <br>
+ * 
+ * The cost of the provisioning in every period is evaluated with the billing
+ * policy of the broker - the cost of the VMs in excess of the demand is
+ * accumulated as over-provisioning cost, and the cost of the missing VMs as
+ * under-provisioning cost. Subclasses can override
+ * {@link #evaluateProvisioning(MonitoringBrokerEX, MonitoredVmEX, int, double, double)}
+ * to account for the cost differently.
+ * 
+ * <br>
+ * <br>
+ * 
+ * Subclasses define which VMs are scaled, and how they are started and
+ * stopped. A separate policy instance, and hence a separate forecaster, should
+ * be used for every application.
+ * 
+ */
+public abstract class PredictiveAutoscalingPolicy implements IAutoscalingPolicy {
+
+    private static final BigDecimal SECONDS_IN_MINUTE = BigDecimal.valueOf(60);
+
+    private final ILoadForecaster forecaster;
+    private final IVmBootDelayDistribution bootDelay;
+    private final double targetUtilisation;
+    private final int minVms;
+    private final double underProvisioningPenalty;
+
+    private double lastScaleTime = -1;
+    private double lastForecast = Double.NaN;
+    private BigDecimal overProvisioningCost = BigDecimal.ZERO;
+    private BigDecimal underProvisioningCost = BigDecimal.ZERO;
+
+    /**
+     * Constr.
+     * 
+     * @param forecaster
+     *            - the model of the CPU demand. Must not be null.
+     * @param bootDelay
+     *            - the boot delays of the VMs, as defined in the data centre.
+     *            Only their expected values are used, so the data centre's
+     *            instance can be passed without changing its delays. Must not
+     *            be null.
+     * @param targetUtilisation
+     *            - the CPU utilisation the VMs should have, in the interval
+     *            (0, 1].
+     * @param minVms
+     *            - the minimal number of running or booting VMs. Must be
+     *            positive, so that there is a VM to clone.
+     * @param underProvisioningPenalty
+     *            - by how much the cost of a missing VM is multiplied, when
+     *            evaluating the under-provisioning cost.
+     */
+    public PredictiveAutoscalingPolicy(final ILoadForecaster forecaster, final IVmBootDelayDistribution bootDelay,
+            final double targetUtilisation, final int minVms, final double underProvisioningPenalty) {
+        if (!(targetUtilisation > 0 && targetUtilisation <= 1)) {
+            throw new IllegalArgumentException("Invalid target utilisation: " + targetUtilisation);
+        } else if (minVms <= 0) {
+            throw new IllegalArgumentException("The minimal number of VMs must be positive");
+        }
+        this.forecaster = forecaster;
+        this.bootDelay = bootDelay;
+        this.targetUtilisation = targetUtilisation;
+        this.minVms = minVms;
+        this.underProvisioningPenalty = underProvisioningPenalty;
+    }
+
+    @Override
+    public void scale(final MonitoringBrokerEX broker) {
+        List<? extends MonitoredVmEX> vms = getVms(broker);
+        if (vms.isEmpty()) {
+            return;
+        }
+
+        int numRunning = 0;
+        int numBooting = 0;
+        double demand = 0;
+        for (MonitoredVmEX vm : vms) {
+            if (vm.getStatus() == VmStatus.RUNNING) {
+                numRunning++;
+                demand += vm.getCPUUtil();
+            } else if (vm.getStatus() == VmStatus.INITIALISING) {
+                numBooting++;
+            }
+        }
+
+        double time = CloudSim.clock();
+        double period = lastScaleTime < 0 ? 0 : time - lastScaleTime;
+        if (period > 0) {
+            evaluateProvisioning(broker, vms.get(0), numRunning, demand, period);
+        }
+        forecaster.update(time, demand);
+        lastScaleTime = time;
+
+        // A VM started now can serve only after booting, and should suffice
+        // until the next invocation
+        double readyTime = time + bootDelay.getExpectedDelay(vms.get(0));
+        lastForecast = Math.max(0, Math.max(forecaster.forecast(readyTime), forecaster.forecast(readyTime + period)));
+        int required = Math.max(minVms, (int) Math.ceil(lastForecast / targetUtilisation));
+
+        int numProvisioned = numRunning + numBooting;
+        if (required > numProvisioned) {
+            startVms(broker, required - numProvisioned);
+        } else if (required < numProvisioned) {
+            stopVms(broker, numProvisioned - required);
+        }
+    }
+
+    /**
+     * Evaluates the cost of the provisioning in the period before an
+     * invocation of the policy, assuming the measured state held through the
+     * period. The cost of the VMs in excess of the demand is accumulated as
+     * over-provisioning cost, and the cost of the missing VMs, multiplied by
+     * the penalty, as under-provisioning cost. If the broker has no billing
+     * policy, or it can not price the VM, nothing is accumulated.
+     * 
+     * @param broker
+     *            - the broker managing the VMs.
+     * @param vm
+     *            - a VM, whose price is representative for the VMs.
+     * @param numRunning
+     *            - the number of running VMs.
+     * @param demand
+     *            - the sum of the CPU utilisations of the running VMs.
+     * @param period
+     *            - the length of the period in seconds.
+     */
+    protected void evaluateProvisioning(final MonitoringBrokerEX broker, final MonitoredVmEX vm, final int numRunning,
+            final double demand, final double period) {
+        IVmBillingPolicy billingPolicy = broker.getVMBillingPolicy();
+        BigDecimal costPerMinute = billingPolicy == null ? null : billingPolicy.normalisedCostPerMinute(vm);
+        if (costPerMinute == null || costPerMinute.signum() < 0) {
+            return;
+        }
+
+        double needed = demand / targetUtilisation;
+        BigDecimal cost = costPerMinute.multiply(BigDecimal.valueOf(period)).divide(SECONDS_IN_MINUTE,
+                costPerMinute.scale() + 10, RoundingMode.HALF_UP);
+        if (numRunning > needed) {
+            overProvisioningCost = overProvisioningCost.add(cost.multiply(BigDecimal.valueOf(numRunning - needed)));
+        } else if (numRunning < needed) {
+            underProvisioningCost = underProvisioningCost.add(cost.multiply(BigDecimal.valueOf((needed - numRunning)
+                    * underProvisioningPenalty)));
+        }
+    }
+
+    /**
+     * Returns the VMs scaled by this policy, including the booting ones.
+     * 
+     * @param broker
+     *            - the broker managing the VMs.
+     * @return the VMs scaled by this policy.
+     */
+    protected abstract List<? extends MonitoredVmEX> getVms(final MonitoringBrokerEX broker);
+
+    /**
+     * Starts new VMs.
+     * 
+     * @param broker
+     *            - the broker managing the VMs.
+     * @param numVms
+     *            - how many VMs to start. Positive.
+     */
+    protected abstract void startVms(final MonitoringBrokerEX broker, final int numVms);
+
+    /**
+     * Stops VMs. Implementations may stop fewer VMs, e.g. if the VMs are still
+     * used or are not near the end of their billing period.
+     * 
+     * @param broker
+     *            - the broker managing the VMs.
+     * @param numVms
+     *            - up to how many VMs to stop. Positive.
+     */
+    protected abstract void stopVms(final MonitoringBrokerEX broker, final int numVms);
+
+    /**
+     * Returns the target CPU utilisation of the VMs.
+     * 
+     * @return the target CPU utilisation of the VMs.
+     */
+    public double getTargetUtilisation() {
+        return targetUtilisation;
+    }
+
+    /**
+     * Returns the CPU demand forecasted in the last invocation.
+     * 
+     * @return the CPU demand forecasted in the last invocation, or NaN if the
+     *         policy has not been invoked.
+     */
+    public double getLastForecast() {
+        return lastForecast;
+    }
+
+    /**
+     * Returns the accumulated cost of the VMs in excess of the demand.
+     * 
+     * @return the accumulated over-provisioning cost.
+     */
+    public BigDecimal getOverProvisioningCost() {
+        return overProvisioningCost;
+    }
+
+    /**
+     * Returns the accumulated penalised cost of the VMs missing to serve the
+     * demand.
+     * 
+     * @return the accumulated under-provisioning cost.
+     */
+    public BigDecimal getUnderProvisioningCost() {
+        return underProvisioningCost;
+    }
+}
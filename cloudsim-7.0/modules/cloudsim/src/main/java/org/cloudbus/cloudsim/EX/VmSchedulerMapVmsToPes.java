@@ -3,6 +3,7 @@ package org.cloudbus.cloudsim.EX;
 import org.cloudbus.cloudsim.Pe;
 import org.cloudbus.cloudsim.core.GuestEntity;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -16,7 +17,10 @@ import java.util.Map;
  * 
  */
 public abstract class VmSchedulerMapVmsToPes<P extends Pe> extends VmSchedulerWithIndependentPes<P> {
+    @Serial
+    private static final long serialVersionUID = 1L;
 
+    @SuppressWarnings("serial")
     private final Map<Integer, List<Integer>> vmsToPes = new HashMap<>();
 
     public VmSchedulerMapVmsToPes(final List<P> pelist) {
@@ -3,6 +3,7 @@ package org.cloudbus.cloudsim.EX.billing;
 import org.cloudbus.cloudsim.Vm;
 import org.cloudbus.cloudsim.core.GuestEntity;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.List;
 
@@ -14,7 +15,7 @@ import java.util.List;
  * @author nikolay.grozev
  * 
  */
-public interface IVmBillingPolicy {
+public interface IVmBillingPolicy extends Serializable {
 
     /**
      * Returns the cost for the specified vms.
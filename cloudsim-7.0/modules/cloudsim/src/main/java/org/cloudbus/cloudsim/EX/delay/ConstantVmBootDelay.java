@@ -1,5 +1,7 @@
 package org.cloudbus.cloudsim.EX.delay;
 
+import java.io.Serial;
+
 import org.cloudbus.cloudsim.core.GuestEntity;
 
 /**
@@ -9,6 +11,8 @@ import org.cloudbus.cloudsim.core.GuestEntity;
  * 
  */
 public class ConstantVmBootDelay implements IVmBootDelayDistribution {
+    @Serial
+    private static final long serialVersionUID = 1L;
 
     private final double delay;
 
@@ -11,6 +11,7 @@ import org.uncommons.maths.random.MersenneTwisterRNG;
 import org.uncommons.maths.random.SeedException;
 import org.uncommons.maths.random.SeedGenerator;
 
+import java.io.Serial;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
@@ -28,14 +29,25 @@ import java.util.Random;
  * evaluated and a precise match with key [vm.type, vm.OS] is not found, then
  * the mathching wilcards are used.
  * 
+ * <br/>
+ * <br/>
+ * 
+ * The expected delay of a vm is the mean m of its mapping, and evaluating it
+ * does not draw from the generator.
+ * 
  * 
  * @author nikolay.grozev
  * 
  */
 public class GaussianByTypeBootDelay implements IVmBootDelayDistribution {
+    @Serial
+    private static final long serialVersionUID = 1L;
 
     private final double defaultValue;
+    @SuppressWarnings("serial")
     private final Map<Pair<String, String>, NumberGenerator<Double>> delayGenerators = new HashMap<>();
+    @SuppressWarnings("serial")
+    private final Map<Pair<String, String>, Double> meanDelays = new HashMap<>();
 
     /**
      * Constructor.
@@ -141,30 +153,44 @@ public class GaussianByTypeBootDelay implements IVmBootDelayDistribution {
         for (Map.Entry<Pair<String, String>, Pair<Double, Double>> entry : delayDefs.entrySet()) {
             this.delayGenerators.put(entry.getKey(), new GaussianGenerator(entry.getValue().getLeft(), entry.getValue()
                     .getRight(), merseneGenerator));
+            this.meanDelays.put(entry.getKey(), entry.getValue().getLeft());
         }
     }
 
     @Override
     public double getDelay(final GuestEntity guest) {
-        double result = defaultValue;
+        Pair<String, String> key = findKey(guest);
+        return key == null ? defaultValue : delayGenerators.get(key).nextValue();
+    }
+
+    @Override
+    public double getExpectedDelay(final GuestEntity guest) {
+        Pair<String, String> key = findKey(guest);
+        return key == null ? defaultValue : meanDelays.get(key);
+    }
+
+    /**
+     * Returns the key of the mapping of the vm - a precise match if present,
+     * or else a matching wildcard.
+     * 
+     * @param guest
+     *            - the vm.
+     * @return the key of the mapping of the vm, or null if there is none.
+     */
+    private Pair<String, String> findKey(final GuestEntity guest) {
         if (guest instanceof VmEX vmex) {
-            NumberGenerator<Double> gaussianGenerator = null;
             Pair<String, String> key = BaseCustomerVmBillingPolicy.keyOf(vmex);
             Pair<String, String> partialKey1 = ImmutablePair.of(vmex.getMetadata().getType(), null);
             Pair<String, String> partialKey2 = ImmutablePair.of(null, vmex.getMetadata().getOS());
 
             if (delayGenerators.containsKey(key)) {
-                gaussianGenerator = delayGenerators.get(key);
+                return key;
             } else if (delayGenerators.containsKey(partialKey1)) {
-                gaussianGenerator = delayGenerators.get(partialKey1);
+                return partialKey1;
             } else if (delayGenerators.containsKey(partialKey2)) {
-                gaussianGenerator = delayGenerators.get(partialKey2);
-            }
-
-            if (gaussianGenerator != null) {
-                result = gaussianGenerator.nextValue();
+                return partialKey2;
             }
         }
-        return result;
+        return null;
     }
 }
@@ -2,13 +2,15 @@ package org.cloudbus.cloudsim.EX.delay;
 
 import org.cloudbus.cloudsim.core.GuestEntity;
 
+import java.io.Serializable;
+
 /**
  * Defines how much boot delay should be there for a given VM.
  * 
  * @author nikolay.grozev
  * @author Remo Andreoli
  */
-public interface IVmBootDelayDistribution {
+public interface IVmBootDelayDistribution extends Serializable {
 
     /**
      * Returns how much is the booting time of the parameter VM.
@@ -19,4 +21,20 @@ public interface IVmBootDelayDistribution {
      */
     double getDelay(final GuestEntity guest);
 
+    /**
+     * Returns the expected booting time of the parameter VM, e.g. for
+     * policies, which provision VMs ahead of their boot delays. Unlike
+     * {@link #getDelay(GuestEntity)}, it must not change the delays the
+     * distribution returns afterwards - distributions, which draw random
+     * delays, must override it. By default it returns
+     * {@link #getDelay(GuestEntity)}.
+     * 
+     * @param guest
+     *            - the VM to check for. Must not be null.
+     * @return the expected time
+     */
+    default double getExpectedDelay(final GuestEntity guest) {
+        return getDelay(guest);
+    }
+
 }
@@ -1,5 +1,7 @@
 package org.cloudbus.cloudsim.EX.disk;
 
+import java.io.Serial;
+
 import org.cloudbus.cloudsim.Cloudlet;
 import org.cloudbus.cloudsim.Consts;
 import org.cloudbus.cloudsim.UtilizationModelFull;
@@ -15,6 +17,8 @@ import org.cloudbus.cloudsim.EX.util.TextUtil;
  * 
  */
 public class HddCloudlet extends Cloudlet {
+    @Serial
+    private static final long serialVersionUID = 1L;
 
     private static final UtilizationModelFull UTIL_MODEL_FULL = new UtilizationModelFull();
 
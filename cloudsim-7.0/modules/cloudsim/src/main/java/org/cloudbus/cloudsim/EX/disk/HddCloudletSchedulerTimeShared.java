@@ -12,6 +12,7 @@ import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.EX.util.CustomLog;
 import org.cloudbus.cloudsim.lists.CloudletList;
 
+import java.io.Serial;
 import java.util.*;
 import java.util.logging.Level;
 
@@ -39,13 +40,22 @@ import java.util.logging.Level;
  * 
  */
 public class HddCloudletSchedulerTimeShared extends CloudletSchedulerTimeShared {
+    @Serial
+    private static final long serialVersionUID = 1L;
 
     /** The current IO mips share. */
+    @SuppressWarnings("serial")
     private List<Double> currentIOMipsShare;
 
     /** The VM being scheduled. */
     private HddVm vm;
 
+    /** The sum of the lengths of the executing cloudlets. */
+    private long execCloudletsLength = 0;
+
+    /** Notified when the executing cloudlets change. */
+    private final List<Runnable> loadListeners = new ArrayList<>();
+
     /**
      * Creates a new CloudletSchedulerTimeShared object. This method must be
      * invoked before starting the actual simulation.
@@ -73,6 +83,45 @@ public class HddCloudletSchedulerTimeShared extends CloudletSchedulerTimeShared
         this.vm = vm;
     }
 
+    /**
+     * Returns the sum of the lengths of the cloudlets in the exec list. It is
+     * maintained as cloudlets are submitted, resumed, paused, cancelled,
+     * finished or failed, and is not recomputed.
+     * 
+     * @return the sum of the lengths of the executing cloudlets.
+     */
+    public long getExecCloudletsLength() {
+        return execCloudletsLength;
+    }
+
+    /**
+     * Registers a listener, which is notified whenever a cloudlet enters or
+     * leaves the exec list of this scheduler.
+     * 
+     * @param listener
+     *            - the listener. Must not be null.
+     */
+    public void addLoadListener(final Runnable listener) {
+        loadListeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener added with {@link #addLoadListener(Runnable)}.
+     * 
+     * @param listener
+     *            - the listener.
+     */
+    public void removeLoadListener(final Runnable listener) {
+        loadListeners.remove(listener);
+    }
+
+    private void execLengthChanged(final long delta) {
+        execCloudletsLength += delta;
+        for (Runnable listener : loadListeners) {
+            listener.run();
+        }
+    }
+
     /**
      * Returns the current IO Mips share.
      * 
@@ -135,6 +184,7 @@ public class HddCloudletSchedulerTimeShared extends CloudletSchedulerTimeShared
 
         int[] disksToNumCloudlets = disksToNumCloudlets();
         int[] disksToNumCopy = Arrays.copyOf(disksToNumCloudlets, disksToNumCloudlets.length);
+        long finishedLength = 0;
         for (ListIterator<HddCloudlet> iter = this.<HddCloudlet> getCloudletExecList().listIterator(); iter
                 .hasNext();) {
             HddCloudlet cl = iter.next();
@@ -152,12 +202,17 @@ public class HddCloudletSchedulerTimeShared extends CloudletSchedulerTimeShared
             if (remainingLength == 0 && remainingIOLength == 0) {
                 cloudletFinish(cl);
                 iter.remove();
+                finishedLength += cl.getCloudletLength();
 
                 // Update the disksToNumCopy, since it is expensive to recompute
                 updateDisksToNumMapping(disksToNumCopy, cl);
             }
         }
 
+        if (finishedLength != 0) {
+            execLengthChanged(-finishedLength);
+        }
+
         double nextEvent = computeNextEventTime(currentTime, mipsShare, iopsShare, disksToNumCopy);
         setPreviousTime(currentTime);
 
@@ -352,6 +407,7 @@ public class HddCloudletSchedulerTimeShared extends CloudletSchedulerTimeShared
         if (position >= 0) {
             // remove cloudlet from the exec list and put it in the paused list
             HddCloudlet cl = this.<HddCloudlet> getCloudletExecList().remove(position);
+            execLengthChanged(-cl.getCloudletLength());
             if (cl.isDone()) {
                 cloudletFinish(cl);
             } else {
@@ -381,6 +437,7 @@ public class HddCloudletSchedulerTimeShared extends CloudletSchedulerTimeShared
             HddCloudlet cl = this.<HddCloudlet> getCloudletPausedList().remove(position);
             cl.updateStatus(Cloudlet.CloudletStatus.INEXEC);
             getCloudletExecList().add(cl);
+            execLengthChanged(cl.getCloudletLength());
 
             // calculate the expected time for cloudlet completion
             // first: how many PEs do we have?
@@ -430,6 +487,7 @@ public class HddCloudletSchedulerTimeShared extends CloudletSchedulerTimeShared
             long ioLength = hddCloudlet.getCloudletIOLength();
             hddCloudlet.setCloudletLength(cpuLength);
             hddCloudlet.setCloudletIOLength(ioLength);
+            execLengthChanged(hddCloudlet.getCloudletLength());
 
             double cpuEst = hddCloudlet.getCloudletLength() == 0 ? Double.NaN : hddCloudlet.getCloudletLength()
                     / cpuCapacity;
@@ -445,6 +503,23 @@ public class HddCloudletSchedulerTimeShared extends CloudletSchedulerTimeShared
         }
     }
 
+    @Override
+    public Cloudlet cloudletCancel(final int cloudletId) {
+        boolean executing = CloudletList.getPositionById(getCloudletExecList(), cloudletId) >= 0;
+        Cloudlet cl = super.cloudletCancel(cloudletId);
+        if (executing && cl != null) {
+            execLengthChanged(-cl.getCloudletLength());
+        }
+        return cl;
+    }
+
+    @Override
+    public Cloudlet migrateCloudlet() {
+        Cloudlet cl = super.migrateCloudlet();
+        execLengthChanged(-cl.getCloudletLength());
+        return cl;
+    }
+
     /**
      * Informs about failure of some cloudlet in the VM managed by this
      * scheduler.
@@ -475,13 +550,18 @@ public class HddCloudletSchedulerTimeShared extends CloudletSchedulerTimeShared
 
     @SuppressWarnings({ "unchecked", "rawtypes" })
     public void failAllCloudlets() {
+        long failedLength = 0;
         for (ListIterator<HddCloudlet> iter = this.<HddCloudlet> getCloudletExecList().listIterator(); iter
                 .hasNext();) {
             HddCloudlet hddCloudlet = iter.next();
             iter.remove();
+            failedLength += hddCloudlet.getCloudletLength();
             hddCloudlet.updateStatus(Cloudlet.CloudletStatus.FAILED);
             ((List) cloudletFailedList).add(hddCloudlet);
         }
+        if (failedLength != 0) {
+            execLengthChanged(-failedLength);
+        }
 
         for (ListIterator<HddCloudlet> iter = this.<HddCloudlet> getCloudletPausedList().listIterator(); iter
                 .hasNext();) {
@@ -494,7 +574,9 @@ public class HddCloudletSchedulerTimeShared extends CloudletSchedulerTimeShared
 
     @SuppressWarnings({ "unchecked", "rawtypes" })
     private void failCloudlet(final HddCloudlet hddResCloudlet) {
-        getCloudletExecList().remove(hddResCloudlet);
+        if (getCloudletExecList().remove(hddResCloudlet)) {
+            execLengthChanged(-hddResCloudlet.getCloudletLength());
+        }
         getCloudletFailedList().remove(hddResCloudlet);
         hddResCloudlet.updateStatus(Cloudlet.CloudletStatus.FAILED);
         ((List) cloudletFailedList).add(hddResCloudlet);
@@ -4,6 +4,7 @@ import org.cloudbus.cloudsim.Pe;
 import org.cloudbus.cloudsim.EX.util.Id;
 import org.cloudbus.cloudsim.provisioners.PeProvisioner;
 
+import java.io.Serial;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedHashMap;
@@ -16,7 +17,10 @@ import java.util.Map;
  * 
  */
 public class HddPe extends Pe {
+    @Serial
+    private static final long serialVersionUID = 1L;
 
+    @SuppressWarnings("serial")
     private final Map<Integer, DataItem> data = new LinkedHashMap<>();
 
     /**
@@ -7,6 +7,7 @@ import org.cloudbus.cloudsim.EX.vm.MonitoredVmEX;
 import org.cloudbus.cloudsim.EX.vm.VMMetadata;
 import org.cloudbus.cloudsim.EX.vm.VmStatus;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashSet;
@@ -21,6 +22,8 @@ import java.util.List;
  * 
  */
 public class HddVm extends MonitoredVmEX {
+    @Serial
+    private static final long serialVersionUID = 1L;
 
     /** The IO MIPS. */
     private double ioMips;
@@ -196,7 +199,7 @@ public class HddVm extends MonitoredVmEX {
 
     @Override
     public List<Double> getCurrentRequestedMips() {
-        if (getHost().getGuestScheduler() instanceof VmSchedulerMapVmsToPes<?> scheduler) {
+        if (getHost() != null && getHost().getGuestScheduler() instanceof VmSchedulerMapVmsToPes<?> scheduler) {
 
             List<Double> currentRequestedMips = getCloudletScheduler().getCurrentRequestedMips();
             if (isBeingInstantiated()) {
@@ -0,0 +1,106 @@
+package org.cloudbus.cloudsim.EX.forecast;
+
+/**
+ * Forecasts the load with the additive Holt-Winters method - an exponentially
+ * weighted moving average with a trend and a seasonal component. The
+ * measurements are expected once per step, e.g. once per autoscaling period,
+ * and the season spans a fixed number of steps, e.g. a day.
+ * 
+ * <br>
+ * <br>
+ * 
+ * The model is initialised from the first season of measurements - the level
+ * is their average, and the seasonal components are their deviations from it.
+ * Until then the average of the measurements is forecasted.
+ * 
+ */
+public class HoltWintersForecaster implements ILoadForecaster {
+
+    private final double alpha;
+    private final double beta;
+    private final double gamma;
+    private final double step;
+    private final double[] seasonal;
+
+    private double level = 0;
+    private double trend = 0;
+    private long count = 0;
+    private double lastTime = Double.NaN;
+
+    /**
+     * Constr.
+     * 
+     * @param alpha
+     *            - the smoothing factor of the level. Must be in the interval
+     *            (0, 1].
+     * @param beta
+     *            - the smoothing factor of the trend. Must be in the interval
+     *            [0, 1].
+     * @param gamma
+     *            - the smoothing factor of the seasonal components. Must be in
+     *            the interval [0, 1].
+     * @param step
+     *            - the time between measurements. Must be positive.
+     * @param seasonLength
+     *            - the number of steps in a season. Must be positive.
+     */
+    public HoltWintersForecaster(final double alpha, final double beta, final double gamma, final double step,
+            final int seasonLength) {
+        if (!(alpha > 0 && alpha <= 1) || !(beta >= 0 && beta <= 1) || !(gamma >= 0 && gamma <= 1)) {
+            throw new IllegalArgumentException("Invalid smoothing factors: " + alpha + ", " + beta + ", " + gamma);
+        } else if (!(step > 0) || seasonLength <= 0) {
+            throw new IllegalArgumentException("Invalid step or season length: " + step + ", " + seasonLength);
+        }
+        this.alpha = alpha;
+        this.beta = beta;
+        this.gamma = gamma;
+        this.step = step;
+        this.seasonal = new double[seasonLength];
+    }
+
+    @Override
+    public void update(final double time, final double value) {
+        int m = seasonal.length;
+        int index = (int) (count % m);
+        if (count < m) {
+            // Collect the first season
+            seasonal[index] = value;
+            level += (value - level) / (count + 1);
+            if (count == m - 1) {
+                for (int i = 0; i < m; i++) {
+                    seasonal[i] -= level;
+                }
+            }
+        } else {
+            double previousLevel = level;
+            level = alpha * (value - seasonal[index]) + (1 - alpha) * (level + trend);
+            trend = beta * (level - previousLevel) + (1 - beta) * trend;
+            seasonal[index] = gamma * (value - level) + (1 - gamma) * seasonal[index];
+        }
+        count++;
+        lastTime = time;
+    }
+
+    @Override
+    public double forecast(final double time) {
+        if (count == 0) {
+            return Double.NaN;
+        } else if (count < seasonal.length) {
+            return level;
+        }
+        double steps = Math.max(0, (time - lastTime) / step);
+        // The seasonal component of the step, one season back
+        long ahead = Math.round(steps);
+        int index = (int) ((count - 1 + ahead) % seasonal.length);
+        return level + trend * steps + seasonal[index];
+    }
+
+    /**
+     * Returns the number of steps in a season.
+     * 
+     * @return the number of steps in a season.
+     */
+    public int getSeasonLength() {
+        return seasonal.length;
+    }
+}
@@ -0,0 +1,32 @@
+package org.cloudbus.cloudsim.EX.forecast;
+
+/**
+ * An incremental model of a time series of load measurements, which forecasts
+ * the future load. Each measurement updates the model in constant time, and
+ * the past measurements are not kept.
+ * 
+ */
+public interface ILoadForecaster {
+
+    /**
+     * Updates the model with a new measurement.
+     * 
+     * @param time
+     *            - the time of the measurement. Must not be before the time of
+     *            the previous measurement.
+     * @param value
+     *            - the measured load.
+     */
+    void update(final double time, final double value);
+
+    /**
+     * Forecasts the load at a future time.
+     * 
+     * @param time
+     *            - the time to forecast for. Should not be before the time of
+     *            the last measurement.
+     * @return the forecasted load, or NaN if there have been no measurements.
+     */
+    double forecast(final double time);
+
+}
@@ -0,0 +1,73 @@
+package org.cloudbus.cloudsim.EX.forecast;
+
+/**
+ * Forecasts the load with an exponentially weighted moving average with a
+ * trend (Holt's linear method). The trend is kept per unit of time, so the
+ * measurements need not be equally spaced.
+ * 
+ */
+public class TrendEWMAForecaster implements ILoadForecaster {
+
+    private final double alpha;
+    private final double beta;
+
+    private double level = Double.NaN;
+    private double trend = 0;
+    private double lastTime = Double.NaN;
+
+    /**
+     * Constr.
+     * 
+     * @param alpha
+     *            - the smoothing factor of the level. Must be in the interval
+     *            (0, 1].
+     * @param beta
+     *            - the smoothing factor of the trend. Must be in the interval
+     *            [0, 1]. If 0, the trend is not followed.
+     */
+    public TrendEWMAForecaster(final double alpha, final double beta) {
+        if (!(alpha > 0 && alpha <= 1) || !(beta >= 0 && beta <= 1)) {
+            throw new IllegalArgumentException("Invalid smoothing factors: " + alpha + ", " + beta);
+        }
+        this.alpha = alpha;
+        this.beta = beta;
+    }
+
+    @Override
+    public void update(final double time, final double value) {
+        if (Double.isNaN(level)) {
+            level = value;
+        } else {
+            double elapsed = time - lastTime;
+            double previousLevel = level;
+            level = alpha * value + (1 - alpha) * (level + trend * elapsed);
+            if (elapsed > 0) {
+                trend = beta * (level - previousLevel) / elapsed + (1 - beta) * trend;
+            }
+        }
+        lastTime = time;
+    }
+
+    @Override
+    public double forecast(final double time) {
+        return level + trend * (time - lastTime);
+    }
+
+    /**
+     * Returns the smoothed level of the load at the last measurement.
+     * 
+     * @return the smoothed level, or NaN if there have been no measurements.
+     */
+    public double getLevel() {
+        return level;
+    }
+
+    /**
+     * Returns the trend of the load per unit of time.
+     * 
+     * @return the trend of the load per unit of time.
+     */
+    public double getTrend() {
+        return trend;
+    }
+}
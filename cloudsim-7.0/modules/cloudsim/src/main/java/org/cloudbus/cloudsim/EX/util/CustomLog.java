@@ -12,6 +12,7 @@ import java.util.Date;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Properties;
+import java.util.function.Supplier;
 import java.util.logging.*;
 
 /**
@@ -25,6 +26,13 @@ import java.util.logging.*;
  * you want to use the defaults. The documentation of the public String
  * constants of the class describes what keys and values can be specified.
  * 
+ * <br/>
+ * 
+ * Messages that are costly to build can be passed as a {@link Supplier}, which
+ * is only called if the level is logged. The CloudSim time of a log entry is
+ * the time it was logged at, even if the log is written asynchronously - see
+ * {@link #ASYNC_PROP_KEY}.
+ * 
  * 
  * @author Nikolay Grozev
  * 
@@ -91,6 +99,16 @@ public class CustomLog {
      */
     private static final String BUFFER_SIZE_PROP_KEY = "BufferSize";
 
+    /**
+     * A key for a boolean property, specifying if the log should be written
+     * asynchronously, by a background thread, in batches of at most
+     * "BufferSize" records. Logging only blocks when the buffer is full.
+     */
+    public static final String ASYNC_PROP_KEY = "AsyncLog";
+
+    /** The size of the buffer of the asynchronous log, if not specified. */
+    private static final int DEFAULT_ASYNC_BUFFER_SIZE = 8192;
+
     /**
      * The default log level used by this log, if not specified.
      */
@@ -104,6 +122,7 @@ public class CustomLog {
     private static Level granularityLevel = DEFAULT_LEVEL;
     private static Formatter formatter;
     private static int bufferSize = -1;
+    private static boolean async = false;
 
     /**
      * Prints the message passed as an object. Simply uses toString
@@ -116,7 +135,22 @@ public class CustomLog {
      */
     public static void print(final Level level, final Object message) {
         if (isLevelHighEnough(level)) {
-            LOGGER.log(level == null ? DEFAULT_LEVEL : level, String.valueOf(message));
+            log(level, String.valueOf(message));
+        }
+    }
+
+    /**
+     * Prints the message returned by the supplier, which is only called if
+     * the level is logged.
+     * 
+     * @param level
+     *            - the level to use. If null the default level is used.
+     * @param message
+     *            - the supplier of the message.
+     */
+    public static void print(final Level level, final Supplier<?> message) {
+        if (isLevelHighEnough(level)) {
+            log(level, String.valueOf(message.get()));
         }
     }
 
@@ -145,7 +179,7 @@ public class CustomLog {
             for (Object message : messages) {
                 builder.append(message);
             }
-            LOGGER.log(level == null ? DEFAULT_LEVEL : level, String.valueOf(builder));
+            log(level, String.valueOf(builder));
         }
     }
 
@@ -173,7 +207,7 @@ public class CustomLog {
             for (Object message : messages) {
                 builder.append(message);
             }
-            LOGGER.log(level == null ? DEFAULT_LEVEL : level, String.valueOf(builder));
+            log(level, String.valueOf(builder));
         }
     }
 
@@ -197,7 +231,22 @@ public class CustomLog {
      */
     public static void printLine(final Level level, final String msg) {
         if (isLevelHighEnough(level)) {
-            LOGGER.log(level == null ? DEFAULT_LEVEL : level, msg);
+            log(level, msg);
+        }
+    }
+
+    /**
+     * Prints a line with the message returned by the supplier, which is only
+     * called if the level is logged.
+     * 
+     * @param level
+     *            - the log level. If null, the default log level is used.
+     * @param msg
+     *            - the supplier of the message. Must not be null.
+     */
+    public static void printLine(final Level level, final Supplier<String> msg) {
+        if (isLevelHighEnough(level)) {
+            log(level, msg.get());
         }
     }
 
@@ -223,10 +272,14 @@ public class CustomLog {
      */
     public static void printf(final Level level, final String format, final Object... args) {
         if (isLevelHighEnough(level)) {
-            LOGGER.log(level == null ? DEFAULT_LEVEL : level, String.format(format, args));
+            log(level, String.format(format, args));
         }
     }
 
+    private static void log(final Level level, final String msg) {
+        LOGGER.log(new SimLogRecord(level == null ? DEFAULT_LEVEL : level, msg));
+    }
+
     public static boolean isLevelHighEnough(final Level level) {
         return (level == null && DEFAULT_LEVEL.intValue() >= granularityLevel.intValue())
                 || (level != null && level.intValue() >= granularityLevel.intValue());
@@ -241,7 +294,7 @@ public class CustomLog {
      * @param args
      */
     public static void printf(final String format, final Object... args) {
-        printf(DEFAULT_LEVEL, String.format(format, args));
+        printf(DEFAULT_LEVEL, format, args);
     }
 
     /**
@@ -508,7 +561,9 @@ public class CustomLog {
      */
     public static void logError(final Level level, final String message, final Throwable exc) {
         if (isLevelHighEnough(level)) {
-            LOGGER.log(level, message, exc);
+            SimLogRecord record = new SimLogRecord(level, message);
+            record.setThrown(exc);
+            LOGGER.log(record);
         }
     }
 
@@ -570,6 +625,7 @@ public class CustomLog {
                 .getProperty(SHUT_STANDART_LOGGER_PROP_KEY, "false").trim());
         granularityLevel = Level.parse(props.getProperty(LOG_LEVEL_PROP_KEY, DEFAULT_LEVEL.getName()));
         bufferSize = Integer.parseInt(props.getProperty(BUFFER_SIZE_PROP_KEY, "-1").trim());
+        async = Boolean.parseBoolean(props.getProperty(ASYNC_PROP_KEY, "false").trim());
 
         if (shutStandardMessages) {
             Log.setOutput(NullOutputStream.NULL_OUTPUT_STREAM);
@@ -633,6 +689,9 @@ public class CustomLog {
     }
 
     private static Handler buffer(Handler handler) {
+        if (async) {
+            return new InMemoryBufferredHandler(handler, bufferSize > 0 ? bufferSize : DEFAULT_ASYNC_BUFFER_SIZE, true);
+        }
         Handler wrapHandler = bufferSize > 0 ? new InMemoryBufferredHandler(handler, bufferSize) : handler;
         return wrapHandler;
     }
@@ -658,6 +717,23 @@ public class CustomLog {
         }
     }
 
+    /**
+     * A log record, which keeps the CloudSim time it was created at, as it may
+     * be formatted later, by another thread.
+     */
+    private static class SimLogRecord extends LogRecord {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double clock;
+
+        public SimLogRecord(final Level level, final String msg) {
+            super(level, msg);
+            setLoggerName(LOGGER.getName());
+            clock = CloudSim.clock();
+        }
+    }
+
     private static class CustomFormatter extends Formatter {
 
         private final boolean prefixCloudSimClock;
@@ -682,11 +758,12 @@ public class CustomLog {
             if (prefixRealTimeClock) {
                 result.append(TextUtil.getTimeFormat().format(new Date(record.getMillis()))).append("\t");
             }
+            final double clock = record instanceof SimLogRecord simRecord ? simRecord.clock : CloudSim.clock();
             if (prefixCloudSimClock) {
-                result.append(TextUtil.toString(CloudSim.clock())).append("\t");
+                result.append(TextUtil.toString(clock)).append("\t");
             }
             if (prefixReadableCloudSimClock) {
-                result.append(TextUtil.getReadableTime(CloudSim.clock())).append("\t");
+                result.append(TextUtil.getReadableTime(clock)).append("\t");
             }
 
             // If there is an exception - use the standard formatter
@@ -1,8 +1,11 @@
 package org.cloudbus.cloudsim.EX.util;
 
 import java.io.UnsupportedEncodingException;
+import java.util.List;
 import java.util.logging.*;
 
+import org.cloudbus.cloudsim.util.AsyncAppender;
+
 /**
  * Keeps in memory a buffer of log records with a predefined size. When the
  * buffer is full - pushes the records to an aggregated handler.
@@ -14,6 +17,13 @@ import java.util.logging.*;
  * wrapped/aggregated handler. Hence the set(get)Format/Filter/Level methods
  * only delegate to the wrapped/aggregated handler
  * 
+ * <br>
+ * <br>
+ * The handler can be asynchronous: the records are then pushed to the
+ * aggregated handler by a background thread, in batches of all the records
+ * buffered at the time, so that the threads that log do not wait for the
+ * aggregated handler.
+ * 
  * @author nikolay.grozev
  * 
  */
@@ -24,6 +34,9 @@ public class InMemoryBufferredHandler extends Handler {
     private final LogRecord[] records;
     private int idx = 0;
 
+    /** The appender of the records, if the handler is asynchronous; null otherwise. */
+    private final AsyncAppender<LogRecord> appender;
+
     /**
      * Constr.
      * 
@@ -33,21 +46,42 @@ public class InMemoryBufferredHandler extends Handler {
      *            - the size of the buffer. Must be positive.
      */
     public InMemoryBufferredHandler(final Handler handler, final int bufferSize) {
+        this(handler, bufferSize, false);
+    }
+
+    /**
+     * Constr.
+     * 
+     * @param handler
+     *            - the embedded/aggregated handler. Must not be null.
+     * @param bufferSize
+     *            - the size of the buffer. Must be positive.
+     * @param async
+     *            - whether the records are pushed to the aggregated handler
+     *            by a background thread.
+     */
+    public InMemoryBufferredHandler(final Handler handler, final int bufferSize, final boolean async) {
         super();
         if (bufferSize <= 0) {
-            throw new IllegalAccessError("The size of the buffer must be positive");
+            throw new IllegalArgumentException("The size of the buffer must be positive");
         }
         this.handler = handler;
 
-        records = new LogRecord[bufferSize];
+        records = async ? null : new LogRecord[bufferSize];
+        appender = async ? new AsyncAppender<>("CloudSim-log-handler", bufferSize, this::publishBatch) : null;
     }
 
     @Override
-    public void publish(final LogRecord record) {
+    public synchronized void publish(final LogRecord record) {
         if (!isLoggable(record) && record.getLevel().intValue() >= handler.getLevel().intValue()) {
             return;
         }
 
+        if (appender != null) {
+            appender.append(record);
+            return;
+        }
+
         records[idx] = record;
         idx++;
 
@@ -56,13 +90,33 @@ public class InMemoryBufferredHandler extends Handler {
         }
     }
 
+    /**
+     * Pushes a batch of records to the aggregated handler, from the thread of
+     * the appender.
+     */
+    private void publishBatch(final List<LogRecord> batch) {
+        for (LogRecord record : batch) {
+            handler.publish(record);
+        }
+        handler.flush();
+    }
+
     @Override
     public void flush() {
         emptyBuffer();
         handler.flush();
     }
 
-    public void emptyBuffer() {
+    /**
+     * Pushes the buffered records to the aggregated handler, or waits until
+     * they are pushed if the handler is asynchronous.
+     */
+    public synchronized void emptyBuffer() {
+        if (appender != null) {
+            appender.flush();
+            return;
+        }
+
         // handler.publish(new LogRecord(Level.SEVERE, "Pushing " + idx +
         // " messages together"));
         for (int i = 0; i < idx; i++) {
@@ -75,6 +129,9 @@ public class InMemoryBufferredHandler extends Handler {
     @Override
     public void close() throws SecurityException {
         try {
+            if (appender != null) {
+                appender.close();
+            }
             flush();
             handler.flush();
         } finally {
@@ -1,12 +1,10 @@
 package org.cloudbus.cloudsim.EX.vm;
 
-import org.apache.commons.lang3.mutable.MutableDouble;
-import org.apache.commons.lang3.tuple.MutablePair;
 import org.cloudbus.cloudsim.CloudletScheduler;
 
-import java.util.ArrayList;
+import java.io.Serial;
+import java.io.Serializable;
 import java.util.Arrays;
-import java.util.List;
 
 /**
  * A type of virtual machine, which keeps track of its performance. This VM
@@ -20,6 +18,8 @@ import java.util.List;
  * 
  */
 public class MonitoredVmEX extends VmEX {
+    @Serial
+    private static final long serialVersionUID = 1L;
 
     private final double summaryPeriodLength;
 
@@ -144,6 +144,28 @@ public class MonitoredVmEX extends VmEX {
         return getAveragedPerformance(getCurrentTime());
     }
 
+    /**
+     * Computes the average utilisation over the last seconds of the summary
+     * period, without creating objects.
+     *
+     * @param period
+     *            - the length of the period to average over. Periods longer
+     *            than the summary period average all retained observations.
+     * @param result
+     *            - an array of at least 3 elements, where the utilisation is
+     *            stored in the format [cp_util, ram_util, disk_util].
+     * @return the number of averaged observations.
+     */
+    public int getAveragedUtil(final double period, final double[] result) {
+        if (summaryPeriodLength < 0) {
+            Arrays.fill(result, 0, 3, 0);
+            return 0;
+        }
+        double currTime = getCurrentTime();
+        cleanupOldData(currTime);
+        return data.averageSince(currTime - period, result);
+    }
+
     private double[] getAveragedPerformance(final double currTime) {
         // If there has not been any update - return the cached value
         if (!newPerfDataAvailableFlag) {
@@ -198,171 +220,198 @@ public class MonitoredVmEX extends VmEX {
      * Represents the monitored utilisation data. This class should be used
      * outside this VM only for testing purposes.
      * 
+     * <br>
+     * <br>
+     * 
+     * The observations are kept in a circular buffer of primitives - their
+     * times and the cumulative sums of the CPU, RAM and Disk utilisations up
+     * to each of them. Thus the average of any suffix of the observations is
+     * the difference of two cumulative sums, and neither adding nor removing
+     * observations creates objects. The buffer starts with 16 entries and
+     * doubles whenever it is full, so its size settles at the number of
+     * observations in the summary period.
+     * 
+     * <br>
+     * <br>
+     * 
+     * The cumulative sums are rebased on the oldest observation whenever the
+     * buffer wraps around or grows. Thus they stay within the sum of a few
+     * summary periods, and the rounding error of their differences does not
+     * build up over a long simulation.
+     * 
      * @author nikolay.grozev
      * 
      */
-    public static class MonitoredData {
+    public static class MonitoredData implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
 
-        private static final int MAX_POOL_SIZE = 500;
+        private static final int INITIAL_CAPACITY = 16;
+        /** The number of utilisation metrics - CPU, RAM and Disk. */
+        private static final int NUM_METRICS = 3;
 
+        private double[] times = new double[INITIAL_CAPACITY];
         /**
-         * We don't want to create new arrays every time - this creates too much
-         * garbage. That's why we need to keep a pool of unused array objects,
-         * which we reuse.
+         * The cumulative sums of the observations up to and including each
+         * one, in the format [cpu, ram, disk] per observation.
          */
-        private final List<double[]> arrayPool = new ArrayList<>();
-        private final List<MutableDouble> doublePool = new ArrayList<>();
+        private double[] cumulativeSums = new double[INITIAL_CAPACITY * NUM_METRICS];
+        /** The cumulative sums up to and including the last removed observation. */
+        private final double[] removedSums = new double[NUM_METRICS];
 
-        private final ArrayList<MutablePair<MutableDouble, double[]>> data = new ArrayList<>();
         private int startIdx = 0;
-        private int endIdx = 0;
-        /** If there is not monitoring data. */
-        private boolean empty = true;
-
-        /**
-         * Keeping the sums of all observations, to avoid excessive looping over
-         * the observations.
-         */
-        private final double[] measurementsSums = new double[] { 0, 0, 0 };
-        /**
-         * The number/count of all observations. We keep it in a variable to
-         * avoid looping.
-         */
-        private int measurementsCount = 0;
+        private int count = 0;
 
         public void put(double time, final double cpuUtil, final double ramUtil, final double diskUtil) {
-            double[] util = getPooledArray(cpuUtil, ramUtil, diskUtil);
-            MutableDouble pooledTime = getPooledDouble(time);
-            if (empty) {
-                data.add(startIdx, new MutablePair<>(pooledTime, util));
-                endIdx = startIdx;
-
-                // If startIdx is in the beginning of the list and endIdx is in
-                // the end...
-            } else if (data.isEmpty() || (startIdx == 0 && endIdx == data.size() - 1)) {
-                data.add(new MutablePair<>(pooledTime, util));
-                endIdx = data.size() - 1;
-
-                // If endIdx is not at the end or just before startIdx
-            } else if (endIdx < data.size() - 1 && (startIdx < endIdx || endIdx + 1 < startIdx)) {
-                endIdx++;
-
-                MutablePair<MutableDouble, double[]> entry = data.get(endIdx);
-                entry.setLeft(pooledTime);
-                entry.setRight(util);
-
-                // If endIdx is at the end and startIdx is not in the beginning
-            } else if (startIdx > 0 && endIdx == data.size() - 1) {
-                endIdx = 0;
-
-                MutablePair<MutableDouble, double[]> entry = data.get(endIdx);
-                entry.setLeft(pooledTime);
-                entry.setRight(util);
-
-                // If endIdx is is just before startIdx
-            } else if (endIdx + 1 == startIdx) {
-                endIdx++;
-                startIdx++;
-                data.add(endIdx, new MutablePair<>(pooledTime, util));
-            } else {
-                // Something went wrong...
-                throw new IllegalStateException("Ivalid state of counters: start=" + startIdx + " end=" + endIdx);
+            if (count == times.length) {
+                grow();
             }
-
-            for (int i = 0; i < util.length; i++) {
-                measurementsSums[i] += util[i];
+            int idx = (startIdx + count) & (times.length - 1);
+            if (idx == 0) {
+                rebase();
             }
-            this.measurementsCount++;
-            empty = false;
+            int to = idx * NUM_METRICS;
+            if (count == 0) {
+                cumulativeSums[to] = removedSums[0] + cpuUtil;
+                cumulativeSums[to + 1] = removedSums[1] + ramUtil;
+                cumulativeSums[to + 2] = removedSums[2] + diskUtil;
+            } else {
+                int from = ((idx - 1) & (times.length - 1)) * NUM_METRICS;
+                cumulativeSums[to] = cumulativeSums[from] + cpuUtil;
+                cumulativeSums[to + 1] = cumulativeSums[from + 1] + ramUtil;
+                cumulativeSums[to + 2] = cumulativeSums[from + 2] + diskUtil;
+            }
+            times[idx] = time;
+            count++;
         }
 
         public void cleanUp(double currTime, double summaryPeriodLength) {
-            if (empty || summaryPeriodLength < 0) {
+            if (count == 0 || summaryPeriodLength < 0) {
                 return;
             }
 
-            while (data.get(startIdx).getLeft().doubleValue() < currTime - summaryPeriodLength && startIdx != endIdx) {
-                for (int i = 0; i < data.get(startIdx).getRight().length; i++) {
-                    measurementsSums[i] -= data.get(startIdx).getRight()[i];
-                }
-                measurementsCount--;
-
-                // Pool the objects, so we can reuse them.
-                arrayPool.add(data.get(startIdx).getRight());
-                doublePool.add(data.get(startIdx).getLeft());
-
-                startIdx = (startIdx + 1) % data.size();
+            while (count > 0 && times[startIdx] < currTime - summaryPeriodLength) {
+                System.arraycopy(cumulativeSums, startIdx * NUM_METRICS, removedSums, 0, NUM_METRICS);
+                startIdx = (startIdx + 1) & (times.length - 1);
+                count--;
             }
 
-            if (startIdx == endIdx && data.get(startIdx).getLeft().doubleValue() < currTime - summaryPeriodLength) {
-                Arrays.fill(measurementsSums, 0);
-                measurementsCount = 0;
-
-                // Pool the objects, so we can reuse them.
-                arrayPool.add(data.get(startIdx).getRight());
-                doublePool.add(data.get(startIdx).getLeft());
-
-                empty = true;
+            if (count == 0) {
+                // Start the sums anew, so that they do not grow indefinitely
+                Arrays.fill(removedSums, 0);
                 startIdx = 0;
-                endIdx = 0;
             }
         }
 
         public double[] computerAvgData() {
             double[] result = new double[] { 0, 0, 0 };
-            if (measurementsCount > 0) {
-                for (int i = 0; i < result.length; i++) {
-                    result[i] = measurementsSums[i] / measurementsCount;
-                }
-            }
+            averageOfLast(count, result);
             return result;
         }
 
         /**
-         * Return the number of utilisation records.
+         * Computes the average utilisations of the last observations in O(1).
          * 
-         * @return the number of utilisation records.
+         * @param n
+         *            - how many of the last observations to average. If
+         *            greater than the number of observations, all observations
+         *            are averaged.
+         * @param result
+         *            - an array of at least 3 elements, where the average
+         *            utilisations are stored in the format [cpu_util,
+         *            ram_util, disk_util]. Zeros are stored if there are no
+         *            observations.
+         * @return the number of averaged observations.
          */
-        public int size() {
-            if (endIdx == startIdx) {
-                return empty ? 0 : 1;
-            } else if (endIdx > startIdx) {
-                return endIdx - startIdx + 1;
-            } else {
-                return data.size() - (startIdx - endIdx) + 1;
+        public int averageOfLast(final int n, final double[] result) {
+            int num = Math.max(0, Math.min(n, count));
+            if (num == 0) {
+                Arrays.fill(result, 0, NUM_METRICS, 0);
+                return 0;
             }
-        }
 
-        private double[] getPooledArray(final double cpuUtil, final double ramUtil, final double diskUtil) {
-            if (arrayPool.isEmpty()) {
-                return new double[] { cpuUtil, ramUtil, diskUtil };
-            } else {
-                double[] res = arrayPool.remove(arrayPool.size() - 1);
-                res[0] = cpuUtil;
-                res[1] = ramUtil;
-                res[2] = diskUtil;
+            int mask = times.length - 1;
+            int last = ((startIdx + count - 1) & mask) * NUM_METRICS;
+            for (int i = 0; i < NUM_METRICS; i++) {
+                double before = num == count ? removedSums[i]
+                        : cumulativeSums[((startIdx + count - num - 1) & mask) * NUM_METRICS + i];
+                result[i] = (cumulativeSums[last + i] - before) / num;
+            }
+            return num;
+        }
 
-                if (arrayPool.size() > MAX_POOL_SIZE) {
-                    arrayPool.clear();
+        /**
+         * Computes the average utilisations of the observations made at or
+         * after the specified time. The first of them is found with a binary
+         * search, and the average is then computed in O(1).
+         * 
+         * @param time
+         *            - the time of the earliest observation to average.
+         * @param result
+         *            - an array of at least 3 elements, where the average
+         *            utilisations are stored in the format [cpu_util,
+         *            ram_util, disk_util]. Zeros are stored if there are no
+         *            such observations.
+         * @return the number of averaged observations.
+         */
+        public int averageSince(final double time, final double[] result) {
+            int mask = times.length - 1;
+            // Find the number of observations before the time
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (times[(startIdx + mid) & mask] < time) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
                 }
-
-                return res;
             }
+            return averageOfLast(count - low, result);
         }
 
-        private MutableDouble getPooledDouble(final double dbl) {
-            if (doublePool.isEmpty()) {
-                return new MutableDouble(dbl);
-            } else {
-                MutableDouble res = doublePool.remove(doublePool.size() - 1);
-                res.setValue(dbl);
+        /**
+         * Return the number of utilisation records.
+         * 
+         * @return the number of utilisation records.
+         */
+        public int size() {
+            return count;
+        }
 
-                if (doublePool.size() > MAX_POOL_SIZE) {
-                    doublePool.clear();
-                }
+        private void grow() {
+            int capacity = times.length;
+            double[] newTimes = new double[capacity * 2];
+            double[] newSums = new double[capacity * 2 * NUM_METRICS];
+
+            // Unwrap the buffer, so that the oldest observation is first
+            int tail = capacity - startIdx;
+            System.arraycopy(times, startIdx, newTimes, 0, tail);
+            System.arraycopy(times, 0, newTimes, tail, startIdx);
+            System.arraycopy(cumulativeSums, startIdx * NUM_METRICS, newSums, 0, tail * NUM_METRICS);
+            System.arraycopy(cumulativeSums, 0, newSums, tail * NUM_METRICS, startIdx * NUM_METRICS);
+
+            times = newTimes;
+            cumulativeSums = newSums;
+            startIdx = 0;
+            rebase();
+        }
 
-                return res;
+        /**
+         * Subtracts the sums of the removed observations from the cumulative
+         * sums, so that they start from the oldest kept observation. Called
+         * once per wrap around, so it adds O(1) amortised time to each
+         * observation.
+         */
+        private void rebase() {
+            int mask = times.length - 1;
+            for (int i = 0; i < count; i++) {
+                int idx = ((startIdx + i) & mask) * NUM_METRICS;
+                for (int m = 0; m < NUM_METRICS; m++) {
+                    cumulativeSums[idx + m] -= removedSums[m];
+                }
             }
+            Arrays.fill(removedSums, 0);
         }
 
         /**
@@ -372,7 +421,7 @@ public class MonitoredVmEX extends VmEX {
          * @return the size of the used undrlying data structure.
          */
         public int dataSize() {
-            return data.size();
+            return times.length;
         }
     }
 
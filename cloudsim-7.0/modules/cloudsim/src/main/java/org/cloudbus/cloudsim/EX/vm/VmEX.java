@@ -5,6 +5,7 @@ import org.cloudbus.cloudsim.Vm;
 import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.EX.util.Id;
 
+import java.io.Serial;
 import java.util.EnumSet;
 import java.util.Objects;
 
@@ -17,6 +18,8 @@ import java.util.Objects;
  * @author Remo Andreoli
  */
 public class VmEX extends Vm {
+    @Serial
+    private static final long serialVersionUID = 1L;
 
     private VmStatus status;
     private final VMMetadata metadata;
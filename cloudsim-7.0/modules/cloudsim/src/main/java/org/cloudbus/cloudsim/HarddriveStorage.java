@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -29,11 +30,15 @@ import org.cloudbus.cloudsim.distributions.ContinuousDistribution;
  * @since CloudSim Toolkit 1.0
  */
 public class HarddriveStorage implements Storage {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** A list storing the names of all files on the hard drive. */
+	@SuppressWarnings("serial")
 	private List<String> nameList;
 
 	/** A list storing all files stored on the hard drive. */
+	@SuppressWarnings("serial")
 	private List<File> fileList;
 
 	/** The name of the hard drive. */
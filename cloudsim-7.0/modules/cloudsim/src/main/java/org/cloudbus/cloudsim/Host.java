@@ -7,6 +7,7 @@
 
 package org.cloudbus.cloudsim;
 
+import java.io.Serial;
 import java.util.*;
 
 import org.cloudbus.cloudsim.core.GuestEntity;
@@ -28,6 +29,8 @@ import org.cloudbus.cloudsim.provisioners.RamProvisioner;
  * @since CloudSim Toolkit 1.0
  */
 public class Host implements HostEntity {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** The id of the host. */
 	private int id;
@@ -45,23 +48,26 @@ public class Host implements HostEntity {
 	private VmScheduler vmScheduler;
 
 	/** The list of VMs assigned to the host. */
+	@SuppressWarnings("serial")
 	private final List<? extends GuestEntity> guestList = new ArrayList<>();
 
 	/** The Processing Elements (PEs) of the host, that
          * represent the CPU cores of it, and thus, its processing capacity. */
+	@SuppressWarnings("serial")
 	private List<? extends Pe> peList;
 
 	/** Tells whether this host is working properly or has failed. */
 	private boolean failed;
 
 	/** The VMs migrating in. */
+	@SuppressWarnings("serial")
 	private final List<? extends GuestEntity> guestsMigratingIn = new ArrayList<>();
 
 	/** The datacenter where the host is placed. */
 	private Datacenter datacenter;
 
-	/** guest id -> overhead */
-	private Map<Integer, Integer> cachedVirtualizationOverhead;
+	/** guest id -> overhead, rebuilt after the host is restored from a checkpoint */
+	private transient Map<Integer, Integer> cachedVirtualizationOverhead;
 
 	/**
 	 * Instantiates a new host.
@@ -88,8 +94,6 @@ public class Host implements HostEntity {
 
 		setPeList(peList);
 		setFailed(false);
-
-		cachedVirtualizationOverhead = new HashMap<>();
 	}
 
 	/**
@@ -140,6 +144,9 @@ public class Host implements HostEntity {
 	 * @return 0 if guest is not present
 	 */
 	public int getTotalVirtualizationOverhead(int guestId, Iterator<GuestEntity> it, int acc) {
+		if (cachedVirtualizationOverhead == null) {
+			cachedVirtualizationOverhead = new HashMap<>();
+		}
 		if (cachedVirtualizationOverhead.containsKey(guestId)) {
 			return acc + cachedVirtualizationOverhead.get(guestId);
 		}
@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
@@ -27,6 +28,8 @@ import org.cloudbus.cloudsim.provisioners.RamProvisioner;
  * @since CloudSim Toolkit 2.0
  */
 public class HostDynamicWorkload extends Host {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** The utilization mips. */
 	private double utilizationMips;
@@ -35,6 +38,7 @@ public class HostDynamicWorkload extends Host {
 	private double previousUtilizationMips;
 
 	/** The host utilization state history. */
+	@SuppressWarnings("serial")
 	private final List<HostStateHistoryEntry> stateHistory = new LinkedList<>();
 
 	/**
@@ -132,6 +136,32 @@ public class HostDynamicWorkload extends Host {
 		return smallerTime;
 	}
 
+	/**
+	 * Gets the time of the next change of the utilization of the cloudlets running in the guests of the host,
+	 * including the nested ones. Until then, the allocation of the host only changes if a cloudlet finishes.
+	 *
+	 * @param currentTime the current time
+	 * @return the earliest next change time
+	 * @see UtilizationModel#getNextChangeTime(double)
+	 */
+	public double getNextUtilizationChangeTime(double currentTime) {
+		double nextChangeTime = Double.MAX_VALUE;
+		for (GuestEntity guest : getGuestList()) {
+			nextChangeTime = Math.min(nextChangeTime, getNextUtilizationChangeTime(guest, currentTime));
+		}
+		return nextChangeTime;
+	}
+
+	private static double getNextUtilizationChangeTime(GuestEntity guest, double currentTime) {
+		double nextChangeTime = guest.getCloudletScheduler().getNextUtilizationChangeTime(currentTime);
+		if (guest instanceof VirtualEntity vm) {
+			for (GuestEntity nestedGuest : vm.getGuestList()) {
+				nextChangeTime = Math.min(nextChangeTime, getNextUtilizationChangeTime(nestedGuest, currentTime));
+			}
+		}
+		return nextChangeTime;
+	}
+
 	/**
 	 * Gets the completed vms.
 	 *
@@ -150,9 +180,10 @@ public class HostDynamicWorkload extends Host {
 
 			if (guest.getCurrentRequestedTotalMips() == 0) {
 				vmsToRemove.add(guest);
-			}
-
-			if (guest instanceof VirtualEntity vm && vm.getNumberOfGuests()==0) {
+			} else if (guest instanceof VirtualEntity vm && vm.getNumberOfGuests() == 0
+					&& vm.getCloudletScheduler().getCloudletExecList().isEmpty()
+					&& vm.getCloudletScheduler().getCloudletWaitingList().isEmpty()) {
+				// a VM hosting guests is completed when they are all gone, not while it runs its own cloudlets
 				vmsToRemove.add(vm);
 			}
 		}
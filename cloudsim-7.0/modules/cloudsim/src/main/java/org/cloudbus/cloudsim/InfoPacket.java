@@ -16,6 +16,7 @@
 
 package org.cloudbus.cloudsim;
 
+import java.io.Serial;
 import java.text.DecimalFormat;
 import java.util.Vector;
 
@@ -39,6 +40,8 @@ import org.cloudbus.cloudsim.core.CloudSimTags;
  * @since CloudSim Toolkit 1.0
  */
 public class InfoPacket implements Packet {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** The packet name. */
 	private final String name;
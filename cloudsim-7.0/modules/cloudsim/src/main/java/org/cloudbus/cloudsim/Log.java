@@ -10,10 +10,18 @@ package org.cloudbus.cloudsim;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.cloudbus.cloudsim.util.AsyncAppender;
 
 /**
  * Logger used for performing logging of the simulation process. It provides the ability to
  * substitute the output stream by any OutputStream subclass.
+ *
+ * <br/>The messages that are expensive to build can be passed as a {@link Supplier}, which is only
+ * called if the logger is enabled, and the messages can be written by a background thread
+ * (see {@link #enableAsyncOutput(int)}).
  * 
  * @author Anton Beloglazov
  * @author Remo Andreoli
@@ -31,9 +39,18 @@ public class Log {
          the call for any print method has no effect. */
 	private static boolean disabled;
 	
+	/** The output streams of the threads whose messages are redirected, e.g., to be printed later in a given order. */
+	private static final ThreadLocal<OutputStream> threadOutput = new ThreadLocal<>();
+
 	/** Buffer to avoid creating new string builder upon every print. */
 	private static final StringBuilder buffer = new StringBuilder();
 
+	/** The appender that writes the messages in the background, or null if they are written by the caller. */
+	private static volatile AsyncAppender<String> appender = null;
+
+	/** Whether the hook that writes the buffered messages at exit has been added. */
+	private static boolean shutdownHookAdded = false;
+
 	/**
 	 * Prints a message.
 	 * 
@@ -41,6 +58,11 @@ public class Log {
 	 */
 	public static void print(String message) {
 		if (!isDisabled()) {
+			AsyncAppender<String> async = appender;
+			if (async != null && threadOutput.get() == null) {
+				async.append(message);
+				return;
+			}
 			try {
 				getOutput().write(message.getBytes());
 			} catch (IOException e) {
@@ -49,6 +71,17 @@ public class Log {
 		}
 	}
 
+	/**
+	 * Prints a message built only if the logger is enabled.
+	 *
+	 * @param message the supplier of the message
+	 */
+	public static void print(Supplier<String> message) {
+		if (!isDisabled()) {
+			print(message.get());
+		}
+	}
+
 	/**
 	 * Prints the message passed as a non-String object.
 	 * 
@@ -74,6 +107,17 @@ public class Log {
 	@Deprecated
 	public static void printLine(String message) { println(message); }
 
+	/**
+	 * Prints a message built only if the logger is enabled, and a new line.
+	 *
+	 * @param message the supplier of the message
+	 */
+	public static void println(Supplier<String> message) {
+		if (!isDisabled()) {
+			println(message.get());
+		}
+	}
+
 	/**
 	 * Prints an empty line.
 	 */
@@ -92,7 +136,7 @@ public class Log {
 	 * 
 	 * @param messages the messages to print
 	 */
-	public static void printConcat(Object... messages) {
+	public static synchronized void printConcat(Object... messages) {
 		if (!isDisabled()) {
 			buffer.setLength(0); // Clear the buffer		    
             for (Object message : messages) {
@@ -107,7 +151,7 @@ public class Log {
 	 * 
 	 * @param messages the messages to print
 	 */
-	public static void printlnConcat(Object... messages) {
+	public static synchronized void printlnConcat(Object... messages) {
 		if (!isDisabled()) {
 			buffer.setLength(0); // Clear the buffer		    
             for (Object message : messages) {
@@ -161,26 +205,119 @@ public class Log {
 	}
 
 	/**
-	 * Sets the output stream.
+	 * Sets the output stream. The messages printed before are written to the previous output stream.
 	 * 
 	 * @param _output the new output
 	 */
 	public static void setOutput(OutputStream _output) {
+		flush();
 		output = _output;
 	}
 
 	/**
-	 * Gets the output stream.
+	 * Writes the messages in the background, so that the simulation does not wait for the output stream:
+	 * the messages are appended to a ring buffer, and a daemon thread writes all the messages of the buffer
+	 * at once. The messages printed by the threads that have their own output stream
+	 * (see {@link #setThreadOutput(OutputStream)}) are still written by the threads.
+	 *
+	 * <br/>The messages are written when the program exits normally, or can be waited for with {@link #flush()}.
+	 * The messages printed directly to {@link System#out} can be printed before earlier log messages.
+	 *
+	 * @param capacity the number of messages of the buffer
+	 */
+	public static synchronized void enableAsyncOutput(int capacity) {
+		disableAsyncOutput();
+		appender = new AsyncAppender<>("CloudSim-log", capacity, Log::write);
+		if (!shutdownHookAdded) {
+			Runtime.getRuntime().addShutdownHook(new Thread(Log::flush, "CloudSim-log-flush"));
+			shutdownHookAdded = true;
+		}
+	}
+
+	/**
+	 * Writes the messages by the threads that print them, which is the default. The messages buffered
+	 * are written before.
+	 */
+	public static synchronized void disableAsyncOutput() {
+		AsyncAppender<String> async = appender;
+		if (async != null) {
+			appender = null;
+			async.close();
+		}
+	}
+
+	/**
+	 * Checks if the messages are written in the background.
+	 *
+	 * @see #enableAsyncOutput(int)
+	 */
+	public static boolean isAsyncOutputEnabled() {
+		return appender != null;
+	}
+
+	/**
+	 * Waits until the messages printed before are written to the output stream, and flushes it.
+	 */
+	public static void flush() {
+		AsyncAppender<String> async = appender;
+		if (async != null) {
+			async.flush();
+		}
+		if (output != null) {
+			try {
+				output.flush();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Writes a batch of messages to the output stream, from the thread of the appender.
+	 *
+	 * @param messages the messages
+	 */
+	private static void write(List<String> messages) throws IOException {
+		StringBuilder batch = new StringBuilder();
+		for (String message : messages) {
+			batch.append(message);
+		}
+		OutputStream out = getOutput();
+		out.write(batch.toString().getBytes());
+		out.flush();
+	}
+
+	/**
+	 * Gets the output stream, or the one of the current thread if it has been set.
 	 * 
 	 * @return the output
 	 */
 	public static OutputStream getOutput() {
+		OutputStream out = threadOutput.get();
+		if (out != null) {
+			return out;
+		}
 		if (output == null) {
-			setOutput(System.out);
+			// not with setOutput(), whose flush would wait for the appender thread calling this method
+			output = System.out;
 		}
 		return output;
 	}
 
+	/**
+	 * Sets the output stream of the current thread, which replaces the output stream
+	 * for the messages printed by the thread.
+	 *
+	 * @param _output the output of the thread, or null to use the output stream again
+	 */
+	public static void setThreadOutput(OutputStream _output) {
+		if (_output == null) {
+			threadOutput.remove();
+		} else {
+			threadOutput.set(_output);
+		}
+	}
+
 	/**
 	 * Sets the disable output flag.
 	 * 
@@ -12,9 +12,11 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.function.Function;
 
 import org.cloudbus.cloudsim.network.DelayMatrix_Float;
 import org.cloudbus.cloudsim.network.GraphReaderBrite;
+import org.cloudbus.cloudsim.network.OnDemandDelayMatrix_Float;
 import org.cloudbus.cloudsim.network.TopologicalGraph;
 import org.cloudbus.cloudsim.network.TopologicalLink;
 import org.cloudbus.cloudsim.network.TopologicalNode;
@@ -52,6 +54,12 @@ public class NetworkTopology {
          */
 	protected static DelayMatrix_Float delayMatrix = null;
 
+        /**
+         * Creates the delay matrix from the topological graph, or null to compute the delays
+         * between all pairs of nodes at once with {@link DelayMatrix_Float}.
+         */
+	protected static Function<TopologicalGraph, DelayMatrix_Float> delayMatrixFactory = null;
+
         /**
          * A matrix containing the bandwidth between every pair of nodes in the network.
          */
@@ -100,14 +108,52 @@ public class NetworkTopology {
 	 */
 	private static void generateMatrices() {
 		// creates the delay matrix
-		delayMatrix = new DelayMatrix_Float(graph, false);
-
-		// creates the bw matrix
-		bwMatrix = createBwMatrix(graph, false);
+		if (delayMatrixFactory != null) {
+			delayMatrix = delayMatrixFactory.apply(graph);
+			bwMatrix = null;
+		} else {
+			delayMatrix = new DelayMatrix_Float(graph, false);
+
+			// creates the bw matrix
+			bwMatrix = createBwMatrix(graph, false);
+		}
 
 		networkEnabled = true;
 	}
 
+	/**
+	 * Sets how the delay matrix is computed by the next call to {@link #buildNetworkTopology(String)}
+	 * or {@link #addLink(int, int, double, double)}. By default, the delays between all pairs of nodes
+	 * are computed at once, which is fastest when most nodes exchange messages. For large sparse
+	 * topologies where only a few nodes are mapped to entities, delays can be computed on demand
+	 * per source node, keeping only the most recently used source rows in memory.
+	 *
+	 * @param cachedSourceRows the number of source rows to keep in memory, or 0 to compute
+	 *                         all pairs of delays at once
+	 * @see OnDemandDelayMatrix_Float
+	 */
+	public static void setOnDemandDelays(int cachedSourceRows) {
+		if (cachedSourceRows < 0) {
+			throw new IllegalArgumentException("The number of cached source rows must be >= 0.");
+		}
+		setDelayMatrixFactory(cachedSourceRows == 0 ? null :
+				g -> new OnDemandDelayMatrix_Float(g, false, cachedSourceRows));
+	}
+
+	/**
+	 * Sets how the delay matrix is created by the next call to {@link #buildNetworkTopology(String)}
+	 * or {@link #addLink(int, int, double, double)}, e.g. to store it off-heap with
+	 * {@link org.cloudbus.cloudsim.network.OffHeapDelayMatrix_Float} or to approximate it with
+	 * {@link org.cloudbus.cloudsim.network.ClusteredDelayMatrix_Float} for very large topologies.
+	 * The dense bandwidth matrix is only built along with the default delay matrix.
+	 *
+	 * @param factory creates the (undirected) delay matrix of a topological graph,
+	 *                or null to compute all pairs of delays at once with {@link DelayMatrix_Float}
+	 */
+	public static void setDelayMatrixFactory(Function<TopologicalGraph, DelayMatrix_Float> factory) {
+		delayMatrixFactory = factory;
+	}
+
 	/**
 	 * Adds a new link in the network topology.
          * The CloudSim entities that represent the source and destination of the link
@@ -8,6 +8,8 @@
 
 package org.cloudbus.cloudsim;
 
+import java.io.Serializable;
+
 /**
  * The UtilizationModel interface needs to be implemented in order to provide a fine-grained control
  * over resource usage by a Cloudlet.
@@ -18,7 +20,7 @@ package org.cloudbus.cloudsim;
  * the name of the interface and implementing classes would include the word "Cloudlet"
  * to make clear their for what kind of entity they are related.
  */
-public interface UtilizationModel {
+public interface UtilizationModel extends Serializable {
 
 	/**
 	 * Gets the utilization percentage of a given resource.
@@ -28,4 +30,18 @@ public interface UtilizationModel {
 	 */
 	double getUtilization(double time);
 
+	/**
+	 * Gets the time of the next change of the utilization, i.e., the utilization is constant from
+	 * the given time until the returned time. It allows the datacenters to skip the updates in which
+	 * nothing changes.
+	 *
+	 * @param time the time from which the next change is searched
+	 * @return the time the utilization starts changing after the given time; the given time itself
+	 *         if the utilization may change right after it, or if it is not known (the default);
+	 *         {@link Double#MAX_VALUE} if the utilization never changes
+	 */
+	default double getNextChangeTime(double time) {
+		return time;
+	}
+
 }
\ No newline at end of file
@@ -8,6 +8,8 @@
 
 package org.cloudbus.cloudsim;
 
+import java.io.Serial;
+
 /**
  * The UtilizationModelFull class is a simple model, according to which a Cloudlet always utilizes
  * a given allocated resource at 100%, all the time.
@@ -16,6 +18,8 @@ package org.cloudbus.cloudsim;
  * @since CloudSim Toolkit 2.0
  */
 public class UtilizationModelFull implements UtilizationModel {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/**
 	 * Gets the utilization percentage of a given resource
@@ -30,4 +34,14 @@ public class UtilizationModelFull implements UtilizationModel {
 		return 1;
 	}
 
+	/**
+	 * The utilization of this model never changes.
+	 *
+	 * @return {@link Double#MAX_VALUE}
+	 */
+	@Override
+	public double getNextChangeTime(double time) {
+		return Double.MAX_VALUE;
+	}
+
 }
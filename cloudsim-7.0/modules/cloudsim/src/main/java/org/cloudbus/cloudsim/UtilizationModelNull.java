@@ -8,6 +8,8 @@
 
 package org.cloudbus.cloudsim;
 
+import java.io.Serial;
+
 /**
  * The UtilizationModelNull class is a simple model, according to which a Cloudlet always require
  * zero capacity for a given resource all the time.
@@ -16,10 +18,22 @@ package org.cloudbus.cloudsim;
  * @since CloudSim Toolkit 2.0
  */
 public class UtilizationModelNull implements UtilizationModel {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	@Override
 	public double getUtilization(double time) {
 		return 0;
 	}
 
+	/**
+	 * The utilization of this model never changes.
+	 *
+	 * @return {@link Double#MAX_VALUE}
+	 */
+	@Override
+	public double getNextChangeTime(double time) {
+		return Double.MAX_VALUE;
+	}
+
 }
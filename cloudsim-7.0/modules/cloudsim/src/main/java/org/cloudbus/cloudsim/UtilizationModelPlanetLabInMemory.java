@@ -3,6 +3,7 @@ package org.cloudbus.cloudsim;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.Serial;
 
 /**
  * Defines the resource utilization model based on 
@@ -10,6 +11,8 @@ import java.io.IOException;
  * datacenter trace file.
  */
 public class UtilizationModelPlanetLabInMemory implements UtilizationModel {
+	@Serial
+	private static final long serialVersionUID = 1L;
 	
 	/** The scheduling interval. */
 	private double schedulingInterval;
@@ -76,6 +79,28 @@ public class UtilizationModelPlanetLabInMemory implements UtilizationModel {
 
 	}
 
+	/**
+	 * Gets the time of the next change of the utilization. As the utilization is interpolated linearly
+	 * between the samples, it only stays constant across consecutive samples with the same value.
+	 *
+	 * @param time the time from which the next change is searched
+	 * @return the given time if the utilization is changing, the time of the next sample after which the
+	 *         utilization changes otherwise, or {@link Double#MAX_VALUE} after the last change
+	 */
+	@Override
+	public double getNextChangeTime(double time) {
+		int sample = (int) Math.floor(time / getSchedulingInterval());
+		if (sample < data.length - 1 && data[sample] != data[sample + 1]) {
+			return time;
+		}
+		for (int i = sample + 1; i < data.length - 1; i++) {
+			if (data[i] != data[i + 1]) {
+				return i * getSchedulingInterval();
+			}
+		}
+		return Double.MAX_VALUE;
+	}
+
 	/**
 	 * Sets the scheduling interval.
 	 * 
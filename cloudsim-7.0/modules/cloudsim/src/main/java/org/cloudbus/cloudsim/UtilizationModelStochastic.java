@@ -12,6 +12,7 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.Serial;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
@@ -28,12 +29,15 @@ import java.util.Random;
  * (that can be placed in the super class)
  */
 public class UtilizationModelStochastic implements UtilizationModel {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** The random generator. */
 	private Random randomGenerator;
 
 	/** The utilization history map, where each key is a time and
          * each value is the utilization percentage in that time. */
+	@SuppressWarnings("serial")
 	private Map<Double, Double> history;
 
 	/**
@@ -14,6 +14,7 @@ import org.cloudbus.cloudsim.lists.PeList;
 import org.cloudbus.cloudsim.provisioners.BwProvisioner;
 import org.cloudbus.cloudsim.provisioners.RamProvisioner;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
@@ -29,6 +30,8 @@ import java.util.List;
  * @since CloudSim Toolkit 1.0
  */
 public class Vm implements VirtualEntity {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** The VM unique id. */
 	private final int id;
@@ -87,6 +90,7 @@ public class Vm implements VirtualEntity {
 	/** The current allocated mips for each VM's PE.
 	 * @TODO: Maybe replace with a call to getCloudletScheduler().getCurrentMipsShare()
 	 */
+	@SuppressWarnings("serial")
 	private List<Double> currentAllocatedMips;
 
 	/** Indicates if the VM is being instantiated. */
@@ -99,12 +103,15 @@ public class Vm implements VirtualEntity {
 	private BwProvisioner guestBwProvisioner;
 
 	/** The pe list for nested guest entities. */
+	@SuppressWarnings("serial")
 	private List<? extends Pe> peList;
 
 	/** The nested guest list. */
+	@SuppressWarnings("serial")
 	private final List<? extends GuestEntity> guestList = new ArrayList<>();
 
 	/** The nested guests migrating in. */
+	@SuppressWarnings("serial")
 	private final List<? extends GuestEntity> guestsMigratingIn = new ArrayList<>();
 
 	/** Tells whether this VM is working properly (as a host for nested guests) or has failed. */
@@ -118,6 +125,7 @@ public class Vm implements VirtualEntity {
 	 * time, he/she doesn't have to iterate over the entire list
 	 * to find the desired entry.
 	 */
+	@SuppressWarnings("serial")
 	private final List<VmStateHistoryEntry> stateHistory = new LinkedList<>();
 
 	private int virtualizationOverhead;
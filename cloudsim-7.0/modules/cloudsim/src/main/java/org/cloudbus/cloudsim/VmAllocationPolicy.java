@@ -12,7 +12,10 @@ import org.cloudbus.cloudsim.container.core.Container;
 import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.core.GuestEntity;
 import org.cloudbus.cloudsim.core.HostEntity;
+import org.cloudbus.cloudsim.jfr.VmPlacementEvent;
 
+import java.io.Serial;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -29,7 +32,9 @@ import java.util.Map;
  * @author Remo Andreoli
  * @since CloudSim Toolkit 1.0
  */
-public abstract class VmAllocationPolicy {
+public abstract class VmAllocationPolicy implements Serializable {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	public record GuestMapping (
 		GuestEntity vm,
@@ -37,7 +42,7 @@ public abstract class VmAllocationPolicy {
 		Container container,
 		int datacenterId,
         boolean NewEventRequired,
-        boolean NewVmRequired)
+        boolean NewVmRequired) implements Serializable
 	{
 		public GuestMapping(GuestEntity vm, HostEntity host, Container container, boolean newEvReq, boolean newVmReq) {
 			this(vm, host, container, host.getDatacenter().getId(), newEvReq, newVmReq);
@@ -51,11 +56,13 @@ public abstract class VmAllocationPolicy {
 	}
 
 	/** The host list. */
+	@SuppressWarnings("serial")
 	private List<? extends HostEntity> hostList;
 
 	/** The map between each guest and its allocated host.
 	 * The map key is a guest UID and the value is the allocated host for that VM.
 	 */
+	@SuppressWarnings("serial")
 	private Map<String, HostEntity> guestTable;
 
 	/**
@@ -79,7 +86,14 @@ public abstract class VmAllocationPolicy {
 	 * @post $none
 	 */
 	public boolean allocateHostForGuest(GuestEntity guest) {
-		return allocateHostForGuest(guest, findHostForGuest(guest));
+		VmPlacementEvent event = new VmPlacementEvent();
+		event.begin();
+		HostEntity host = findHostForGuest(guest);
+		boolean allocated = allocateHostForGuest(guest, host);
+		if (event.shouldCommit()) {
+			event.commit(this, guest, host, allocated);
+		}
+		return allocated;
 	}
 
 	@Deprecated
@@ -165,6 +179,17 @@ public abstract class VmAllocationPolicy {
 	@Deprecated
 	public Host findHostForVm(Vm vm) { return (Host) findHostForGuest(vm); }
 
+	/**
+	 * Takes over the state of the policy this one replaces in a datacenter, starting with the guests
+	 * it allocated. Subclasses that keep a history of the hosts carry it over as well.
+	 *
+	 * @param previous the replaced policy, which manages the same hosts
+	 * @see Datacenter#replaceVmAllocationPolicy(VmAllocationPolicy)
+	 */
+	public void takeOver(VmAllocationPolicy previous) {
+		getGuestTable().putAll(previous.getGuestTable());
+	}
+
 
 	public Map<String, HostEntity> getGuestTable() { return guestTable; }
 	protected void setGuestTable(Map<String, HostEntity> guestTable) { this.guestTable = guestTable; }
@@ -11,6 +11,7 @@ package org.cloudbus.cloudsim;
 import org.cloudbus.cloudsim.core.GuestEntity;
 import org.cloudbus.cloudsim.core.HostEntity;
 
+import java.io.Serial;
 import java.util.List;
 
 /**
@@ -21,6 +22,9 @@ import java.util.List;
  * @since CloudSim Toolkit 7.0
  */
 public class VmAllocationPolicySimpler extends VmAllocationPolicy {
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Creates a new VmAllocationPolicy object.
 	 *
@@ -4,6 +4,7 @@ import org.cloudbus.cloudsim.selectionPolicies.SelectionPolicy;
 import org.cloudbus.cloudsim.core.GuestEntity;
 import org.cloudbus.cloudsim.core.HostEntity;
 
+import java.io.Serial;
 import java.util.*;
 
 /**
@@ -11,9 +12,13 @@ import java.util.*;
  * Modified by Remo Andreoli (March 2024)
  */
 public class VmAllocationWithSelectionPolicy extends VmAllocationPolicy {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     private SelectionPolicy<HostEntity> selectionPolicy;
 
-    private Set<HostEntity> excludedHostCandidates;
+    /** Scratch set of the hosts rejected by the current search, recreated after a restore. */
+    private transient Set<HostEntity> excludedHostCandidates;
 
     public VmAllocationWithSelectionPolicy(List<? extends HostEntity> list, SelectionPolicy<HostEntity> selectionPolicy) {
         super(list);
@@ -49,6 +54,9 @@ public class VmAllocationWithSelectionPolicy extends VmAllocationPolicy {
     }
 
     public void clearExcludedHostCandidates() {
+        if (excludedHostCandidates == null) {
+            excludedHostCandidates = new HashSet<>();
+        }
         excludedHostCandidates.clear();
     }
 }
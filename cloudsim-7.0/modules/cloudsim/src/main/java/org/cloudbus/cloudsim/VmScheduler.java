@@ -7,6 +7,8 @@
 
 package org.cloudbus.cloudsim;
 
+import java.io.Serial;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -27,13 +29,17 @@ import org.cloudbus.cloudsim.lists.PeList;
  * @author Remo Andreoli
  * @since CloudSim Toolkit 1.0
  */
-public abstract class VmScheduler {
+public abstract class VmScheduler implements Serializable {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** The PEs of the host where the scheduler is associated. */
+	@SuppressWarnings("serial")
 	private List<? extends Pe> peList;
 
 	/** The map of VMs to PEs, where each key is a VM id and each value is
          * a list of PEs allocated to that VM. */
+	@SuppressWarnings("serial")
 	private Map<String, List<Pe>> peMap;
 
 	/** The map of VMs to MIPS, were each key is a VM id and each value is
@@ -41,15 +47,18 @@ public abstract class VmScheduler {
          * The PEs where the MIPS capacity is get are defined
          * in the {@link #peMap}.
          */
+	@SuppressWarnings("serial")
 	private Map<String, List<Double>> mipsMapAllocated;
 
 	/** The total available MIPS that can be allocated on demand for VMs. */
     private double availableMips;
 
 	/** The VMs migrating in the host (arriving). It is the list of VM ids */
+	@SuppressWarnings("serial")
 	private List<String> guestsMigratingIn;
 
 	/** The VMs migrating out the host (departing). It is the list of VM ids */
+	@SuppressWarnings("serial")
 	private List<String> guestsMigratingOut;
 
 	/**
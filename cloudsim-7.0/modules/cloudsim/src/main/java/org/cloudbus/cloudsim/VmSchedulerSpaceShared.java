@@ -10,6 +10,7 @@ package org.cloudbus.cloudsim;
 
 import org.cloudbus.cloudsim.core.GuestEntity;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -29,12 +30,16 @@ import java.util.Map;
  * @since CloudSim Toolkit 1.0
  */
 public class VmSchedulerSpaceShared extends VmScheduler {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** A map between each VM and its allocated PEs, where the key is a VM ID and
          * the value a list of PEs allocated to VM. */
+	@SuppressWarnings("serial")
 	private Map<String, List<Pe>> peAllocationMap;
 
 	/** The list of free PEs yet available in the host. */
+	@SuppressWarnings("serial")
 	private List<Pe> freePes;
 
 	/**
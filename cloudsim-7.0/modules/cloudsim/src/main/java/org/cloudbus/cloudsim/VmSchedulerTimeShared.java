@@ -7,6 +7,7 @@
 
 package org.cloudbus.cloudsim;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -32,10 +33,13 @@ import org.cloudbus.cloudsim.provisioners.PeProvisioner;
  * @since CloudSim Toolkit 1.0
  */
 public class VmSchedulerTimeShared extends VmScheduler {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** The map of requested mips, where each key is a VM
          * and each value is a list of MIPS requested by that VM. 
          */
+	@SuppressWarnings("serial")
 	private Map<String, List<Double>> mipsMapRequested;
 
 	/** The number of host's PEs in use. */
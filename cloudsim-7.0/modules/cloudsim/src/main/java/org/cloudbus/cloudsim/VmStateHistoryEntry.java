@@ -8,13 +8,18 @@
 
 package org.cloudbus.cloudsim;
 
+import java.io.Serial;
+import java.io.Serializable;
+
 /**
  * Stores historic data about a VM.
  * 
  * @author Anton Beloglazov
  * @since CloudSim Toolkit 2.1.2
  */
-public class VmStateHistoryEntry {
+public class VmStateHistoryEntry implements Serializable {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** The time. */
 	private double time;
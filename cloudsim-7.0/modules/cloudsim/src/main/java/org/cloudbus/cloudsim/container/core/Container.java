@@ -11,6 +11,7 @@ import org.cloudbus.cloudsim.*;
 import org.cloudbus.cloudsim.core.GuestEntity;
 import org.cloudbus.cloudsim.core.HostEntity;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
@@ -20,6 +21,8 @@ import java.util.List;
  * Modified by Remo Andreoli (March 2024)
  */
 public class Container implements GuestEntity {
+    @Serial
+    private static final long serialVersionUID = 1L;
 
     /** The id. */
     private final int id;
@@ -68,12 +71,14 @@ public class Container implements GuestEntity {
     private long currentAllocatedBw;
 
     /** The current allocated mips. */
+    @SuppressWarnings("serial")
     private List<Double> currentAllocatedMips;
 
     /** The VM is being instantiated. */
     private boolean beingInstantiated;
 
     /** The mips allocation history. */
+    @SuppressWarnings("serial")
     private final List<VmStateHistoryEntry> stateHistory = new LinkedList<>();
 
     /** The previous time. */
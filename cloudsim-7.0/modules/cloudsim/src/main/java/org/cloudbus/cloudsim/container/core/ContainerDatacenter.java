@@ -10,6 +10,7 @@ package org.cloudbus.cloudsim.container.core;
 import org.cloudbus.cloudsim.*;
 import org.cloudbus.cloudsim.core.*;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -18,6 +19,9 @@ import java.util.List;
  * Modified by Remo Andreoli (Feb 2024)
  */
 public class ContainerDatacenter extends Datacenter {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     /**
      * The container provisioner.
      */
@@ -26,6 +30,7 @@ public class ContainerDatacenter extends Datacenter {
     /**
      * The container list.
      */
+    @SuppressWarnings("serial")
     private List<? extends Container> containerList;
 
     /**
@@ -344,7 +349,9 @@ public class ContainerDatacenter extends Datacenter {
                 } else {
                     // time to transfer the files
                     double fileTransferTime = predictFileTransferTime(cl.getRequiredFiles());
-                    containerVm.getGuest(containerDestId, userId).getCloudletScheduler().cloudletSubmit(cl, fileTransferTime);
+                    CloudletScheduler scheduler = containerVm.getGuest(containerDestId, userId).getCloudletScheduler();
+                    trackCompletions(scheduler);
+                    scheduler.cloudletSubmit(cl, fileTransferTime);
                 }
             } else {// the cloudlet will migrate from one resource to another
                 CloudActionTags newTag = ((tag == CloudActionTags.CLOUDLET_MOVE_ACK) ? CloudActionTags.CLOUDLET_SUBMIT_ACK
@@ -421,6 +428,7 @@ public class ContainerDatacenter extends Datacenter {
             HostEntity host = getVmAllocationPolicy().getHost(vmId, userId);
             VirtualEntity vm = (VirtualEntity) host.getGuest(vmId, userId);
             Container container = (Container) vm.getGuest(containerId, userId);
+            trackCompletions(container.getCloudletScheduler());
             double estimatedFinishTime = container.getCloudletScheduler().cloudletSubmit(cl, fileTransferTime);
 
             // if this cloudlet is in the exec queue
@@ -529,30 +537,6 @@ public class ContainerDatacenter extends Datacenter {
         sendNow(userId, CloudActionTags.CLOUDLET_CANCEL, cl);
     }
 
-    /**
-     * Verifies if some cloudlet inside this PowerDatacenter already finished. If yes, send it to
-     * the User/Broker
-     *
-     * @pre $none
-     * @post $none
-     *
-     * @TODO: Generalise this to work with every hybrid host-guest entity
-     */
-    protected void checkCloudletCompletion() {
-        for (HostEntity host : getVmAllocationPolicy().getHostList()) {
-            for (VirtualEntity vm : host.<VirtualEntity>getGuestList()) {
-                for (GuestEntity container : vm.getGuestList()) {
-                    while (container.getCloudletScheduler().isFinishedCloudlets()) {
-                        Cloudlet cl = container.getCloudletScheduler().getNextFinishedCloudlet();
-                        if (cl != null) {
-                            sendNow(cl.getUserId(), CloudActionTags.CLOUDLET_RETURN, cl);
-                        }
-                    }
-                }
-            }
-        }
-    }
-
     public VmAllocationPolicy getContainerAllocationPolicy() { return containerAllocationPolicy; }
     public void setContainerAllocationPolicy(VmAllocationPolicy containerAllocationPolicy) {
         this.containerAllocationPolicy = containerAllocationPolicy;
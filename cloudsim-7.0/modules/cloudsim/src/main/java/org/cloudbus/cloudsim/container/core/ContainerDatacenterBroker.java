@@ -14,6 +14,7 @@ import org.cloudbus.cloudsim.core.*;
 import org.cloudbus.cloudsim.lists.CloudletList;
 import org.cloudbus.cloudsim.lists.VmList;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
@@ -26,13 +27,18 @@ import java.util.HashMap;
  */
 
 public class ContainerDatacenterBroker extends DatacenterBroker {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     /**
      * The container list
      */
+    @SuppressWarnings("serial")
     protected List<? extends GuestEntity> containerList;
     /**
      * The containers created list.
      */
+    @SuppressWarnings("serial")
     protected List<? extends GuestEntity> containersCreatedList;
     /**
      * The containers acks.
@@ -48,6 +54,7 @@ public class ContainerDatacenterBroker extends DatacenterBroker {
  /**
      * The vms to datacenters map.
      */
+    @SuppressWarnings("serial")
     protected Map<Integer, Integer> containersToDatacentersMap;
 
 
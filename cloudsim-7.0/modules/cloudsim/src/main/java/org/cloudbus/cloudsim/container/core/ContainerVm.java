@@ -13,6 +13,7 @@ import org.cloudbus.cloudsim.lists.PeList;
 import org.cloudbus.cloudsim.provisioners.BwProvisioner;
 import org.cloudbus.cloudsim.provisioners.RamProvisioner;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -34,6 +35,8 @@ import java.util.List;
  *        The only difference is that ContainerVm cannot run cloudlets.
  */
 public class ContainerVm extends Vm {
+    @Serial
+    private static final long serialVersionUID = 1L;
 
     /**
      * The Cloudlet scheduler.
@@ -62,6 +65,7 @@ public class ContainerVm extends Vm {
     /**
      * The vms migrating in.
      */
+    @SuppressWarnings("serial")
     private final List<GuestEntity> containersMigratingIn = new ArrayList<>();
 
     /**
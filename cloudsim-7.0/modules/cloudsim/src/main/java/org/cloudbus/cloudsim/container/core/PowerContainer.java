@@ -12,12 +12,16 @@ import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.core.PowerGuestEntity;
 import org.cloudbus.cloudsim.util.HistoryStat;
 
+import java.io.Serial;
 import java.util.List;
 
 /**
  * Created by sareh on 23/07/15.
  */
 public class PowerContainer extends Container implements PowerGuestEntity {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
         /** The utilization history. */
         private final HistoryStat utilizationHistoryStat = new HistoryStat(PowerGuestEntity.HISTORY_LENGTH);
 
@@ -13,8 +13,10 @@ import org.cloudbus.cloudsim.container.utils.CustomCSVWriter;
 import org.cloudbus.cloudsim.core.*;
 import org.cloudbus.cloudsim.core.predicates.PredicateType;
 import org.cloudbus.cloudsim.power.PowerHost;
+import org.cloudbus.cloudsim.power.models.PowerModelBatch;
 
 import java.io.IOException;
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -23,6 +25,8 @@ import java.util.List;
  * Modified by Remo Andreoli (Feb 2024)
  */
 public class PowerContainerDatacenter extends ContainerDatacenter {
+    @Serial
+    private static final long serialVersionUID = 1L;
 
 
     /**
@@ -45,13 +49,22 @@ public class PowerContainerDatacenter extends ContainerDatacenter {
      */
     private int vmMigrationCount;
 
+    /**
+     * The power models of the hosts, evaluated in batch at every time frame.
+     */
+    private transient PowerModelBatch powerModelBatch;
+
+    @SuppressWarnings("serial")
     private List<Double> activeVmList;
     private int numberOfVms;
 
     private int numberOfContainers;
 
+    @SuppressWarnings("serial")
     private List<Double> activeHostList;
+    @SuppressWarnings("serial")
     private List<Double> datacenterEnergyList;
+    @SuppressWarnings("serial")
     private List<Double> containerMigrationList;
 
 
@@ -232,28 +245,27 @@ public class PowerContainerDatacenter extends ContainerDatacenter {
                     getLastProcessTime(),
                     currentTime);
 
-            for (PowerHost host : this.<PowerHost>getHostList()) {
-                double previousUtilizationOfCpu = host.getPreviousUtilizationOfCpu();
-                double utilizationOfCpu = host.getUtilizationOfCpu();
-                double timeFrameHostEnergy = host.getEnergyLinearInterpolation(
-                        previousUtilizationOfCpu,
-                        utilizationOfCpu,
-                        timeDiff);
-                timeFrameDatacenterEnergy += timeFrameHostEnergy;
+            List<PowerHost> hosts = getHostList();
+            powerModelBatch = PowerModelBatch.forHosts(powerModelBatch, hosts);
+            timeFrameDatacenterEnergy = powerModelBatch.getEnergyLinearInterpolation(hosts, timeDiff);
+            double[] previousUtilizationOfCpu = powerModelBatch.getFromUtilization();
+            double[] utilizationOfCpu = powerModelBatch.getToUtilization();
+            double[] timeFrameHostEnergy = powerModelBatch.getEnergy();
 
+            for (int i = 0; i < hosts.size() && !Log.isDisabled(); i++) {
                 Log.println();
                 Log.formatLine(
                         "%.2f: [Host #%d] utilization at %.2f was %.2f%%, now is %.2f%%",
                         currentTime,
-                        host.getId(),
+                        hosts.get(i).getId(),
                         getLastProcessTime(),
-                        previousUtilizationOfCpu * 100,
-                        utilizationOfCpu * 100);
+                        previousUtilizationOfCpu[i] * 100,
+                        utilizationOfCpu[i] * 100);
                 Log.formatLine(
                         "%.2f: [Host #%d] energy is %.2f W*sec",
                         currentTime,
-                        host.getId(),
-                        timeFrameHostEnergy);
+                        hosts.get(i).getId(),
+                        timeFrameHostEnergy[i]);
             }
 
             Log.formatLine(
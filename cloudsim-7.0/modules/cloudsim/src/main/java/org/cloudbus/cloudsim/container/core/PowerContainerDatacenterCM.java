@@ -15,6 +15,7 @@ import org.cloudbus.cloudsim.core.predicates.PredicateType;
 import org.cloudbus.cloudsim.power.PowerHost;
 
 import java.io.IOException;
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -23,6 +24,9 @@ import java.util.List;
  * Modified by Remo Andreoli (Feb 2024)
  */
 public class PowerContainerDatacenterCM extends PowerContainerDatacenter {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     /**
      * The disable container migrations.
      */
@@ -30,6 +34,7 @@ public class PowerContainerDatacenterCM extends PowerContainerDatacenter {
     public int containerMigrationCount;
     private CustomCSVWriter newlyCreatedVmWriter;
     private int newlyCreatedVms;
+    @SuppressWarnings("serial")
     private List<Integer> newlyCreatedVmsList;
     private final double vmStartupDelay;
     private final double containerStartupDelay;
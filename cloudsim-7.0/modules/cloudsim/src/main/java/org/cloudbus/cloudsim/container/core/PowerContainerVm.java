@@ -16,6 +16,7 @@ import org.cloudbus.cloudsim.provisioners.BwProvisioner;
 import org.cloudbus.cloudsim.provisioners.RamProvisioner;
 import org.cloudbus.cloudsim.util.HistoryStat;
 
+import java.io.Serial;
 import java.util.List;
 
 /**
@@ -23,6 +24,9 @@ import java.util.List;
  * Modified by Remo Andreoli (March 2024)
  */
 public class PowerContainerVm extends ContainerVm implements PowerGuestEntity {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     /**
      * The utilization history.
      */
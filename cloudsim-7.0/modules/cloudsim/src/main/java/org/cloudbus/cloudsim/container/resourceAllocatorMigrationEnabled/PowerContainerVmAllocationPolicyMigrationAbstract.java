@@ -15,8 +15,9 @@ import org.cloudbus.cloudsim.core.HostEntity;
 import org.cloudbus.cloudsim.lists.VmList;
 import org.cloudbus.cloudsim.power.PowerHost;
 import org.cloudbus.cloudsim.selectionPolicies.SelectionPolicy;
-import org.cloudbus.cloudsim.util.ExecutionTimeMeasurer;
+import org.cloudbus.cloudsim.util.ExecutionTimer;
 
+import java.io.Serial;
 import java.util.*;
 
 /**
@@ -24,6 +25,8 @@ import java.util.*;
  * Modified by Remo Andreoli (Feb 2024)
  */
 public abstract class PowerContainerVmAllocationPolicyMigrationAbstract extends VmAllocationPolicySimpler {
+    @Serial
+    private static final long serialVersionUID = 1L;
 
     /**
      * The vm selection policy.
@@ -33,42 +36,46 @@ public abstract class PowerContainerVmAllocationPolicyMigrationAbstract extends
     /**
      * The saved allocation.
      */
+    @SuppressWarnings("serial")
     private final List<GuestMapping> savedAllocation = new ArrayList<>();
 
     /**
      * The utilization history.
      */
+    @SuppressWarnings("serial")
     private final Map<Integer, List<Double>> utilizationHistory = new HashMap<>();
 
     /**
      * The metric history.
      */
+    @SuppressWarnings("serial")
     private final Map<Integer, List<Double>> metricHistory = new HashMap<>();
 
     /**
      * The time history.
      */
+    @SuppressWarnings("serial")
     private final Map<Integer, List<Double>> timeHistory = new HashMap<>();
 
     /**
-     * The execution time history vm selection.
+     * The execution time vm selection.
      */
-    private final List<Double> executionTimeHistoryVmSelection = new ArrayList<>();
+    private final ExecutionTimer executionTimeVmSelection = new ExecutionTimer("vm selection");
 
     /**
-     * The execution time history host selection.
+     * The execution time host selection.
      */
-    private final List<Double> executionTimeHistoryHostSelection = new ArrayList<>();
+    private final ExecutionTimer executionTimeHostSelection = new ExecutionTimer("host selection");
 
     /**
-     * The execution time history vm reallocation.
+     * The execution time vm reallocation.
      */
-    private final List<Double> executionTimeHistoryVmReallocation = new ArrayList<>();
+    private final ExecutionTimer executionTimeVmReallocation = new ExecutionTimer("vm reallocation");
 
     /**
-     * The execution time history total.
+     * The execution time total.
      */
-    private final List<Double> executionTimeHistoryTotal = new ArrayList<>();
+    private final ExecutionTimer executionTimeTotal = new ExecutionTimer("total");
 
     /**
      * Instantiates a new power vm allocation policy migration abstract.
@@ -91,34 +98,32 @@ public abstract class PowerContainerVmAllocationPolicyMigrationAbstract extends
      */
     @Override
     public List<GuestMapping> optimizeAllocation(List<? extends GuestEntity> vmList) {
-        ExecutionTimeMeasurer.start("optimizeAllocationTotal");
+        long startTotal = executionTimeTotal.start();
 
-        ExecutionTimeMeasurer.start("optimizeAllocationHostSelection");
+        long start = executionTimeHostSelection.start();
         List<PowerHost> overUtilizedHosts = getOverUtilizedHosts();
-        getExecutionTimeHistoryHostSelection().add(
-                ExecutionTimeMeasurer.end("optimizeAllocationHostSelection"));
+        executionTimeHostSelection.stop(start);
 
         printOverUtilizedHosts(overUtilizedHosts);
 
         saveAllocation();
 
-        ExecutionTimeMeasurer.start("optimizeAllocationVmSelection");
+        start = executionTimeVmSelection.start();
         List<? extends GuestEntity> vmsToMigrate = getVmsToMigrateFromHosts(overUtilizedHosts);
-        getExecutionTimeHistoryVmSelection().add(ExecutionTimeMeasurer.end("optimizeAllocationVmSelection"));
+        executionTimeVmSelection.stop(start);
 
         Log.println("Reallocation of VMs from the over-utilized hosts:");
-        ExecutionTimeMeasurer.start("optimizeAllocationVmReallocation");
+        start = executionTimeVmReallocation.start();
         List<GuestMapping> migrationMap = getNewVmPlacement(vmsToMigrate, new HashSet<Host>(
                 overUtilizedHosts));
-        getExecutionTimeHistoryVmReallocation().add(
-                ExecutionTimeMeasurer.end("optimizeAllocationVmReallocation"));
+        executionTimeVmReallocation.stop(start);
         Log.println();
 
         migrationMap.addAll(getMigrationMapFromUnderUtilizedHosts(overUtilizedHosts, migrationMap));
 
         restoreAllocation();
 
-        getExecutionTimeHistoryTotal().add(ExecutionTimeMeasurer.end("optimizeAllocationTotal"));
+        executionTimeTotal.stop(startTotal);
 
         return migrationMap;
     }
@@ -669,39 +674,39 @@ public abstract class PowerContainerVmAllocationPolicyMigrationAbstract extends
     }
 
     /**
-     * Gets the execution time history vm selection.
+     * Gets the execution time vm selection.
      *
-     * @return the execution time history vm selection
+     * @return the timer of the execution time vm selection
      */
-    public List<Double> getExecutionTimeHistoryVmSelection() {
-        return executionTimeHistoryVmSelection;
+    public ExecutionTimer getExecutionTimeVmSelection() {
+        return executionTimeVmSelection;
     }
 
     /**
-     * Gets the execution time history host selection.
+     * Gets the execution time host selection.
      *
-     * @return the execution time history host selection
+     * @return the timer of the execution time host selection
      */
-    public List<Double> getExecutionTimeHistoryHostSelection() {
-        return executionTimeHistoryHostSelection;
+    public ExecutionTimer getExecutionTimeHostSelection() {
+        return executionTimeHostSelection;
     }
 
     /**
-     * Gets the execution time history vm reallocation.
+     * Gets the execution time vm reallocation.
      *
-     * @return the execution time history vm reallocation
+     * @return the timer of the execution time vm reallocation
      */
-    public List<Double> getExecutionTimeHistoryVmReallocation() {
-        return executionTimeHistoryVmReallocation;
+    public ExecutionTimer getExecutionTimeVmReallocation() {
+        return executionTimeVmReallocation;
     }
 
     /**
-     * Gets the execution time history total.
+     * Gets the execution time total.
      *
-     * @return the execution time history total
+     * @return the timer of the execution time total
      */
-    public List<Double> getExecutionTimeHistoryTotal() {
-        return executionTimeHistoryTotal;
+    public ExecutionTimer getExecutionTimeTotal() {
+        return executionTimeTotal;
     }
 
 //    public abstract List<? extends Container> getContainersToMigrateFromHosts(List<PowerHost> overUtilizedHosts);
@@ -22,8 +22,8 @@ import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
 import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
 import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
 import org.cloudbus.cloudsim.selectionPolicies.SelectionPolicy;
-import org.cloudbus.cloudsim.util.ExecutionTimeMeasurer;
 
+import java.io.Serial;
 import java.util.*;
 
 
@@ -33,6 +33,8 @@ import java.util.*;
  */
 
 public abstract class PowerContainerVmAllocationPolicyMigrationAbstractContainerAdded extends PowerContainerVmAllocationPolicyMigrationAbstract {
+    @Serial
+    private static final long serialVersionUID = 1L;
 
     private ContainerDatacenter datacenter;
     /**
@@ -64,35 +66,33 @@ public abstract class PowerContainerVmAllocationPolicyMigrationAbstractContainer
     @Override
     public List<GuestMapping> optimizeAllocation(List<? extends GuestEntity> vmList) {
 
-        ExecutionTimeMeasurer.start("optimizeAllocationTotal");
+        long startTotal = getExecutionTimeTotal().start();
 
-        ExecutionTimeMeasurer.start("optimizeAllocationHostSelection");
+        long start = getExecutionTimeHostSelection().start();
         List<PowerHost> overUtilizedHosts = getOverUtilizedHosts();
-        getExecutionTimeHistoryHostSelection().add(
-                ExecutionTimeMeasurer.end("optimizeAllocationHostSelection"));
+        getExecutionTimeHostSelection().stop(start);
 
         printOverUtilizedHosts(overUtilizedHosts);
 
         saveAllocation();
 
-        ExecutionTimeMeasurer.start("optimizeAllocationContainerSelection");
+        start = getExecutionTimeVmSelection().start();
         List<? extends GuestEntity> containersToMigrate = getContainersToMigrateFromHosts(overUtilizedHosts);
-        getExecutionTimeHistoryVmSelection().add(ExecutionTimeMeasurer.end("optimizeAllocationContainerSelection"));
+        getExecutionTimeVmSelection().stop(start);
 
         Log.println("Reallocation of Containers from the over-utilized hosts:");
-        ExecutionTimeMeasurer.start("optimizeAllocationVmReallocation");
+        start = getExecutionTimeVmReallocation().start();
         List<GuestMapping> migrationMap = getPlacementForLeftContainers(containersToMigrate, new HashSet<Host>(overUtilizedHosts));
 
 
-        getExecutionTimeHistoryVmReallocation().add(
-                ExecutionTimeMeasurer.end("optimizeAllocationVmReallocation"));
+        getExecutionTimeVmReallocation().stop(start);
         Log.println();
 
         migrationMap.addAll(getContainerMigrationMapFromUnderUtilizedHosts(overUtilizedHosts, migrationMap));
 
         restoreAllocation();
 
-        getExecutionTimeHistoryTotal().add(ExecutionTimeMeasurer.end("optimizeAllocationTotal"));
+        getExecutionTimeTotal().stop(startTotal);
 
         return migrationMap;
 
@@ -17,6 +17,7 @@ import org.cloudbus.cloudsim.core.GuestEntity;
 import org.cloudbus.cloudsim.core.HostEntity;
 import org.cloudbus.cloudsim.power.PowerHost;
 
+import java.io.Serial;
 import java.util.*;
 
 /**
@@ -24,6 +25,8 @@ import java.util.*;
  * Modified by Remo Andreoli (Feb 2024)
  */
 public abstract class PowerContainerVmAllocationPolicyMigrationAbstractContainerHostSelection extends PowerContainerVmAllocationPolicyMigrationAbstractContainerAdded {
+    @Serial
+    private static final long serialVersionUID = 1L;
 
     private SelectionPolicy<HostEntity> hostSelectionPolicy;
 
@@ -15,6 +15,7 @@ import org.cloudbus.cloudsim.selectionPolicies.SelectionPolicy;
 import org.cloudbus.cloudsim.lists.HostList;
 import org.cloudbus.cloudsim.power.PowerHost;
 
+import java.io.Serial;
 import java.util.*;
 
 /**
@@ -22,6 +23,8 @@ import java.util.*;
  * Modified by Remo Andreoli (Feb 2024)
  */
 public abstract class PowerContainerVmAllocationPolicyMigrationAbstractContainerHostSelectionUnderUtilizedAdded extends PowerContainerVmAllocationPolicyMigrationAbstractContainerHostSelection {
+    @Serial
+    private static final long serialVersionUID = 1L;
 
     private double underUtilizationThr;
 
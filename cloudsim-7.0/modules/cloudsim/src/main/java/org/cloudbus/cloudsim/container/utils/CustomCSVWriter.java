@@ -6,16 +6,22 @@ import org.cloudbus.cloudsim.Log;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Serial;
+import java.io.Serializable;
 
 /**
  * Created by sareh on 30/07/15.
  * Modified by Remo Andreoli, Jun 2024.
  */
-public class CustomCSVWriter {
+public class CustomCSVWriter implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     String fileAddress;
     boolean newFileCreated = false;
 
-    CSVWriter writer;
+    /** Opened for every write, so a restored writer appends to the same file. */
+    transient CSVWriter writer;
 
     public CustomCSVWriter(String fileAddress) throws IOException {
         File f = new File(fileAddress);
@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim.core;
 
+import java.io.Serial;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -29,6 +30,8 @@ import org.cloudbus.cloudsim.Log;
  * @since CloudSim Toolkit 1.0
  */
 public class CloudInformationService extends SimEntity {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** A list containing the id of all entities that are registered at the 
          * Cloud Information Service (CIS). 
@@ -40,13 +43,16 @@ public class CloudInformationService extends SimEntity {
          * of this type, including its id as parameter.
          * 
          */
+	@SuppressWarnings("serial")
 	private final List<Integer> resList;
 
 	/** A list containing only the id of entities with Advanced Reservation feature
          * that are registered at the CIS. */
+	@SuppressWarnings("serial")
 	private final List<Integer> arList;
 
 	/** List of all regional CIS. */
+	@SuppressWarnings("serial")
 	private final List<Integer> gisList;
 
 	/**
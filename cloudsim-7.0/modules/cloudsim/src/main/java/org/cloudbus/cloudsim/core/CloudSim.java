@@ -8,14 +8,33 @@
 
 package org.cloudbus.cloudsim.core;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Calendar;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import org.cloudbus.cloudsim.Log;
 import org.cloudbus.cloudsim.core.predicates.Predicate;
@@ -61,6 +80,33 @@ public class CloudSim {
 
 	/** The minimal time between events. Events within shorter periods after the last event are discarded. */
 	private static double minTimeBetweenEvents = 0.01;
+
+	/** The number of threads of the parallel simulation, or 0 if the simulation is sequential. */
+	private static int parallelThreads = 0;
+
+	/** The minimum delay of the events sent between entities of different partitions. */
+	private static double lookahead = 0;
+
+	/** The number of threads that run the entities in a clock tick, or 0 if they are run sequentially. */
+	private static int dispatchThreads = 0;
+
+	/** The time at which the state of the simulation is saved, or -1 if it is not saved. */
+	private static double checkpointAt = -1;
+
+	/** The file the state of the simulation is saved to. */
+	private static String checkpointFile = null;
+
+	/** Whether the metrics of the next simulation are collected. */
+	private static boolean metricsEnabled = false;
+
+	/** The interval between the dumps of the metrics, in milliseconds, or 0 if they are not dumped. */
+	private static long metricsDumpInterval = 0;
+
+	/** The stream the metrics are dumped to. */
+	private static PrintStream metricsOutput = null;
+
+	/** The metrics of the running, or last, simulation; null if they are not collected. */
+	private static SimulationMetrics metrics = null;
 	
 	/**
 	 * Initialises all the common attributes.
@@ -250,6 +296,250 @@ public class CloudSim {
 	    return minTimeBetweenEvents;
 	}
 
+	/**
+	 * Runs the next simulation in parallel: the entities of each partition (see {@link SimEntity#setPartition(int)})
+	 * are run by a logical process with its own event queue, and the processes advance concurrently in windows
+	 * of simulation time, as long as no process can receive an event from another one in the window
+	 * (conservative synchronisation). A window starts at the time of the earliest event of all the processes,
+	 * and lasts for the lookahead, which must not be greater than the delay of any event sent between entities
+	 * of different partitions, e.g., the minimum latency of the {@link NetworkTopology} links between them.
+	 * The events with the same time are processed in the same order as in a sequential simulation,
+	 * so that the results are the same.
+	 *
+	 * <br/>The events at the start of the simulation, such as the registration of the datacenters to the
+	 * {@link CloudInformationService}, are processed sequentially before the processes are created. Then:
+	 * <ul>
+	 * <li>sending an event to another partition with a delay less than the lookahead throws an {@link IllegalStateException};
+	 * <li>entities cannot be created while the simulation runs;
+	 * <li>an entity can only cancel the events it sent to its own partition, or in the current window;
+	 * <li>the entities of different partitions must not share mutable objects, such as policies or cloudlets;
+	 * <li>an abrupt termination, or a pause of the simulation, takes effect at the end of the window,
+	 * and {@link #pauseSimulation(long)} is not supported.
+	 * </ul>
+	 * If all the entities belong to the same partition, the simulation runs sequentially.
+	 * The setting is reset when the simulation finishes.
+	 *
+	 * @param numThreads the maximum number of logical processes run at the same time
+	 * @param lookahead the lookahead, in seconds
+	 */
+	public static void enableParallelExecution(int numThreads, double lookahead) {
+		if (numThreads <= 0) {
+			throw new IllegalArgumentException("The number of threads should be positive, but is: " + numThreads);
+		}
+		if (lookahead <= 0) {
+			throw new IllegalArgumentException("The lookahead should be positive, but is: " + lookahead);
+		}
+		parallelThreads = numThreads;
+		CloudSim.lookahead = lookahead;
+	}
+
+	/**
+	 * Runs the next simulation sequentially, which is the default.
+	 */
+	public static void disableParallelExecution() {
+		parallelThreads = 0;
+		lookahead = 0;
+	}
+
+	/**
+	 * Checks if the next simulation runs in parallel.
+	 *
+	 * @see #enableParallelExecution(int, double)
+	 */
+	public static boolean isParallelExecutionEnabled() {
+		return parallelThreads > 0;
+	}
+
+	/**
+	 * Runs the entities that have events to process in a clock tick concurrently, in the next simulation.
+	 * Only the entities that allow it (see {@link SimEntity#setConcurrentDispatch(boolean)}) are run concurrently;
+	 * every other entity is run alone, after the entities with smaller ids, e.g., the CloudInformationService,
+	 * whose lists are read directly by the brokers.
+	 * The events sent by every entity, and the messages it logs, are buffered and added to the future
+	 * event queue (or printed) in the order of the entity ids after the tick, as in a sequential simulation,
+	 * so that the results are the same as long as the entities run concurrently do not share mutable objects,
+	 * e.g., brokers and datacenters that only interact by events.
+	 *
+	 * <br/>Entities cannot be created while the simulation runs. The setting has no effect if the simulation
+	 * runs in partitions (see {@link #enableParallelExecution(int, double)}), and it is reset when the
+	 * simulation finishes.
+	 *
+	 * @param numThreads the number of threads
+	 */
+	public static void enableParallelDispatch(int numThreads) {
+		if (numThreads <= 0) {
+			throw new IllegalArgumentException("The number of threads should be positive, but is: " + numThreads);
+		}
+		dispatchThreads = numThreads;
+	}
+
+	/**
+	 * Runs the entities sequentially in a clock tick, which is the default.
+	 */
+	public static void disableParallelDispatch() {
+		dispatchThreads = 0;
+	}
+
+	/**
+	 * Checks if the entities of the next simulation are run concurrently in a clock tick.
+	 *
+	 * @see #enableParallelDispatch(int)
+	 */
+	public static boolean isParallelDispatchEnabled() {
+		return dispatchThreads > 0;
+	}
+
+	/**
+	 * Collects the metrics of the next simulation, and publishes them through JMX
+	 * (see {@link SimulationMetrics}). The setting is reset when the simulation finishes.
+	 */
+	public static void enableMetrics() {
+		enableMetrics(0, null);
+	}
+
+	/**
+	 * Collects the metrics of the next simulation, publishes them through JMX and dumps them periodically
+	 * while the simulation runs (see {@link SimulationMetrics}). The setting is reset when the simulation finishes.
+	 *
+	 * @param dumpInterval the interval between the dumps, in milliseconds, or 0 to not dump the metrics
+	 * @param output the stream the metrics are dumped to
+	 */
+	public static void enableMetrics(long dumpInterval, OutputStream output) {
+		if (dumpInterval < 0) {
+			throw new IllegalArgumentException("The dump interval should not be negative, but is: " + dumpInterval);
+		}
+		if (dumpInterval > 0 && output == null) {
+			throw new IllegalArgumentException("The output stream of the metrics dumps is null");
+		}
+		metricsEnabled = true;
+		metricsDumpInterval = dumpInterval;
+		metricsOutput = output == null || output instanceof PrintStream ? (PrintStream) output : new PrintStream(output, true);
+	}
+
+	/**
+	 * Does not collect the metrics of the next simulation, which is the default.
+	 */
+	public static void disableMetrics() {
+		metricsEnabled = false;
+		metricsDumpInterval = 0;
+		metricsOutput = null;
+	}
+
+	/**
+	 * Checks if the metrics of the next simulation are collected.
+	 *
+	 * @see #enableMetrics()
+	 */
+	public static boolean isMetricsEnabled() {
+		return metricsEnabled;
+	}
+
+	/**
+	 * Gets the metrics of the running simulation, or of the last one when no simulation runs.
+	 *
+	 * @return the metrics, or null if they were not collected
+	 * @see #enableMetrics()
+	 */
+	public static SimulationMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Gets the number of events in the future event queue, or in the queues of all the logical processes
+	 * when the simulation runs in partitions. It can be called by any thread, but the size is then approximate.
+	 *
+	 * @return the number of events
+	 */
+	static int getFutureQueueSize() {
+		Map<Integer, LogicalProcess> lps = processes;
+		if (lps != null) {
+			return lps.values().stream().mapToInt(LogicalProcess::size).sum();
+		}
+		EventQueue queue = future;
+		return queue == null ? 0 : queue.size();
+	}
+
+	/**
+	 * Saves the state of the simulation to a file when the simulation reaches a given time, so that other
+	 * simulations can be resumed from it with {@link #restoreSimulation(String)}, e.g., to try several policies
+	 * without repeating the warm-up. The state is the clock, the future event queue and the entities, with all
+	 * the objects they reference, such as hosts, guests, schedulers, policies and cloudlets, which must
+	 * therefore be {@link Serializable}. It is saved before the entities process the events of the first
+	 * clock tick not earlier than the given time, and the simulation goes on.
+	 *
+	 * <br/>The static configuration, such as the {@link org.cloudbus.cloudsim.NetworkTopology}, is not saved.
+	 * Checkpoints are not supported when the simulation runs in partitions
+	 * (see {@link #enableParallelExecution(int, double)}).
+	 *
+	 * @param time the time at which the state is saved
+	 * @param fileName the name of the checkpoint file
+	 * @return true, if successful; false if the time has already been reached
+	 */
+	public static boolean checkpointSimulation(double time, String fileName) {
+		if (time <= clock) {
+			return false;
+		}
+		checkpointAt = time;
+		checkpointFile = fileName;
+		return true;
+	}
+
+	/**
+	 * Restores the state of a simulation saved by {@link #checkpointSimulation(double, String)}. This method
+	 * replaces {@link #init(int, Calendar, boolean)}: {@link #startSimulation()} then resumes the simulation
+	 * from the checkpoint time, without starting the entities again. In between, the restored entities can be
+	 * looked up with {@link #getEntity(String)} and modified, e.g., to replace the allocation policy of a
+	 * datacenter (see {@link org.cloudbus.cloudsim.Datacenter#replaceVmAllocationPolicy}).
+	 *
+	 * @param fileName the name of the checkpoint file
+	 * @throws IOException if the file cannot be read
+	 * @throws ClassNotFoundException if the class of a saved object cannot be found
+	 */
+	public static void restoreSimulation(String fileName) throws IOException, ClassNotFoundException {
+		Checkpoint checkpoint;
+		try (ObjectInputStream in = new ObjectInputStream(
+				new GZIPInputStream(new BufferedInputStream(new FileInputStream(fileName))))) {
+			checkpoint = (Checkpoint) in.readObject();
+		}
+
+		initialize();
+		entities = checkpoint.entities();
+		for (SimEntity ent : entities) {
+			entitiesByName.put(ent.getName(), ent);
+		}
+		future = checkpoint.future();
+		waitPredicates.putAll(checkpoint.waitPredicates());
+		clock = checkpoint.clock();
+		cisId = checkpoint.cisId();
+		cis = (CloudInformationService) entities.get(cisId);
+		shutdownId = checkpoint.shutdownId();
+		calendar = checkpoint.calendar();
+		traceFlag = checkpoint.traceFlag();
+		minTimeBetweenEvents = checkpoint.minTimeBetweenEvents();
+		// the entities have already been started
+		running = true;
+		printMessage(String.format("(%.6f", clock) + "s) " + ": Simulation: Restored from " + fileName);
+	}
+
+	/**
+	 * Saves the state of the simulation to the checkpoint file.
+	 *
+	 * @see #checkpointSimulation(double, String)
+	 */
+	private static void saveCheckpoint() {
+		Checkpoint checkpoint = new Checkpoint(clock, entities, future, waitPredicates, cisId, shutdownId,
+				calendar, traceFlag, minTimeBetweenEvents);
+		try (ObjectOutputStream out = new ObjectOutputStream(
+				new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(checkpointFile))))) {
+			out.writeObject(checkpoint);
+		} catch (IOException e) {
+			throw new IllegalStateException("The simulation could not be saved to " + checkpointFile, e);
+		}
+		printMessage(String.format("(%.6f", clock) + "s) " + ": Simulation: Saved to " + checkpointFile);
+		checkpointAt = -1;
+		checkpointFile = null;
+	}
+
 	/**
 	 * Gets a new copy of initial simulation Calendar.
 	 * 
@@ -328,6 +618,31 @@ public class CloudSim {
 	/** The abrupt terminate. */
 	private static boolean abruptTerminate = false;
 
+	/** The logical processes by partition, while the simulation runs in parallel; null otherwise. */
+	private static Map<Integer, LogicalProcess> processes = null;
+
+	/** The logical process run by the current thread. */
+	private static final ThreadLocal<LogicalProcess> currentProcess = new ThreadLocal<>();
+
+	/** An event sent while the entities are run concurrently, which is added to the future event queue after the tick. */
+	private record BufferedEvent(SimEvent event, boolean first) {
+	}
+
+	/** The threads that run the entities in a clock tick, while the simulation runs with parallel dispatch; null otherwise. */
+	private static ExecutorService dispatchExecutor = null;
+
+	/** Whether entities are being run concurrently. */
+	private static boolean dispatching = false;
+
+	/** The events sent by the entity run by the current thread, while the entities are run concurrently. */
+	private static final ThreadLocal<List<BufferedEvent>> sentEvents = new ThreadLocal<>();
+
+	/** The state of a simulation saved to a checkpoint file. */
+	private record Checkpoint(double clock, List<SimEntity> entities, EventQueue future,
+			Map<Integer, Predicate> waitPredicates, int cisId, int shutdownId, Calendar calendar,
+			boolean traceFlag, double minTimeBetweenEvents) implements Serializable {
+	}
+
 	/**
 	 * Initialise the simulation for stand alone simulations. This function should be called at the
 	 * start of the simulation.
@@ -337,9 +652,10 @@ public class CloudSim {
 		entities = new ArrayList<>();
 		entitiesByName = new LinkedHashMap<>();
 		future = new EventQueue();
-		waitPredicates = new HashMap<>();
+		waitPredicates = new ConcurrentHashMap<>();
 		clock = 0;
 		running = false;
+		terminateAt = -1;
 	}
 
 	// The two standard predicates
@@ -358,7 +674,15 @@ public class CloudSim {
 	 * @return the simulation time
 	 */
 	public static double clock() {
-		return clock;
+		LogicalProcess lp = getCurrentProcess();
+		return lp != null ? lp.clock() : clock;
+	}
+
+	/**
+	 * Gets the logical process run by the current thread, if the simulation runs in parallel.
+	 */
+	private static LogicalProcess getCurrentProcess() {
+		return processes != null ? currentProcess.get() : null;
 	}
 
 	/**
@@ -458,6 +782,9 @@ public class CloudSim {
 	 */
 	public static void addEntity(SimEntity e) {
 		SimEvent evt;
+		if (processes != null || dispatching) {
+			throw new IllegalStateException("Entities cannot be created while the simulation runs in parallel");
+		}
 		if (running) {
 			// Post an event to make this entity
 			evt = new SimEvent(SimEvent.CREATE, clock, 1, 0, CloudActionTags.BLANK, e);
@@ -493,12 +820,10 @@ public class CloudSim {
 	 * @return true if there are events to be processed, false if event queue is empty
 	 */
 	private static boolean runClockTick() {
-		SimEntity ent;
-		for (int i = 0; i < entities.size(); i++) {
-			ent = entities.get(i);
-			if (ent.getState() == SimEntity.EntityStatus.RUNNABLE) {
-				ent.run();
-			}
+		if (dispatchExecutor != null) {
+			runEntitiesConcurrently();
+		} else {
+			runEntities();
 		}
 
 		if (future.isEmpty()) {
@@ -515,6 +840,100 @@ public class CloudSim {
 		return true;
 	}
 
+	/**
+	 * Runs the runnable entities, in the order of their ids.
+	 */
+	private static void runEntities() {
+		SimEntity ent;
+		for (int i = 0; i < entities.size(); i++) {
+			ent = entities.get(i);
+			if (ent.getState() == SimEntity.EntityStatus.RUNNABLE) {
+				ent.run();
+			}
+		}
+	}
+
+	/**
+	 * Runs the runnable entities that have events to process, in the order of their ids: the consecutive
+	 * entities that allow concurrent dispatch are run concurrently, and the events they sent are added to the
+	 * future event queue in the order of their ids; the other entities are run alone.
+	 *
+	 * @see #enableParallelDispatch(int)
+	 */
+	private static void runEntitiesConcurrently() {
+		List<SimEntity> pending = new ArrayList<>();
+		for (SimEntity ent : entities) {
+			if (ent.getState() != SimEntity.EntityStatus.RUNNABLE) {
+				continue;
+			}
+			if (!ent.isConcurrentDispatch()) {
+				runConcurrently(pending);
+				pending.clear();
+				ent.run();
+			} else if (!ent.getIncomingEvents().isEmpty()) {
+				pending.add(ent);
+			}
+		}
+		runConcurrently(pending);
+	}
+
+	/**
+	 * Runs entities that allow concurrent dispatch concurrently, and adds the events they sent
+	 * to the future event queue in the order of the list.
+	 *
+	 * @param pending the entities, in the order of their ids
+	 */
+	private static void runConcurrently(List<SimEntity> pending) {
+		if (pending.size() < 2) {
+			for (SimEntity ent : pending) {
+				ent.run();
+			}
+			return;
+		}
+
+		List<List<BufferedEvent>> sent = new ArrayList<>();
+		List<ByteArrayOutputStream> outputs = new ArrayList<>();
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (SimEntity ent : pending) {
+			List<BufferedEvent> events = new ArrayList<>();
+			ByteArrayOutputStream output = Log.isDisabled() ? null : new ByteArrayOutputStream();
+			sent.add(events);
+			outputs.add(output);
+			tasks.add(() -> {
+				sentEvents.set(events);
+				Log.setThreadOutput(output);
+				try {
+					ent.run();
+				} finally {
+					sentEvents.remove();
+					Log.setThreadOutput(null);
+				}
+				return null;
+			});
+		}
+
+		dispatching = true;
+		try {
+			runTasks(dispatchExecutor, tasks);
+		} finally {
+			dispatching = false;
+		}
+
+		for (int i = 0; i < pending.size(); i++) {
+			if (outputs.get(i) != null && outputs.get(i).size() > 0) {
+				// through the logger, after the messages it may still have to write
+				Log.print(outputs.get(i).toString());
+			}
+			for (BufferedEvent e : sent.get(i)) {
+				if (e.first()) {
+					future.addEventFirst(e.event());
+				} else {
+					future.addEvent(e.event());
+				}
+			}
+		}
+	}
+
 	/**
 	 * Internal method used to stop the simulation. This method should <b>not</b> be used directly.
 	 */
@@ -529,8 +948,8 @@ public class CloudSim {
 	 * @param delay the delay
 	 */
 	public static void pause(int srcId, double delay) {
-		SimEvent e = new SimEvent(SimEvent.HOLD_DONE, clock + delay, srcId);
-		future.addEvent(e);
+		SimEvent e = new SimEvent(SimEvent.HOLD_DONE, clock() + delay, srcId);
+		addEvent(e, false);
 		entities.get(srcId).setState(SimEntity.EntityStatus.HOLDING);
 	}
 
@@ -551,8 +970,8 @@ public class CloudSim {
 			throw new RuntimeException("Send delay can't be infinite.");
 		}
 
-		SimEvent e = new SimEvent(SimEvent.SEND, clock + delay, srcId, dstId, tag, data);
-		future.addEvent(e);
+		SimEvent e = new SimEvent(SimEvent.SEND, clock() + delay, srcId, dstId, tag, data);
+		addEvent(e, false);
 	}
 
 	/**
@@ -569,8 +988,27 @@ public class CloudSim {
 			throw new IllegalArgumentException("Send delay can't be negative.");
 		}
 
-		SimEvent e = new SimEvent(SimEvent.SEND, clock + delay, srcId, dstId, tag, data);
-		future.addEventFirst(e);
+		SimEvent e = new SimEvent(SimEvent.SEND, clock() + delay, srcId, dstId, tag, data);
+		addEvent(e, true);
+	}
+
+	/**
+	 * Adds an event to the future event queue, or to the logical process of the current thread.
+	 *
+	 * @param e the event
+	 * @param first whether the event goes before the other events with the same time
+	 */
+	private static void addEvent(SimEvent e, boolean first) {
+		LogicalProcess lp = getCurrentProcess();
+		if (lp != null) {
+			lp.send(e, first);
+		} else if (dispatching) {
+			sentEvents.get().add(new BufferedEvent(e, first));
+		} else if (first) {
+			future.addEventFirst(e);
+		} else {
+			future.addEvent(e);
+		}
 	}
 
 	/**
@@ -597,13 +1035,30 @@ public class CloudSim {
 	 * @return the sim event
 	 */
 	public static SimEvent cancel(int srcId, Predicate p) {
+		LogicalProcess lp = getCurrentProcess();
+		if (lp != null) {
+			return lp.cancel(srcId, p);
+		}
 		SimEvent ev;
-		Iterator<SimEvent> iter = future.iterator();
-		while (iter.hasNext()) {
-			ev = iter.next();
-			if (ev.getSourceId() == srcId && p.match(ev)) {
-				iter.remove();
-				return ev;
+		// the entities run concurrently in a clock tick cancel their own events
+		synchronized (future) {
+			Iterator<SimEvent> iter = future.iterator();
+			while (iter.hasNext()) {
+				ev = iter.next();
+				if (ev.getSourceId() == srcId && p.match(ev)) {
+					iter.remove();
+					return ev;
+				}
+			}
+		}
+		if (dispatching) {
+			Iterator<BufferedEvent> iter = sentEvents.get().iterator();
+			while (iter.hasNext()) {
+				ev = iter.next().event();
+				if (ev.getSourceId() == srcId && p.match(ev)) {
+					iter.remove();
+					return ev;
+				}
 			}
 		}
 		return null;
@@ -618,15 +1073,25 @@ public class CloudSim {
 	 * @return true, if successful
 	 */
 	public static boolean cancelAll(int srcId, Predicate p) {
+		LogicalProcess lp = getCurrentProcess();
+		if (lp != null) {
+			return lp.cancelAll(srcId, p);
+		}
 		SimEvent ev;
-		int previousSize = future.size();
-		Iterator<SimEvent> iter = future.iterator();
-		while (iter.hasNext()) {
-			ev = iter.next();
-			if (ev.getSourceId() == srcId && p.match(ev)) {
-				iter.remove();
+		int previousSize;
+		synchronized (future) {
+			previousSize = future.size();
+			Iterator<SimEvent> iter = future.iterator();
+			while (iter.hasNext()) {
+				ev = iter.next();
+				if (ev.getSourceId() == srcId && p.match(ev)) {
+					iter.remove();
+				}
 			}
 		}
+		if (dispatching) {
+			sentEvents.get().removeIf(e -> e.event().getSourceId() == srcId && p.match(e.event()));
+		}
 		return previousSize < future.size();
 	}
 
@@ -640,16 +1105,28 @@ public class CloudSim {
 	 * @param e the e
 	 */
 	private static void dispatchEvent(SimEvent e) {
-		int dstId = e.getDestinationId();
-		int srcId = e.getSourceId();
-		SimEntity destEnt = entities.get(dstId);
-
 		// Update the system's clock
 		if (e.eventTime() < clock) {
 			throw new IllegalArgumentException("Past event detected.");
 		}
 		clock = e.eventTime();
 
+		deliverEvent(e);
+	}
+
+	/**
+	 * Delivers an event to the destination entity, without updating the clock.
+	 *
+	 * @param e the e
+	 */
+	static void deliverEvent(SimEvent e) {
+		if (metrics != null) {
+			metrics.eventDispatched(e);
+		}
+		int dstId = e.getDestinationId();
+		int srcId = e.getSourceId();
+		SimEntity destEnt = entities.get(dstId);
+
 		// Ok now process it
 		switch (e.getType()) {
 			case SimEvent.ENULL -> throw new IllegalArgumentException("Event has a null type.");
@@ -744,14 +1221,39 @@ public class CloudSim {
 	 * @return the last clock value
 	 */
 	public static double run() {
+		metrics = metricsEnabled ? new SimulationMetrics() : null;
+		if (metrics != null) {
+			metrics.start(entities.size(), metricsDumpInterval, metricsOutput);
+		}
 		if (!running) {
 			runStart();
 		}
+		if (parallelThreads > 0) {
+			if (entities.stream().map(SimEntity::getPartition).distinct().count() > 1) {
+				if (checkpointAt != -1) {
+					throw new IllegalStateException("Checkpoints are not supported when the simulation runs in parallel");
+				}
+				runParallel();
+				return finishRun();
+			}
+			printMessage("Simulation: All the entities belong to the same partition, running sequentially.");
+		}
+		if (dispatchThreads > 0) {
+			dispatchExecutor = Executors.newFixedThreadPool(dispatchThreads, task -> {
+				Thread thread = new Thread(task, "CloudSim-dispatch");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
 		while (true) {
 			if (!runClockTick() || abruptTerminate) {
 				break;
 			}
 
+			if (checkpointAt != -1 && clock >= checkpointAt) {
+				saveCheckpoint();
+			}
+
 			// this block allows termination of simulation at a specific time
 			if (terminateAt > 0.0 && clock >= terminateAt) {
 				terminateSimulation();
@@ -775,14 +1277,155 @@ public class CloudSim {
 			}
 		}
 
+		return finishRun();
+	}
+
+	private static double finishRun() {
 		double clock = clock();
 
 		finishSimulation();
+		if (metrics != null) {
+			metrics.stop(clock);
+		}
 		runStop();
 
 		return clock;
 	}
 
+	/**
+	 * Runs the simulation in parallel, one logical process per partition.
+	 *
+	 * @see #enableParallelExecution(int, double)
+	 */
+	private static void runParallel() {
+		// the events at the start time, e.g., the registration of the datacenters
+		// to the CIS without network delay, are processed sequentially
+		double startTime = clock;
+		while (!future.isEmpty() && future.peek().eventTime() == startTime) {
+			runClockTick();
+			if (abruptTerminate) {
+				return;
+			}
+		}
+		runEntities();
+		if (future.isEmpty() || abruptTerminate) {
+			runClockTick();
+			return;
+		}
+
+		processes = new TreeMap<>();
+		for (SimEntity ent : entities) {
+			processes.computeIfAbsent(ent.getPartition(), partition -> new LogicalProcess(partition, clock, lookahead))
+					.addEntity(ent);
+		}
+		for (SimEvent e : future) {
+			processes.get(entities.get(e.getDestinationId()).getPartition()).deliver(e);
+		}
+		future.clear();
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelThreads, processes.size()));
+		try {
+			while (true) {
+				double next = Double.MAX_VALUE;
+				for (LogicalProcess lp : processes.values()) {
+					next = Math.min(next, lp.nextEventTime());
+				}
+				if (next == Double.MAX_VALUE) {
+					for (LogicalProcess lp : processes.values()) {
+						clock = Math.max(clock, lp.clock());
+					}
+					running = false;
+					printMessage(String.format("(%.6f", clock) + "s) " + ": Simulation: No more future events");
+					break;
+				}
+				clock = next;
+				if (terminateAt > 0.0 && clock >= terminateAt) {
+					terminateSimulation();
+					clock = terminateAt;
+					break;
+				}
+
+				double horizon = terminateAt > 0.0 ? Math.min(next + lookahead, terminateAt) : next + lookahead;
+				runWindow(executor, horizon);
+				for (LogicalProcess lp : processes.values()) {
+					for (SimEvent e : lp.drainOutbox()) {
+						processes.get(entities.get(e.getDestinationId()).getPartition()).deliver(e);
+					}
+				}
+
+				if (abruptTerminate) {
+					for (LogicalProcess lp : processes.values()) {
+						clock = Math.max(clock, lp.clock());
+					}
+					break;
+				}
+
+				while (paused) {
+					try {
+						Thread.sleep(100);
+					} catch (InterruptedException e) {
+						e.printStackTrace();
+					}
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+			processes = null;
+		}
+	}
+
+	/**
+	 * Runs the logical processes that have events before the horizon, concurrently.
+	 */
+	private static void runWindow(ExecutorService executor, double horizon) {
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (LogicalProcess lp : processes.values()) {
+			if (lp.nextEventTime() < horizon) {
+				tasks.add(() -> {
+					currentProcess.set(lp);
+					try {
+						lp.run(horizon);
+					} finally {
+						currentProcess.remove();
+					}
+					return null;
+				});
+			}
+		}
+
+		runTasks(executor, tasks);
+	}
+
+	/**
+	 * Runs tasks with an executor and waits for them to complete, rethrowing their exceptions.
+	 * A single task is run by the current thread.
+	 */
+	private static void runTasks(ExecutorService executor, List<Callable<Void>> tasks) {
+		try {
+			if (tasks.size() == 1) {
+				tasks.get(0).call();
+				return;
+			}
+			for (Future<Void> task : executor.invokeAll(tasks)) {
+				task.get();
+			}
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			} else if (e.getCause() instanceof Error cause) {
+				throw cause;
+			}
+			throw new IllegalStateException(e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("The parallel simulation has been interrupted", e);
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
 	/**
 	 * Internal method that allows the entities to terminate. This method should <b>not</b> be used
 	 * in user simulations.
@@ -813,6 +1456,15 @@ public class CloudSim {
 		paused = false;
 		pauseAt = -1;
 		abruptTerminate = false;
+		checkpointAt = -1;
+		checkpointFile = null;
+		disableParallelExecution();
+		disableParallelDispatch();
+		disableMetrics();
+		if (dispatchExecutor != null) {
+			dispatchExecutor.shutdownNow();
+			dispatchExecutor = null;
+		}
 	}
 
 	/**
@@ -0,0 +1,429 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.Serial;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+import org.cloudbus.cloudsim.core.predicates.Predicate;
+import org.cloudbus.cloudsim.core.predicates.PredicateAny;
+import org.cloudbus.cloudsim.core.predicates.PredicateFrom;
+import org.cloudbus.cloudsim.core.predicates.PredicateType;
+
+/**
+ * The deferred event queue of a {@link SimEntity}, i.e., the events dispatched to the entity and not
+ * processed yet. Besides the events in time order, the queue keeps them by tag and by source entity, so that
+ * the events selected by a {@link PredicateType} or a {@link PredicateFrom} are found and counted without
+ * scanning the queue; the events selected by other predicates are found by scanning the queue.
+ *
+ * <br/>An event removed from the middle of the queue is only marked as removed: it is discarded when it reaches
+ * the head of the queue, or with the other removed events when they outnumber the events left, so that selecting
+ * and removing an event by tag or source takes logarithmic amortized time. An event is added to the queue
+ * at most once. As {@link PriorityQueue#spliterator()} cannot be overridden, the streams of the queue may
+ * include the removed events still stored; its iterator does not.
+ *
+ * <br/>The sub-queues are only built on the first selection by tag or source, so that the entities
+ * that never select events do not maintain them.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+public class DeferredQueue extends EventQueue {
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/** The events by tag, or null if they have not been indexed. */
+	private transient Map<CloudSimTags, SubQueue> byTag = null;
+
+	/** The events by source entity, or null if they have not been indexed. */
+	private transient Map<Integer, SubQueue> bySource = null;
+
+	/** The number of removed events still stored in the queue. */
+	private int removedStored = 0;
+
+	/**
+	 * The events of a tag or a source entity, in time order. As in the queue, the removed events
+	 * are discarded when they reach the head, or when they outnumber the events left.
+	 */
+	private static class SubQueue {
+		private final PriorityQueue<SimEvent> events = new PriorityQueue<>();
+
+		/** The number of events left, i.e., not removed. */
+		private int size = 0;
+
+		void add(SimEvent e) {
+			events.add(e);
+			size++;
+		}
+
+		/** Updates the sub-queue after one of its events has been marked as removed. */
+		void removed(SimEvent e) {
+			size--;
+			if (events.peek() == e) {
+				events.poll();
+			} else if (events.size() > 2 * size) {
+				events.removeIf(SimEvent::isDeferredRemoved);
+			}
+		}
+
+		SimEvent peek() {
+			SimEvent head = events.peek();
+			while (head != null && head.isDeferredRemoved()) {
+				events.poll();
+				head = events.peek();
+			}
+			return head;
+		}
+
+		int size() {
+			return size;
+		}
+	}
+
+	@Override
+	public boolean offer(SimEvent e) {
+		e.setDeferredRemoved(false);
+		super.offer(e);
+		if (byTag != null) {
+			index(e);
+		}
+		return true;
+	}
+
+	@Override
+	public SimEvent poll() {
+		discardRemovedHead();
+		SimEvent e = super.poll();
+		if (e != null) {
+			removed(e, false);
+		}
+		return e;
+	}
+
+	@Override
+	public SimEvent peek() {
+		discardRemovedHead();
+		return super.peek();
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		if (!(o instanceof SimEvent e) || e.isDeferredRemoved() || !super.remove(o)) {
+			return false;
+		}
+		removed(e, false);
+		return true;
+	}
+
+	@Override
+	public int size() {
+		return super.size() - removedStored;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return o instanceof SimEvent e && !e.isDeferredRemoved() && super.contains(o);
+	}
+
+	@Override
+	public Iterator<SimEvent> iterator() {
+		discardRemoved();
+		Iterator<SimEvent> iterator = super.iterator();
+		return new Iterator<>() {
+			private SimEvent last;
+
+			@Override
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+
+			@Override
+			public SimEvent next() {
+				return last = iterator.next();
+			}
+
+			@Override
+			public void remove() {
+				iterator.remove();
+				removed(last, false);
+			}
+		};
+	}
+
+	@Override
+	public Object[] toArray() {
+		discardRemoved();
+		return super.toArray();
+	}
+
+	@Override
+	public <T> T[] toArray(T[] a) {
+		discardRemoved();
+		return super.toArray(a);
+	}
+
+	@Override
+	public void forEach(Consumer<? super SimEvent> action) {
+		discardRemoved();
+		super.forEach(action);
+	}
+
+	@Override
+	public void clear() {
+		super.clear();
+		removedStored = 0;
+		dropIndex();
+	}
+
+	@Override
+	public boolean removeIf(java.util.function.Predicate<? super SimEvent> filter) {
+		dropIndex();
+		discardRemoved();
+		return super.removeIf(filter);
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		dropIndex();
+		discardRemoved();
+		return super.removeAll(c);
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		dropIndex();
+		discardRemoved();
+		return super.retainAll(c);
+	}
+
+	/**
+	 * Gets the first event, in time order, that matches a predicate.
+	 *
+	 * @param p the predicate
+	 * @return the event, or null if no event matches
+	 */
+	public SimEvent peek(Predicate p) {
+		SubQueue queue = firstSubQueue(p);
+		if (queue != null) {
+			return queue.peek();
+		}
+		if (!isIndexed(p)) {
+			return scan(p, false);
+		}
+		return null;
+	}
+
+	/**
+	 * Removes the first event, in time order, that matches a predicate.
+	 *
+	 * @param p the predicate
+	 * @return the event, or null if no event matches
+	 */
+	public SimEvent poll(Predicate p) {
+		SubQueue queue = firstSubQueue(p);
+		if (queue != null) {
+			SimEvent e = queue.peek();
+			removeLazily(e);
+			return e;
+		}
+		if (!isIndexed(p)) {
+			return scan(p, true);
+		}
+		return null;
+	}
+
+	/**
+	 * Counts the events that match a predicate.
+	 *
+	 * @param p the predicate
+	 * @return the number of events
+	 */
+	public int count(Predicate p) {
+		if (p.getClass() == PredicateAny.class) {
+			return size();
+		} else if (p.getClass() == PredicateType.class) {
+			index();
+			int count = 0;
+			CloudSimTags[] tags = ((PredicateType) p).getTags();
+			for (int i = 0; i < tags.length; i++) {
+				if (!isRepeated(tags, i)) {
+					count += size(byTag.get(tags[i]));
+				}
+			}
+			return count;
+		} else if (p.getClass() == PredicateFrom.class) {
+			index();
+			int count = 0;
+			int[] ids = ((PredicateFrom) p).getSourceIds();
+			for (int i = 0; i < ids.length; i++) {
+				if (!isRepeated(ids, i)) {
+					count += size(bySource.get(ids[i]));
+				}
+			}
+			return count;
+		}
+
+		int count = 0;
+		for (SimEvent e : this) {
+			if (p.match(e)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static boolean isIndexed(Predicate p) {
+		return p.getClass() == PredicateType.class || p.getClass() == PredicateFrom.class;
+	}
+
+	/**
+	 * Gets the sub-queue whose first event is the first one that matches a predicate selecting events
+	 * by tag or by source.
+	 *
+	 * @return the sub-queue, or null if no event matches or the predicate does not select by tag or source
+	 */
+	private SubQueue firstSubQueue(Predicate p) {
+		SubQueue first = null;
+		if (p.getClass() == PredicateType.class) {
+			index();
+			for (CloudSimTags tag : ((PredicateType) p).getTags()) {
+				first = earliest(first, byTag.get(tag));
+			}
+		} else if (p.getClass() == PredicateFrom.class) {
+			index();
+			for (int id : ((PredicateFrom) p).getSourceIds()) {
+				first = earliest(first, bySource.get(id));
+			}
+		}
+		return first;
+	}
+
+	private static SubQueue earliest(SubQueue a, SubQueue b) {
+		if (b == null || b.peek() == null) {
+			return a;
+		}
+		return a == null || b.peek().compareTo(a.peek()) < 0 ? b : a;
+	}
+
+	private SimEvent scan(Predicate p, boolean remove) {
+		SimEvent first = null;
+		for (SimEvent e : this) {
+			if (p.match(e) && (first == null || e.compareTo(first) < 0)) {
+				first = e;
+			}
+		}
+		if (first != null && remove) {
+			removeLazily(first);
+		}
+		return first;
+	}
+
+	/** Removes an event of the queue, which is only marked as removed unless it is the head of the queue. */
+	private void removeLazily(SimEvent e) {
+		discardRemovedHead();
+		if (super.peek() == e) {
+			super.remove(e);
+			removed(e, false);
+		} else {
+			removed(e, true);
+		}
+	}
+
+	/**
+	 * Marks an event as removed from the queue and its sub-queues.
+	 *
+	 * @param e the event
+	 * @param stored whether the event is still stored in the queue
+	 */
+	private void removed(SimEvent e, boolean stored) {
+		e.setDeferredRemoved(true);
+		if (byTag != null) {
+			unindex(e);
+		}
+		if (stored && ++removedStored > size()) {
+			discardRemoved();
+		}
+	}
+
+	/** Discards the removed events at the head of the queue. */
+	private void discardRemovedHead() {
+		SimEvent head = super.peek();
+		while (head != null && head.isDeferredRemoved()) {
+			super.remove(head); // the head is found first
+			removedStored--;
+			head = super.peek();
+		}
+	}
+
+	/** Discards all the removed events stored in the queue. */
+	private void discardRemoved() {
+		if (removedStored > 0) {
+			super.removeIf(SimEvent::isDeferredRemoved);
+			removedStored = 0;
+		}
+	}
+
+	/** Builds the sub-queues, if they have not been built yet. */
+	private void index() {
+		if (byTag == null) {
+			byTag = new HashMap<>();
+			bySource = new HashMap<>();
+			for (SimEvent e : this) {
+				index(e);
+			}
+		}
+	}
+
+	private void index(SimEvent e) {
+		byTag.computeIfAbsent(e.getTag(), tag -> new SubQueue()).add(e);
+		bySource.computeIfAbsent(e.getSourceId(), id -> new SubQueue()).add(e);
+	}
+
+	private void unindex(SimEvent e) {
+		byTag.get(e.getTag()).removed(e);
+		bySource.get(e.getSourceId()).removed(e);
+	}
+
+	private void dropIndex() {
+		byTag = null;
+		bySource = null;
+	}
+
+	private static int size(SubQueue queue) {
+		return queue == null ? 0 : queue.size();
+	}
+
+	/** Checks if a value is repeated before a given index. */
+	private static boolean isRepeated(CloudSimTags[] values, int index) {
+		for (int i = 0; i < index; i++) {
+			if (values[i] == values[index]) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isRepeated(int[] values, int index) {
+		for (int i = 0; i < index; i++) {
+			if (values[i] == values[index]) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
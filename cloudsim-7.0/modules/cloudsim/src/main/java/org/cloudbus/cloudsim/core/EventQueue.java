@@ -10,6 +10,7 @@ package org.cloudbus.cloudsim.core;
 
 import org.cloudbus.cloudsim.Log;
 
+import java.io.Serial;
 import java.util.Iterator;
 import java.util.PriorityQueue;
 
@@ -21,6 +22,9 @@ import java.util.PriorityQueue;
  *
  */
 public class EventQueue extends PriorityQueue<SimEvent> {
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/** A incremental number used for event attribute */
 	private long serial = 0;
 
@@ -3,6 +3,7 @@ package org.cloudbus.cloudsim.core;
 import org.cloudbus.cloudsim.CloudletScheduler;
 import org.cloudbus.cloudsim.VmStateHistoryEntry;
 
+import java.io.Serializable;
 import java.util.List;
 
 /**
@@ -13,7 +14,7 @@ import java.util.List;
  * @author Remo Andreoli
  * @since CloudSim Toolkit 7.0
  */
-public interface GuestEntity extends CoreAttributes {
+public interface GuestEntity extends CoreAttributes, Serializable {
     /**
      * Updates the processing of cloudlets running on this guest. This may start a chain of processing updates
      * in the guest entities which are nested within this guest (if any).
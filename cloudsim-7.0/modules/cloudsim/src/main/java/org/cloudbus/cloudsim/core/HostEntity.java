@@ -12,6 +12,7 @@ import org.cloudbus.cloudsim.lists.PeList;
 import org.cloudbus.cloudsim.provisioners.BwProvisioner;
 import org.cloudbus.cloudsim.provisioners.RamProvisioner;
 
+import java.io.Serializable;
 import java.util.*;
 
 /**
@@ -22,7 +23,7 @@ import java.util.*;
  * @author Remo Andreoli
  * @since CloudSim Toolkit 7.0
  */
-public interface HostEntity extends CoreAttributes {
+public interface HostEntity extends CoreAttributes, Serializable {
     /**
      * Requests updating of cloudlets' processing within the (possibly nested) guests running in this host.
      *
@@ -0,0 +1,180 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.cloudbus.cloudsim.core.predicates.Predicate;
+
+/**
+ * A logical process of a parallel simulation: it runs the entities of a partition with its own
+ * event queue and clock, up to the horizon given by {@link CloudSim}. The events sent to the entities
+ * of other partitions are buffered in an outbox, and delivered by {@link CloudSim} at the end of the window.
+ *
+ * <br/>Every event is stamped with the time and generation it was sent at, and the entity that sent it,
+ * so that the events with the same time are processed in the order of the sequential simulation.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+class LogicalProcess {
+
+	private final int partition;
+
+	/** The entities of the partition, in the order of their ids. */
+	private final List<SimEntity> entities = new ArrayList<>();
+
+	private final PriorityQueue<SimEvent> future = new PriorityQueue<>();
+
+	/** The events sent to the entities of other partitions during the current window. */
+	private final List<SimEvent> outbox = new ArrayList<>();
+
+	private final double lookahead;
+
+	private double clock;
+
+	/** The number of batches of events already processed at the current {@link #clock}. */
+	private int generation = 0;
+
+	/** The id of the entity being run. */
+	private int currentEntity = -1;
+
+	private long serial = 0;
+
+	LogicalProcess(int partition, double clock, double lookahead) {
+		this.partition = partition;
+		this.clock = clock;
+		this.lookahead = lookahead;
+	}
+
+	int getPartition() {
+		return partition;
+	}
+
+	void addEntity(SimEntity entity) {
+		entities.add(entity);
+	}
+
+	double clock() {
+		return clock;
+	}
+
+	/**
+	 * Gets the time of the next event of the process.
+	 *
+	 * @return the time, or {@link Double#MAX_VALUE} if there are no events
+	 */
+	double nextEventTime() {
+		return future.isEmpty() ? Double.MAX_VALUE : future.peek().eventTime();
+	}
+
+	/**
+	 * Gets the number of events in the queue of the process.
+	 */
+	int size() {
+		return future.size();
+	}
+
+	/**
+	 * Adds an event sent by another process, or before the processes were created.
+	 */
+	void deliver(SimEvent e) {
+		future.add(e);
+	}
+
+	/**
+	 * Adds an event sent by the entity being run.
+	 *
+	 * @param e the event
+	 * @param first whether the event goes before the other events with the same time
+	 * @throws IllegalStateException if the event is for another partition and its delay is less than the lookahead
+	 */
+	void send(SimEvent e, boolean first) {
+		e.setSendOrder(first ? Double.NEGATIVE_INFINITY : clock, generation, currentEntity, serial++);
+		if (CloudSim.getEntity(e.getDestinationId()).getPartition() == partition) {
+			future.add(e);
+			return;
+		}
+		if (e.eventTime() < clock + lookahead) {
+			throw new IllegalStateException("Event " + e.getTag() + " from " + CloudSim.getEntityName(e.getSourceId())
+					+ " to " + CloudSim.getEntityName(e.getDestinationId()) + " at " + clock
+					+ " has a delay less than the lookahead of the parallel simulation (" + lookahead + ")");
+		}
+		outbox.add(e);
+	}
+
+	/**
+	 * Removes the first event of the process sent by an entity that matches a predicate.
+	 */
+	SimEvent cancel(int srcId, Predicate p) {
+		SimEvent ev = cancel(future, srcId, p, false);
+		return ev != null ? ev : cancel(outbox, srcId, p, false);
+	}
+
+	/**
+	 * Removes all the events of the process sent by an entity that match a predicate.
+	 */
+	boolean cancelAll(int srcId, Predicate p) {
+		boolean cancelled = cancel(future, srcId, p, true) != null;
+		return cancel(outbox, srcId, p, true) != null || cancelled;
+	}
+
+	private static SimEvent cancel(Iterable<SimEvent> events, int srcId, Predicate p, boolean all) {
+		SimEvent cancelled = null;
+		Iterator<SimEvent> iter = events.iterator();
+		while (iter.hasNext()) {
+			SimEvent ev = iter.next();
+			if (ev.getSourceId() == srcId && p.match(ev)) {
+				iter.remove();
+				if (!all) {
+					return ev;
+				}
+				cancelled = ev;
+			}
+		}
+		return cancelled;
+	}
+
+	/**
+	 * Processes the events before the horizon, a batch of events with the same time after the other:
+	 * the batch is dispatched to the entities, and the runnable entities are run in the order of their ids,
+	 * as {@link CloudSim} does in a clock tick.
+	 *
+	 * @param horizon the time up to which (excluded) no event can be received from other processes
+	 */
+	void run(double horizon) {
+		while (!future.isEmpty() && future.peek().eventTime() < horizon) {
+			double time = future.peek().eventTime();
+			generation = time == clock ? generation + 1 : 0;
+			clock = time;
+			while (!future.isEmpty() && future.peek().eventTime() == time) {
+				CloudSim.deliverEvent(future.poll());
+			}
+
+			for (SimEntity ent : entities) {
+				if (ent.getState() == SimEntity.EntityStatus.RUNNABLE) {
+					currentEntity = ent.getId();
+					ent.run();
+				}
+			}
+			currentEntity = -1;
+		}
+	}
+
+	/**
+	 * Gets and clears the events sent to other partitions during the window.
+	 */
+	List<SimEvent> drainOutbox() {
+		List<SimEvent> events = new ArrayList<>(outbox);
+		outbox.clear();
+		return events;
+	}
+}
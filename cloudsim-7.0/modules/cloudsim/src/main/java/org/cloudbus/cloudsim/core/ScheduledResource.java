@@ -2,16 +2,25 @@ package org.cloudbus.cloudsim.core;
 
 import org.cloudbus.cloudsim.core.predicates.PredicateType;
 import org.cloudbus.cloudsim.Log;
+import java.io.Serial;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 
 /* a CPU, a network link, ... */
 public class ScheduledResource extends SimEntity {
-    public static class ResourceUse implements Comparable<ResourceUse> {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static class ResourceUse implements Comparable<ResourceUse>, Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
         public int src;
         public int dst;
         public double amountLeft;
         public CloudActionTags tag;
+        @SuppressWarnings("serial")
         public Object data;
         public ResourceUse(int src, int dst, double amountLeft, CloudActionTags tag, Object data) {
             this.src = src;
@@ -11,8 +11,10 @@ package org.cloudbus.cloudsim.core;
 import org.cloudbus.cloudsim.Log;
 import org.cloudbus.cloudsim.NetworkTopology;
 import org.cloudbus.cloudsim.core.predicates.Predicate;
+import org.cloudbus.cloudsim.jfr.EventDispatchEvent;
 
-import java.util.Iterator;
+import java.io.Serial;
+import java.io.Serializable;
 
 /**
  * This class represents a simulation entity. An entity handles events and can send events to other
@@ -31,7 +33,10 @@ import java.util.Iterator;
  * @author Remo Andreoli
  * @since CloudSim Toolkit 1.0
  */
-public abstract class SimEntity implements Cloneable {
+public abstract class SimEntity implements Cloneable, Serializable {
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/** Entity states */
 	public enum EntityStatus {
 		RUNNABLE,
@@ -43,7 +48,11 @@ public abstract class SimEntity implements Cloneable {
 	private String name;
 	private int id;
 	private EntityStatus state;
-	protected EventQueue incomingEvents;
+	protected DeferredQueue incomingEvents;
+	/** The logical process the entity is run by, when the simulation runs in parallel. */
+	private int partition = 0;
+	/** Whether the entity may be run concurrently with the other such entities in a clock tick. */
+	private boolean concurrentDispatch = false;
 
 	/**
 	 * Creates a new entity.
@@ -57,7 +66,7 @@ public abstract class SimEntity implements Cloneable {
 		this.name = name;
 		id = -1;
 		state = EntityStatus.RUNNABLE;
-		incomingEvents = new EventQueue();
+		incomingEvents = new DeferredQueue();
 
 		CloudSim.addEntity(this);
 	}
@@ -80,10 +89,55 @@ public abstract class SimEntity implements Cloneable {
 		return id;
 	}
 
-	public EventQueue getIncomingEvents() {
+	public DeferredQueue getIncomingEvents() {
 		return incomingEvents;
 	}
 
+	/**
+	 * Gets the partition of the entity.
+	 *
+	 * @return the partition
+	 * @see CloudSim#enableParallelExecution(int, double)
+	 */
+	public int getPartition() {
+		return partition;
+	}
+
+	/**
+	 * Sets the partition of the entity. When the simulation runs in parallel, the entities of
+	 * a partition are run by the same logical process, which has its own event queue; the default
+	 * partition is 0.
+	 *
+	 * @param partition the partition
+	 * @see CloudSim#enableParallelExecution(int, double)
+	 */
+	public void setPartition(int partition) {
+		this.partition = partition;
+	}
+
+	/**
+	 * Checks if the entity may be run concurrently with the other such entities in a clock tick.
+	 *
+	 * @return true if the entity allows concurrent dispatch
+	 * @see CloudSim#enableParallelDispatch(int)
+	 */
+	public boolean isConcurrentDispatch() {
+		return concurrentDispatch;
+	}
+
+	/**
+	 * Allows the entity to be run concurrently with the other such entities in a clock tick, when the
+	 * simulation runs with parallel dispatch. An entity should only allow it if, while it processes its events,
+	 * it neither reads nor modifies the state of the other entities that allow it, nor any other object they share;
+	 * it may still interact with them by events. The default is false.
+	 *
+	 * @param concurrentDispatch true to allow concurrent dispatch
+	 * @see CloudSim#enableParallelDispatch(int)
+	 */
+	public void setConcurrentDispatch(boolean concurrentDispatch) {
+		this.concurrentDispatch = concurrentDispatch;
+	}
+
 	/** Handle incoming event functions */
 	/**
 	 * Checks if events for a specific entity are present in the deferred event queue.
@@ -92,17 +146,11 @@ public abstract class SimEntity implements Cloneable {
 	 * @return the int
 	 */
 	public int waiting(Predicate p) {
-		int count = 0;
-		for (SimEvent event : incomingEvents) {
-			if ((event.getDestinationId() == id) && (p.match(event))) {
-				count++;
-			}
-		}
-		return count;
+		return incomingEvents.count(p);
 	}
 
 	/**
-	 * Selects an event matching a predicate.
+	 * Selects the first event, in time order, matching a predicate, and removes it from the deferred queue.
 	 *
 	 * @param p the p
 	 * @return the sim event
@@ -112,33 +160,17 @@ public abstract class SimEntity implements Cloneable {
 			return null;
 		}
 
-		SimEvent ev;
-		Iterator<SimEvent> iterator = incomingEvents.iterator();
-		while (iterator.hasNext()) {
-			ev = iterator.next();
-			if (ev.getDestinationId() == id && p.match(ev)) {
-				iterator.remove();
-				return ev;
-			}
-		}
-		return null;
+		return incomingEvents.poll(p);
 	}
 
 	/**
-	 * Find first deferred event matching a predicate.
+	 * Find the first deferred event, in time order, matching a predicate.
 	 *
 	 * @param p the p
 	 * @return the sim event
 	 */
 	public SimEvent findFirstDeferred(Predicate p) {
-		SimEvent ev;
-		for (SimEvent simEvent : incomingEvents) {
-			ev = simEvent;
-			if (ev.getDestinationId() == id && p.match(ev)) {
-				return ev;
-			}
-		}
-		return null;
+		return incomingEvents.peek(p);
 	}
 
 	/** Schedule event functions */
@@ -448,9 +480,21 @@ public abstract class SimEntity implements Cloneable {
 	 */
 	public void run() {
 		SimEvent ev =  incomingEvents.poll();
+		SimulationMetrics metrics = CloudSim.getMetrics();
 
 		while (ev != null) {
-			processEvent(ev);
+			EventDispatchEvent event = new EventDispatchEvent();
+			event.begin();
+			if (metrics == null) {
+				processEvent(ev);
+			} else {
+				long start = System.nanoTime();
+				processEvent(ev);
+				metrics.eventProcessed(this, System.nanoTime() - start);
+			}
+			if (event.shouldCommit()) {
+				event.commit(ev);
+			}
 			if (state != EntityStatus.RUNNABLE) {
 				break;
 			}
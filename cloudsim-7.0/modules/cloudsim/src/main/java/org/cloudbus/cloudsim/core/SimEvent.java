@@ -8,13 +8,18 @@
 
 package org.cloudbus.cloudsim.core;
 
+import java.io.Serial;
+import java.io.Serializable;
+
 /**
  * This class represents a simulation event which is passed between the entities in the simulation.
  * 
  * @author Costas Simatos
  * @see SimEntity
  */
-public class SimEvent implements Cloneable, Comparable<SimEvent> {
+public class SimEvent implements Cloneable, Comparable<SimEvent>, Serializable {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** Internal event type. **/
 	private final int etype;
@@ -40,6 +45,7 @@ public class SimEvent implements Cloneable, Comparable<SimEvent> {
          * But this modification would incur several changes in the simulator core
          * that has to be assessed first.
          **/
+	@SuppressWarnings("serial")
 	private final Object data;
 
         /**
@@ -52,6 +58,23 @@ public class SimEvent implements Cloneable, Comparable<SimEvent> {
          */
 	private long serial = -1;
 
+	/**
+	 * The simulation time at which the event was sent, the generation of the events being processed
+	 * at that time, and the id of the entity being run, when the event was sent by a logical process
+	 * of a parallel simulation. Together with the {@link #serial}, they order the events with the same
+	 * {@link #time} as the single event queue of a sequential simulation does; they are 0 for the
+	 * events of a sequential simulation, which are ordered by {@link #serial} only.
+	 */
+	private double sendTime = 0;
+	private int sendGeneration = 0;
+	private int sender = 0;
+
+	/**
+	 * Whether the event has been removed from the {@link DeferredQueue} it was added to, which may still
+	 * store it until it is discarded.
+	 */
+	private boolean deferredRemoved = false;
+
 	// Internal event types
 
 	public static final int ENULL = 0;
@@ -81,6 +104,21 @@ public class SimEvent implements Cloneable, Comparable<SimEvent> {
 		this.serial = serial;
 	}
 
+	boolean isDeferredRemoved() {
+		return deferredRemoved;
+	}
+
+	void setDeferredRemoved(boolean deferredRemoved) {
+		this.deferredRemoved = deferredRemoved;
+	}
+
+	void setSendOrder(double sendTime, int sendGeneration, int sender, long serial) {
+		this.sendTime = sendTime;
+		this.sendGeneration = sendGeneration;
+		this.sender = sender;
+		this.serial = serial;
+	}
+
 	/**
 	 * Sets the time that the event was removed from the queue to start service. 
 	 * 
@@ -116,6 +154,12 @@ public class SimEvent implements Cloneable, Comparable<SimEvent> {
 			return -1;
 		} else if (time > event.time) {
 			return 1;
+		} else if (sendTime != event.sendTime) {
+			return sendTime < event.sendTime ? -1 : 1;
+		} else if (sendGeneration != event.sendGeneration) {
+			return sendGeneration < event.sendGeneration ? -1 : 1;
+		} else if (sender != event.sender) {
+			return sender < event.sender ? -1 : 1;
 		} else if (serial < event.serial) {
 			return -1;
 		} else if (this == event) {
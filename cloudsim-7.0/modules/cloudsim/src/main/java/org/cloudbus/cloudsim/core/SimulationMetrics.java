@@ -0,0 +1,328 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.cloudbus.cloudsim.Cloudlet;
+
+/**
+ * The metrics of a running simulation, to watch how a long simulation performs: the events dispatched,
+ * by tag, and processed, by entity, with the wall-clock time spent processing them, the size of the
+ * future event queue, the simulated to wall-clock time ratio and the cloudlets in execution and finished.
+ * The metrics are collected when they are enabled with {@link CloudSim#enableMetrics()}, and published as the
+ * JMX MBean {@value #OBJECT_NAME} until the next simulation starts.
+ *
+ * <br/>The metrics are updated by the threads that run the simulation and can be read at any time,
+ * e.g., by a JMX client, but they are only exact when the simulation does not run.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+public class SimulationMetrics implements SimulationMetricsMXBean {
+
+	/** The name of the MBean of the metrics. */
+	public static final String OBJECT_NAME = "org.cloudbus.cloudsim:type=SimulationMetrics";
+
+	/** The number of buckets of the processing time histograms, one per power of two nanoseconds. */
+	private static final int NUM_BUCKETS = 64;
+
+	/** The number of entities listed in a dump. */
+	private static final int NUM_DUMPED_ENTITIES = 5;
+
+	/** The metrics of the events processed by an entity, which is run by one thread at a time. */
+	private static class EntityMetrics {
+		final String name;
+		long events;
+		long time;
+		long maxTime;
+		final long[] histogram = new long[NUM_BUCKETS];
+
+		EntityMetrics(String name) {
+			this.name = name;
+		}
+	}
+
+	private final LongAdder eventsDispatched = new LongAdder();
+
+	private final Map<CloudSimTags, LongAdder> eventsByTag = new ConcurrentHashMap<>();
+
+	/** The metrics of the entities, by entity id. */
+	private volatile EntityMetrics[] entityMetrics = new EntityMetrics[0];
+
+	private final LongAdder activeCloudlets = new LongAdder();
+
+	private final LongAdder finishedCloudlets = new LongAdder();
+
+	/** The wall-clock time the simulation started at, in nanoseconds. */
+	private long startTime;
+
+	/** The wall-clock time the simulation finished at, in nanoseconds, or -1 while it runs. */
+	private volatile long finishTime = -1;
+
+	/** The simulation time the simulation finished at. */
+	private double finishClock;
+
+	private ScheduledExecutorService dumper = null;
+
+	/** The number of events dispatched, and the wall-clock time, at the previous dump. */
+	private long lastDumpEvents, lastDumpTime;
+
+	/**
+	 * Starts collecting the metrics, and publishes them through JMX.
+	 *
+	 * @param numEntities the number of entities of the simulation
+	 * @param dumpInterval the interval between the dumps of the metrics, in milliseconds, or 0 to not dump them
+	 * @param output the stream the metrics are dumped to
+	 */
+	void start(int numEntities, long dumpInterval, PrintStream output) {
+		entityMetrics = new EntityMetrics[numEntities];
+		startTime = lastDumpTime = System.nanoTime();
+		register();
+		if (dumpInterval > 0) {
+			dumper = Executors.newSingleThreadScheduledExecutor(task -> {
+				Thread thread = new Thread(task, "CloudSim-metrics");
+				thread.setDaemon(true);
+				return thread;
+			});
+			dumper.scheduleAtFixedRate(() -> dump(output), dumpInterval, dumpInterval, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Stops collecting the metrics and dumping them. The metrics stay published until the next simulation starts.
+	 *
+	 * @param clock the time the simulation finished at
+	 */
+	void stop(double clock) {
+		finishClock = clock;
+		finishTime = System.nanoTime();
+		if (dumper != null) {
+			dumper.shutdownNow();
+			dumper = null;
+		}
+	}
+
+	/**
+	 * Publishes the metrics as an MBean, replacing the ones of a previous simulation.
+	 */
+	private void register() {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (server.isRegistered(name)) {
+				server.unregisterMBean(name);
+			}
+			server.registerMBean(this, name);
+		} catch (JMException e) {
+			throw new IllegalStateException("The simulation metrics could not be registered", e);
+		}
+	}
+
+	/**
+	 * Counts an event dispatched to an entity.
+	 *
+	 * @param ev the event
+	 */
+	void eventDispatched(SimEvent ev) {
+		eventsDispatched.increment();
+		if (ev.getType() == SimEvent.SEND) {
+			eventsByTag.computeIfAbsent(ev.getTag(), tag -> new LongAdder()).increment();
+		}
+	}
+
+	/**
+	 * Counts an event processed by an entity.
+	 *
+	 * @param ent the entity
+	 * @param time the wall-clock time spent processing the event, in nanoseconds
+	 */
+	void eventProcessed(SimEntity ent, long time) {
+		EntityMetrics metrics = getEntityMetrics(ent);
+		metrics.events++;
+		metrics.time += time;
+		metrics.maxTime = Math.max(metrics.maxTime, time);
+		metrics.histogram[Math.min(NUM_BUCKETS - Long.numberOfLeadingZeros(Math.max(time, 0)), NUM_BUCKETS - 1)]++;
+	}
+
+	private EntityMetrics getEntityMetrics(SimEntity ent) {
+		EntityMetrics[] all = entityMetrics;
+		int id = ent.getId();
+		if (id >= all.length) {
+			// the entities created while the simulation runs, which is then sequential
+			all = entityMetrics = Arrays.copyOf(all, Math.max(id + 1, 2 * all.length));
+		}
+		if (all[id] == null) {
+			all[id] = new EntityMetrics(ent.getName());
+		}
+		return all[id];
+	}
+
+	/**
+	 * Counts a change of the status of a cloudlet, while the simulation runs.
+	 *
+	 * @param previous the previous status
+	 * @param status the new status
+	 */
+	public void cloudletStatusChanged(Cloudlet.CloudletStatus previous, Cloudlet.CloudletStatus status) {
+		if (finishTime != -1) {
+			// the cloudlets of the next simulation
+			return;
+		}
+		if (isActive(previous)) {
+			activeCloudlets.decrement();
+		}
+		if (isActive(status)) {
+			activeCloudlets.increment();
+		}
+		if (status == Cloudlet.CloudletStatus.SUCCESS) {
+			finishedCloudlets.increment();
+		}
+	}
+
+	private static boolean isActive(Cloudlet.CloudletStatus status) {
+		return status == Cloudlet.CloudletStatus.INEXEC || status == Cloudlet.CloudletStatus.RESUMED;
+	}
+
+	@Override
+	public double getSimulationClock() {
+		return finishTime == -1 ? CloudSim.clock() : finishClock;
+	}
+
+	@Override
+	public double getWallClockTime() {
+		long finish = finishTime;
+		return ((finish == -1 ? System.nanoTime() : finish) - startTime) / 1e9;
+	}
+
+	@Override
+	public double getSimulatedToWallClockRatio() {
+		return getSimulationClock() / getWallClockTime();
+	}
+
+	@Override
+	public long getEventsDispatched() {
+		return eventsDispatched.sum();
+	}
+
+	@Override
+	public double getEventsPerSecond() {
+		return getEventsDispatched() / getWallClockTime();
+	}
+
+	@Override
+	public int getFutureQueueSize() {
+		return finishTime == -1 ? CloudSim.getFutureQueueSize() : 0;
+	}
+
+	@Override
+	public long getActiveCloudlets() {
+		return activeCloudlets.sum();
+	}
+
+	@Override
+	public long getFinishedCloudlets() {
+		return finishedCloudlets.sum();
+	}
+
+	@Override
+	public Map<String, Long> getEventsByTag() {
+		Map<String, Long> events = new LinkedHashMap<>();
+		eventsByTag.forEach((tag, count) -> events.merge(getTagName(tag), count.sum(), Long::sum));
+		return events;
+	}
+
+	private static String getTagName(CloudSimTags tag) {
+		if (tag instanceof Enum<?> e) {
+			return e.getDeclaringClass().getSimpleName() + "." + e.name();
+		}
+		return String.valueOf(tag);
+	}
+
+	@Override
+	public Map<String, Long> getEventsByEntity() {
+		Map<String, Long> events = new LinkedHashMap<>();
+		for (EntityMetrics metrics : entityMetrics) {
+			if (metrics != null) {
+				events.put(metrics.name, metrics.events);
+			}
+		}
+		return events;
+	}
+
+	@Override
+	public Map<String, Double> getProcessingTimeByEntity() {
+		return getByEntity(metrics -> metrics.time / 1e9);
+	}
+
+	@Override
+	public Map<String, Double> getMaxProcessingTimeByEntity() {
+		return getByEntity(metrics -> metrics.maxTime / 1e9);
+	}
+
+	private Map<String, Double> getByEntity(ToDoubleFunction<EntityMetrics> metric) {
+		Map<String, Double> values = new LinkedHashMap<>();
+		for (EntityMetrics metrics : entityMetrics) {
+			if (metrics != null) {
+				values.put(metrics.name, metric.applyAsDouble(metrics));
+			}
+		}
+		return values;
+	}
+
+	@Override
+	public long[] getProcessingTimeHistogram(String entityName) {
+		for (EntityMetrics metrics : entityMetrics) {
+			if (metrics != null && metrics.name.equals(entityName)) {
+				return metrics.histogram.clone();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Prints a summary of the metrics: the event rate since the previous dump, and the entities
+	 * that spent the most time processing events.
+	 *
+	 * @param output the stream to print to
+	 */
+	public synchronized void dump(PrintStream output) {
+		long now = System.nanoTime();
+		long events = getEventsDispatched();
+		double rate = (events - lastDumpEvents) / ((now - lastDumpTime) / 1e9);
+		lastDumpEvents = events;
+		lastDumpTime = now;
+
+		StringBuilder line = new StringBuilder(String.format(
+				"[metrics %.0fs] clock %.2fs, %d events (%.0f/s), queue %d, sim/wall %.1f, cloudlets %d active %d finished",
+				getWallClockTime(), getSimulationClock(), events, rate, getFutureQueueSize(),
+				getSimulatedToWallClockRatio(), getActiveCloudlets(), getFinishedCloudlets()));
+		Arrays.stream(entityMetrics)
+				.filter(metrics -> metrics != null && metrics.events > 0)
+				.sorted(Comparator.comparingLong((EntityMetrics metrics) -> metrics.time).reversed())
+				.limit(NUM_DUMPED_ENTITIES)
+				.forEach(metrics -> line.append(String.format("%n  %s: %d events, %.3fs, %.1fus/event",
+						metrics.name, metrics.events, metrics.time / 1e9, metrics.time / 1e3 / metrics.events)));
+		output.println(line);
+	}
+}
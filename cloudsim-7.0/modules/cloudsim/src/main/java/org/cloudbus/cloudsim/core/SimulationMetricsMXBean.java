@@ -0,0 +1,64 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.util.Map;
+
+/**
+ * The management interface of {@link SimulationMetrics}, published through JMX.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+public interface SimulationMetricsMXBean {
+
+	/** Gets the current simulation time, in seconds. */
+	double getSimulationClock();
+
+	/** Gets the wall-clock time since the simulation started, in seconds. */
+	double getWallClockTime();
+
+	/** Gets the simulation time elapsed per second of wall-clock time. */
+	double getSimulatedToWallClockRatio();
+
+	/** Gets the number of events dispatched to the entities. */
+	long getEventsDispatched();
+
+	/** Gets the number of events dispatched per second of wall-clock time, since the simulation started. */
+	double getEventsPerSecond();
+
+	/** Gets the number of events in the future event queue. */
+	int getFutureQueueSize();
+
+	/** Gets the number of cloudlets in execution. */
+	long getActiveCloudlets();
+
+	/** Gets the number of cloudlets that have finished successfully. */
+	long getFinishedCloudlets();
+
+	/** Gets the number of events dispatched with each tag, by tag name. */
+	Map<String, Long> getEventsByTag();
+
+	/** Gets the number of events processed by each entity, by entity name. */
+	Map<String, Long> getEventsByEntity();
+
+	/** Gets the wall-clock time spent processing events by each entity, in seconds, by entity name. */
+	Map<String, Double> getProcessingTimeByEntity();
+
+	/** Gets the longest time spent processing an event by each entity, in seconds, by entity name. */
+	Map<String, Double> getMaxProcessingTimeByEntity();
+
+	/**
+	 * Gets the histogram of the times spent processing an event by an entity: the element <tt>i</tt>
+	 * is the number of events processed in [2<sup>i-1</sup>, 2<sup>i</sup>) nanoseconds.
+	 *
+	 * @param entityName the name of the entity
+	 * @return the histogram, or null if the entity has not processed events
+	 */
+	long[] getProcessingTimeHistogram(String entityName);
+}
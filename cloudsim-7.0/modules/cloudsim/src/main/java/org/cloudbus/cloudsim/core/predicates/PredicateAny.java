@@ -8,6 +8,8 @@
 
 package org.cloudbus.cloudsim.core.predicates;
 
+import java.io.Serial;
+
 import org.cloudbus.cloudsim.core.SimEvent;
 
 /**
@@ -24,6 +26,8 @@ import org.cloudbus.cloudsim.core.SimEvent;
  * The same may apply for the other predicates.
  */
 public class PredicateAny extends Predicate {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/**
 	 * Considers there is no criteria to match an event,
@@ -8,6 +8,8 @@
 
 package org.cloudbus.cloudsim.core.predicates;
 
+import java.io.Serial;
+
 import org.cloudbus.cloudsim.core.SimEvent;
 
 /**
@@ -20,6 +22,8 @@ import org.cloudbus.cloudsim.core.SimEvent;
  * @see Predicate
  */
 public class PredicateFrom extends Predicate {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** The IDs of source entities to check the reception of events from. */
 	private final int[] ids;
@@ -42,6 +46,15 @@ public class PredicateFrom extends Predicate {
 		ids = sourceIds.clone();
 	}
 
+	/**
+	 * Gets the ids of the entities whose events are selected by the predicate.
+	 *
+	 * @return a copy of the ids
+	 */
+	public int[] getSourceIds() {
+		return ids.clone();
+	}
+
 	/**
 	 * Matches any event received from the registered sources.
 	 * 
@@ -8,6 +8,8 @@
 
 package org.cloudbus.cloudsim.core.predicates;
 
+import java.io.Serial;
+
 import org.cloudbus.cloudsim.core.SimEvent;
 
 /**
@@ -22,6 +24,8 @@ import org.cloudbus.cloudsim.core.SimEvent;
  * @see Simulation
  */
 public class PredicateNone extends Predicate {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/**
 	 * Considers that no event received by the predicate matches.
@@ -8,6 +8,8 @@
 
 package org.cloudbus.cloudsim.core.predicates;
 
+import java.io.Serial;
+
 import org.cloudbus.cloudsim.core.CloudSimTags;
 import org.cloudbus.cloudsim.core.SimEvent;
 
@@ -20,6 +22,8 @@ import org.cloudbus.cloudsim.core.SimEvent;
  * @see Predicate
  */
 public class PredicateNotType extends Predicate {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** Array of tags to verify if the tag of received events doesn't correspond to. */
 	private final CloudSimTags[] tags;
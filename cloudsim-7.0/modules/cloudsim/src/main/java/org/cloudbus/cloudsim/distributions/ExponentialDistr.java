@@ -8,6 +8,8 @@
 
 package org.cloudbus.cloudsim.distributions;
 
+import java.io.Serial;
+
 import org.apache.commons.math3.distribution.ExponentialDistribution;
 
 /**
@@ -18,6 +20,8 @@ import org.apache.commons.math3.distribution.ExponentialDistribution;
  * @since CloudSim Toolkit 1.0
  */
 public class ExponentialDistr implements ContinuousDistribution {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** The internal exponential number generator. */
 	private final ExponentialDistribution numGen;
@@ -9,6 +9,7 @@ mulation) Toolkit for Modeling and Simulation of Clouds
 
 package org.cloudbus.cloudsim.distributions;
 
+import java.io.Serial;
 import java.util.Random;
 
 import org.apache.commons.math3.distribution.GammaDistribution;
@@ -21,6 +22,8 @@ import org.apache.commons.math3.distribution.GammaDistribution;
  * @since CloudSim Toolkit 1.0
  */
 public class GammaDistr implements ContinuousDistribution {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** The internal Gamma pseudo random number generator. */
 	private final GammaDistribution numGen;
@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim.distributions;
 
+import java.io.Serial;
 import java.util.Random;
 
 import org.apache.commons.math3.distribution.LogNormalDistribution;
@@ -20,6 +21,8 @@ import org.apache.commons.math3.distribution.LogNormalDistribution;
  * @since CloudSim Toolkit 1.0
  */
 public class LognormalDistr implements ContinuousDistribution {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	
 	/** The internal Log-normal pseudo random number generator. */
@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim.distributions;
 
+import java.io.Serial;
 import java.util.Random;
 
 /**
@@ -19,6 +20,8 @@ import java.util.Random;
  * @since CloudSim Toolkit 1.0
  */
 public class LomaxDistribution extends ParetoDistr implements ContinuousDistribution {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** The shift. */
 	private final double shift;
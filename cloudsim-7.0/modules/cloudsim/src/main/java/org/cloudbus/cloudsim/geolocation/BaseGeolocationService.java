@@ -1,8 +1,5 @@
 package org.cloudbus.cloudsim.geolocation;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-
 import java.util.Objects;
 
 /**
@@ -16,14 +13,16 @@ public abstract class BaseGeolocationService implements IGeolocationService {
 
     protected static final int CACHE_SIZE = 1_000_000;
     protected static final int INITIAL_CACHE_SIZE = 100_000;
-    /** In order to minimise the number of created instances, we keep a cache. */
-    private final Cache<GeoDistanceCacheKey, Double> distanceCache = CacheBuilder.newBuilder().concurrencyLevel(1)
-            .initialCapacity(INITIAL_CACHE_SIZE).maximumSize(CACHE_SIZE).build();
     /**
-     * We shall consider coordinates differing only after the ROUND_DIGITS
-     * significant digit to be equal.
+     * The distances between rounded coordinates. The keys pack the rounded
+     * coordinates of both points, so that no key instances are created.
+     */
+    private final LongDoubleCache distanceCache = new LongDoubleCache(INITIAL_CACHE_SIZE, CACHE_SIZE);
+    /**
+     * We shall consider coordinates differing only after the first digit after
+     * the decimal sign to be equal. The keys of the cache rely on it.
      */
-    private static final int SIGNIFICANT_COORD_DIGITS = 1;
+    private static final int COORD_SCALE = 10;
 
     /*
      * (non-Javadoc)
@@ -35,17 +34,39 @@ public abstract class BaseGeolocationService implements IGeolocationService {
      * Based on http://www.movable-type.co.uk/scripts/latlong-vincenty.html
      */
     @Override
-    public final double distance(double lat1, double lon1, double lat2, double lon2) {
+    public final synchronized double distance(double lat1, double lon1, double lat2, double lon2) {
         // First check in the cache...
-        GeoDistanceCacheKey key = GeoDistanceCacheKey.of(lat1, lon1, lat2, lon2, SIGNIFICANT_COORD_DIGITS);
-        Double cachedDistance = distanceCache.getIfPresent(key);
-        if (cachedDistance != null) {
+        long key = distanceKey(lat1, lon1, lat2, lon2);
+        double cachedDistance = key < 0 ? Double.NaN : distanceCache.get(key);
+        if (!Double.isNaN(cachedDistance)) {
             // CustomLog.printf("[CACHED] Distance between [%.2f, %.2f] and [%.2f, %.2f] is %.3f",
             // lat1, lon1, lat2, lon2, cachedDistance);
             return cachedDistance;
         }
 
         // It is not in the cache... run Vincenty's formula ...
+        double dist = vincentyDistance(lat1, lon1, lat2, lon2);
+
+        // CustomLog.printf("Distance between [%.2f, %.2f] and [%.2f, %.2f] is %.3f",
+        // lat1, lon1, lat2, lon2, dist);
+
+        // Update the cache..
+        if (key >= 0) {
+            distanceCache.put(key, dist);
+        }
+
+        return dist;
+    }
+
+    /**
+     * Computes the distance in meters between two points on the WGS-84
+     * ellipsoid with Vincenty's formula. Unlike
+     * {@link #distance(double, double, double, double)}, the coordinates are
+     * not rounded and the result is not cached.
+     * 
+     * @return the distance, or NaN if the formula does not converge.
+     */
+    public static double vincentyDistance(double lat1, double lon1, double lat2, double lon2) {
         double a = 6378137, b = 6356752.314245, f = 1 / 298.257223563; // WGS-84
         // ellipsoid
         // params
@@ -89,15 +110,35 @@ public abstract class BaseGeolocationService implements IGeolocationService {
                         / 4
                         * (cosSigma * (-1 + 2 * cos2SigmaM * cos2SigmaM) - B / 6 * cos2SigmaM
                                 * (-3 + 4 * sinSigma * sinSigma) * (-3 + 4 * cos2SigmaM * cos2SigmaM)));
-        double dist = b * A * (sigma - deltaSigma);
-
-        // CustomLog.printf("Distance between [%.2f, %.2f] and [%.2f, %.2f] is %.3f",
-        // lat1, lon1, lat2, lon2, dist);
+        return b * A * (sigma - deltaSigma);
+    }
 
-        // Update the cache..
-        distanceCache.put(key, dist);
+    /**
+     * Packs the rounded coordinates of two points in a key, which does not
+     * depend on the order of the points.
+     * 
+     * @return the key, or -1 if the coordinates are not valid.
+     */
+    private static long distanceKey(double lat1, double lon1, double lat2, double lon2) {
+        long point1 = pointKey(lat1, lon1);
+        long point2 = pointKey(lat2, lon2);
+        if (point1 < 0 || point2 < 0) {
+            return -1;
+        }
+        return point1 < point2 ? point1 << 23 | point2 : point2 << 23 | point1;
+    }
 
-        return dist;
+    /**
+     * Packs the rounded coordinates of a point in 23 bits - 11 for the latitude
+     * and 12 for the longitude.
+     */
+    private static long pointKey(double lat, double lon) {
+        if (!(Math.abs(lat) <= 90 && Math.abs(lon) <= 180)) {
+            return -1;
+        }
+        long roundLat = Math.round(lat * COORD_SCALE) + 90 * COORD_SCALE;
+        long roundLon = Math.round(lon * COORD_SCALE) + 180 * COORD_SCALE;
+        return roundLat << 12 | roundLon;
     }
 
     @Override
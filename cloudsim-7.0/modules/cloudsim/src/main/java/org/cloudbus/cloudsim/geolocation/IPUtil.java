@@ -27,4 +27,37 @@ public class IPUtil {
         return String.format("%d.%d.%d.%d", i1, i2, i3, i4);
     }
 
+    /**
+     * Parses an IPv4 in the standard dotted form (e.g. 1.2.3.4) to its integer
+     * representation, without creating any objects.
+     * 
+     * @param ip
+     *            - the IP. Must not be null.
+     * @return the integer representation of the IP as an unsigned value, or -1
+     *         if the IP is not an IPv4 in the dotted form - e.g. an IPv6.
+     */
+    public static long parseIPv4(final String ip) {
+        long result = 0;
+        int octet = 0;
+        int digits = 0;
+        int dots = 0;
+        for (int i = 0; i < ip.length(); i++) {
+            char c = ip.charAt(i);
+            if (c >= '0' && c <= '9') {
+                octet = octet * 10 + (c - '0');
+                if (++digits > 3 || octet > 255) {
+                    return -1;
+                }
+            } else if (c == '.' && digits > 0 && dots < 3) {
+                result = result << 8 | octet;
+                octet = 0;
+                digits = 0;
+                dots++;
+            } else {
+                return -1;
+            }
+        }
+        return dots == 3 && digits > 0 ? result << 8 | octet : -1;
+    }
+
 }
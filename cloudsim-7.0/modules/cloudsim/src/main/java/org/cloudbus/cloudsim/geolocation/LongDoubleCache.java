@@ -0,0 +1,152 @@
+package org.cloudbus.cloudsim.geolocation;
+
+import java.util.Arrays;
+
+/**
+ * A cache of double values by long keys, backed by an open-addressing hash
+ * table of primitives, so that neither the look ups nor the updates create
+ * objects. When the cache reaches its maximum size, it is emptied.
+ *
+ * <br>
+ * <br>
+ *
+ * NaN can not be cached, as it is the value returned for missing keys. The
+ * cache is not thread safe.
+ *
+ */
+public class LongDoubleCache {
+
+    /** The key of the empty slots. The entry with this key is kept aside. */
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final int maxSize;
+
+    private long[] keys;
+    private double[] values;
+    private int mask;
+    private int size = 0;
+
+    private double emptyKeyValue = Double.NaN;
+
+    /**
+     * Constr.
+     *
+     * @param initialSize
+     *            - the expected number of entries.
+     * @param maxSize
+     *            - the number of entries, at which the cache is emptied. Must
+     *            be positive.
+     */
+    public LongDoubleCache(final int initialSize, final int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("The maximum size must be positive");
+        }
+        this.maxSize = maxSize;
+        allocate(capacityFor(Math.min(Math.max(initialSize, 1), maxSize)));
+    }
+
+    /**
+     * Returns the value cached for the key.
+     *
+     * @param key
+     *            - the key.
+     * @return the value cached for the key, or NaN if there is none.
+     */
+    public double get(final long key) {
+        if (key == EMPTY) {
+            return emptyKeyValue;
+        }
+        for (int i = slot(key);; i = (i + 1) & mask) {
+            long k = keys[i];
+            if (k == key) {
+                return values[i];
+            } else if (k == EMPTY) {
+                return Double.NaN;
+            }
+        }
+    }
+
+    /**
+     * Caches the value for the key.
+     *
+     * @param key
+     *            - the key.
+     * @param value
+     *            - the value. If NaN, nothing is cached.
+     */
+    public void put(final long key, final double value) {
+        if (Double.isNaN(value)) {
+            return;
+        } else if (key == EMPTY) {
+            emptyKeyValue = value;
+            return;
+        }
+        for (int i = slot(key);; i = (i + 1) & mask) {
+            long k = keys[i];
+            if (k == key) {
+                values[i] = value;
+                return;
+            } else if (k == EMPTY) {
+                keys[i] = key;
+                values[i] = value;
+                if (++size >= maxSize) {
+                    clear();
+                } else if (size > keys.length / 2) {
+                    rehash(keys.length * 2);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of cached values.
+     *
+     * @return the number of cached values.
+     */
+    public int size() {
+        return size + (Double.isNaN(emptyKeyValue) ? 0 : 1);
+    }
+
+    /**
+     * Empties the cache.
+     */
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        emptyKeyValue = Double.NaN;
+    }
+
+    private int slot(final long key) {
+        // Fibonacci hashing, so that all the bits of the key matter
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void rehash(final int capacity) {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int j = slot(oldKeys[i]);
+                while (keys[j] != EMPTY) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(final int capacity) {
+        keys = new long[capacity];
+        values = new double[capacity];
+        mask = capacity - 1;
+        Arrays.fill(keys, EMPTY);
+    }
+
+    private static int capacityFor(final int size) {
+        return Integer.highestOneBit(Math.max(size, 2) * 2 - 1) * 2;
+    }
+}
@@ -3,17 +3,16 @@ package org.cloudbus.cloudsim.geolocation.geoip2;
 import com.google.common.base.Preconditions;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.collect.MinMaxPriorityQueue;
 import com.maxmind.geoip2.DatabaseReader;
 import com.maxmind.geoip2.exception.GeoIp2Exception;
 import com.maxmind.geoip2.model.CityResponse;
 import com.maxmind.geoip2.record.Location;
 import com.opencsv.CSVReader;
-import org.apache.commons.lang3.tuple.ImmutablePair;
-import org.apache.commons.lang3.tuple.Pair;
 import org.cloudbus.cloudsim.geolocation.BaseGeolocationService;
 import org.cloudbus.cloudsim.geolocation.IGeolocationService;
 import org.cloudbus.cloudsim.geolocation.IPMetadata;
+import org.cloudbus.cloudsim.geolocation.IPUtil;
+import org.cloudbus.cloudsim.geolocation.LongDoubleCache;
 import org.cloudbus.cloudsim.EX.util.CustomLog;
 
 import java.io.*;
@@ -43,11 +42,26 @@ import java.util.regex.Pattern;
 public class GeoIP2PingERService extends BaseGeolocationService implements IGeolocationService, Closeable {
 
 
-    /** In order to minimise the number of created instances, we keep a cache. */
+    /**
+     * The coordinates of the IPv4 addresses. The latitude of an IP is kept by
+     * the key ip &lt;&lt; 1 and the longitude by ip &lt;&lt; 1 | 1.
+     */
+    private final LongDoubleCache ipv4CoordinatesCache = new LongDoubleCache(INITIAL_CACHE_SIZE, CACHE_SIZE);
+
+    /** The latencies between IPv4 addresses, by the key ip1 &lt;&lt; 32 | ip2. */
+    private final LongDoubleCache ipv4LatencyCache = new LongDoubleCache(INITIAL_CACHE_SIZE, CACHE_SIZE);
+
+    /**
+     * Cached instead of NaN for the IPs which could not be located, as the
+     * cache of primitives can not keep NaN.
+     */
+    private static final double UNKNOWN_COORDINATE = Double.POSITIVE_INFINITY;
+
+    /** The coordinates of the other IPs - e.g. IPv6 and host names. */
     private final Cache<String, double[]> coordinatesCache = CacheBuilder.newBuilder().concurrencyLevel(1)
             .initialCapacity(INITIAL_CACHE_SIZE).maximumSize(CACHE_SIZE).build();
 
-    /** In order to minimise the number of created instances, we keep a cache. */
+    /** The latencies between the other IPs, by the key "ip1 ip2". */
     private final Cache<String, Double> ipDistanceCache = CacheBuilder.newBuilder().concurrencyLevel(1)
             .initialCapacity(INITIAL_CACHE_SIZE).maximumSize(CACHE_SIZE).build();
 
@@ -73,12 +87,19 @@ public class GeoIP2PingERService extends BaseGeolocationService implements IGeol
 
     private final DatabaseReader reader;
 
-    private final Map<String, double[]> nodesTable = new HashMap<>();
-    private final Map<Pair<String, String>, Double> latencyTable = new HashMap<>();
+    /** The monitoring sites and the latencies between them. */
+    private PingERSiteIndex sites;
+
+    /**
+     * The distances used by the latency estimations. They are exact, rather
+     * than cached for rounded coordinates, so that the lower bounds of the
+     * index hold for them.
+     */
+    private static final PingERSiteIndex.Distance SITE_DISTANCE = BaseGeolocationService::vincentyDistance;
 
     /**
      * Constructor.
-     * 
+     *
      * @param geoIP2DB
      *            - a stream to a valid mmdb data. Must not be null
      * @param pingErRTT
@@ -92,7 +113,7 @@ public class GeoIP2PingERService extends BaseGeolocationService implements IGeol
         Preconditions.checkNotNull(geoIP2DB);
         Preconditions.checkNotNull(pingErRTT);
         Preconditions.checkNotNull(pingerMonitoringSites);
-        
+
         CustomLog.printf(Level.FINER, "Creating a GeoLocation service from streams");
         try {
             reader = new DatabaseReader.Builder(geoIP2DB).build();
@@ -104,10 +125,10 @@ public class GeoIP2PingERService extends BaseGeolocationService implements IGeol
             throw new IllegalArgumentException(msg, e);
         }
     }
-    
+
     /**
      * Constructor.
-     * 
+     *
      * @param geoIP2DB
      *            - a valid file in the mmdb format.
      * @param pingErRTTFile
@@ -126,12 +147,12 @@ public class GeoIP2PingERService extends BaseGeolocationService implements IGeol
                 ResourceUtil.classLoad(ResourceUtil.DEFAULT_PING_TABLE_PING_ER_TSV),
                 ResourceUtil.classLoad(ResourceUtil.DEFAULT_MONITORING_SITES_PING_ER_CSV));
     }
-    
+
     private void parsePingER(final InputStream pingErRTT, final InputStream pingerMonitoringSites) {
         try (BufferedReader pingsReader = new BufferedReader(new InputStreamReader(pingErRTT));
                 BufferedReader nodeDefsReader = new BufferedReader(new InputStreamReader(pingerMonitoringSites))) {
-            parseNodesDefitions(nodeDefsReader);
-            parseInterNodePings(pingsReader);
+            Map<String, double[]> nodesTable = parseNodesDefitions(nodeDefsReader);
+            sites = parseInterNodePings(pingsReader, nodesTable);
         } catch (Exception e) {
             String msg = " A file could not be found or read properly. Message: " + e.getMessage();
             CustomLog.logError(Level.SEVERE, msg, e);
@@ -139,9 +160,20 @@ public class GeoIP2PingERService extends BaseGeolocationService implements IGeol
         }
     }
 
-    private void parseInterNodePings(final BufferedReader pings) throws Exception {
-        latencyTable.clear();
+    private static PingERSiteIndex parseInterNodePings(final BufferedReader pings, final Map<String, double[]> nodesTable)
+            throws Exception {
+        // Intern the nodes, so that the latencies are kept by their indices
+        Map<String, Integer> nodeIndices = new HashMap<>();
+        for (String node : nodesTable.keySet()) {
+            nodeIndices.put(node, nodeIndices.size());
+        }
+        float[][] latencies = new float[nodesTable.size()][nodesTable.size()];
+        for (float[] row : latencies) {
+            Arrays.fill(row, Float.NaN);
+        }
+
         Set<String> unknownNodes = new LinkedHashSet<>();
+        int latencyCount = 0;
         try (CSVReader csv = new CSVReader(pings)) {
             // Skip header line
             String[] lineElems = csv.readNext();
@@ -165,12 +197,17 @@ public class GeoIP2PingERService extends BaseGeolocationService implements IGeol
                 }
 
                 Double latency = averageLatency(measurements);
-                if (!this.nodesTable.containsKey(monitoringNode)) {
+                Integer monitoringIdx = nodeIndices.get(monitoringNode);
+                Integer remoteIdx = nodeIndices.get(remoteNode);
+                if (monitoringIdx == null) {
                     unknownNodes.add(monitoringNode);
-                } else if (!this.nodesTable.containsKey(remoteNode)) {
+                } else if (remoteIdx == null) {
                     unknownNodes.add(remoteNode);
                 } else if (latency != null) {
-                    latencyTable.put(ImmutablePair.of(monitoringNode, remoteNode), latency);
+                    if (Float.isNaN(latencies[monitoringIdx][remoteIdx])) {
+                        latencyCount++;
+                    }
+                    latencies[monitoringIdx][remoteIdx] = latency.floatValue();
                 }
 
                 if (++lineCount % 1000 == 0) {
@@ -178,12 +215,15 @@ public class GeoIP2PingERService extends BaseGeolocationService implements IGeol
                 }
             }
         }
-        CustomLog.printf(Level.FINER, "Total %d ping measurments definitions parsed", latencyTable.size());
+        CustomLog.printf(Level.FINER, "Total %d ping measurments definitions parsed", latencyCount);
         CustomLog.print(Level.FINER, "The definitions of the following nodes are missing." + unknownNodes);
+
+        return new PingERSiteIndex(new ArrayList<>(nodesTable.keySet()), new ArrayList<>(nodesTable.values()),
+                latencies, NUM_APPROX_FOR_LATENCY_ESTIMATION);
     }
 
-    private void parseNodesDefitions(final BufferedReader defs) throws Exception {
-        nodesTable.clear();
+    private static Map<String, double[]> parseNodesDefitions(final BufferedReader defs) throws Exception {
+        Map<String, double[]> nodesTable = new LinkedHashMap<>();
         try (CSVReader csv = new CSVReader(defs)) {
             // Skip header line
             String[] lineElems = csv.readNext();
@@ -198,7 +238,6 @@ public class GeoIP2PingERService extends BaseGeolocationService implements IGeol
                     double lon = Double.parseDouble(matcher.group(3));
                     nodesTable.put(node, new double[] { lat, lon });
                 } else {
-                    nodesTable.clear();
                     throw new IllegalArgumentException("Could not extract the geo location from \"" + location + "\"");
                 }
                 if (++lineCount % 100 == 0) {
@@ -208,6 +247,7 @@ public class GeoIP2PingERService extends BaseGeolocationService implements IGeol
 
             CustomLog.printf(Level.FINER, "Total %d node definitions parsed", nodesTable.size());
         }
+        return nodesTable;
     }
 
     private static Double averageLatency(final List<Double> measurements) {
@@ -224,30 +264,47 @@ public class GeoIP2PingERService extends BaseGeolocationService implements IGeol
     }
 
     @Override
-    public final double[] getCoordinates(final String ip) {
-        double[] result = coordinatesCache.getIfPresent(ip);
-        if (result == null) { // If not in the cache
-            Location location;
-            try {
-                location = reader.city(InetAddress.getByName(ip)).getLocation();
-                result = new double[] { location.getLatitude(), location.getLongitude() };
-            } catch (UnknownHostException e) {
-                String msg = "Invalid IP: " + ip;
-                CustomLog.logError(Level.SEVERE, msg, e);
-                throw new IllegalArgumentException("Invalid IP", e);
-            } catch (IOException e) {
-                String msg = "Could not locate IP: " + ip + ", " + "because of I/O error:"
-                        + e.getMessage();
-                CustomLog.logError(Level.SEVERE, msg, e);
-                throw new IllegalStateException(e);
-            } catch (GeoIp2Exception e) {
-                String msg = "Could not locate IP: " + ip + ", because " + e.getMessage();
-                CustomLog.logError(Level.FINER, msg, e);
-                result = new double[] { Double.NaN, Double.NaN };
+    public final synchronized double[] getCoordinates(final String ip) {
+        long ipv4 = IPUtil.parseIPv4(ip);
+        if (ipv4 < 0) {
+            double[] result = coordinatesCache.getIfPresent(ip);
+            if (result == null) { // If not in the cache
+                result = locate(ip);
+                coordinatesCache.put(ip, result);
             }
-            coordinatesCache.put(ip, result);
+            return result;
+        }
+
+        double lat = ipv4CoordinatesCache.get(ipv4 << 1);
+        double lon = ipv4CoordinatesCache.get(ipv4 << 1 | 1);
+        if (Double.isNaN(lat) || Double.isNaN(lon)) { // If not in the cache
+            double[] result = locate(ip);
+            ipv4CoordinatesCache.put(ipv4 << 1, Double.isNaN(result[0]) ? UNKNOWN_COORDINATE : result[0]);
+            ipv4CoordinatesCache.put(ipv4 << 1 | 1, Double.isNaN(result[1]) ? UNKNOWN_COORDINATE : result[1]);
+            return result;
+        }
+        return new double[] { lat == UNKNOWN_COORDINATE ? Double.NaN : lat,
+                lon == UNKNOWN_COORDINATE ? Double.NaN : lon };
+    }
+
+    private double[] locate(final String ip) {
+        try {
+            Location location = reader.city(InetAddress.getByName(ip)).getLocation();
+            return new double[] { location.getLatitude(), location.getLongitude() };
+        } catch (UnknownHostException e) {
+            String msg = "Invalid IP: " + ip;
+            CustomLog.logError(Level.SEVERE, msg, e);
+            throw new IllegalArgumentException("Invalid IP", e);
+        } catch (IOException e) {
+            String msg = "Could not locate IP: " + ip + ", " + "because of I/O error:"
+                    + e.getMessage();
+            CustomLog.logError(Level.SEVERE, msg, e);
+            throw new IllegalStateException(e);
+        } catch (GeoIp2Exception e) {
+            String msg = "Could not locate IP: " + ip + ", because " + e.getMessage();
+            CustomLog.logError(Level.FINER, msg, e);
+            return new double[] { Double.NaN, Double.NaN };
         }
-        return result;
     }
 
     @Override
@@ -275,176 +332,68 @@ public class GeoIP2PingERService extends BaseGeolocationService implements IGeol
     }
 
     @Override
-    public final double latency(final String ip1, final String ip2) {
-        String key = ip1 + ip2;
-        Double cached = ipDistanceCache.getIfPresent(key);
-        if (cached != null) {
-            return cached;
+    public final synchronized double latency(final String ip1, final String ip2) {
+        long ipv4First = IPUtil.parseIPv4(ip1);
+        long ipv4Second = IPUtil.parseIPv4(ip2);
+        boolean ipv4 = ipv4First >= 0 && ipv4Second >= 0;
+        long ipv4Key = ipv4 ? ipv4First << 32 | ipv4Second : -1;
+        String key = ipv4 ? null : ip1 + " " + ip2;
+
+        // First check in the caches. Unknown latencies (NaN) are not cached
+        // for IPv4 addresses, and are recomputed.
+        if (ipv4) {
+            double cached = ipv4LatencyCache.get(ipv4Key);
+            if (!Double.isNaN(cached)) {
+                return cached;
+            }
+        } else {
+            Double cached = ipDistanceCache.getIfPresent(key);
+            if (cached != null) {
+                return cached;
+            }
         }
+
         // The coordinates of the requested IPs
         final double[] reqCoord1 = getCoordinates(ip1);
         final double[] reqCoord2 = getCoordinates(ip2);
 
         double result = latency(reqCoord1, reqCoord2);
-        CustomLog.print(Level.FINEST, String.format("Latency betweeen %s and %s is %.2f", ip1, ip2, result));
-
-        ipDistanceCache.put(key, result);
-        return result;
-    }
-
-    @Override
-    public double latency(final double[] reqCoord1, final double[] reqCoord2) {
-		// Set up the heap...
-        @SuppressWarnings("rawtypes")
-        MinMaxPriorityQueue.Builder builderRaw = MinMaxPriorityQueue.maximumSize(NUM_APPROX_FOR_LATENCY_ESTIMATION);
-        @SuppressWarnings({ "unchecked" })
-        MinMaxPriorityQueue.Builder<PingERLatencyEntry> builder = builderRaw;
-        builder.expectedSize(NUM_APPROX_FOR_LATENCY_ESTIMATION);
-
-        // We keep all latencies within a priority queue with a fixed size N. At
-        // the end we compute the average of the best N elements, which are kept
-        // in the queue.
-        MinMaxPriorityQueue<PingERLatencyEntry> heap = builder.create();
-
-
-        // Loop through the latencies and put them in the priority queue.
-        for (Map.Entry<Pair<String, String>, Double> el : latencyTable.entrySet()) {
-            // The coordinates and names of the two nodes of the latency entry.
-            String node1 = el.getKey().getLeft();
-            String node2 = el.getKey().getRight();
-            double[] nodeCoord1 = nodesTable.get(node1);
-            double[] nodeCoord2 = nodesTable.get(node2);
-            double latency = el.getValue();
-
-            // If the nodes are missing from the table of nodes'
-            // definitions - skip
-            if (nodeCoord1 == null || nodeCoord2 == null) {
-                continue;
-            }
-
-            // Compute the sum of the difference between the nodes
-            // and requested locations
-            double distance1 = distance(reqCoord1, nodeCoord1);
-            double distance2 = distance(reqCoord2, nodeCoord2);
-            double distanceSum = distance1 + distance2;
-
-            // Now do it inversely ...
-            double distance1Inverse = distance(reqCoord1, nodeCoord2);
-            double distance2Inverse = distance(reqCoord2, nodeCoord1);
-            double distanceSumInverse = distance1Inverse + distance2Inverse;
-
-            // Update the heap/queue...
-            PingERLatencyEntry qEntry = null;
-            if (distanceSum < distanceSumInverse) {
-                qEntry = new PingERLatencyEntry(node1, nodeCoord1, node2, nodeCoord2, distanceSum, latency);
-            } else {
-                qEntry = new PingERLatencyEntry(node1, nodeCoord2, node2, nodeCoord1, distanceSumInverse, latency);
-            }
-            updateHeap(heap, qEntry);
+        if (CustomLog.isLevelHighEnough(Level.FINEST)) {
+            CustomLog.print(Level.FINEST, String.format("Latency betweeen %s and %s is %.2f", ip1, ip2, result));
         }
 
-        double result = weigthedAverage(heap);
-		return result;
-	}
-
-    public double weigthedAverage(final MinMaxPriorityQueue<PingERLatencyEntry> heap) {
-        double sumLatencies = 0;
-        double weigthedCount = 0;
-        double bestDistance = heap.peekFirst().accumDistance;
-        while (!heap.isEmpty()) {
-            PingERLatencyEntry e = heap.pollFirst();
-            double eWeigthedCount = bestDistance / e.accumDistance;
-            weigthedCount += eWeigthedCount;
-            sumLatencies += e.latency * eWeigthedCount;
-            CustomLog.print(Level.FINEST, String.format(
-                    "Used nodes %s, %s; Accum Distance %.2f, Latency %.2f, Weigth %.2f ", e.node1, e.node2,
-                    e.accumDistance / 1000, e.latency, eWeigthedCount));
+        if (ipv4) {
+            ipv4LatencyCache.put(ipv4Key, result);
+        } else {
+            ipDistanceCache.put(key, result);
         }
-        return sumLatencies / weigthedCount;
+        return result;
     }
 
     /**
-     * Performance optimisation! Use this variable instead of creating a new
-     * ArrayList in every call to updateHeap! <strong>NOTE:<\strong> do not
-     * modify from other methods!
+     * Estimates the latency between the two locations, as the weighted average
+     * of the latencies measured between the nearest pairs of monitoring sites,
+     * which have no sites in common. The pairs are weighted by how near they
+     * are to the locations.
      */
-    private final List<PingERLatencyEntry> elemsWithMatchingNodes = new ArrayList<>();
+    @Override
+    public synchronized double latency(final double[] reqCoord1, final double[] reqCoord2) {
+        return sites.estimateLatency(reqCoord1[0], reqCoord1[1], reqCoord2[0], reqCoord2[1],
+                NUM_APPROX_FOR_LATENCY_ESTIMATION, SITE_DISTANCE);
+    }
 
     /**
-     * Adds the new entry to the heap, only if there is no other entry with less
-     * distance to the requested point and having a common node. If in the heap
-     * there is an element with a common node and greater distance, it is
-     * replaced with the new entry.
-     * 
-     * <br>
-     * <br>
-     * 
-     * The main idea of this method is to maintain "diversity", in terms of the
-     * used nodes in the heap.
-     * 
-     * @param heap
-     *            - the heap.
-     * @param qEntry
-     *            - the new entry.
+     * Returns the name of the PingER monitoring site, which is nearest to the
+     * location.
+     *
+     * @param coord
+     *            - the [latitude, longitude] of the location. Must not be null.
+     * @return the name of the nearest site, or null if the coordinates are not
+     *         known.
      */
-    public void updateHeap(final MinMaxPriorityQueue<PingERLatencyEntry> heap, final PingERLatencyEntry qEntry) {
-        elemsWithMatchingNodes.clear();
-        for (PingERLatencyEntry e : heap) {
-            if (qEntry.node1.equals(e.node1) || qEntry.node1.equals(e.node2) || qEntry.node2.equals(e.node1)
-                    || qEntry.node2.equals(e.node2)) {
-                elemsWithMatchingNodes.add(e);
-            }
-        }
-
-        if (elemsWithMatchingNodes.isEmpty()) {
-            heap.offer(qEntry);
-        } else {
-            boolean replaceMatches = true;
-            for (PingERLatencyEntry m : elemsWithMatchingNodes) {
-                if (m.accumDistance < qEntry.accumDistance) {
-                    replaceMatches = false;
-                    break;
-                }
-            }
-
-            if (replaceMatches) {
-                heap.removeAll(elemsWithMatchingNodes);
-                heap.offer(qEntry);
-            }
-        }
-    }
-
-    private static class PingERLatencyEntry implements Comparable<PingERLatencyEntry> {
-
-        public PingERLatencyEntry(final String node1, final double[] coord1, final String node2, final double[] coord2,
-                final double distance, final double latency) {
-            super();
-            this.node1 = node1;
-            this.coord1 = coord1;
-            this.node2 = node2;
-            this.coord2 = coord2;
-            this.accumDistance = distance;
-            this.latency = latency;
-        }
-
-        final String node1;
-        final double[] coord1;
-        final String node2;
-        final double[] coord2;
-        final double accumDistance;
-        final double latency;
-
-        @Override
-        public int compareTo(PingERLatencyEntry o) {
-            return Double.compare(accumDistance, o.accumDistance);
-        }
-
-        @Override
-        public String toString() {
-            return String.format(
-                    "Node1: %s, (%.2f, %.2f), Node2: %s, (%.2f, %.2f), Accum Distance: %.2f, Latency: %.2f", node1,
-                    coord1[0], coord1[1], node2, coord2[0], coord2[1], accumDistance, latency);
-        }
+    public synchronized String getNearestMonitoringSite(final double[] coord) {
+        int site = sites.nearestSite(coord[0], coord[1]);
+        return site < 0 ? null : sites.getName(site);
     }
 
     public static void main(String[] args) throws IOException {
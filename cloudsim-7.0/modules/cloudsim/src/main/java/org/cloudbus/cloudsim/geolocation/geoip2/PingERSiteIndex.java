@@ -0,0 +1,596 @@
+package org.cloudbus.cloudsim.geolocation.geoip2;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Level;
+
+import org.cloudbus.cloudsim.EX.util.CustomLog;
+
+/**
+ * The PingER monitoring sites and the latencies measured between them, indexed
+ * so that the latency between two locations can be estimated without creating
+ * any objects. The sites are interned to dense indices, and the latencies are
+ * kept in a matrix of floats. The sites are also kept in a k-d tree of their
+ * positions on the unit sphere, which lists the sites nearest to a location
+ * first.
+ *
+ * <br>
+ * <br>
+ *
+ * The latency between two locations is estimated from the measured pairs of
+ * sites, whose sum of distances to the locations is the least. The pairs are
+ * visited from the nearest, and the exact (WGS-84) distances are only computed
+ * for the pairs which could be among the nearest. Thus only a small part of
+ * the measured pairs is visited for a location.
+ *
+ * <br>
+ * <br>
+ *
+ * Instances are not thread safe.
+ *
+ */
+class PingERSiteIndex {
+
+    /**
+     * Computes the distance in meters between two points. The estimations rely
+     * on it being at least {@link #LOWER_BOUND_FACTOR} times the great circle
+     * distance, so it must not round the coordinates.
+     */
+    @FunctionalInterface
+    interface Distance {
+        double distance(double lat1, double lon1, double lat2, double lon2);
+    }
+
+    private static final double EARTH_MEAN_RADIUS = 6_371_008.8;
+    /**
+     * The great circle distances are within 1% of the distances on the WGS-84
+     * ellipsoid. Multiplied by this factor, they are lower bounds of them.
+     */
+    private static final double LOWER_BOUND_FACTOR = 0.98;
+    private static final int LEAF_SIZE = 8;
+
+    private final String[] names;
+    private final double[] lats;
+    private final double[] lons;
+    /** The positions of the sites on the unit sphere. */
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] zs;
+
+    /**
+     * The latencies from the monitoring sites (first index) to the remote sites
+     * (second index). NaN if not measured.
+     */
+    private final float[][] latencies;
+    /** The measured pairs, as the monitoring and the remote site. */
+    private final int[] pairSite1;
+    private final int[] pairSite2;
+    /** The measured pairs of each site. */
+    private final int[][] sitePairs;
+
+    // The k-d tree. The sites of a node are in treeSites[nodeFrom, nodeTo).
+    private final int[] treeSites;
+    private final int[] nodeFrom;
+    private final int[] nodeTo;
+    private final int[] nodeLeft;
+    private final int[] nodeRight;
+    /** The bounding boxes of the nodes, as [x, y, z] triplets. */
+    private final double[] nodeMin;
+    private final double[] nodeMax;
+    private int numNodes = 0;
+
+    // The state of the latency estimations, reused between them.
+    private final NearestSites nearest1;
+    private final NearestSites nearest2;
+    private final MinHeap candidates;
+    private int stamp = 0;
+    private final int[] distance1Stamps;
+    private final int[] distance2Stamps;
+    private final double[] distances1;
+    private final double[] distances2;
+    private final int[] pairStamps;
+    private final int[] selectedStamps;
+    private final int[] selectedPairs;
+    private final double[] selectedDistances;
+    private double lat1;
+    private double lon1;
+    private double lat2;
+    private double lon2;
+
+    /**
+     * Constr.
+     *
+     * @param names
+     *            - the names of the sites. Must not be null.
+     * @param coordinates
+     *            - the [latitude, longitude] of the sites, in the same order.
+     *            Must not be null.
+     * @param latencies
+     *            - the latencies measured from the monitoring sites (first
+     *            index) to the remote sites (second index), by site index. NaN
+     *            if not measured. Must not be null.
+     * @param numApprox
+     *            - the number of pairs of sites to use in an estimation.
+     */
+    PingERSiteIndex(final List<String> names, final List<double[]> coordinates, final float[][] latencies,
+            final int numApprox) {
+        int n = names.size();
+        this.names = names.toArray(new String[0]);
+        this.latencies = latencies;
+        lats = new double[n];
+        lons = new double[n];
+        xs = new double[n];
+        ys = new double[n];
+        zs = new double[n];
+        for (int i = 0; i < n; i++) {
+            lats[i] = coordinates.get(i)[0];
+            lons[i] = coordinates.get(i)[1];
+            double[] unit = toUnitVector(lats[i], lons[i]);
+            xs[i] = unit[0];
+            ys[i] = unit[1];
+            zs[i] = unit[2];
+        }
+
+        int numPairs = 0;
+        int[] numSitePairs = new int[n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (!Float.isNaN(latencies[i][j])) {
+                    numPairs++;
+                    numSitePairs[i]++;
+                    numSitePairs[j] += i == j ? 0 : 1;
+                }
+            }
+        }
+        pairSite1 = new int[numPairs];
+        pairSite2 = new int[numPairs];
+        sitePairs = new int[n][];
+        for (int i = 0; i < n; i++) {
+            sitePairs[i] = new int[numSitePairs[i]];
+            numSitePairs[i] = 0;
+        }
+        int pair = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (!Float.isNaN(latencies[i][j])) {
+                    pairSite1[pair] = i;
+                    pairSite2[pair] = j;
+                    sitePairs[i][numSitePairs[i]++] = pair;
+                    if (i != j) {
+                        sitePairs[j][numSitePairs[j]++] = pair;
+                    }
+                    pair++;
+                }
+            }
+        }
+
+        treeSites = new int[n];
+        for (int i = 0; i < n; i++) {
+            treeSites[i] = i;
+        }
+        int maxNodes = Math.max(2 * n - 1, 1);
+        nodeFrom = new int[maxNodes];
+        nodeTo = new int[maxNodes];
+        nodeLeft = new int[maxNodes];
+        nodeRight = new int[maxNodes];
+        nodeMin = new double[3 * maxNodes];
+        nodeMax = new double[3 * maxNodes];
+        if (n > 0) {
+            build(0, n);
+        }
+
+        nearest1 = new NearestSites();
+        nearest2 = new NearestSites();
+        candidates = new MinHeap(2 * numPairs);
+        distance1Stamps = new int[n];
+        distance2Stamps = new int[n];
+        distances1 = new double[n];
+        distances2 = new double[n];
+        pairStamps = new int[numPairs];
+        selectedStamps = new int[n];
+        selectedPairs = new int[numApprox];
+        selectedDistances = new double[numApprox];
+    }
+
+    /**
+     * Returns the number of sites.
+     *
+     * @return the number of sites.
+     */
+    int getNumSites() {
+        return names.length;
+    }
+
+    /**
+     * Returns the number of measured pairs of sites.
+     *
+     * @return the number of measured pairs of sites.
+     */
+    int getNumPairs() {
+        return pairSite1.length;
+    }
+
+    /**
+     * Returns the name of a site.
+     *
+     * @param site
+     *            - the index of the site.
+     * @return the name of the site.
+     */
+    String getName(final int site) {
+        return names[site];
+    }
+
+    /**
+     * Returns the site nearest to the location, by great circle distance.
+     *
+     * @param lat
+     *            - the latitude of the location.
+     * @param lon
+     *            - the longitude of the location.
+     * @return the index of the nearest site, or -1 if there are no sites or
+     *         the coordinates are NaN.
+     */
+    int nearestSite(final double lat, final double lon) {
+        if (Double.isNaN(lat) || Double.isNaN(lon)) {
+            return -1;
+        }
+        nearest1.reset(lat, lon);
+        return nearest1.hasNext() ? nearest1.next() : -1;
+    }
+
+    /**
+     * Estimates the latency between two locations, as the average of the
+     * latencies of the measured pairs of sites nearest to them, weighted by
+     * their distances. The pairs are the nearest ones without common sites.
+     *
+     * @param numApprox
+     *            - the number of pairs to use. Must not be more than the
+     *            number the index was created with.
+     * @param distance
+     *            - the function computing the exact distances.
+     * @return the estimated latency, or NaN if any coordinate is NaN or there
+     *         are no measured pairs.
+     */
+    double estimateLatency(final double lat1, final double lon1, final double lat2, final double lon2,
+            final int numApprox, final Distance distance) {
+        if (Double.isNaN(lat1) || Double.isNaN(lon1) || Double.isNaN(lat2) || Double.isNaN(lon2)
+                || pairSite1.length == 0) {
+            return Double.NaN;
+        }
+        this.lat1 = lat1;
+        this.lon1 = lon1;
+        this.lat2 = lat2;
+        this.lon2 = lon2;
+        nextStamp();
+        nearest1.reset(lat1, lon1);
+        nearest2.reset(lat2, lon2);
+        candidates.clear();
+
+        int numSelected = 0;
+        while (numSelected < numApprox) {
+            boolean more1 = nearest1.hasNext();
+            boolean more2 = nearest2.hasNext();
+            // The pairs, whose sites have not been visited from any location,
+            // are at least that far.
+            double threshold = more1 && more2 ? nearest1.peekBound() + nearest2.peekBound()
+                    : Double.POSITIVE_INFINITY;
+
+            if (candidates.size() > 0 && candidates.peekKey() <= threshold) {
+                double key = candidates.peekKey();
+                int item = candidates.peekItem();
+                candidates.pop();
+                int pair = item >> 1;
+                if ((item & 1) == 0) {
+                    // A lower bound - replace it with the exact distance
+                    candidates.push(exactDistance(pair, distance), item | 1);
+                } else if (selectedStamps[pairSite1[pair]] != stamp && selectedStamps[pairSite2[pair]] != stamp) {
+                    selectedStamps[pairSite1[pair]] = stamp;
+                    selectedStamps[pairSite2[pair]] = stamp;
+                    selectedPairs[numSelected] = pair;
+                    selectedDistances[numSelected] = key;
+                    numSelected++;
+                }
+            } else if (more1 && (!more2 || nearest1.peekBound() <= nearest2.peekBound())) {
+                visit(nearest1.next());
+            } else if (more2) {
+                visit(nearest2.next());
+            } else {
+                break;
+            }
+        }
+
+        return weightedAverage(numSelected);
+    }
+
+    private double weightedAverage(final int numSelected) {
+        double sumLatencies = 0;
+        double weightedCount = 0;
+        double bestDistance = selectedDistances[0];
+        for (int i = 0; i < numSelected; i++) {
+            int pair = selectedPairs[i];
+            double weight = bestDistance == 0 ? (selectedDistances[i] == 0 ? 1 : 0) : bestDistance
+                    / selectedDistances[i];
+            double latency = latencies[pairSite1[pair]][pairSite2[pair]];
+            weightedCount += weight;
+            sumLatencies += latency * weight;
+            if (CustomLog.isLevelHighEnough(Level.FINEST)) {
+                CustomLog.printf(Level.FINEST, "Used nodes %s, %s; Accum Distance %.2f, Latency %.2f, Weigth %.2f ",
+                        names[pairSite1[pair]], names[pairSite2[pair]], selectedDistances[i] / 1000, latency, weight);
+            }
+        }
+        return sumLatencies / weightedCount;
+    }
+
+    /**
+     * Adds the pairs of a site to the candidates, with lower bounds of their
+     * distances.
+     */
+    private void visit(final int site) {
+        for (int pair : sitePairs[site]) {
+            if (pairStamps[pair] != stamp) {
+                pairStamps[pair] = stamp;
+                int s1 = pairSite1[pair];
+                int s2 = pairSite2[pair];
+                double direct = nearest1.lowerBound(s1) + nearest2.lowerBound(s2);
+                double inverse = nearest1.lowerBound(s2) + nearest2.lowerBound(s1);
+                candidates.push(Math.min(direct, inverse), pair << 1);
+            }
+        }
+    }
+
+    /**
+     * The sum of the distances between the locations and the sites of the
+     * pair, whichever way the sites are matched to the locations.
+     */
+    private double exactDistance(final int pair, final Distance distance) {
+        int s1 = pairSite1[pair];
+        int s2 = pairSite2[pair];
+        double direct = distance1(s1, distance) + distance2(s2, distance);
+        double inverse = distance1(s2, distance) + distance2(s1, distance);
+        return Math.min(direct, inverse);
+    }
+
+    private double distance1(final int site, final Distance distance) {
+        if (distance1Stamps[site] != stamp) {
+            distance1Stamps[site] = stamp;
+            distances1[site] = distance.distance(lat1, lon1, lats[site], lons[site]);
+        }
+        return distances1[site];
+    }
+
+    private double distance2(final int site, final Distance distance) {
+        if (distance2Stamps[site] != stamp) {
+            distance2Stamps[site] = stamp;
+            distances2[site] = distance.distance(lat2, lon2, lats[site], lons[site]);
+        }
+        return distances2[site];
+    }
+
+    private void nextStamp() {
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(distance1Stamps, 0);
+            Arrays.fill(distance2Stamps, 0);
+            Arrays.fill(pairStamps, 0);
+            Arrays.fill(selectedStamps, 0);
+            stamp = 1;
+        }
+    }
+
+    /**
+     * Builds the subtree of the sites in treeSites[from, to), split by the
+     * median of the coordinate with the greatest spread.
+     *
+     * @return the index of the root of the subtree.
+     */
+    private int build(final int from, final int to) {
+        int node = numNodes++;
+        nodeFrom[node] = from;
+        nodeTo[node] = to;
+        nodeLeft[node] = -1;
+        nodeRight[node] = -1;
+        for (int axis = 0; axis < 3; axis++) {
+            nodeMin[3 * node + axis] = Double.POSITIVE_INFINITY;
+            nodeMax[3 * node + axis] = Double.NEGATIVE_INFINITY;
+        }
+        for (int i = from; i < to; i++) {
+            int site = treeSites[i];
+            for (int axis = 0; axis < 3; axis++) {
+                double c = coordinate(site, axis);
+                nodeMin[3 * node + axis] = Math.min(nodeMin[3 * node + axis], c);
+                nodeMax[3 * node + axis] = Math.max(nodeMax[3 * node + axis], c);
+            }
+        }
+
+        if (to - from > LEAF_SIZE) {
+            int splitAxis = 0;
+            for (int axis = 1; axis < 3; axis++) {
+                if (nodeMax[3 * node + axis] - nodeMin[3 * node + axis] > nodeMax[3 * node + splitAxis]
+                        - nodeMin[3 * node + splitAxis]) {
+                    splitAxis = axis;
+                }
+            }
+            final int sortAxis = splitAxis;
+            Integer[] sites = new Integer[to - from];
+            for (int i = from; i < to; i++) {
+                sites[i - from] = treeSites[i];
+            }
+            Arrays.sort(sites, Comparator.comparingDouble((Integer site) -> coordinate(site, sortAxis)));
+            for (int i = from; i < to; i++) {
+                treeSites[i] = sites[i - from];
+            }
+
+            int middle = (from + to) >>> 1;
+            nodeLeft[node] = build(from, middle);
+            nodeRight[node] = build(middle, to);
+        }
+        return node;
+    }
+
+    private double coordinate(final int site, final int axis) {
+        return axis == 0 ? xs[site] : axis == 1 ? ys[site] : zs[site];
+    }
+
+    private static double[] toUnitVector(final double lat, final double lon) {
+        double latRad = Math.toRadians(lat);
+        double lonRad = Math.toRadians(lon);
+        return new double[] { Math.cos(latRad) * Math.cos(lonRad), Math.cos(latRad) * Math.sin(lonRad),
+                Math.sin(latRad) };
+    }
+
+    /**
+     * Converts a squared chord on the unit sphere to a lower bound of the
+     * distance in meters.
+     */
+    private static double toLowerBound(final double squaredChord) {
+        double halfChord = Math.sqrt(squaredChord) / 2;
+        return LOWER_BOUND_FACTOR * EARTH_MEAN_RADIUS * 2 * Math.asin(Math.min(1, halfChord));
+    }
+
+    /**
+     * Lists the sites from the nearest to a location, by traversing the k-d
+     * tree best first.
+     */
+    private final class NearestSites {
+        /** The sites (non-negative) and the nodes (-1 - node), by squared chord. */
+        private final MinHeap heap = new MinHeap(numNodes + names.length);
+        private double x;
+        private double y;
+        private double z;
+
+        void reset(final double lat, final double lon) {
+            double latRad = Math.toRadians(lat);
+            double lonRad = Math.toRadians(lon);
+            x = Math.cos(latRad) * Math.cos(lonRad);
+            y = Math.cos(latRad) * Math.sin(lonRad);
+            z = Math.sin(latRad);
+            heap.clear();
+            if (numNodes > 0) {
+                heap.push(squaredBoxDistance(0), -1);
+            }
+        }
+
+        boolean hasNext() {
+            // Expand the nodes, until a site is the nearest
+            while (heap.size() > 0 && heap.peekItem() < 0) {
+                int node = -1 - heap.peekItem();
+                heap.pop();
+                if (nodeLeft[node] < 0) {
+                    for (int i = nodeFrom[node]; i < nodeTo[node]; i++) {
+                        heap.push(squaredChord(treeSites[i]), treeSites[i]);
+                    }
+                } else {
+                    heap.push(squaredBoxDistance(nodeLeft[node]), -1 - nodeLeft[node]);
+                    heap.push(squaredBoxDistance(nodeRight[node]), -1 - nodeRight[node]);
+                }
+            }
+            return heap.size() > 0;
+        }
+
+        /** The lower bound of the distance to the next site. Call hasNext first. */
+        double peekBound() {
+            return toLowerBound(heap.peekKey());
+        }
+
+        int next() {
+            hasNext();
+            int site = heap.peekItem();
+            heap.pop();
+            return site;
+        }
+
+        /** The lower bound of the distance to a site. */
+        double lowerBound(final int site) {
+            return toLowerBound(squaredChord(site));
+        }
+
+        private double squaredChord(final int site) {
+            double dx = x - xs[site];
+            double dy = y - ys[site];
+            double dz = z - zs[site];
+            return dx * dx + dy * dy + dz * dz;
+        }
+
+        private double squaredBoxDistance(final int node) {
+            double dx = Math.max(0, Math.max(nodeMin[3 * node] - x, x - nodeMax[3 * node]));
+            double dy = Math.max(0, Math.max(nodeMin[3 * node + 1] - y, y - nodeMax[3 * node + 1]));
+            double dz = Math.max(0, Math.max(nodeMin[3 * node + 2] - z, z - nodeMax[3 * node + 2]));
+            return dx * dx + dy * dy + dz * dz;
+        }
+    }
+
+    /**
+     * A binary min-heap of int items by double keys, with ties broken by the
+     * items, so that the order does not depend on the insertions. Each item can
+     * be in the heap only once at a time.
+     */
+    private static final class MinHeap {
+        private final double[] keys;
+        private final int[] items;
+        private int size = 0;
+
+        MinHeap(final int capacity) {
+            keys = new double[Math.max(capacity, 1)];
+            items = new int[Math.max(capacity, 1)];
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        double peekKey() {
+            return keys[0];
+        }
+
+        int peekItem() {
+            return items[0];
+        }
+
+        void push(final double key, final int item) {
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!less(key, item, keys[parent], items[parent])) {
+                    break;
+                }
+                keys[i] = keys[parent];
+                items[i] = items[parent];
+                i = parent;
+            }
+            keys[i] = key;
+            items[i] = item;
+        }
+
+        void pop() {
+            double key = keys[--size];
+            int item = items[size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && less(keys[child + 1], items[child + 1], keys[child], items[child])) {
+                    child++;
+                }
+                if (!less(keys[child], items[child], key, item)) {
+                    break;
+                }
+                keys[i] = keys[child];
+                items[i] = items[child];
+                i = child;
+            }
+            keys[i] = key;
+            items[i] = item;
+        }
+
+        private static boolean less(final double key1, final int item1, final double key2, final int item2) {
+            return key1 < key2 || (key1 == key2 && item1 < item2);
+        }
+    }
+}
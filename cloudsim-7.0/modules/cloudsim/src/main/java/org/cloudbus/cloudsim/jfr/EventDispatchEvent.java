@@ -0,0 +1,64 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.SimEvent;
+
+/**
+ * A JDK Flight Recorder event for the processing of a simulation event by its destination entity.
+ * Its duration is the wall-clock time spent in {@link org.cloudbus.cloudsim.core.SimEntity#processEvent(SimEvent)}.
+ *
+ * @see SimulationEvents
+ * @since CloudSim Toolkit 7.0
+ */
+@Name(EventDispatchEvent.NAME)
+@Label("Event Dispatch")
+@Category({"CloudSim", "Engine"})
+@Description("A simulation event processed by an entity")
+@Enabled(false)
+@StackTrace(false)
+public class EventDispatchEvent extends jdk.jfr.Event {
+
+	/** The name of the event type. */
+	public static final String NAME = "org.cloudbus.cloudsim.EventDispatch";
+
+	@Label("Tag")
+	private String tag;
+
+	@Label("Source")
+	private String source;
+
+	@Label("Destination")
+	private String destination;
+
+	@Label("Simulation Time")
+	@Description("The time of the simulation event, in seconds")
+	private double simulationTime;
+
+	/**
+	 * Sets the fields of the event from the processed simulation event, and commits it.
+	 *
+	 * @param ev the simulation event
+	 */
+	public void commit(SimEvent ev) {
+		tag = String.valueOf(ev.getTag());
+		source = CloudSim.getEntityName(ev.getSourceId());
+		destination = CloudSim.getEntityName(ev.getDestinationId());
+		simulationTime = ev.eventTime();
+		commit();
+	}
+}
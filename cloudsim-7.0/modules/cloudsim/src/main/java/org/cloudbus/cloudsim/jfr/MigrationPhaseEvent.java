@@ -0,0 +1,75 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+
+/**
+ * A JDK Flight Recorder event for a phase of the optimisation of the VM allocation by
+ * {@link org.cloudbus.cloudsim.power.PowerVmAllocationPolicyMigrationAbstract}.
+ *
+ * @see SimulationEvents
+ * @since CloudSim Toolkit 7.0
+ */
+@Name(MigrationPhaseEvent.NAME)
+@Label("Migration Optimisation Phase")
+@Category({"CloudSim", "Allocation"})
+@Description("A phase of the optimisation of the VM allocation of a datacenter")
+@Enabled(false)
+public class MigrationPhaseEvent extends jdk.jfr.Event {
+
+	/** The name of the event type. */
+	public static final String NAME = "org.cloudbus.cloudsim.MigrationPhase";
+
+	/** The phase of the selection of the over-utilised hosts. */
+	public static final String HOST_SELECTION = "host selection";
+
+	/** The phase of the selection of the VMs to migrate from the over-utilised hosts. */
+	public static final String VM_SELECTION = "VM selection";
+
+	/** The phase of the placement of the VMs selected to migrate. */
+	public static final String VM_REALLOCATION = "VM reallocation";
+
+	/** The phase of the migration of the VMs of the under-utilised hosts. */
+	public static final String UNDER_UTILISED_HOSTS = "under-utilised hosts";
+
+	@Label("Policy")
+	private String policy;
+
+	@Label("Phase")
+	private String phase;
+
+	@Label("Count")
+	@Description("The number of hosts selected, of VMs selected, or of migrations planned by the phase")
+	private int count;
+
+	@Label("Simulation Time")
+	private double simulationTime;
+
+	/**
+	 * Sets the fields of the event from the phase, and commits it.
+	 *
+	 * @param policy the allocation policy
+	 * @param phase the phase
+	 * @param count the number of hosts or VMs selected, or of migrations planned, by the phase
+	 */
+	public void commit(Object policy, String phase, int count) {
+		this.policy = policy.getClass().getSimpleName();
+		this.phase = phase;
+		this.count = count;
+		simulationTime = CloudSim.clock();
+		commit();
+	}
+}
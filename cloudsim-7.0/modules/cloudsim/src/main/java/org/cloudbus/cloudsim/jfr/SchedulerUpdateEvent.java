@@ -0,0 +1,65 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+
+/**
+ * A JDK Flight Recorder event for a pass of a datacenter over its hosts, that updates the processing
+ * of the cloudlets by the schedulers of the guests.
+ *
+ * @see SimulationEvents
+ * @since CloudSim Toolkit 7.0
+ */
+@Name(SchedulerUpdateEvent.NAME)
+@Label("Scheduler Update")
+@Category({"CloudSim", "Scheduling"})
+@Description("An update of the processing of the cloudlets of the hosts of a datacenter")
+@Enabled(false)
+@StackTrace(false)
+public class SchedulerUpdateEvent extends jdk.jfr.Event {
+
+	/** The name of the event type. */
+	public static final String NAME = "org.cloudbus.cloudsim.SchedulerUpdate";
+
+	@Label("Datacenter")
+	private String datacenter;
+
+	@Label("Hosts")
+	private int hosts;
+
+	@Label("Next Completion Time")
+	@Description("The expected time of the next cloudlet completion, or Double.MAX_VALUE if there is none")
+	private double nextCompletionTime;
+
+	@Label("Simulation Time")
+	private double simulationTime;
+
+	/**
+	 * Sets the fields of the event from the update pass, and commits it.
+	 *
+	 * @param datacenter the name of the datacenter
+	 * @param hosts the number of hosts updated
+	 * @param nextCompletionTime the expected time of the next cloudlet completion
+	 */
+	public void commit(String datacenter, int hosts, double nextCompletionTime) {
+		this.datacenter = datacenter;
+		this.hosts = hosts;
+		this.nextCompletionTime = nextCompletionTime;
+		simulationTime = CloudSim.clock();
+		commit();
+	}
+}
@@ -0,0 +1,43 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.jfr;
+
+import java.util.List;
+
+import jdk.jfr.Recording;
+
+/**
+ * The JDK Flight Recorder events of the simulation, which relate the CPU and allocation profiles of a
+ * recording to the simulation activity. They are disabled by default, and cost little when disabled:
+ * they can be enabled for a recording made in the program with {@link #enable(Recording)}, or in a
+ * settings file (<tt>.jfc</tt>) for a recording started from the command line, e.g., with
+ * <tt>&lt;event name="org.cloudbus.cloudsim.EventDispatch"&gt;&lt;setting name="enabled"&gt;true&lt;/setting&gt;&lt;/event&gt;</tt>.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+public final class SimulationEvents {
+
+	/** The names of the event types. */
+	public static final List<String> NAMES = List.of(EventDispatchEvent.NAME, VmPlacementEvent.NAME,
+			MigrationPhaseEvent.NAME, SchedulerUpdateEvent.NAME);
+
+	private SimulationEvents() {
+	}
+
+	/**
+	 * Enables all the events of the simulation in a recording.
+	 *
+	 * @param recording the recording
+	 */
+	public static void enable(Recording recording) {
+		for (String name : NAMES) {
+			recording.enable(name);
+		}
+	}
+}
@@ -0,0 +1,70 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.GuestEntity;
+import org.cloudbus.cloudsim.core.HostEntity;
+
+/**
+ * A JDK Flight Recorder event for the placement of a guest by a
+ * {@link org.cloudbus.cloudsim.VmAllocationPolicy}: the search of a host, and the allocation of the guest to it.
+ *
+ * @see SimulationEvents
+ * @since CloudSim Toolkit 7.0
+ */
+@Name(VmPlacementEvent.NAME)
+@Label("VM Placement")
+@Category({"CloudSim", "Allocation"})
+@Description("The placement of a guest on a host by the allocation policy of a datacenter")
+@Enabled(false)
+public class VmPlacementEvent extends jdk.jfr.Event {
+
+	/** The name of the event type. */
+	public static final String NAME = "org.cloudbus.cloudsim.VmPlacement";
+
+	@Label("Policy")
+	private String policy;
+
+	@Label("Guest")
+	private String guest;
+
+	@Label("Host")
+	@Description("The host found for the guest, or null if there is none")
+	private String host;
+
+	@Label("Allocated")
+	private boolean allocated;
+
+	@Label("Simulation Time")
+	private double simulationTime;
+
+	/**
+	 * Sets the fields of the event from the placement decision, and commits it.
+	 *
+	 * @param policy the allocation policy
+	 * @param guest the guest
+	 * @param host the host found for the guest, or null
+	 * @param allocated whether the guest was allocated to the host
+	 */
+	public void commit(Object policy, GuestEntity guest, HostEntity host, boolean allocated) {
+		this.policy = policy.getClass().getSimpleName();
+		this.guest = guest.getClassName() + " #" + guest.getId();
+		this.host = host == null ? null : host.getClassName() + " #" + host.getId();
+		this.allocated = allocated;
+		simulationTime = CloudSim.clock();
+		commit();
+	}
+}
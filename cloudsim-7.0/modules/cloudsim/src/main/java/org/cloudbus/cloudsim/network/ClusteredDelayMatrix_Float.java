@@ -0,0 +1,171 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.network;
+
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * A hierarchical approximation of the delay matrix for very large topologies.
+ * A few representative nodes are chosen and every node joins the cluster of its nearest
+ * representative. The delay between two nodes is then estimated as the delay from the
+ * source to its representative, plus the delay between the two representatives, plus the
+ * delay from the representative of the destination to the destination.
+ * <p/>
+ * Lookups are O(1) and the memory is O(nodes + clusters²). Only the delays between two
+ * representatives, and between a representative and the nodes of its own cluster, are
+ * exact. All others, including the delays from a representative to the nodes of other
+ * clusters, are routed through the representatives, and are thus upper bounds of the
+ * shortest path, which are tight when the clusters are small compared to the distances
+ * between them.
+ *
+ * @since CloudSim Toolkit 7.0
+ * @see DelayMatrix_Float
+ * @see OffHeapDelayMatrix_Float
+ */
+public class ClusteredDelayMatrix_Float extends DelayMatrix_Float {
+
+	/**
+	 * The ids of the representative nodes.
+	 */
+	private final int[] representatives;
+
+	/**
+	 * The index in {@link #representatives} of the cluster of every node, or -1 if the node
+	 * cannot reach any representative.
+	 */
+	private final int[] cluster;
+
+	/**
+	 * The delay from every node to its representative.
+	 */
+	private final float[] toRepresentative;
+
+	/**
+	 * The delay from the representative of every node to the node.
+	 */
+	private final float[] fromRepresentative;
+
+	/**
+	 * The delays between every pair of representatives.
+	 */
+	private final float[][] clusterDelays;
+
+	/**
+	 * Creates a clustered delay matrix whose representatives are the nodes with most links.
+	 *
+	 * @param graph the network topological graph
+	 * @param directed indicates if an directed matrix should be computed (true) or not (false)
+	 * @param numClusters the number of clusters
+	 */
+	public ClusteredDelayMatrix_Float(TopologicalGraph graph, boolean directed, int numClusters) {
+		this(graph, directed, mostConnected(new DelayGraph(graph, directed), numClusters));
+	}
+
+	/**
+	 * Creates a clustered delay matrix with the given representatives.
+	 *
+	 * @param graph the network topological graph
+	 * @param directed indicates if an directed matrix should be computed (true) or not (false)
+	 * @param representatives the ids of the representative nodes, one per cluster
+	 */
+	public ClusteredDelayMatrix_Float(TopologicalGraph graph, boolean directed, int[] representatives) {
+		if (representatives.length == 0) {
+			throw new IllegalArgumentException("At least one representative node is required.");
+		}
+
+		mTotalNodeNum = graph.getNumberOfNodes();
+		this.representatives = representatives.clone();
+		cluster = new int[mTotalNodeNum];
+		toRepresentative = new float[mTotalNodeNum];
+		fromRepresentative = new float[mTotalNodeNum];
+		clusterDelays = new float[representatives.length][];
+
+		// every node joins the representative it reaches first
+		new DelayGraph(graph, directed, true).shortestPathsFrom(this.representatives, toRepresentative, cluster);
+
+		DelayGraph links = new DelayGraph(graph, directed);
+		IntStream.range(0, representatives.length).parallel().forEach(c -> {
+			float[] row = links.shortestPathsFrom(this.representatives[c]);
+			clusterDelays[c] = new float[this.representatives.length];
+			for (int other = 0; other < this.representatives.length; other++) {
+				clusterDelays[c][other] = row[this.representatives[other]];
+			}
+			for (int node = 0; node < mTotalNodeNum; node++) {
+				if (cluster[node] == c) {
+					fromRepresentative[node] = row[node];
+				}
+			}
+		});
+	}
+
+	@Override
+	public float getDelay(int srcID, int destID) {
+		// check the nodeIDs against internal array-boundarys
+		if (srcID > mTotalNodeNum || destID > mTotalNodeNum) {
+			throw new ArrayIndexOutOfBoundsException("srcID or destID is higher than highest stored node-ID!");
+		}
+
+		if (srcID == destID) {
+			return 0;
+		}
+
+		final int srcCluster = cluster[srcID];
+		final int destCluster = cluster[destID];
+		if (srcCluster < 0 || destCluster < 0) {
+			return Float.MAX_VALUE;
+		}
+
+		final float toSrcRepresentative = toRepresentative[srcID];
+		final float betweenRepresentatives = clusterDelays[srcCluster][destCluster];
+		final float fromDestRepresentative = fromRepresentative[destID];
+		if (betweenRepresentatives == Float.MAX_VALUE || fromDestRepresentative == Float.MAX_VALUE) {
+			return Float.MAX_VALUE;
+		}
+		return toSrcRepresentative + betweenRepresentatives + fromDestRepresentative;
+	}
+
+	/**
+	 * Gets the number of clusters.
+	 *
+	 * @return the number of representative nodes
+	 */
+	public int getNumberOfClusters() {
+		return representatives.length;
+	}
+
+	/**
+	 * Gets the cluster of a node.
+	 *
+	 * @param nodeID the id of the node
+	 * @return the id of the representative of the node, or -1 if the node cannot reach any
+	 */
+	public int getRepresentative(int nodeID) {
+		return cluster[nodeID] < 0 ? -1 : representatives[cluster[nodeID]];
+	}
+
+	/**
+	 * Picks the nodes with most outgoing links, ties broken by the lowest id.
+	 */
+	private static int[] mostConnected(DelayGraph links, int numClusters) {
+		if (numClusters <= 0) {
+			throw new IllegalArgumentException("The number of clusters must be > 0.");
+		}
+		return IntStream.range(0, links.getNumberOfNodes()).boxed()
+				.sorted(Comparator.comparingInt(links::getDegree).reversed().thenComparingInt(i -> i))
+				.limit(numClusters)
+				.mapToInt(Integer::intValue)
+				.toArray();
+	}
+
+	@Override
+	public String toString() {
+		return "clustered delay matrix of " + mTotalNodeNum + " nodes in " + representatives.length + " clusters";
+	}
+}
@@ -0,0 +1,217 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.network;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * A compact adjacency (compressed sparse row) view of the link delays of a
+ * {@link TopologicalGraph}, used by the delay matrices that compute shortest paths with
+ * Dijkstra's algorithm instead of {@link FloydWarshall_Float}.
+ * <p/>
+ * As in {@link DelayMatrix_Float}, the last link between two nodes overrides the previous
+ * ones and, as in {@link FloydWarshall_Float}, links with a zero delay are considered absent.
+ * Unreachable nodes have a delay of {@link Float#MAX_VALUE}.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+final class DelayGraph {
+
+	/**
+	 * Outgoing links of node i are stored in positions [offsets[i], offsets[i+1])
+	 * of {@link #targets} and {@link #delays}.
+	 */
+	private final int[] offsets;
+
+	private final int[] targets;
+
+	private final float[] delays;
+
+	private final int numNodes;
+
+	/**
+	 * Builds the adjacency of a graph.
+	 *
+	 * @param graph the network topological graph
+	 * @param directed indicates if links are directed (true) or not (false)
+	 */
+	DelayGraph(TopologicalGraph graph, boolean directed) {
+		this(graph, directed, false);
+	}
+
+	/**
+	 * Builds the adjacency of a graph, or of its transpose.
+	 *
+	 * @param graph the network topological graph
+	 * @param directed indicates if links are directed (true) or not (false)
+	 * @param reversed indicates if the direction of the links must be inverted
+	 */
+	DelayGraph(TopologicalGraph graph, boolean directed, boolean reversed) {
+		numNodes = graph.getNumberOfNodes();
+
+		Map<Long, Float> links = new HashMap<>();
+		Iterator<TopologicalLink> itr = graph.getLinkIterator();
+		while (itr.hasNext()) {
+			TopologicalLink edge = itr.next();
+			int src = reversed ? edge.getDestNodeID() : edge.getSrcNodeID();
+			int dest = reversed ? edge.getSrcNodeID() : edge.getDestNodeID();
+			links.put(key(src, dest), edge.getLinkDelay());
+			if (!directed) {
+				links.put(key(dest, src), edge.getLinkDelay());
+			}
+		}
+		links.entrySet().removeIf(e -> e.getValue() == 0 || (int) (e.getKey() >>> 32) == e.getKey().intValue());
+
+		offsets = new int[numNodes + 1];
+		for (long link : links.keySet()) {
+			offsets[(int) (link >>> 32) + 1]++;
+		}
+		for (int i = 0; i < numNodes; i++) {
+			offsets[i + 1] += offsets[i];
+		}
+
+		targets = new int[links.size()];
+		delays = new float[links.size()];
+		int[] next = Arrays.copyOf(offsets, numNodes);
+		for (Map.Entry<Long, Float> link : links.entrySet()) {
+			int pos = next[(int) (link.getKey() >>> 32)]++;
+			targets[pos] = link.getKey().intValue();
+			delays[pos] = link.getValue();
+		}
+	}
+
+	int getNumberOfNodes() {
+		return numNodes;
+	}
+
+	int getNumberOfLinks() {
+		return targets.length;
+	}
+
+	/**
+	 * Gets the number of links leaving a node.
+	 */
+	int getDegree(int node) {
+		return offsets[node + 1] - offsets[node];
+	}
+
+	/**
+	 * Computes the delays from a source node to every node.
+	 *
+	 * @param src the id of the source node
+	 * @return the delays from the source node to every node
+	 */
+	float[] shortestPathsFrom(int src) {
+		float[] dist = new float[numNodes];
+		shortestPathsFrom(new int[] { src }, dist, null);
+		return dist;
+	}
+
+	/**
+	 * Runs Dijkstra's algorithm from a set of sources with an indexed binary heap.
+	 *
+	 * @param sources the ids of the source nodes
+	 * @param dist receives the delay from the nearest source to every node
+	 * @param nearest if not null, receives the index in sources of the nearest source
+	 *                of every node, or -1 if the node is unreachable
+	 */
+	void shortestPathsFrom(int[] sources, float[] dist, int[] nearest) {
+		Arrays.fill(dist, Float.MAX_VALUE);
+		if (nearest != null) {
+			Arrays.fill(nearest, -1);
+		}
+
+		// heap of node ids ordered by dist, position[v] is the index of v in the heap or -1
+		final int[] heap = new int[numNodes];
+		final int[] position = new int[numNodes];
+		Arrays.fill(position, -1);
+		int size = 0;
+
+		for (int s = 0; s < sources.length; s++) {
+			final int src = sources[s];
+			if (position[src] < 0) {
+				dist[src] = 0;
+				heap[size] = src;
+				position[src] = size++;
+				if (nearest != null) {
+					nearest[src] = s;
+				}
+			}
+		}
+
+		while (size > 0) {
+			final int u = heap[0];
+			position[u] = -1;
+			if (--size > 0) {
+				heap[0] = heap[size];
+				position[heap[0]] = 0;
+				siftDown(heap, position, dist, size, 0);
+			}
+
+			for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+				final int v = targets[e];
+				final float viaU = dist[u] + delays[e];
+				if (viaU < dist[v]) {
+					dist[v] = viaU;
+					if (nearest != null) {
+						nearest[v] = nearest[u];
+					}
+					if (position[v] < 0) {
+						heap[size] = v;
+						position[v] = size++;
+					}
+					siftUp(heap, position, dist, position[v]);
+				}
+			}
+		}
+	}
+
+	private static void siftUp(int[] heap, int[] position, float[] dist, int i) {
+		final int node = heap[i];
+		while (i > 0) {
+			final int parent = (i - 1) >>> 1;
+			if (dist[heap[parent]] <= dist[node]) {
+				break;
+			}
+			heap[i] = heap[parent];
+			position[heap[i]] = i;
+			i = parent;
+		}
+		heap[i] = node;
+		position[node] = i;
+	}
+
+	private static void siftDown(int[] heap, int[] position, float[] dist, int size, int i) {
+		final int node = heap[i];
+		while (true) {
+			int child = 2 * i + 1;
+			if (child >= size) {
+				break;
+			}
+			if (child + 1 < size && dist[heap[child + 1]] < dist[heap[child]]) {
+				child++;
+			}
+			if (dist[node] <= dist[heap[child]]) {
+				break;
+			}
+			heap[i] = heap[child];
+			position[heap[i]] = i;
+			i = child;
+		}
+		heap[i] = node;
+		position[node] = i;
+	}
+
+	private static long key(int src, int dest) {
+		return ((long) src << 32) | (dest & 0xFFFFFFFFL);
+	}
+}
@@ -30,9 +30,9 @@ public class DelayMatrix_Float {
 	protected int mTotalNodeNum = 0;
 
 	/**
-	 * Private constructor to ensure that only an correct initialized delay-matrix could be created.
+	 * Constructor for subclasses that compute delays on their own.
 	 */
-	private DelayMatrix_Float() {
+	protected DelayMatrix_Float() {
 	}
 
 	/**
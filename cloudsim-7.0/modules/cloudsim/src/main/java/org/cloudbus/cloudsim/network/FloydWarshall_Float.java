@@ -8,10 +8,18 @@
 
 package org.cloudbus.cloudsim.network;
 
+import java.util.stream.IntStream;
+
 /**
- * FloydWarshall algorithm to calculate the predecessor matrix 
+ * FloydWarshall algorithm to calculate the predecessor matrix
  * and the delay between all pairs of nodes.
- * 
+ * <p/>
+ * The matrices are updated in place and split in square blocks of {@link #BLOCK_SIZE} nodes,
+ * so that each relaxation step works on a cache-resident tile. For every pivot block, the
+ * diagonal tile is computed first, then the tiles of its row and column, then all the
+ * remaining tiles; the last two phases are independent across tiles and run in parallel
+ * on the common fork-join pool.
+ *
  * @author Rahul Simha
  * @author Weishuai Yang
  * @version 1.2, 6/20/2005
@@ -19,119 +27,127 @@ package org.cloudbus.cloudsim.network;
  */
 public class FloydWarshall_Float {
 
+	/**
+	 * Number of nodes per side of a tile.
+	 */
+	public static final int BLOCK_SIZE = 64;
+
 	/**
 	 * Number of vertices (nodes).
 	 */
 	private int numVertices;
 
 	/**
-	 * Matrices used in dynamic programming.
+	 * The delay matrix, updated in place by dynamic programming.
 	 */
-	private float[][] Dk, Dk_minus_one;
+	private float[][] D;
 
 	/**
-	 * The predecessor matrix. Matrix used by dynamic programming.
+	 * The predecessor matrix, updated in place by dynamic programming.
 	 */
-	private int[][] Pk;
-        
-        /**
-         * Matrix used by dynamic programming.
-         */
-        private int[][] Pk_minus_one;
+	private int[][] P;
 
 	/**
 	 * Initialization the matrix.
-	 * 
+	 *
 	 * @param numVertices number of nodes
          * //@TODO The class doesn't have a constructor. This should be the constructor.
 	 */
 	public void initialize(int numVertices) {
 		this.numVertices = numVertices;
-
-		// Initialize Dk matrices.
-		Dk = new float[numVertices][];
-		Dk_minus_one = new float[numVertices][];
-		for (int i = 0; i < numVertices; i++) {
-			Dk[i] = new float[numVertices];
-			Dk_minus_one[i] = new float[numVertices];
-		}
-
-		// Initialize Pk matrices.
-		Pk = new int[numVertices][];
-		Pk_minus_one = new int[numVertices][];
-		for (int i = 0; i < numVertices; i++) {
-			Pk[i] = new int[numVertices];
-			Pk_minus_one[i] = new int[numVertices];
-		}
-
+		D = new float[numVertices][numVertices];
+		P = new int[numVertices][numVertices];
 	}
 
 	/**
 	 * Calculates the delay between all pairs of nodes.
-	 * 
+	 *
 	 * @param adjMatrix original delay matrix
 	 * @return the delay matrix
 	 */
 	public float[][] allPairsShortestPaths(float[][] adjMatrix) {
-		// Dk_minus_one = weights when k = -1
+		// D = weights when k = -1
 		for (int i = 0; i < numVertices; i++) {
 			for (int j = 0; j < numVertices; j++) {
-				if (adjMatrix[i][j] != 0) {
-					Dk_minus_one[i][j] = adjMatrix[i][j];
-					Pk_minus_one[i][j] = i;
+				if (i == j) {
+					D[i][j] = 0;
+					P[i][j] = -1;
+				} else if (adjMatrix[i][j] != 0) {
+					D[i][j] = adjMatrix[i][j];
+					P[i][j] = i;
 				} else {
-					Dk_minus_one[i][j] = Float.MAX_VALUE;
-					Pk_minus_one[i][j] = -1;
+					D[i][j] = Float.MAX_VALUE;
+					P[i][j] = -1;
 				}
-				// NOTE: we have set the value to infinity and will exploit
-				// this to avoid a comparison.
 			}
 		}
 
-		// Now iterate over k.
-
-		for (int k = 0; k < numVertices; k++) {
-
-			// Compute Dk[i][j], for each i,j
+		final int blocks = (numVertices + BLOCK_SIZE - 1) / BLOCK_SIZE;
+		for (int kb = 0; kb < blocks; kb++) {
+			final int pivot = kb;
+
+			// phase 1: the diagonal tile depends only on itself
+			relax(pivot, pivot, pivot);
+
+			// phase 2: tiles sharing the pivot row or column depend on the diagonal tile
+			IntStream.range(0, blocks).parallel().filter(b -> b != pivot).forEach(b -> {
+				relax(pivot, b, pivot);
+				relax(b, pivot, pivot);
+			});
+
+			// phase 3: every other tile depends on its pivot row and column tiles
+			IntStream.range(0, blocks * blocks).parallel().forEach(t -> {
+				final int ib = t / blocks;
+				final int jb = t % blocks;
+				if (ib != pivot && jb != pivot) {
+					relax(ib, jb, pivot);
+				}
+			});
+		}
 
-			for (int i = 0; i < numVertices; i++) {
-				for (int j = 0; j < numVertices; j++) {
-					if (i != j) {
+		return D;
+	}
 
-						// D_k[i][j] = min ( D_k-1[i][j], D_k-1[i][k] + D_k-1[k][j].
-						if (Dk_minus_one[i][j] <= Dk_minus_one[i][k] + Dk_minus_one[k][j]) {
-							Dk[i][j] = Dk_minus_one[i][j];
-							Pk[i][j] = Pk_minus_one[i][j];
-						} else {
-							Dk[i][j] = Dk_minus_one[i][k] + Dk_minus_one[k][j];
-							Pk[i][j] = Pk_minus_one[k][j];
-						}
-					} else {
-						Pk[i][j] = -1;
-					}
+	/**
+	 * Relaxes the paths of tile (ib, jb) through every intermediate node of pivot block kb:
+	 * D[i][j] = min(D[i][j], D[i][k] + D[k][j]).
+	 *
+	 * @param ib the row block of the tile
+	 * @param jb the column block of the tile
+	 * @param kb the pivot block
+	 */
+	private void relax(int ib, int jb, int kb) {
+		final int iEnd = Math.min(numVertices, (ib + 1) * BLOCK_SIZE);
+		final int jEnd = Math.min(numVertices, (jb + 1) * BLOCK_SIZE);
+		final int kEnd = Math.min(numVertices, (kb + 1) * BLOCK_SIZE);
+
+		for (int k = kb * BLOCK_SIZE; k < kEnd; k++) {
+			final float[] Dk = D[k];
+			final int[] Pk = P[k];
+			for (int i = ib * BLOCK_SIZE; i < iEnd; i++) {
+				final float Dik = D[i][k];
+				if (Dik == Float.MAX_VALUE) {
+					continue;
 				}
-			}
-
-			// Now store current Dk into D_k-1
-			for (int i = 0; i < numVertices; i++) {
-				for (int j = 0; j < numVertices; j++) {
-					Dk_minus_one[i][j] = Dk[i][j];
-					Pk_minus_one[i][j] = Pk[i][j];
+				final float[] Di = D[i];
+				final int[] Pi = P[i];
+				for (int j = jb * BLOCK_SIZE; j < jEnd; j++) {
+					final float viaK = Dik + Dk[j];
+					if (viaK < Di[j]) {
+						Di[j] = viaK;
+						Pi[j] = Pk[j];
+					}
 				}
 			}
-
-		} // end-outermost-for
-
-		return Dk;
-
+		}
 	}
 
 	/**
 	 * Gets predecessor matrix.
-	 * 
+	 *
 	 * @return predecessor matrix
 	 */
 	public int[][] getPK() {
-		return Pk;
+		return P;
 	}
 }
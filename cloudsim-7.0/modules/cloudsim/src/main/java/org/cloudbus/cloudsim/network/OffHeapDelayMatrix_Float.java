@@ -0,0 +1,186 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.network;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+
+/**
+ * A dense delay matrix stored outside of the Java heap, either in direct memory or in a
+ * memory-mapped file, so that topologies whose n² delays do not fit in the heap can still
+ * be looked up in O(1).
+ * <p/>
+ * Delays can be stored as 32-bit floats, or as 16-bit IEEE half-precision floats that halve
+ * the footprint at the cost of a relative error below 0.05%. The rows are computed in parallel
+ * with Dijkstra's algorithm, one source node at a time, so that no n² matrix is ever built on
+ * the heap.
+ *
+ * @since CloudSim Toolkit 7.0
+ * @see DelayMatrix_Float
+ * @see ClusteredDelayMatrix_Float
+ */
+public class OffHeapDelayMatrix_Float extends DelayMatrix_Float {
+
+	/**
+	 * The way each delay is stored.
+	 */
+	public enum Encoding {
+		/** 32-bit IEEE floats, the same precision as {@link DelayMatrix_Float}. */
+		FLOAT32(4),
+		/** 16-bit IEEE half-precision floats, for delays not greater than 65504. */
+		FLOAT16(2);
+
+		private final int bytes;
+
+		Encoding(int bytes) {
+			this.bytes = bytes;
+		}
+
+		/**
+		 * @return the number of bytes used by a delay
+		 */
+		public int getBytes() {
+			return bytes;
+		}
+	}
+
+	/**
+	 * Every segment holds 2^SEGMENT_SHIFT bytes, except the last one.
+	 */
+	private static final int SEGMENT_SHIFT = 30;
+
+	private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+	private static final short FLOAT16_INFINITY = 0x7C00;
+
+	private final Encoding encoding;
+
+	/**
+	 * The delays, row by row, split in buffers of at most 2^SEGMENT_SHIFT bytes.
+	 */
+	private final ByteBuffer[] segments;
+
+	/**
+	 * Creates a delay matrix in direct memory.
+	 *
+	 * @param graph the network topological graph
+	 * @param directed indicates if an directed matrix should be computed (true) or not (false)
+	 * @param encoding the way each delay is stored
+	 */
+	public OffHeapDelayMatrix_Float(TopologicalGraph graph, boolean directed, Encoding encoding) {
+		this.encoding = encoding;
+		mTotalNodeNum = graph.getNumberOfNodes();
+		segments = new ByteBuffer[segmentCount()];
+		for (int s = 0; s < segments.length; s++) {
+			segments[s] = ByteBuffer.allocateDirect(segmentSize(s)).order(ByteOrder.nativeOrder());
+		}
+		fill(new DelayGraph(graph, directed));
+	}
+
+	/**
+	 * Creates a delay matrix in a memory-mapped file. The file is created, or truncated if it
+	 * exists, and is left on disk when the matrix is discarded.
+	 *
+	 * @param graph the network topological graph
+	 * @param directed indicates if an directed matrix should be computed (true) or not (false)
+	 * @param encoding the way each delay is stored
+	 * @param file the file backing the matrix
+	 * @throws IOException if the file cannot be created or mapped
+	 */
+	public OffHeapDelayMatrix_Float(TopologicalGraph graph, boolean directed, Encoding encoding, Path file) throws IOException {
+		this.encoding = encoding;
+		mTotalNodeNum = graph.getNumberOfNodes();
+		segments = new ByteBuffer[segmentCount()];
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			for (int s = 0; s < segments.length; s++) {
+				segments[s] = channel.map(FileChannel.MapMode.READ_WRITE, (long) s << SEGMENT_SHIFT, segmentSize(s))
+						.order(ByteOrder.nativeOrder());
+			}
+		}
+		fill(new DelayGraph(graph, directed));
+	}
+
+	@Override
+	public float getDelay(int srcID, int destID) {
+		// check the nodeIDs against internal array-boundarys
+		if (srcID > mTotalNodeNum || destID > mTotalNodeNum) {
+			throw new ArrayIndexOutOfBoundsException("srcID or destID is higher than highest stored node-ID!");
+		}
+
+		final long offset = ((long) srcID * mTotalNodeNum + destID) * encoding.bytes;
+		final ByteBuffer segment = segments[(int) (offset >>> SEGMENT_SHIFT)];
+		final int index = (int) (offset & SEGMENT_MASK);
+		if (encoding == Encoding.FLOAT32) {
+			return segment.getFloat(index);
+		}
+
+		final short half = segment.getShort(index);
+		return half == FLOAT16_INFINITY ? Float.MAX_VALUE : Float.float16ToFloat(half);
+	}
+
+	/**
+	 * Gets the way each delay is stored.
+	 *
+	 * @return the encoding
+	 */
+	public Encoding getEncoding() {
+		return encoding;
+	}
+
+	/**
+	 * Computes the rows of delays in parallel and stores them in the {@link #segments}.
+	 */
+	private void fill(DelayGraph links) {
+		IntStream.range(0, mTotalNodeNum).parallel().forEach(src -> {
+			final float[] row = links.shortestPathsFrom(src);
+			long offset = (long) src * mTotalNodeNum * encoding.bytes;
+			for (int dest = 0; dest < mTotalNodeNum; dest++, offset += encoding.bytes) {
+				final ByteBuffer segment = segments[(int) (offset >>> SEGMENT_SHIFT)];
+				final int index = (int) (offset & SEGMENT_MASK);
+				if (encoding == Encoding.FLOAT32) {
+					segment.putFloat(index, row[dest]);
+				} else {
+					segment.putShort(index, toFloat16(row[dest]));
+				}
+			}
+		});
+	}
+
+	private static short toFloat16(float delay) {
+		if (delay == Float.MAX_VALUE) {
+			return FLOAT16_INFINITY;
+		}
+		final short half = Float.floatToFloat16(delay);
+		if (half == FLOAT16_INFINITY) {
+			throw new IllegalArgumentException("Delay " + delay + " exceeds the range of the " + Encoding.FLOAT16 + " encoding.");
+		}
+		return half;
+	}
+
+	private int segmentCount() {
+		final long bytes = (long) mTotalNodeNum * mTotalNodeNum * encoding.bytes;
+		return (int) Math.max(1, (bytes + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+	}
+
+	private int segmentSize(int segment) {
+		final long bytes = (long) mTotalNodeNum * mTotalNodeNum * encoding.bytes;
+		return (int) Math.min(SEGMENT_MASK + 1, bytes - ((long) segment << SEGMENT_SHIFT));
+	}
+
+	@Override
+	public String toString() {
+		return "off-heap " + encoding + " delay matrix of " + mTotalNodeNum + " nodes";
+	}
+}
@@ -0,0 +1,121 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.network;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A delay matrix that does not precompute all pairs of delays. The delays from a source
+ * node are computed with Dijkstra's algorithm the first time they are requested and kept
+ * in a least-recently-used cache of {@link #getCacheCapacity()} rows.
+ * <p/>
+ * This fits large sparse topologies where only a few nodes are mapped to simulation
+ * entities: memory is O(links + capacity * nodes) instead of O(nodes²), and no
+ * all-pairs computation is done at startup. As in {@link FloydWarshall_Float}, links with a
+ * zero delay are considered absent and unreachable nodes have a delay of {@link Float#MAX_VALUE}.
+ *
+ * @since CloudSim Toolkit 7.0
+ * @see DelayMatrix_Float
+ */
+public class OnDemandDelayMatrix_Float extends DelayMatrix_Float {
+
+	/**
+	 * Default number of source rows kept in the cache.
+	 */
+	public static final int DEFAULT_CACHE_CAPACITY = 256;
+
+	/**
+	 * The links of the topology.
+	 */
+	private final DelayGraph links;
+
+	/**
+	 * Maximum number of source rows kept in {@link #rows}.
+	 */
+	private final int cacheCapacity;
+
+	/**
+	 * The computed rows of delays, in access order.
+	 */
+	private final LinkedHashMap<Integer, float[]> rows;
+
+	/**
+	 * Creates a delay matrix with the {@link #DEFAULT_CACHE_CAPACITY default} cache capacity.
+	 *
+	 * @param graph the network topological graph
+	 * @param directed indicates if an directed matrix should be computed (true) or not (false)
+	 */
+	public OnDemandDelayMatrix_Float(TopologicalGraph graph, boolean directed) {
+		this(graph, directed, DEFAULT_CACHE_CAPACITY);
+	}
+
+	/**
+	 * Creates a delay matrix that computes rows on demand.
+	 *
+	 * @param graph the network topological graph
+	 * @param directed indicates if an directed matrix should be computed (true) or not (false)
+	 * @param cacheCapacity the maximum number of source rows kept in memory
+	 */
+	public OnDemandDelayMatrix_Float(TopologicalGraph graph, boolean directed, int cacheCapacity) {
+		if (cacheCapacity <= 0) {
+			throw new IllegalArgumentException("Cache capacity must be > 0.");
+		}
+
+		mTotalNodeNum = graph.getNumberOfNodes();
+		links = new DelayGraph(graph, directed);
+		this.cacheCapacity = cacheCapacity;
+		rows = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, float[]> eldest) {
+				return size() > OnDemandDelayMatrix_Float.this.cacheCapacity;
+			}
+		};
+	}
+
+	@Override
+	public float getDelay(int srcID, int destID) {
+		// check the nodeIDs against internal array-boundarys
+		if (srcID > mTotalNodeNum || destID > mTotalNodeNum) {
+			throw new ArrayIndexOutOfBoundsException("srcID or destID is higher than highest stored node-ID!");
+		}
+
+		return getRow(srcID)[destID];
+	}
+
+	/**
+	 * Gets the maximum number of source rows kept in memory.
+	 *
+	 * @return the cache capacity
+	 */
+	public int getCacheCapacity() {
+		return cacheCapacity;
+	}
+
+	/**
+	 * Gets the delays from a source node to every node, computing them if they are not cached.
+	 *
+	 * @param srcID the id of the source node
+	 * @return the row of delays of the source node
+	 */
+	protected synchronized float[] getRow(int srcID) {
+		float[] row = rows.get(srcID);
+		if (row == null) {
+			row = links.shortestPathsFrom(srcID);
+			rows.put(srcID, row);
+		}
+		return row;
+	}
+
+	@Override
+	public String toString() {
+		return "on-demand delay matrix of " + mTotalNodeNum + " nodes and " + links.getNumberOfLinks() +
+				" links, " + rows.size() + "/" + cacheCapacity + " source rows cached";
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.network.datacenter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds multi-rooted Clos networks for a {@link NetworkDatacenter}, instead of wiring the switches
+ * one by one with {@link NetworkDatacenter#attachSwitchToSwitch(Switch, Switch)}:
+ * <ul>
+ * <li>a k-ary fat-tree, with k pods of k/2 edge and k/2 aggregate switches, and (k/2)² root
+ * (core) switches, supporting up to k³/4 hosts with full bisection bandwidth;</li>
+ * <li>a two-tier leaf-spine fabric, where every leaf (edge) switch is connected to every spine
+ * (aggregate) switch.</li>
+ * </ul>
+ * The hosts of the datacenter are attached to the edge switches in the order of the host list.
+ * Packets are spread over the parallel uplinks by {@link Switch#selectUplink(HostPacket)}.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+public final class ClosTopologyBuilder {
+
+	private ClosTopologyBuilder() {}
+
+	/**
+	 * Builds a k-ary fat-tree and attaches the hosts of the datacenter to it.
+	 *
+	 * @param dc the datacenter
+	 * @param k the number of ports of every switch, an even number
+	 * @param switchingDelay the switching delay of every switch
+	 * @param hostBw the bandwidth of the links between the edge switches and the hosts
+	 * @param fabricBw the bandwidth of the links between the switches
+	 * @return the switches created, edge switches first, then aggregate and root switches
+	 * @throws IllegalArgumentException if k is not a positive even number, or if the datacenter
+	 *         has more than k³/4 hosts
+	 */
+	public static List<Switch> fatTree(NetworkDatacenter dc, int k, double switchingDelay, long hostBw, long fabricBw) {
+		if (k < 2 || k % 2 != 0) {
+			throw new IllegalArgumentException("The number of ports of a fat-tree must be a positive even number");
+		}
+		final int half = k / 2;
+		checkCapacity(dc, k * half * half);
+
+		List<Switch> edges = new ArrayList<>();
+		List<Switch> aggrs = new ArrayList<>();
+		List<Switch> roots = new ArrayList<>();
+		for (int pod = 0; pod < k; pod++) {
+			for (int i = 0; i < half; i++) {
+				edges.add(createSwitch(dc, "Edge" + pod + "_" + i, k, Switch.SwitchLevel.EDGE_LEVEL, switchingDelay, hostBw, fabricBw));
+			}
+			for (int i = 0; i < half; i++) {
+				aggrs.add(createSwitch(dc, "Aggr" + pod + "_" + i, k, Switch.SwitchLevel.AGGR_LEVEL, switchingDelay, fabricBw, fabricBw));
+			}
+		}
+		for (int i = 0; i < half * half; i++) {
+			roots.add(createSwitch(dc, "Root" + i, k, Switch.SwitchLevel.ROOT_LEVEL, switchingDelay, fabricBw, fabricBw));
+		}
+
+		for (int pod = 0; pod < k; pod++) {
+			for (int a = 0; a < half; a++) {
+				Switch aggr = aggrs.get(pod * half + a);
+				// every edge switch of the pod is connected to every aggregate switch of the pod
+				for (int e = 0; e < half; e++) {
+					dc.attachSwitchToSwitch(edges.get(pod * half + e), aggr);
+				}
+				// the a-th aggregate switch of every pod is connected to the a-th group of root switches
+				for (int r = 0; r < half; r++) {
+					dc.attachSwitchToSwitch(aggr, roots.get(a * half + r));
+				}
+			}
+		}
+
+		attachHosts(dc, edges, half);
+
+		List<Switch> switches = new ArrayList<>(edges);
+		switches.addAll(aggrs);
+		switches.addAll(roots);
+		return switches;
+	}
+
+	/**
+	 * Builds a leaf-spine fabric and attaches the hosts of the datacenter to it,
+	 * spreading them evenly over the leaf switches.
+	 *
+	 * @param dc the datacenter
+	 * @param numLeaves the number of leaf (edge) switches
+	 * @param numSpines the number of spine (aggregate) switches
+	 * @param switchingDelay the switching delay of every switch
+	 * @param hostBw the bandwidth of the links between the leaf switches and the hosts
+	 * @param fabricBw the bandwidth of the links between the leaf and the spine switches
+	 * @return the switches created, leaf switches first, then spine switches
+	 */
+	public static List<Switch> leafSpine(NetworkDatacenter dc, int numLeaves, int numSpines, double switchingDelay, long hostBw, long fabricBw) {
+		if (numLeaves <= 0 || numSpines <= 0) {
+			throw new IllegalArgumentException("A leaf-spine fabric needs at least one leaf and one spine switch");
+		}
+		final int hostsPerLeaf = Math.max(1, (dc.getHostList().size() + numLeaves - 1) / numLeaves);
+
+		List<Switch> leaves = new ArrayList<>();
+		List<Switch> spines = new ArrayList<>();
+		for (int i = 0; i < numLeaves; i++) {
+			leaves.add(createSwitch(dc, "Leaf" + i, hostsPerLeaf + numSpines, Switch.SwitchLevel.EDGE_LEVEL, switchingDelay, hostBw, fabricBw));
+		}
+		for (int i = 0; i < numSpines; i++) {
+			spines.add(createSwitch(dc, "Spine" + i, numLeaves, Switch.SwitchLevel.AGGR_LEVEL, switchingDelay, fabricBw, fabricBw));
+		}
+
+		for (Switch leaf : leaves) {
+			for (Switch spine : spines) {
+				dc.attachSwitchToSwitch(leaf, spine);
+			}
+		}
+
+		attachHosts(dc, leaves, hostsPerLeaf);
+
+		List<Switch> switches = new ArrayList<>(leaves);
+		switches.addAll(spines);
+		return switches;
+	}
+
+	private static Switch createSwitch(NetworkDatacenter dc, String name, double numPort, Switch.SwitchLevel level,
+									   double switchingDelay, long downlinkBw, long uplinkBw) {
+		Switch sw = new Switch(dc.getName() + "_" + name, numPort, level, switchingDelay, downlinkBw, uplinkBw, dc);
+		dc.registerSwitch(sw);
+		return sw;
+	}
+
+	private static void checkCapacity(NetworkDatacenter dc, int maxHosts) {
+		if (dc.getHostList().size() > maxHosts) {
+			throw new IllegalArgumentException("The topology supports up to " + maxHosts + " hosts, but "
+					+ dc.getName() + " has " + dc.getHostList().size());
+		}
+	}
+
+	private static void attachHosts(NetworkDatacenter dc, List<Switch> edges, int hostsPerEdge) {
+		int i = 0;
+		for (NetworkHost hs : dc.<NetworkHost>getHostList()) {
+			dc.attachSwitchToHost(edges.get(i++ / hostsPerEdge), hs);
+		}
+	}
+}
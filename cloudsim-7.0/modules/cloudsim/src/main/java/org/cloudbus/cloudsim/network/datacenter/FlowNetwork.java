@@ -0,0 +1,401 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.network.datacenter;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.core.*;
+
+/**
+ * A flow-level (fluid) model of the network of a {@link NetworkDatacenter}, used instead of the
+ * packet-level model of {@link Switch} when {@link NetworkDatacenter#setFlowLevelNetwork(boolean)}
+ * is enabled.
+ * <p/>
+ * Every {@link HostPacket} sent by a {@link TaskStage.TaskStageStatus#WAIT_SEND} stage to a guest on
+ * another host becomes a flow along the same path a packet would take: the sender guest link, the
+ * switch links and the downlink of the receiver host. The rates of the active flows are the max-min
+ * fair shares of the link bandwidths, and are recomputed only when a flow starts or completes.
+ * Once a flow has transferred all its data, the packet reaches the receiver NIC after the switching
+ * delays and the virtualization overheads along the path.
+ * <p/>
+ * The number of events is thus proportional to the number of flows instead of the number of hops
+ * and forwarding rounds, which makes shuffle-heavy {@link AppCloudlet} workloads much cheaper to simulate.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+public class FlowNetwork extends SimEntity {
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * A directed link shared by the flows that traverse it.
+	 */
+	protected static class Link implements Serializable {
+		@Serial
+		private static final long serialVersionUID = 1L;
+
+		/** Bandwidth of the link (bits/sec). */
+		private double capacity;
+
+		/** The active flows traversing the link. */
+		@SuppressWarnings("serial")
+		private final Set<Flow> flows = new LinkedHashSet<>();
+
+		/** Bandwidth not yet assigned while computing the fair shares. */
+		private double residual;
+
+		/** Number of flows whose rate is not yet assigned while computing the fair shares. */
+		private int unassigned;
+
+		Link(double capacity) {
+			this.capacity = capacity;
+		}
+
+		public double getCapacity() { return capacity; }
+
+		public int getNumberOfFlows() { return flows.size(); }
+	}
+
+	/**
+	 * The transfer of a packet between two hosts.
+	 */
+	protected static class Flow implements Serializable {
+		@Serial
+		private static final long serialVersionUID = 1L;
+
+		/** The packet carried by the flow. */
+		private final HostPacket pkt;
+
+		/** The links traversed by the flow. */
+		@SuppressWarnings("serial")
+		private final List<Link> path;
+
+		/** Switching delays and virtualization overheads along the path. */
+		private final double latency;
+
+		/** Data still to transfer (bits). */
+		private double remaining;
+
+		/** Current rate of the flow (bits/sec), or -1 while computing the fair shares. */
+		private double rate;
+
+		Flow(HostPacket pkt, List<Link> path, double latency) {
+			this.pkt = pkt;
+			this.path = path;
+			this.latency = latency;
+			this.remaining = 8.0 * pkt.data;
+		}
+
+		public double getRate() { return rate; }
+	}
+
+	/**
+	 * Flows whose remaining transfer time is below this value (in seconds) are completed,
+	 * to absorb rounding errors.
+	 */
+	private static final double PRECISION = 1e-9;
+
+	/** The datacenter whose network is modelled. */
+	private final NetworkDatacenter dc;
+
+	/** Links out of the sender guests, where each key is a guest id. */
+	@SuppressWarnings("serial")
+	private final Map<Integer, Link> guestLinks;
+
+	/** Links from the edge switches to the hosts, where each key is a host id. */
+	@SuppressWarnings("serial")
+	private final Map<Integer, Link> hostLinks;
+
+	/** Links between switches, where each key is made of the ids of the two switches. */
+	@SuppressWarnings("serial")
+	private final Map<Long, Link> switchLinks;
+
+	/** The flows currently transferring data. */
+	@SuppressWarnings("serial")
+	private final Set<Flow> activeFlows;
+
+	/** The links currently traversed by at least one flow. */
+	@SuppressWarnings("serial")
+	private final Set<Link> activeLinks;
+
+	/** The last time the progress of the active flows was updated. */
+	private double lastUpdateTime;
+
+	/**
+	 * Incremented at every rate recomputation, so that outdated completion events
+	 * can be told apart without cancelling them.
+	 */
+	private long version;
+
+	/**
+	 * Creates the flow-level network of a datacenter.
+	 *
+	 * @param name the name of the entity
+	 * @param dc the datacenter whose network is modelled
+	 */
+	public FlowNetwork(String name, NetworkDatacenter dc) {
+		super(name);
+		this.dc = dc;
+		guestLinks = new HashMap<>();
+		hostLinks = new HashMap<>();
+		switchLinks = new HashMap<>();
+		activeFlows = new LinkedHashSet<>();
+		activeLinks = new LinkedHashSet<>();
+	}
+
+	@Override
+	public void startEntity() {
+		lastUpdateTime = CloudSim.clock();
+	}
+
+	@Override
+	public void processEvent(SimEvent ev) {
+		CloudSimTags tag = ev.getTag();
+
+		if (tag == CloudActionTags.NETWORK_PKT_FORWARD) {
+			if ((Long) ev.getData() == version) {
+				updateFlows();
+			}
+		} else if (tag == CloudActionTags.NETWORK_PKT_REACHED_HOST) {
+			deliver((Flow) ev.getData());
+		} else {
+			Log.printlnConcat(getName(), ".processEvent(): unknown event tag ", tag);
+		}
+	}
+
+	/**
+	 * Starts the transfer of a packet to a guest hosted on another host.
+	 *
+	 * @param host the host of the sender guest
+	 * @param sender the sender guest
+	 * @param hpkt the packet to transfer
+	 * @throws IllegalStateException if the receiver is not placed, or a link of the path has no bandwidth
+	 */
+	public void addFlow(NetworkHost host, GuestEntity sender, HostPacket hpkt) {
+		NetworkHost receiverHost = getHost(hpkt.receiverGuestId);
+		if (receiverHost == null) {
+			throw new IllegalStateException("Receiver guest #" + hpkt.receiverGuestId + " is not placed on any host");
+		}
+
+		List<Link> path = new ArrayList<>();
+		Link guestLink = guestLinks.computeIfAbsent(sender.getId(), k -> new Link(sender.getBw()));
+		guestLink.capacity = sender.getBw(); // the guest may have been resized or migrated
+		path.add(guestLink);
+		double latency = hpkt.accumulatedVirtualizationOverhead + route(host.getSwitch(), receiverHost, hpkt, path);
+		latency += receiverHost.getTotalVirtualizationOverhead(hpkt.receiverGuestId, receiverHost.getGuestList().iterator(), 0);
+		for (Link link : path) {
+			if (link.capacity <= 0) { // the flow would never complete
+				throw new IllegalStateException("The transfer from guest #" + hpkt.senderGuestId + " to guest #"
+						+ hpkt.receiverGuestId + " crosses a link without bandwidth");
+			}
+		}
+
+		dc.totalDataTransfer += hpkt.data;
+
+		updateProgress();
+		Flow flow = new Flow(hpkt, path, latency);
+		if (flow.remaining <= 0) {
+			schedule(getId(), flow.latency, CloudActionTags.NETWORK_PKT_REACHED_HOST, flow);
+		} else {
+			activeFlows.add(flow);
+			for (Link link : path) {
+				link.flows.add(flow);
+				activeLinks.add(link);
+			}
+		}
+		reschedule();
+	}
+
+	/**
+	 * Gets the number of flows currently transferring data.
+	 *
+	 * @return the number of active flows
+	 */
+	public int getNumberOfActiveFlows() {
+		return activeFlows.size();
+	}
+
+	/**
+	 * Appends to a path the links from an edge switch to a host, following the same
+	 * routes as the packets forwarded by the {@link Switch switches}, and accounts the data
+	 * of the packet in the link counters of the switches.
+	 *
+	 * @param edge the edge switch of the sender host
+	 * @param receiverHost the receiver host
+	 * @param hpkt the packet to transfer
+	 * @param path receives the links of the route
+	 * @return the sum of the switching delays along the route
+	 */
+	protected double route(Switch edge, NetworkHost receiverHost, HostPacket hpkt, List<Link> path) {
+		Switch receiverEdge = receiverHost.getSwitch();
+		double latency = edge.switchingDelay;
+
+		if (edge != receiverEdge) {
+			Switch aggr = edge.selectUplink(hpkt);
+			path.add(getSwitchLink(edge, aggr, edge.uplinkBw, hpkt));
+			latency += aggr.switchingDelay;
+
+			if (!aggr.downlinkRoutes.containsKey(receiverEdge.getId())) {
+				Switch root = aggr.selectUplink(hpkt);
+				path.add(getSwitchLink(aggr, root, aggr.uplinkBw, hpkt));
+				latency += root.switchingDelay;
+
+				Integer aggrId = root.downlinkRoutes.get(receiverEdge.getId());
+				if (aggrId == null) {
+					throw new IllegalStateException("No route from " + root.getName() + " to " + receiverEdge.getName());
+				}
+				aggr = dc.getSwitchList().get(aggrId);
+				path.add(getSwitchLink(root, aggr, root.downlinkBw, hpkt));
+				latency += aggr.switchingDelay;
+			}
+
+			path.add(getSwitchLink(aggr, receiverEdge, aggr.downlinkBw, hpkt));
+			latency += receiverEdge.switchingDelay;
+		}
+
+		receiverEdge.dataSentToHosts.merge(receiverHost.getId(), hpkt.data, Long::sum);
+		path.add(hostLinks.computeIfAbsent(receiverHost.getId(), k -> new Link(receiverEdge.downlinkBw)));
+		return latency;
+	}
+
+	/**
+	 * Gets the host of a guest from the routing tables of the datacenter.
+	 *
+	 * @param guestId the id of the guest
+	 * @return the host of the guest, or null if the guest is not placed
+	 */
+	private NetworkHost getHost(int guestId) {
+		Integer hostId = dc.VmtoHostlist.get(guestId);
+		Integer switchId = dc.VmToSwitchid.get(guestId);
+		if (hostId == null || switchId == null) {
+			return null;
+		}
+		return dc.getSwitchList().get(switchId).hostList.get(hostId);
+	}
+
+	private Link getSwitchLink(Switch from, Switch to, long bandwidth, HostPacket hpkt) {
+		from.dataSentToSwitches.merge(to.getId(), hpkt.data, Long::sum);
+		return switchLinks.computeIfAbsent(((long) from.getId() << 32) | to.getId(), k -> new Link(bandwidth));
+	}
+
+	/**
+	 * Completes the flows that transferred all their data and recomputes the rates of the others.
+	 */
+	private void updateFlows() {
+		updateProgress();
+
+		List<Flow> completed = new ArrayList<>();
+		for (Flow flow : activeFlows) {
+			if (flow.remaining / flow.rate <= PRECISION) {
+				completed.add(flow);
+			}
+		}
+		for (Flow flow : completed) {
+			activeFlows.remove(flow);
+			for (Link link : flow.path) {
+				link.flows.remove(flow);
+				if (link.flows.isEmpty()) {
+					activeLinks.remove(link);
+				}
+			}
+			schedule(getId(), flow.latency, CloudActionTags.NETWORK_PKT_REACHED_HOST, flow);
+		}
+
+		reschedule();
+	}
+
+	/**
+	 * Advances the active flows at their current rates up to the current time.
+	 */
+	private void updateProgress() {
+		double elapsed = CloudSim.clock() - lastUpdateTime;
+		if (elapsed > 0) {
+			for (Flow flow : activeFlows) {
+				flow.remaining = Math.max(0, flow.remaining - flow.rate * elapsed);
+			}
+		}
+		lastUpdateTime = CloudSim.clock();
+	}
+
+	/**
+	 * Recomputes the max-min fair rates of the active flows, by progressive filling, and
+	 * schedules the next flow completion.
+	 */
+	private void reschedule() {
+		version++;
+		if (activeFlows.isEmpty()) {
+			return;
+		}
+
+		for (Flow flow : activeFlows) {
+			flow.rate = -1;
+		}
+		for (Link link : activeLinks) {
+			link.residual = link.capacity;
+			link.unassigned = link.flows.size();
+		}
+
+		int toAssign = activeFlows.size();
+		while (toAssign > 0) {
+			// the bottleneck is the link offering the smallest share to its unassigned flows
+			Link bottleneck = null;
+			double share = Double.MAX_VALUE;
+			for (Link link : activeLinks) {
+				if (link.unassigned > 0 && link.residual / link.unassigned < share) {
+					bottleneck = link;
+					share = link.residual / link.unassigned;
+				}
+			}
+
+			for (Flow flow : bottleneck.flows) {
+				if (flow.rate < 0) {
+					flow.rate = share;
+					toAssign--;
+					for (Link link : flow.path) {
+						link.residual = Math.max(0, link.residual - share);
+						link.unassigned--;
+					}
+				}
+			}
+		}
+
+		// the links of the active flows have bandwidth, so all the rates are positive
+		double nextCompletion = Double.MAX_VALUE;
+		for (Flow flow : activeFlows) {
+			nextCompletion = Math.min(nextCompletion, flow.remaining / flow.rate);
+		}
+		if (nextCompletion != Double.MAX_VALUE) {
+			schedule(getId(), nextCompletion, CloudActionTags.NETWORK_PKT_FORWARD, version);
+		}
+	}
+
+	/**
+	 * Stores the packet of a completed flow in the NIC of the receiver cloudlet, and
+	 * lets the datacenter resume the waiting cloudlet.
+	 */
+	private void deliver(Flow flow) {
+		NetworkHost hs = getHost(flow.pkt.receiverGuestId);
+		NetworkInterfaceCard nic = hs == null ? null : hs.getNics().get(flow.pkt.receiverCloudletId);
+		if (nic == null) {
+			Log.printlnConcat(getName(), ": receiver cloudlet #", flow.pkt.receiverCloudletId, " not found, flow dropped");
+			return;
+		}
+
+		nic.getReceivedPkts().add(flow.pkt);
+		sendNow(dc.getId(), CloudActionTags.VM_DATACENTER_EVENT);
+	}
+}
@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim.network.datacenter;
 
+import java.io.Serial;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -17,6 +18,7 @@ import org.cloudbus.cloudsim.Datacenter;
 import org.cloudbus.cloudsim.DatacenterCharacteristics;
 import org.cloudbus.cloudsim.Storage;
 import org.cloudbus.cloudsim.VmAllocationPolicy;
+import org.cloudbus.cloudsim.VmAllocationPolicy.GuestMapping;
 import org.cloudbus.cloudsim.core.*;
 
 /**
@@ -43,33 +45,51 @@ import org.cloudbus.cloudsim.core.*;
  * @since CloudSim Toolkit 3.0
  */
 public class NetworkDatacenter extends Datacenter {
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * A map between VMs and Switches, where each key
 	 * is a VM id and the corresponding value is the id of the switch where the VM is connected to.
 	 */
+	@SuppressWarnings("serial")
 	public Map<Integer, Integer> VmToSwitchid;
 
 	/**
 	 * A map between hosts and Switches, where each key
 	 * is a host id and the corresponding value is the id of the switch where the host is connected to.
 	 */
+	@SuppressWarnings("serial")
 	public Map<Integer, Integer> HostToSwitchid;
 
 	/**
 	 * A map of datacenter switches where each key is a switch id
 	 * and the corresponding value is the switch itself.
 	 */
+	@SuppressWarnings("serial")
 	private final Map<Integer, Switch> SwitchList;
 
 	/**
 	 * A map between VMs and Hosts, where each key
 	 * is a VM id and the corresponding value is the id of the host where the VM is placed.
 	 */
+	@SuppressWarnings("serial")
 	public Map<Integer, Integer> VmtoHostlist;
 
 	/** Total data transmitted through the network of this datacenter (in bytes) */
 	public double totalDataTransfer = 0;
 
+	/**
+	 * Whether the switches send the packets bound for the same next hop as a single
+	 * batch event, instead of one event per packet.
+	 */
+	private boolean packetBatching = false;
+
+	/**
+	 * The flow-level model of the network, or null if the packets are simulated through the switches.
+	 */
+	private FlowNetwork flowNetwork = null;
+
 	/**
 	 * Instantiates a new NetworkDatacenter object.
 	 * 
@@ -107,20 +127,99 @@ public class NetworkDatacenter extends Datacenter {
 
 	public Map<Integer, Switch> getSwitchList() { return SwitchList; }
 
+	public boolean isPacketBatching() { return packetBatching; }
+
+	/**
+	 * Sets whether the switches of the datacenter send the packets bound for the same next hop,
+	 * within a forwarding round, which arrive at the same time, as a single batch event.
+	 * The link bandwidth is shared among the packets as in the per-packet model, so the delivery
+	 * times are the same; batching only reduces the number of events of shuffle-heavy workloads.
+	 *
+	 * @param packetBatching true to batch packets per link, false to send one event per packet
+	 */
+	public void setPacketBatching(boolean packetBatching) { this.packetBatching = packetBatching; }
+
+	public FlowNetwork getFlowNetwork() { return flowNetwork; }
+
+	public boolean isFlowLevelNetwork() { return flowNetwork != null; }
+
+	/**
+	 * Sets whether the data sent between hosts is simulated as flows sharing the link bandwidths
+	 * fairly (see {@link FlowNetwork}), instead of packets forwarded by the switches.
+	 * The flow-level model needs a number of events proportional to the number of transfers,
+	 * which suits long bulk transfers; the packet-level model, the default, is kept for validation.
+	 * It must be set before the simulation starts, and can not be unset, as the {@link FlowNetwork}
+	 * is a simulation entity, which can not be removed once created.
+	 *
+	 * @param flowLevel true to simulate flows, false to simulate packets
+	 * @throws IllegalStateException if the flow-level model is unset after being set
+	 */
+	public void setFlowLevelNetwork(boolean flowLevel) {
+		if (flowLevel && flowNetwork == null) {
+			flowNetwork = new FlowNetwork(getName() + "_FlowNetwork", this);
+		} else if (!flowLevel && flowNetwork != null) {
+			throw new IllegalStateException("The flow-level network of " + getName() + " can not be disabled once created");
+		}
+	}
+
 	@Override
 	protected void processVmCreate(SimEvent ev, boolean ack) {
 		super.processVmCreate(ev, ack);
-		GuestEntity guest = (GuestEntity) ev.getData();
+		updateRoutes((GuestEntity) ev.getData());
+	}
+
+	@Override
+	protected void processVmDestroy(SimEvent ev, boolean ack) {
+		super.processVmDestroy(ev, ack);
+		removeRoutes((GuestEntity) ev.getData());
+	}
+
+	@Override
+	protected void processVmMigrate(SimEvent ev, boolean ack) {
+		super.processVmMigrate(ev, ack);
+		updateRoutes(((GuestMapping) ev.getData()).vm());
+	}
+
+	/**
+	 * Updates the routing tables ({@link #VmtoHostlist} and {@link #VmToSwitchid}) of a guest
+	 * and of the guests nested in it, after the guest has been placed or migrated.
+	 *
+	 * @param guest the guest that has been placed
+	 */
+	protected void updateRoutes(GuestEntity guest) {
 		HostEntity host = guest.getHost();
+		if (host == null) {
+			return;
+		}
 
-		if (host != null) {
-			// very ugly, but no other way to support nested virtualization with the current network routing logic
-			while (host instanceof VirtualEntity vm) {
-				host = vm.getHost();
+		// very ugly, but no other way to support nested virtualization with the current network routing logic
+		while (host instanceof VirtualEntity vm) {
+			host = vm.getHost();
+		}
+
+		VmToSwitchid.put(guest.getId(), ((NetworkedEntity) host).getSwitch().getId());
+		VmtoHostlist.put(guest.getId(), host.getId());
+
+		if (guest instanceof VirtualEntity vm) {
+			for (GuestEntity nested : vm.getGuestList()) {
+				updateRoutes(nested);
 			}
+		}
+	}
 
-			VmToSwitchid.put(guest.getId(), ((NetworkedEntity) host).getSwitch().getId());
-			VmtoHostlist.put(guest.getId(), host.getId());
+	/**
+	 * Removes a destroyed guest, and the guests nested in it, from the routing tables.
+	 *
+	 * @param guest the guest that has been destroyed
+	 */
+	protected void removeRoutes(GuestEntity guest) {
+		VmToSwitchid.remove(guest.getId());
+		VmtoHostlist.remove(guest.getId());
+
+		if (guest instanceof VirtualEntity vm) {
+			for (GuestEntity nested : vm.getGuestList()) {
+				removeRoutes(nested);
+			}
 		}
 	}
 
@@ -190,16 +289,13 @@ public class NetworkDatacenter extends Datacenter {
 			if (sw2.level != Switch.SwitchLevel.AGGR_LEVEL) {
 				throw new IllegalArgumentException("Edge switch can only be attached to Aggregate switch");
 			} else {
-				sw1.uplinkSwitches.add(sw2);
-				sw2.downlinkSwitches.add(sw1);
+				connect(sw2, sw1);
 			}
 		} else if (sw1.level == Switch.SwitchLevel.AGGR_LEVEL) {
 			if (sw2.level == Switch.SwitchLevel.ROOT_LEVEL) {
-				sw1.uplinkSwitches.add(sw2);
-				sw2.downlinkSwitches.add(sw1);
+				connect(sw2, sw1);
 			} else if (sw2.level == Switch.SwitchLevel.EDGE_LEVEL) {
-				sw1.downlinkSwitches.add(sw2);
-				sw2.uplinkSwitches.add(sw1);
+				connect(sw1, sw2);
 			} else {
 				throw new IllegalArgumentException("Cannot attach to switch of same level");
 			}
@@ -207,8 +303,30 @@ public class NetworkDatacenter extends Datacenter {
 			if (sw2.level != Switch.SwitchLevel.AGGR_LEVEL) {
 				throw new IllegalArgumentException("Root switch can only be attached to Aggregate switch");
 			} else {
-				sw1.downlinkSwitches.add(sw2);
-				sw2.uplinkSwitches.add(sw1);
+				connect(sw1, sw2);
+			}
+		}
+	}
+
+	/**
+	 * Links an upper-level switch to a lower-level one, and updates the downlink routes
+	 * of the upper levels towards the edge switches below.
+	 *
+	 * @param upper the switch with the uplink port
+	 * @param lower the switch with the downlink port
+	 */
+	private void connect(Switch upper, Switch lower) {
+		upper.downlinkSwitches.add(lower);
+		lower.uplinkSwitches.add(upper);
+
+		if (lower.level == Switch.SwitchLevel.EDGE_LEVEL) {
+			upper.downlinkRoutes.put(lower.getId(), lower.getId());
+			for (Switch root : upper.uplinkSwitches) {
+				root.downlinkRoutes.put(lower.getId(), upper.getId());
+			}
+		} else {
+			for (Switch edge : lower.downlinkSwitches) {
+				upper.downlinkRoutes.put(edge.getId(), lower.getId());
 			}
 		}
 	}
@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim.network.datacenter;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -37,13 +38,18 @@ import org.cloudbus.cloudsim.provisioners.RamProvisioner;
  * @since CloudSim Toolkit 3.0
  */
 public class NetworkHost extends Host implements NetworkedEntity {
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/** Edge switch to which the Host is connected. */
 	private Switch sw;
 
 	/** cloudlet -> nic
 	 * @TODO: Ideally the nic shouldn't skip the guest entity; to be fixed
 	 */
+	@SuppressWarnings("serial")
 	private Map<Integer, NetworkInterfaceCard> nics;
+	@SuppressWarnings("serial")
 	private Map<Integer, List<NetworkPacket>> sendPktExternally;
 
 	public NetworkHost(
@@ -74,6 +80,7 @@ public class NetworkHost extends Host implements NetworkedEntity {
 	 */
     public void sendPackets() {
 		boolean flag = false;
+		FlowNetwork flows = ((NetworkDatacenter) getDatacenter()).getFlowNetwork();
 
 		for (NetworkInterfaceCard nic : nics.values()) {
 			for (HostPacket hpkt : nic.getPktsToSend()) {
@@ -84,6 +91,8 @@ public class NetworkHost extends Host implements NetworkedEntity {
 
 					// insert the packet in received list on destination guest
 					nics.get(hpkt.receiverCloudletId).getReceivedPkts().add(hpkt);
+				} else if (flows != null) { // fluid transfer through the datacenter network
+					flows.addFlow(this, getSender(hpkt.senderGuestId), hpkt);
 				} else {
 					sendPktExternally.computeIfAbsent(hpkt.senderGuestId, k -> new ArrayList<>())
 									 .add(new NetworkPacket(getId(), hpkt));
@@ -94,10 +103,7 @@ public class NetworkHost extends Host implements NetworkedEntity {
 
 		// send to edge switch, since destination guest is hosted on another host
 		for (Integer guestId : sendPktExternally.keySet()) {
-			GuestEntity sender = VmList.getById(this.getGuestList(), guestId);
-			if (sender == null) {
-				throw new RuntimeException("senderVm not found! is it nested?");
-			}
+			GuestEntity sender = getSender(guestId);
 
 			for (NetworkPacket npkt : sendPktExternally.get(guestId)) {
 				// Assumption: no overprovisioning of guest's bandwidth
@@ -119,6 +125,14 @@ public class NetworkHost extends Host implements NetworkedEntity {
 		}
 	}
 
+	private GuestEntity getSender(int guestId) {
+		GuestEntity sender = VmList.getById(this.getGuestList(), guestId);
+		if (sender == null) {
+			throw new RuntimeException("senderVm not found! is it nested?");
+		}
+		return sender;
+	}
+
 	public Map<Integer, NetworkInterfaceCard> getNics() {
 		return nics;
 	}
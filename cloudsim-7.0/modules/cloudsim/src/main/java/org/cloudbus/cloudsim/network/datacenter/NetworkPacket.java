@@ -8,6 +8,9 @@
 
 package org.cloudbus.cloudsim.network.datacenter;
 
+import java.io.Serial;
+import java.io.Serializable;
+
 /**
  * NetworkPacket represents the packet which travel from one physical host to another.
  * 
@@ -22,7 +25,10 @@ package org.cloudbus.cloudsim.network.datacenter;
  * @author Remo Andreoli
  * @since CloudSim Toolkit 1.0
  */
-public class NetworkPacket {
+public class NetworkPacket implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     /** Information about the ''virtual'' sender and receiver of the packet. */
     HostPacket pkt;
 
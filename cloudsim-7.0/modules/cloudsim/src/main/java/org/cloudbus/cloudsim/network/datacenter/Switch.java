@@ -8,8 +8,10 @@
 
 package org.cloudbus.cloudsim.network.datacenter;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -34,6 +36,9 @@ import org.cloudbus.cloudsim.core.predicates.PredicateType;
  * @since CloudSim Toolkit 3.0
  */
 public class Switch extends SimEntity {
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/** Switch level in datacenter topology.
 	 * -) Root switch connects the Datacenter to external network.
 	 * -) Aggregate switches reside in-between the root switch and the edge switches.
@@ -57,6 +62,7 @@ public class Switch extends SimEntity {
          * where each key is a switch id and the corresponding
          * value is the packets sent to that switch.
          */
+	@SuppressWarnings("serial")
 	public Map<Integer, List<NetworkPacket>> pktsToUplinkSwitches;
 
         /**
@@ -64,6 +70,7 @@ public class Switch extends SimEntity {
          * where each key is a switch id and the corresponding
          * value is the packets sent to that switch.
          */
+	@SuppressWarnings("serial")
 	public Map<Integer, List<NetworkPacket>> pktsToDownlinkSwitches;
 
 	/**
@@ -71,24 +78,51 @@ public class Switch extends SimEntity {
 	 * where each key is a host id and the corresponding
 	 * value is the packets sent to that host.
 	 */
+	@SuppressWarnings("serial")
 	public Map<Integer, List<NetworkPacket>> pktsToHosts;
 
         /**
          * List of uplink switches.
          */
+	@SuppressWarnings("serial")
 	public List<Switch> uplinkSwitches;
 
         /**
          * List of downlink switches.
          */
+	@SuppressWarnings("serial")
 	public List<Switch> downlinkSwitches;
 
+	/**
+	 * Routing table towards the edge switches below this switch, where each key
+	 * is an edge switch id and the corresponding value is the id of the downlink switch
+	 * to forward the packets to. It is maintained by
+	 * {@link NetworkDatacenter#attachSwitchToSwitch(Switch, Switch)}.
+	 */
+	@SuppressWarnings("serial")
+	public Map<Integer, Integer> downlinkRoutes;
+
 	/**
 	 * Map of hosts connected to the switch, where each key is the host ID
 	 * and the corresponding value is the host itself.
 	 */
+	@SuppressWarnings("serial")
 	public Map<Integer, NetworkHost> hostList;
 
+	/**
+	 * Data forwarded to the switches on the uplink and downlink ports (in bytes),
+	 * where each key is a switch id.
+	 */
+	@SuppressWarnings("serial")
+	public Map<Integer, Long> dataSentToSwitches;
+
+	/**
+	 * Data forwarded to the hosts connected to the switch (in bytes),
+	 * where each key is a host id.
+	 */
+	@SuppressWarnings("serial")
+	public Map<Integer, Long> dataSentToHosts;
+
 	/**
          * Bandwitdh of uplink (Bytes/sec).
          */
@@ -133,6 +167,10 @@ public class Switch extends SimEntity {
 
 		downlinkSwitches = new ArrayList<>();
 		uplinkSwitches = new ArrayList<>();
+		downlinkRoutes = new HashMap<>();
+
+		dataSentToSwitches = new HashMap<>();
+		dataSentToHosts = new HashMap<>();
 	}
 
 	@Override
@@ -161,30 +199,41 @@ public class Switch extends SimEntity {
 	}
 
         /**
-         * Store a processed packet in the receiver host.
+         * Store a processed packet, or batch of packets, in the receiver host.
          * @param ev The packet sent.
          */
 	protected void storePacketInHost(SimEvent ev) {
-		NetworkPacket npkt = (NetworkPacket) ev.getData();
-
-		NetworkHost hs = hostList.get(npkt.receiverHostId);
-		NetworkInterfaceCard nic = hs.getNics().get(npkt.pkt.receiverCloudletId);
+		for (NetworkPacket npkt : getPackets(ev)) {
+			NetworkHost hs = hostList.get(npkt.receiverHostId);
+			NetworkInterfaceCard nic = hs.getNics().get(npkt.pkt.receiverCloudletId);
 
-		nic.getReceivedPkts().add(npkt.pkt);
+			nic.getReceivedPkts().add(npkt.pkt);
+		}
 	}
 
 	/**
-	 * Process packet a packet coming from uplink port, and to be sent to
-	 * switches connected through a downlink port.
+	 * Process packet a packet, or batch of packets, coming from uplink port,
+	 * and to be sent to switches connected through a downlink port.
 	 * 
 	 * @param ev Event/packet to process
 	 */
 	protected void processPacketDown(SimEvent ev) {
-		NetworkPacket npkt = (NetworkPacket) ev.getData();
-		int recvVMid = npkt.pkt.receiverGuestId;
 		CloudSim.cancelAll(getId(), new PredicateType(CloudActionTags.NETWORK_PKT_FORWARD));
 		schedule(getId(), switchingDelay, CloudActionTags.NETWORK_PKT_FORWARD);
 
+		for (NetworkPacket npkt : getPackets(ev)) {
+			routePacketDown(npkt);
+		}
+	}
+
+	/**
+	 * Enqueues a packet coming from uplink port towards its downlink port.
+	 *
+	 * @param npkt the packet to route
+	 */
+	protected void routePacketDown(NetworkPacket npkt) {
+		int recvVMid = npkt.pkt.receiverGuestId;
+
 		// packet is to be received by the host
 		if (level == SwitchLevel.EDGE_LEVEL) {
 			int hostid = dc.VmtoHostlist.get(recvVMid);
@@ -199,18 +248,28 @@ public class Switch extends SimEntity {
 	}
 
 	/**
-	 * Process a packet coming from a downlink port, and to be sent to
-	 * switches connected through a uplink port.
+	 * Process a packet, or batch of packets, coming from a downlink port,
+	 * and to be sent to switches connected through a uplink port.
 	 * 
 	 * @param ev Event/packet to process
 	 */
 	protected void processPacketUp(SimEvent ev) {
-		NetworkPacket npkt = (NetworkPacket) ev.getData();
-		int recvVMid = npkt.pkt.receiverGuestId;
-
 		CloudSim.cancelAll(getId(), new PredicateType(CloudActionTags.NETWORK_PKT_FORWARD));
 		schedule(getId(), switchingDelay, CloudActionTags.NETWORK_PKT_FORWARD);
 
+		for (NetworkPacket npkt : getPackets(ev)) {
+			routePacketUp(npkt);
+		}
+	}
+
+	/**
+	 * Enqueues a packet coming from a downlink port towards its next hop.
+	 *
+	 * @param npkt the packet to route
+	 */
+	protected void routePacketUp(NetworkPacket npkt) {
+		int recvVMid = npkt.pkt.receiverGuestId;
+
 		// Packet is to be sent from an host
 		if (level == SwitchLevel.EDGE_LEVEL) {
 			int hostId = dc.VmtoHostlist.get(recvVMid);
@@ -223,9 +282,8 @@ public class Switch extends SimEntity {
 				return;
 			}
 
-			// Send to aggregate level
-			// ASSUMPTION: EACH EDGE is Connected to one aggregate level switch only
-			Switch sw = uplinkSwitches.getFirst();
+			// Send to aggregate level, spreading the flows over the parallel uplinks
+			Switch sw = selectUplink(npkt.pkt);
 			pktsToUplinkSwitches.computeIfAbsent(sw.getId(), k -> new ArrayList<>()).add(npkt);
 		}
 		else if (level == SwitchLevel.AGGR_LEVEL) { // packet received from edge router
@@ -233,10 +291,10 @@ public class Switch extends SimEntity {
 			int switchId = dc.VmToSwitchid.get(recvVMid);
 
 			// send to edge (it's not going up, but same level)
-            if (downlinkSwitches.stream().anyMatch(sw -> sw.getId() == switchId)) {
+			if (downlinkRoutes.containsKey(switchId)) {
 				pktsToDownlinkSwitches.computeIfAbsent(switchId, k -> new ArrayList<>()).add(npkt);
-			} else {// send to up to root level (ASSUMPTION: EACH EDGE is Connected to one aggregate level switch only)
-				Switch sw = uplinkSwitches.getFirst();
+			} else { // send up to root level, spreading the flows over the parallel uplinks
+				Switch sw = selectUplink(npkt.pkt);
 				pktsToUplinkSwitches.computeIfAbsent(sw.getId(), k -> new ArrayList<>()).add(npkt);
 			}
 		}
@@ -244,17 +302,9 @@ public class Switch extends SimEntity {
 		else if (level == SwitchLevel.ROOT_LEVEL) { // packet received from aggregate router
 			// get id of edge switch
 			int edgeSwitchId = dc.VmToSwitchid.get(recvVMid);
-			// search which aggregate switch is connected to the edge switch
-			int aggrSwitchId = -1;
-            for (Switch sw : downlinkSwitches) {
-				for (Switch edge : sw.downlinkSwitches) {
-					if (edge.getId() == edgeSwitchId) {
-						aggrSwitchId = sw.getId();
-						break;
-					}
-				}
-			}
-			if (aggrSwitchId < 0) {
+			// get the aggregate switch connected to the edge switch
+			Integer aggrSwitchId = downlinkRoutes.get(edgeSwitchId);
+			if (aggrSwitchId == null) {
 				Log.println(" No destination for this packet");
 			} else {
 				pktsToDownlinkSwitches.computeIfAbsent(aggrSwitchId, k -> new ArrayList<>()).add(npkt);
@@ -264,6 +314,63 @@ public class Switch extends SimEntity {
 		}
 	}
         
+	/**
+	 * Selects the uplink switch of a packet with equal-cost multi-path (ECMP) routing:
+	 * the uplink is chosen by hashing the sender and receiver of the packet, so that all the
+	 * packets of a sender/receiver pair follow the same path while different pairs are
+	 * spread over the parallel uplinks. The id of the switch is part of the hash so that
+	 * the choices of the successive levels are independent.
+	 *
+	 * @param pkt the packet to route
+	 * @return the next-hop uplink switch
+	 */
+	protected Switch selectUplink(HostPacket pkt) {
+		if (uplinkSwitches.size() == 1) {
+			return uplinkSwitches.getFirst();
+		}
+		if (uplinkSwitches.isEmpty()) {
+			throw new IllegalStateException(getName() + " has no uplink switch");
+		}
+
+		// the same hash as Objects.hash, without boxing the ids on every packet
+		int hash = 31 + pkt.senderGuestId;
+		hash = 31 * hash + pkt.receiverGuestId;
+		hash = 31 * hash + pkt.senderCloudletId;
+		hash = 31 * hash + pkt.receiverCloudletId;
+		hash = 31 * hash + getId();
+		// spread the bits of the hash before reducing it to the number of uplinks
+		hash ^= hash >>> 16;
+		hash *= 0x85ebca6b;
+		hash ^= hash >>> 13;
+		return uplinkSwitches.get(Math.floorMod(hash, uplinkSwitches.size()));
+	}
+
+	/**
+	 * Gets the average utilization of the link towards a switch since the start of the simulation.
+	 *
+	 * @param switchId the id of an uplink or downlink switch
+	 * @return the fraction of the link bandwidth used, between 0 and 1
+	 */
+	public double getSwitchLinkUtilization(int switchId) {
+		boolean uplink = uplinkSwitches.stream().anyMatch(sw -> sw.getId() == switchId);
+		return getUtilization(dataSentToSwitches.getOrDefault(switchId, 0L), uplink ? uplinkBw : downlinkBw);
+	}
+
+	/**
+	 * Gets the average utilization of the link towards a host since the start of the simulation.
+	 *
+	 * @param hostId the id of a host connected to the switch
+	 * @return the fraction of the link bandwidth used, between 0 and 1
+	 */
+	public double getHostLinkUtilization(int hostId) {
+		return getUtilization(dataSentToHosts.getOrDefault(hostId, 0L), downlinkBw);
+	}
+
+	private static double getUtilization(long data, long bandwidth) {
+		double time = CloudSim.clock();
+		return time <= 0 || bandwidth <= 0 ? 0 : 8 * data / (bandwidth * time);
+	}
+
 	/**
 	 * Register a host that is connected to the switch.
 	 * Resource characteristics answer (@TODO: not in use)
@@ -299,50 +406,61 @@ public class Switch extends SimEntity {
 		}
 	}
 
+	/**
+	 * Gets the packets carried by an event, which is either a single packet
+	 * or a batch of packets bound for the same next hop.
+	 *
+	 * @param ev the event
+	 * @return the packets of the event
+	 */
+	@SuppressWarnings("unchecked")
+	protected static List<NetworkPacket> getPackets(SimEvent ev) {
+		if (ev.getData() instanceof NetworkPacket npkt) {
+			return List.of(npkt);
+		}
+		return (List<NetworkPacket>) ev.getData();
+	}
+
 	/**
 	 * Forwards the processed packets to their respective destinations:
 	 * an host, a downlink switch, or a uplink switch.
-	 *
+	 * <p/>
+	 * The link bandwidth is shared among the packets waiting for the same next hop, and by
+	 * default each packet gets its own event. If {@link NetworkDatacenter#isPacketBatching()},
+	 * the packets waiting for the same next hop, which arrive at the same time, are sent as a
+	 * single batch event instead. The delays are the same in both modes, only the number of
+	 * events differs, e.g. a single event per next hop when the packets have the same size.
 	 */
 	protected void forwardProcessedPackets() {
 		// Iterate over the packets in the downlink switch
 		for (Entry<Integer, List<NetworkPacket>> es : pktsToDownlinkSwitches.entrySet()) {
-			int receiverSwitchId = es.getKey();
-			List<NetworkPacket> hspktlist = es.getValue();
-			if (!hspktlist.isEmpty()) {
-				double avband = (double) downlinkBw / hspktlist.size();
-				for (NetworkPacket hspkt : hspktlist) {
-					double delay = 8 * hspkt.pkt.data / avband;
-
-					this.send(receiverSwitchId, delay, CloudActionTags.NETWORK_PKT_DOWN, hspkt);
-				}
-				hspktlist.clear();
-			}
+			forwardToSwitch(es.getKey(), es.getValue(), downlinkBw, CloudActionTags.NETWORK_PKT_DOWN);
 		}
 
 		for (Entry<Integer, List<NetworkPacket>> es : pktsToUplinkSwitches.entrySet()) {
-			int receiverSwitchId = es.getKey();
-			List<NetworkPacket> hspktlist = es.getValue();
-			if (!hspktlist.isEmpty()) {
-				// sharing bandwidth between packets
-				double avband = (double) uplinkBw / hspktlist.size();
-				for (NetworkPacket hspkt : hspktlist) {
-					double delay = 8 * hspkt.pkt.data / avband;
-
-					this.send(receiverSwitchId, delay, CloudActionTags.NETWORK_PKT_UP, hspkt);
-				}
-				hspktlist.clear();
-			}
+			forwardToSwitch(es.getKey(), es.getValue(), uplinkBw, CloudActionTags.NETWORK_PKT_UP);
 		}
 
+		boolean batching = dc.isPacketBatching();
 		for (Entry<Integer, List<NetworkPacket>> es : pktsToHosts.entrySet()) {
 			List<NetworkPacket> hspktlist = es.getValue();
 			if (!hspktlist.isEmpty()) {
 				double avband = (double) downlinkBw / hspktlist.size();
+
+				// batches of packets with the same delay
+				Map<Double, List<NetworkPacket>> batches = batching ? new LinkedHashMap<>() : null;
 				for (NetworkPacket npkt : hspktlist) {
 					NetworkHost hs = hostList.get(npkt.receiverHostId);
 
-					if (hs == null) { // nested virtualization edge-case
+					if (hs == null) { // the receiver guest moved since the packet was routed
+						Integer hostId = dc.VmtoHostlist.get(npkt.getReceiverGuestId());
+						hs = hostId == null ? null : hostList.get(hostId);
+						if (hs != null) {
+							npkt.receiverHostId = hostId;
+						}
+					}
+
+					if (hs == null) { // nested virtualization edge-case, the guest is not in the routing table
 						for (NetworkHost candidateHs: hostList.values()) {
 							if (candidateHs.getNics().get(npkt.pkt.receiverCloudletId) != null) {
 								hs = candidateHs;
@@ -357,14 +475,69 @@ public class Switch extends SimEntity {
 					// simulate traversal overhead of the virtualization layers (host -> (nested) receiver guest)
                     assert hs != null;
                     int virtOverhead = hs.getTotalVirtualizationOverhead(npkt.getReceiverGuestId(), hs.getGuestList().iterator(), 0);
+					dataSentToHosts.merge(npkt.receiverHostId, npkt.pkt.data, Long::sum);
 					double delay = (8 * npkt.pkt.data / avband) + virtOverhead;
-					this.send(getId(), delay, CloudActionTags.NETWORK_PKT_REACHED_HOST, npkt);
+					if (batching) {
+						batches.computeIfAbsent(delay, k -> new ArrayList<>()).add(npkt);
+					} else {
+						this.send(getId(), delay, CloudActionTags.NETWORK_PKT_REACHED_HOST, npkt);
+					}
+				}
+
+				if (batching) {
+					for (Entry<Double, List<NetworkPacket>> batch : batches.entrySet()) {
+						this.send(getId(), batch.getKey(), CloudActionTags.NETWORK_PKT_REACHED_HOST, batch.getValue());
+					}
 				}
 				hspktlist.clear();
 			}
 		}
 	}
 
+	/**
+	 * Forwards the packets waiting for a switch, sharing the bandwidth of the link among them,
+	 * in batches of packets with the same delay if {@link NetworkDatacenter#isPacketBatching()}.
+	 *
+	 * @param receiverSwitchId the id of the next-hop switch
+	 * @param hspktlist the packets waiting for the switch, cleared once sent
+	 * @param bandwidth the bandwidth of the link
+	 * @param tag the tag of the events to send
+	 */
+	private void forwardToSwitch(int receiverSwitchId, List<NetworkPacket> hspktlist, long bandwidth, CloudActionTags tag) {
+		if (hspktlist.isEmpty()) {
+			return;
+		}
+
+		dataSentToSwitches.merge(receiverSwitchId, (long) getTotalData(hspktlist), Long::sum);
+		// sharing bandwidth between packets
+		double avband = (double) bandwidth / hspktlist.size();
+		if (dc.isPacketBatching()) {
+			// batches of packets with the same delay
+			Map<Double, List<NetworkPacket>> batches = new LinkedHashMap<>();
+			for (NetworkPacket hspkt : hspktlist) {
+				batches.computeIfAbsent(8 * hspkt.pkt.data / avband, k -> new ArrayList<>()).add(hspkt);
+			}
+			for (Entry<Double, List<NetworkPacket>> batch : batches.entrySet()) {
+				this.send(receiverSwitchId, batch.getKey(), tag, batch.getValue());
+			}
+		} else {
+			for (NetworkPacket hspkt : hspktlist) {
+				double delay = 8 * hspkt.pkt.data / avband;
+
+				this.send(receiverSwitchId, delay, tag, hspkt);
+			}
+		}
+		hspktlist.clear();
+	}
+
+	private static double getTotalData(List<NetworkPacket> packets) {
+		double data = 0;
+		for (NetworkPacket npkt : packets) {
+			data += npkt.pkt.data;
+		}
+		return data;
+	}
+
 	// @TODO: These are never used, remove?
         /**
          * Gets the host of a given VM.
@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim.power;
 
+import java.io.Serial;
 import java.util.List;
 
 import org.cloudbus.cloudsim.Datacenter;
@@ -19,9 +20,12 @@ import org.cloudbus.cloudsim.VmAllocationPolicy;
 import org.cloudbus.cloudsim.VmAllocationPolicy.GuestMapping;
 import org.cloudbus.cloudsim.core.CloudActionTags;
 import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.CloudSimTags;
 import org.cloudbus.cloudsim.core.GuestEntity;
 import org.cloudbus.cloudsim.core.SimEvent;
 import org.cloudbus.cloudsim.core.predicates.PredicateType;
+import org.cloudbus.cloudsim.jfr.SchedulerUpdateEvent;
+import org.cloudbus.cloudsim.power.models.PowerModelBatch;
 
 /**
  * PowerDatacenter is a class that enables simulation of power-aware data centers.
@@ -40,6 +44,8 @@ import org.cloudbus.cloudsim.core.predicates.PredicateType;
  * @since CloudSim Toolkit 2.0
  */
 public class PowerDatacenter extends Datacenter {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** The datacenter consumed power. */
 	private double power;
@@ -53,6 +59,17 @@ public class PowerDatacenter extends Datacenter {
 	/** The VM migration count. */
 	private int migrationCount;
 
+	/** The power models of the hosts, evaluated in batch at every time frame; rebuilt after a checkpoint is restored. */
+	private transient PowerModelBatch powerModelBatch;
+
+	/** Indicates if the energy of the hosts is integrated exactly between their utilization change points,
+	 * instead of interpolating the power linearly between the time frame boundaries. */
+	private boolean exactEnergyIntegration;
+
+	/** Indicates if the next update is scheduled at the next change point of the hosts,
+	 * instead of after a fixed scheduling interval. */
+	private boolean adaptiveScheduling;
+
 	/**
 	 * Instantiates a new PowerDatacenter.
 	 * 
@@ -136,13 +153,50 @@ public class PowerDatacenter extends Datacenter {
 			// schedules an event to the next time
 			if (minTime != Double.MAX_VALUE) {
 				CloudSim.cancelAll(getId(), new PredicateType(CloudActionTags.VM_DATACENTER_EVENT));
-				send(getId(), getSchedulingInterval(), CloudActionTags.VM_DATACENTER_EVENT);
+				send(getId(), getNextUpdateDelay(currentTime, minTime), CloudActionTags.VM_DATACENTER_EVENT);
 			}
 
 			setLastProcessTime(currentTime);
 		}
 	}
 
+	/**
+	 * Gets the delay of the next update of the datacenter. It is the scheduling interval, unless adaptive
+	 * scheduling is enabled: then, the update is scheduled at the earliest of the next cloudlet completion,
+	 * the next change of the utilization of the hosts and, if migrations are enabled, the next consolidation
+	 * (one scheduling interval later). With exact energy integration, the update is also scheduled at the
+	 * next cloudlet completion or utilization change if it comes before the end of the scheduling interval,
+	 * so that every change point is recorded in the state history of the hosts.
+	 *
+	 * @param currentTime the current time
+	 * @param minTime the expected completion time of the next cloudlet
+	 * @return the delay of the next update
+	 * @see #setAdaptiveScheduling(boolean)
+	 * @see #setExactEnergyIntegration(boolean)
+	 */
+	protected double getNextUpdateDelay(double currentTime, double minTime) {
+		if (!isAdaptiveScheduling() && !isExactEnergyIntegration()) {
+			return getSchedulingInterval();
+		}
+		double nextTime = minTime;
+		if (!isAdaptiveScheduling() || !isDisableMigrations()) {
+			nextTime = Math.min(nextTime, currentTime + getSchedulingInterval());
+		}
+		boolean hasGuests = false;
+		for (PowerHost host : this.<PowerHost> getHostList()) {
+			hasGuests |= !host.getGuestList().isEmpty();
+			double nextChangeTime = host.getNextUtilizationChangeTime(currentTime);
+			if (nextChangeTime <= currentTime) { // the utilization is changing: keep the fixed interval
+				nextChangeTime = currentTime + getSchedulingInterval();
+			}
+			nextTime = Math.min(nextTime, nextChangeTime);
+		}
+		if (!hasGuests) { // the completion time is the one of deallocated guests: let the next update stop the datacenter
+			return getSchedulingInterval();
+		}
+		return Math.max(nextTime - currentTime, CloudSim.getMinTimeBetweenEvents());
+	}
+
 	/**
 	 * Update cloudet processing without scheduling future events.
 	 * 
@@ -176,6 +230,8 @@ public class PowerDatacenter extends Datacenter {
 		Log.println("\n\n--------------------------------------------------------------\n\n");
 		Log.formatLine("New resource usage for the time frame starting at %.2f:", currentTime);
 
+		SchedulerUpdateEvent event = new SchedulerUpdateEvent();
+		event.begin();
 		for (PowerHost host : this.<PowerHost> getHostList()) {
 			Log.println();
 
@@ -184,11 +240,14 @@ public class PowerDatacenter extends Datacenter {
 				minTime = time;
 			}
 
-			Log.formatLine(
+			Log.println(() -> String.format(
 					"%.2f: [Host #%d] utilization is %.2f%%",
 					currentTime,
 					host.getId(),
-					host.getUtilizationOfCpu() * 100);
+					host.getUtilizationOfCpu() * 100));
+		}
+		if (event.shouldCommit()) {
+			event.commit(getName(), getHostList().size(), minTime);
 		}
 
 		if (timeDiff > 0) {
@@ -197,28 +256,35 @@ public class PowerDatacenter extends Datacenter {
 					getLastProcessTime(),
 					currentTime);
 
-			for (PowerHost host : this.<PowerHost> getHostList()) {
-				double previousUtilizationOfCpu = host.getPreviousUtilizationOfCpu();
-				double utilizationOfCpu = host.getUtilizationOfCpu();
-				double timeFrameHostEnergy = host.getEnergyLinearInterpolation(
-						previousUtilizationOfCpu,
-						utilizationOfCpu,
-						timeDiff);
-				timeFrameDatacenterEnergy += timeFrameHostEnergy;
+			List<PowerHost> hosts = getHostList();
+			powerModelBatch = PowerModelBatch.forHosts(powerModelBatch, hosts);
+			if (isExactEnergyIntegration()) {
+				powerModelBatch.readUtilization(hosts);
+				for (int i = 0; i < hosts.size(); i++) {
+					powerModelBatch.getEnergy()[i] = hosts.get(i).getEnergy(getLastProcessTime(), currentTime);
+					timeFrameDatacenterEnergy += powerModelBatch.getEnergy()[i];
+				}
+			} else {
+				timeFrameDatacenterEnergy = powerModelBatch.getEnergyLinearInterpolation(hosts, timeDiff);
+			}
+			double[] previousUtilizationOfCpu = powerModelBatch.getFromUtilization();
+			double[] utilizationOfCpu = powerModelBatch.getToUtilization();
+			double[] timeFrameHostEnergy = powerModelBatch.getEnergy();
 
+			for (int i = 0; i < hosts.size() && !Log.isDisabled(); i++) {
 				Log.println();
 				Log.formatLine(
 						"%.2f: [Host #%d] utilization at %.2f was %.2f%%, now is %.2f%%",
 						currentTime,
-						host.getId(),
+						hosts.get(i).getId(),
 						getLastProcessTime(),
-						previousUtilizationOfCpu * 100,
-						utilizationOfCpu * 100);
+						previousUtilizationOfCpu[i] * 100,
+						utilizationOfCpu[i] * 100);
 				Log.formatLine(
 						"%.2f: [Host #%d] energy is %.2f W*sec",
 						currentTime,
-						host.getId(),
-						timeFrameHostEnergy);
+						hosts.get(i).getId(),
+						timeFrameHostEnergy[i]);
 			}
 
 			Log.formatLine(
@@ -260,6 +326,31 @@ public class PowerDatacenter extends Datacenter {
 	protected void processCloudletSubmit(SimEvent ev, boolean ack) {
 		super.processCloudletSubmit(ev, ack);
 		setCloudletSubmitted(CloudSim.clock());
+		if (isExactEnergyIntegration()) {
+			SimEvent event = findFirstDeferred(new PredicateType(
+					new CloudSimTags[] { CloudActionTags.CLOUDLET_SUBMIT, CloudActionTags.CLOUDLET_SUBMIT_ACK }));
+			if (event == null || event.eventTime() > CloudSim.clock()) {
+				recordSubmittedCloudlets();
+			}
+		}
+	}
+
+	/**
+	 * Records the utilization of the hosts once the cloudlets submitted at the current time are submitted,
+	 * and schedules an update at the next cloudlet completion or utilization change if it comes before
+	 * the end of the scheduling interval, which the first update after a submission waits for.
+	 *
+	 * @see #setExactEnergyIntegration(boolean)
+	 */
+	private void recordSubmittedCloudlets() {
+		double currentTime = CloudSim.clock();
+		double nextTime = updateCloudetProcessingWithoutSchedulingFutureEventsForce();
+		for (PowerHost host : this.<PowerHost> getHostList()) {
+			nextTime = Math.min(nextTime, host.getNextUtilizationChangeTime(currentTime));
+		}
+		if (nextTime > currentTime && nextTime < currentTime + getSchedulingInterval()) {
+			send(getId(), nextTime - currentTime, CloudActionTags.VM_DATACENTER_EVENT);
+		}
 	}
 
 	/**
@@ -314,6 +405,56 @@ public class PowerDatacenter extends Datacenter {
 		this.disableMigrations = disableMigrations;
 	}
 
+	/**
+	 * Checks if the energy of the hosts is integrated exactly between their utilization change points.
+	 *
+	 * @return true, if the energy is integrated exactly; false if the power is interpolated linearly
+	 * between the time frame boundaries
+	 */
+	public boolean isExactEnergyIntegration() {
+		return exactEnergyIntegration;
+	}
+
+	/**
+	 * Enables or disables the exact integration of the energy of the hosts. When enabled, the datacenter is
+	 * also updated at every cloudlet completion and at every change of the utilization models of the running
+	 * cloudlets (see {@link org.cloudbus.cloudsim.UtilizationModel#getNextChangeTime(double)}), and the power
+	 * model of every host is integrated over these change points, recorded in its state history
+	 * (see {@link PowerHost#getEnergy(double, double)}). The energy then does not depend on the scheduling
+	 * interval, as long as the utilization models change by steps and report their next change time.
+	 * A model whose utilization changes continuously, such as the linear interpolation between the samples
+	 * of a PlanetLab trace, is held at its value at every update until the next one: its energy is better
+	 * approximated by the linear interpolation. When disabled (the default), the power is interpolated
+	 * linearly between the utilization at the boundaries of every time frame.
+	 *
+	 * @param exactEnergyIntegration true to integrate the energy exactly; false to interpolate it
+	 */
+	public void setExactEnergyIntegration(boolean exactEnergyIntegration) {
+		this.exactEnergyIntegration = exactEnergyIntegration;
+	}
+
+	/**
+	 * Checks if the updates are scheduled at the change points of the hosts.
+	 *
+	 * @return true, if adaptive scheduling is enabled
+	 */
+	public boolean isAdaptiveScheduling() {
+		return adaptiveScheduling;
+	}
+
+	/**
+	 * Enables or disables adaptive scheduling. When enabled, the datacenter is not updated every
+	 * scheduling interval, but only when something may change: a cloudlet completes, the utilization
+	 * model of a running cloudlet changes (see {@link org.cloudbus.cloudsim.UtilizationModel#getNextChangeTime(double)}),
+	 * or the allocation is to be consolidated. As the utilization of the hosts is constant between the updates,
+	 * it is best combined with {@link #setExactEnergyIntegration(boolean) exact energy integration}.
+	 *
+	 * @param adaptiveScheduling true to schedule the updates at the change points; false to use the fixed interval
+	 */
+	public void setAdaptiveScheduling(boolean adaptiveScheduling) {
+		this.adaptiveScheduling = adaptiveScheduling;
+	}
+
 	/**
 	 * Checks if is cloudlet submited.
 	 * 
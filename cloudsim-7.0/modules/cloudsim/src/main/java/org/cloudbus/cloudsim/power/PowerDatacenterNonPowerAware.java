@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim.power;
 
+import java.io.Serial;
 import java.util.List;
 import java.util.Map;
 
@@ -21,6 +22,7 @@ import org.cloudbus.cloudsim.core.CloudActionTags;
 import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.core.GuestEntity;
 import org.cloudbus.cloudsim.core.predicates.PredicateType;
+import org.cloudbus.cloudsim.jfr.SchedulerUpdateEvent;
 
 /**
  * PowerDatacenterNonPowerAware is a class that represents a <b>non-power</b> aware data center in the
@@ -40,6 +42,8 @@ import org.cloudbus.cloudsim.core.predicates.PredicateType;
  * @since CloudSim Toolkit 2.0
  */
 public class PowerDatacenterNonPowerAware extends PowerDatacenter {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/**
 	 * Instantiates a new datacenter.
@@ -105,6 +109,8 @@ public class PowerDatacenterNonPowerAware extends PowerDatacenter {
 
 			Log.println("\n\n--------------------------------------------------------------\n\n");
 
+			SchedulerUpdateEvent event = new SchedulerUpdateEvent();
+			event.begin();
 			for (PowerHost host : this.<PowerHost> getHostList()) {
 				Log.formatLine("\n%.2f: Host #%d", CloudSim.clock(), host.getId());
 
@@ -114,6 +120,9 @@ public class PowerDatacenterNonPowerAware extends PowerDatacenter {
 					minTime = time;
 				}
 			}
+			if (event.shouldCommit()) {
+				event.commit(getName(), getHostList().size(), minTime);
+			}
 
 			setPower(getPower() + timeframePower);
 
@@ -8,10 +8,13 @@
 
 package org.cloudbus.cloudsim.power;
 
+import java.io.Serial;
 import java.util.Arrays;
 import java.util.List;
+import java.util.ListIterator;
 
 import org.cloudbus.cloudsim.HostDynamicWorkload;
+import org.cloudbus.cloudsim.HostStateHistoryEntry;
 import org.cloudbus.cloudsim.Pe;
 import org.cloudbus.cloudsim.VmScheduler;
 import org.cloudbus.cloudsim.core.PowerHostEntity;
@@ -39,6 +42,8 @@ import org.cloudbus.cloudsim.provisioners.RamProvisioner;
  * @since CloudSim Toolkit 2.0
  */
 public class PowerHost extends HostDynamicWorkload implements PowerHostEntity {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** The power model used by the host. */
 	private PowerModel powerModel;
@@ -93,6 +98,37 @@ public class PowerHost extends HostDynamicWorkload implements PowerHostEntity {
 		return power;
 	}
 
+	/**
+	 * Gets the energy consumed in a time frame, integrating the power model between the entries of
+	 * the state history of the host: the utilization set at an update holds until the next update.
+	 * The result is exact only if the history records every utilization change point, as with the
+	 * exact energy integration of a {@link PowerDatacenter} and utilization models that change by steps.
+	 *
+	 * @param fromTime the start time of the time frame
+	 * @param toTime the end time of the time frame
+	 * @return the energy consumed in the time frame
+	 * @see #getStateHistory()
+	 */
+	public double getEnergy(double fromTime, double toTime) {
+		double energy = 0;
+		double end = toTime;
+		ListIterator<HostStateHistoryEntry> it = getStateHistory().listIterator(getStateHistory().size());
+		while (it.hasPrevious() && end > fromTime) {
+			HostStateHistoryEntry state = it.previous();
+			if (state.getTime() >= end) {
+				continue;
+			}
+			double start = Math.max(state.getTime(), fromTime);
+			double utilization = state.getAllocatedMips() / getTotalMips();
+			if (utilization > 1 && utilization < 1.01) {
+				utilization = 1;
+			}
+			energy += getPower(utilization) * (end - start);
+			end = start;
+		}
+		return energy;
+	}
+
 	/**
 	 * Sets the power model.
 	 * 
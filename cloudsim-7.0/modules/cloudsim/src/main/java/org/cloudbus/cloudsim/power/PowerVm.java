@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim.power;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -35,7 +36,11 @@ import org.cloudbus.cloudsim.util.HistoryStat;
  * @since CloudSim Toolkit 2.0
  */
 public class PowerVm extends Vm implements PowerGuestEntity {
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/** The CPU utilization percentage history. */
+	@SuppressWarnings("serial")
 	private final List<Double> utilizationHistory = new ArrayList<>();
 	private final HistoryStat utilizationHistoryStat = new HistoryStat(HISTORY_LENGTH);
 
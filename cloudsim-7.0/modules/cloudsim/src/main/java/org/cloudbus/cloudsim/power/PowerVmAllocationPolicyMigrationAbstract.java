@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim.power;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -20,9 +21,10 @@ import org.cloudbus.cloudsim.*;
 import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.core.GuestEntity;
 import org.cloudbus.cloudsim.core.HostEntity;
+import org.cloudbus.cloudsim.jfr.MigrationPhaseEvent;
 import org.cloudbus.cloudsim.lists.VmList;
 import org.cloudbus.cloudsim.selectionPolicies.SelectionPolicy;
-import org.cloudbus.cloudsim.util.ExecutionTimeMeasurer;
+import org.cloudbus.cloudsim.util.ExecutionTimer;
 
 /**
  * An abstract power-aware VM allocation policy that dynamically optimizes the VM
@@ -42,11 +44,14 @@ import org.cloudbus.cloudsim.util.ExecutionTimeMeasurer;
  * @since CloudSim Toolkit 3.0
  */
 public abstract class PowerVmAllocationPolicyMigrationAbstract extends VmAllocationPolicy {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** The vm selection policy. */
 	private SelectionPolicy<GuestEntity> vmSelectionPolicy;
 
 	/** A list of maps between a VM and the host where it is place. */
+	@SuppressWarnings("serial")
 	private final List<GuestMapping> savedAllocation = new ArrayList<>();
 
 	private void growIfNeeded(List<List<Double>> l, int idx) {
@@ -56,6 +61,7 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends VmAllocat
 
 	/** A map of CPU utilization history (in percentage) for each host,
          where each key is a host id and each value is the CPU utilization percentage history.*/
+    @SuppressWarnings("serial")
     private final List<List<Double>> utilizationHistory = new ArrayList<>();
 
 	/** 
@@ -64,36 +70,38 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends VmAllocat
          * other it stores utilization threshold or predicted utilization, that
          * is very confusing.
          */
+	@SuppressWarnings("serial")
 	private final List<List<Double>> metricHistory = new ArrayList<>();
 
 	/** The time when entries in each history list was added. 
          * All history lists are updated at the same time.
          */
+	@SuppressWarnings("serial")
 	private final List<List<Double>> timeHistory = new ArrayList<>();
 
-	/** The history of time spent in VM selection 
+	/** The time spent in VM selection 
          * every time the optimization of VM allocation method is called. 
          * @see #optimizeAllocation(java.util.List) 
          */
-	private final List<Double> executionTimeHistoryVmSelection = new ArrayList<>();
+	private final ExecutionTimer executionTimeVmSelection = new ExecutionTimer("VM selection");
 
-	/** The history of time spent in host selection 
+	/** The time spent in host selection 
          * every time the optimization of VM allocation method is called. 
          * @see #optimizeAllocation(java.util.List) 
          */
-	private final List<Double> executionTimeHistoryHostSelection = new ArrayList<>();
+	private final ExecutionTimer executionTimeHostSelection = new ExecutionTimer("host selection");
 
-	/** The history of time spent in VM reallocation 
+	/** The time spent in VM reallocation 
          * every time the optimization of VM allocation method is called. 
          * @see #optimizeAllocation(java.util.List) 
          */
-	private final List<Double> executionTimeHistoryVmReallocation = new ArrayList<>();
+	private final ExecutionTimer executionTimeVmReallocation = new ExecutionTimer("VM reallocation");
 
-	/** The history of total time spent in every call of the 
+	/** The total time spent in every call of the 
          * optimization of VM allocation method. 
          * @see #optimizeAllocation(java.util.List) 
          */
-	private final List<Double> executionTimeHistoryTotal = new ArrayList<>();
+	private final ExecutionTimer executionTimeTotal = new ExecutionTimer("total");
 
 	/**
 	 * Instantiates a new PowerVmAllocationPolicyMigrationAbstract.
@@ -117,33 +125,52 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends VmAllocat
 	 */
 	@Override
 	public List<GuestMapping> optimizeAllocation(List<? extends GuestEntity> vmList) {
-		ExecutionTimeMeasurer.start("optimizeAllocationTotal");
+		long startTotal = executionTimeTotal.start();
 
-		ExecutionTimeMeasurer.start("optimizeAllocationHostSelection");
+		long start = executionTimeHostSelection.start();
+		MigrationPhaseEvent event = new MigrationPhaseEvent();
+		event.begin();
 		List<PowerHost> overUtilizedHosts = getOverUtilizedHosts();
-		getExecutionTimeHistoryHostSelection().add(
-				ExecutionTimeMeasurer.end("optimizeAllocationHostSelection"));
+		if (event.shouldCommit()) {
+			event.commit(this, MigrationPhaseEvent.HOST_SELECTION, overUtilizedHosts.size());
+		}
+		executionTimeHostSelection.stop(start);
 
 		printOverUtilizedHosts(overUtilizedHosts);
 
 		saveAllocation();
 
-		ExecutionTimeMeasurer.start("optimizeAllocationVmSelection");
+		start = executionTimeVmSelection.start();
+		event = new MigrationPhaseEvent();
+		event.begin();
 		List<GuestEntity> vmsToMigrate = getVmsToMigrateFromHosts(overUtilizedHosts);
-		getExecutionTimeHistoryVmSelection().add(ExecutionTimeMeasurer.end("optimizeAllocationVmSelection"));
+		if (event.shouldCommit()) {
+			event.commit(this, MigrationPhaseEvent.VM_SELECTION, vmsToMigrate.size());
+		}
+		executionTimeVmSelection.stop(start);
 
 		Log.println("Reallocation of VMs from the over-utilized hosts:");
-		ExecutionTimeMeasurer.start("optimizeAllocationVmReallocation");
+		start = executionTimeVmReallocation.start();
+		event = new MigrationPhaseEvent();
+		event.begin();
 		List<GuestMapping> migrationMap = getNewVmPlacement(vmsToMigrate, new HashSet<>(overUtilizedHosts));
-		getExecutionTimeHistoryVmReallocation().add(
-				ExecutionTimeMeasurer.end("optimizeAllocationVmReallocation"));
+		if (event.shouldCommit()) {
+			event.commit(this, MigrationPhaseEvent.VM_REALLOCATION, migrationMap.size());
+		}
+		executionTimeVmReallocation.stop(start);
 		Log.println();
 
-		migrationMap.addAll(getMigrationMapFromUnderUtilizedHosts(overUtilizedHosts));
+		event = new MigrationPhaseEvent();
+		event.begin();
+		List<GuestMapping> underUtilizedMigrationMap = getMigrationMapFromUnderUtilizedHosts(overUtilizedHosts);
+		if (event.shouldCommit()) {
+			event.commit(this, MigrationPhaseEvent.UNDER_UTILISED_HOSTS, underUtilizedMigrationMap.size());
+		}
+		migrationMap.addAll(underUtilizedMigrationMap);
 
 		restoreAllocation();
 
-		getExecutionTimeHistoryTotal().add(ExecutionTimeMeasurer.end("optimizeAllocationTotal"));
+		executionTimeTotal.stop(startTotal);
 
 		return migrationMap;
 	}
@@ -611,11 +638,12 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends VmAllocat
 	}
 
 	/**
-	 * Sets the vm selection policy.
+	 * Sets the vm selection policy. It can be replaced while the simulation runs, e.g., to try another
+	 * policy in a simulation restored from a checkpoint, keeping the utilization history of the hosts.
 	 * 
 	 * @param vmSelectionPolicy the new vm selection policy
 	 */
-	protected void setVmSelectionPolicy(SelectionPolicy<GuestEntity> vmSelectionPolicy) {
+	public void setVmSelectionPolicy(SelectionPolicy<GuestEntity> vmSelectionPolicy) {
 		this.vmSelectionPolicy = vmSelectionPolicy;
 	}
 
@@ -628,6 +656,27 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends VmAllocat
 		return vmSelectionPolicy;
 	}
 
+	/**
+	 * Takes over the guests of the replaced policy and, if it is a migration policy as well, the utilization,
+	 * metric and time histories of the hosts, so that the histories cover the whole simulation.
+	 */
+	@Override
+	public void takeOver(VmAllocationPolicy previous) {
+		super.takeOver(previous);
+		if (previous instanceof PowerVmAllocationPolicyMigrationAbstract migrationPolicy) {
+			copyHistory(migrationPolicy.utilizationHistory, utilizationHistory);
+			copyHistory(migrationPolicy.metricHistory, metricHistory);
+			copyHistory(migrationPolicy.timeHistory, timeHistory);
+		}
+	}
+
+	private static void copyHistory(List<List<Double>> from, List<List<Double>> to) {
+		to.clear();
+		for (List<Double> hostHistory : from) {
+			to.add(hostHistory == null ? null : new ArrayList<>(hostHistory));
+		}
+	}
+
 	/**
 	 * Gets the utilization history.
 	 * 
@@ -662,39 +711,39 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends VmAllocat
 	}
 
 	/**
-	 * Gets the execution time history vm selection.
+	 * Gets the execution time vm selection.
 	 * 
-	 * @return the execution time history vm selection
+	 * @return the timer of the execution time vm selection
 	 */
-	public List<Double> getExecutionTimeHistoryVmSelection() {
-		return executionTimeHistoryVmSelection;
+	public ExecutionTimer getExecutionTimeVmSelection() {
+		return executionTimeVmSelection;
 	}
 
 	/**
-	 * Gets the execution time history host selection.
+	 * Gets the execution time host selection.
 	 * 
-	 * @return the execution time history host selection
+	 * @return the timer of the execution time host selection
 	 */
-	public List<Double> getExecutionTimeHistoryHostSelection() {
-		return executionTimeHistoryHostSelection;
+	public ExecutionTimer getExecutionTimeHostSelection() {
+		return executionTimeHostSelection;
 	}
 
 	/**
-	 * Gets the execution time history vm reallocation.
+	 * Gets the execution time vm reallocation.
 	 * 
-	 * @return the execution time history vm reallocation
+	 * @return the timer of the execution time vm reallocation
 	 */
-	public List<Double> getExecutionTimeHistoryVmReallocation() {
-		return executionTimeHistoryVmReallocation;
+	public ExecutionTimer getExecutionTimeVmReallocation() {
+		return executionTimeVmReallocation;
 	}
 
 	/**
-	 * Gets the execution time history total.
+	 * Gets the execution time total.
 	 * 
-	 * @return the execution time history total
+	 * @return the timer of the execution time total
 	 */
-	public List<Double> getExecutionTimeHistoryTotal() {
-		return executionTimeHistoryTotal;
+	public ExecutionTimer getExecutionTimeTotal() {
+		return executionTimeTotal;
 	}
 
 }
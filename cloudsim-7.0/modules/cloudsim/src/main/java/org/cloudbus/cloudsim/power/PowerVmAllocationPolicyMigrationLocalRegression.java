@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim.power;
 
+import java.io.Serial;
 import java.util.List;
 
 import org.cloudbus.cloudsim.Host;
@@ -33,6 +34,8 @@ import org.cloudbus.cloudsim.util.MathUtil;
  * @since CloudSim Toolkit 3.0
  */
 public class PowerVmAllocationPolicyMigrationLocalRegression extends PowerVmAllocationPolicyMigrationAbstract {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** The scheduling interval that defines the periodicity of VM migrations. */
 	private double schedulingInterval;
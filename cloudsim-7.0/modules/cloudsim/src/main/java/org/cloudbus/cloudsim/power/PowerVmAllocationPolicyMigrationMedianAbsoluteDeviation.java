@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim.power;
 
+import java.io.Serial;
 import java.util.List;
 
 import org.cloudbus.cloudsim.Host;
@@ -35,6 +36,8 @@ import org.cloudbus.cloudsim.util.MathUtil;
  */
 public class PowerVmAllocationPolicyMigrationMedianAbsoluteDeviation extends
 		PowerVmAllocationPolicyMigrationAbstract {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** The safety parameter in percentage (at scale from 0 to 1).
          * It is a tuning parameter used by the allocation policy to define
@@ -0,0 +1,321 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.power.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.cloudbus.cloudsim.power.PowerHost;
+
+/**
+ * Evaluates the power models of a set of hosts in batch, over arrays of utilization values.
+ * The coefficients of the {@link PowerModelLinear}, {@link PowerModelSquare}, {@link PowerModelCubic},
+ * {@link PowerModelSqrt} and {@link PowerModelSpecPower} models are copied into primitive arrays, and every
+ * kind of model is evaluated by its own loop instead of one virtual call per host. The results are exactly the
+ * ones of {@link PowerModel#getPower(double)}.
+ *
+ * <br/>The loops are scalar: they avoid the virtual calls and the boxing of the models, but they are not
+ * vectorized. As the models do, the square and cubic powers are computed by multiplications rather than by
+ * {@link Math#pow(double, double)}.
+ *
+ * <br/>Any other model (including the subclasses of the models above, which may override
+ * {@link PowerModel#getPower(double)}) is evaluated by calling it.
+ *
+ * <br/>A batch built by {@link #forHosts(PowerModelBatch, List)} also keeps the utilization and energy of
+ * every host over the last time frame, in arrays allocated once and reused for every frame.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+public class PowerModelBatch {
+
+	/** The number of power data values of a {@link PowerModelSpecPower}, from 0% to 100% of utilization. */
+	private static final int SPEC_POWER_DATA = 11;
+
+	private final PowerModel[] models;
+
+	/** The indexes of the models of each kind. */
+	private final int[] linear, square, cubic, sqrt, specPower, others;
+
+	/** The static power and constant of the parametric models, indexed as the models. */
+	private final double[] staticPower, constant;
+
+	/** The power data of the {@link PowerModelSpecPower} models, {@link #SPEC_POWER_DATA} values per model. */
+	private final double[] specPowerData;
+
+	/** The power at the end of the time frame, used while computing the energy. */
+	private final double[] toPower;
+
+	/** The utilization at the start and end of the last time frame, and the energy over it, indexed as the models. */
+	private final double[] fromUtilization, toUtilization, energy;
+
+	/**
+	 * Instantiates a new batch. The coefficients of the models are read once.
+	 *
+	 * @param models the power models, e.g., one per host
+	 */
+	public PowerModelBatch(List<? extends PowerModel> models) {
+		int n = models.size();
+		this.models = models.toArray(new PowerModel[0]);
+		staticPower = new double[n];
+		constant = new double[n];
+		specPowerData = new double[n * SPEC_POWER_DATA];
+		toPower = new double[n];
+		fromUtilization = new double[n];
+		toUtilization = new double[n];
+		energy = new double[n];
+
+		List<Integer> linear = new ArrayList<>(), square = new ArrayList<>(), cubic = new ArrayList<>(),
+				sqrt = new ArrayList<>(), specPower = new ArrayList<>(), others = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			PowerModel model = this.models[i];
+			Class<?> type = model.getClass();
+			if (type == PowerModelLinear.class) {
+				PowerModelLinear m = (PowerModelLinear) model;
+				setCoefficients(i, m.getStaticPower(), m.getConstant());
+				linear.add(i);
+			} else if (type == PowerModelSquare.class) {
+				PowerModelSquare m = (PowerModelSquare) model;
+				setCoefficients(i, m.getStaticPower(), m.getConstant());
+				square.add(i);
+			} else if (type == PowerModelCubic.class) {
+				PowerModelCubic m = (PowerModelCubic) model;
+				setCoefficients(i, m.getStaticPower(), m.getConstant());
+				cubic.add(i);
+			} else if (type == PowerModelSqrt.class) {
+				PowerModelSqrt m = (PowerModelSqrt) model;
+				setCoefficients(i, m.getStaticPower(), m.getConstant());
+				sqrt.add(i);
+			} else if (model instanceof PowerModelSpecPower m && !overridesGetPower(m)) {
+				for (int j = 0; j < SPEC_POWER_DATA; j++) {
+					specPowerData[i * SPEC_POWER_DATA + j] = m.getPowerData(j);
+				}
+				specPower.add(i);
+			} else {
+				others.add(i);
+			}
+		}
+		this.linear = toArray(linear);
+		this.square = toArray(square);
+		this.cubic = toArray(cubic);
+		this.sqrt = toArray(sqrt);
+		this.specPower = toArray(specPower);
+		this.others = toArray(others);
+	}
+
+	private void setCoefficients(int i, double staticPower, double constant) {
+		this.staticPower[i] = staticPower;
+		this.constant[i] = constant;
+	}
+
+	private static boolean overridesGetPower(PowerModelSpecPower model) {
+		try {
+			return model.getClass().getMethod("getPower", double.class).getDeclaringClass() != PowerModelSpecPower.class;
+		} catch (NoSuchMethodException e) {
+			return true;
+		}
+	}
+
+	private static int[] toArray(List<Integer> indexes) {
+		return indexes.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	/**
+	 * Gets the number of models of the batch.
+	 */
+	public int size() {
+		return models.length;
+	}
+
+	/**
+	 * Checks if the batch evaluates the given models, in the same order.
+	 *
+	 * @param models the power models
+	 * @return true if the models are the same objects as the ones of the batch
+	 */
+	public boolean isFor(List<? extends PowerModel> models) {
+		if (models.size() != this.models.length) {
+			return false;
+		}
+		for (int i = 0; i < this.models.length; i++) {
+			if (models.get(i) != this.models[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Gets a batch for the power models of the given hosts, reusing the given batch when it already
+	 * evaluates the same models, in the same order.
+	 *
+	 * @param batch the batch used so far, or null
+	 * @param hosts the hosts
+	 * @return the given batch, or a new one if the hosts or their power models have changed
+	 */
+	public static PowerModelBatch forHosts(PowerModelBatch batch, List<? extends PowerHost> hosts) {
+		if (batch != null && batch.isForHosts(hosts)) {
+			return batch;
+		}
+		List<PowerModel> models = new ArrayList<>(hosts.size());
+		for (PowerHost host : hosts) {
+			models.add(host.getPowerModel());
+		}
+		return new PowerModelBatch(models);
+	}
+
+	private boolean isForHosts(List<? extends PowerHost> hosts) {
+		if (hosts.size() != models.length) {
+			return false;
+		}
+		for (int i = 0; i < models.length; i++) {
+			if (hosts.get(i).getPowerModel() != models[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Reads the previous and current CPU utilization of the hosts, which are then available from
+	 * {@link #getFromUtilization()} and {@link #getToUtilization()}.
+	 *
+	 * @param hosts the hosts, as given to {@link #forHosts(PowerModelBatch, List)}
+	 */
+	public void readUtilization(List<? extends PowerHost> hosts) {
+		for (int i = 0; i < models.length; i++) {
+			PowerHost host = hosts.get(i);
+			fromUtilization[i] = host.getPreviousUtilizationOfCpu();
+			toUtilization[i] = host.getUtilizationOfCpu();
+		}
+	}
+
+	/**
+	 * Gets the energy consumed by the hosts over a time frame, using linear interpolation from their previous to their
+	 * current CPU utilization. The utilization is read by {@link #readUtilization(List)}, and the energy of every host
+	 * is available from {@link #getEnergy()}. If a utilization value is invalid, the hosts are asked for their energy
+	 * instead, so that they report it.
+	 *
+	 * @param hosts the hosts, as given to {@link #forHosts(PowerModelBatch, List)}
+	 * @param time the duration of the time frame
+	 * @return the total energy of the hosts
+	 * @see PowerHost#getEnergyLinearInterpolation(double, double, double)
+	 */
+	public double getEnergyLinearInterpolation(List<? extends PowerHost> hosts, double time) {
+		readUtilization(hosts);
+		try {
+			return getEnergyLinearInterpolation(fromUtilization, toUtilization, time, energy);
+		} catch (IllegalArgumentException e) {
+			double totalEnergy = 0;
+			for (int i = 0; i < models.length; i++) {
+				energy[i] = hosts.get(i).getEnergyLinearInterpolation(fromUtilization[i], toUtilization[i], time);
+				totalEnergy += energy[i];
+			}
+			return totalEnergy;
+		}
+	}
+
+	/**
+	 * Gets the utilization of every host at the start of the last time frame.
+	 */
+	public double[] getFromUtilization() {
+		return fromUtilization;
+	}
+
+	/**
+	 * Gets the utilization of every host at the end of the last time frame.
+	 */
+	public double[] getToUtilization() {
+		return toUtilization;
+	}
+
+	/**
+	 * Gets the energy of every host over the last time frame.
+	 */
+	public double[] getEnergy() {
+		return energy;
+	}
+
+	/**
+	 * Gets the power consumption of every model.
+	 *
+	 * @param utilization the utilization percentage (between [0 and 1]) of every model
+	 * @param power the array where the power consumption of every model is stored
+	 * @throws IllegalArgumentException if a utilization value is not between 0 and 1
+	 */
+	public void getPower(double[] utilization, double[] power) throws IllegalArgumentException {
+		for (int i = 0; i < models.length; i++) {
+			double u = utilization[i];
+			if (u < 0 || u > 1) {
+				throw new IllegalArgumentException("Utilization value must be between 0 and 1");
+			}
+		}
+
+		// the expressions match the ones of the models, so that the results are the same
+		for (int i : linear) {
+			double u = utilization[i];
+			power[i] = u == 0 ? 0 : staticPower[i] + constant[i] * u * 100;
+		}
+		for (int i : square) {
+			double u = utilization[i];
+			double x = u * 100;
+			power[i] = u == 0 ? 0 : staticPower[i] + constant[i] * (x * x);
+		}
+		for (int i : cubic) {
+			double u = utilization[i];
+			double x = u * 100;
+			power[i] = u == 0 ? 0 : staticPower[i] + constant[i] * (x * x * x);
+		}
+		for (int i : sqrt) {
+			double u = utilization[i];
+			power[i] = u == 0 ? 0 : staticPower[i] + constant[i] * Math.sqrt(u * 100);
+		}
+		for (int i : specPower) {
+			double u = utilization[i];
+			int base = i * SPEC_POWER_DATA;
+			if (u % 0.1 == 0) {
+				power[i] = specPowerData[base + (int) (u * 10)];
+				continue;
+			}
+			int utilization1 = (int) Math.floor(u * 10);
+			int utilization2 = (int) Math.ceil(u * 10);
+			double power1 = specPowerData[base + utilization1];
+			double power2 = specPowerData[base + utilization2];
+			double delta = (power2 - power1) / 10;
+			power[i] = power1 + delta * (u - (double) utilization1 / 10) * 100;
+		}
+		for (int i : others) {
+			power[i] = models[i].getPower(utilization[i]);
+		}
+	}
+
+	/**
+	 * Gets the energy consumption of every model over a time frame, using linear interpolation
+	 * of the utilization change, as {@link org.cloudbus.cloudsim.core.PowerHostEntity#getEnergyLinearInterpolation(double, double, double)}.
+	 *
+	 * @param fromUtilization the initial utilization percentage of every model
+	 * @param toUtilization the final utilization percentage of every model
+	 * @param time the duration of the time frame
+	 * @param energy the array where the energy of every model is stored
+	 * @return the total energy of the models
+	 * @throws IllegalArgumentException if a utilization value is not between 0 and 1
+	 */
+	public double getEnergyLinearInterpolation(double[] fromUtilization, double[] toUtilization, double time, double[] energy)
+			throws IllegalArgumentException {
+		getPower(fromUtilization, energy);
+		getPower(toUtilization, toPower);
+
+		double total = 0;
+		for (int i = 0; i < models.length; i++) {
+			double fromPower = energy[i];
+			energy[i] = fromUtilization[i] == 0 ? 0 : (fromPower + (toPower[i] - fromPower) / 2) * time;
+			total += energy[i];
+		}
+		return total;
+	}
+}
@@ -8,6 +8,8 @@
 
 package org.cloudbus.cloudsim.power.models;
 
+import java.io.Serial;
+
 /**
  * Implements a power model where the power consumption is the cube of the resource usage.
  * 
@@ -27,6 +29,9 @@ package org.cloudbus.cloudsim.power.models;
  * @since CloudSim Toolkit 2.0
  */
 public class PowerModelCubic implements PowerModel {
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/** The max power that can be consumed. */
 	private double maxPower;
 
@@ -59,7 +64,8 @@ public class PowerModelCubic implements PowerModel {
 		if (utilization == 0) {
 			return 0;
 		}
-		return getStaticPower() + getConstant() * Math.pow(utilization * 100, 3);
+		double percent = utilization * 100;
+		return getStaticPower() + getConstant() * (percent * percent * percent);
 	}
 
 	/**
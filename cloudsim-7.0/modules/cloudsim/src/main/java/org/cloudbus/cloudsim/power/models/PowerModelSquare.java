@@ -8,6 +8,8 @@
 
 package org.cloudbus.cloudsim.power.models;
 
+import java.io.Serial;
+
 /**
  * Implements a power model where the power consumption is the square of the resource usage.
  * 
@@ -25,6 +27,8 @@ package org.cloudbus.cloudsim.power.models;
  * @since CloudSim Toolkit 2.0
  */
 public class PowerModelSquare implements PowerModel {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** The max power that can be consumed. */
 	private double maxPower;
@@ -58,7 +62,8 @@ public class PowerModelSquare implements PowerModel {
 		if (utilization == 0) {
 			return 0;
 		}
-		return getStaticPower() + getConstant() * Math.pow(utilization * 100, 2);
+		double percent = utilization * 100;
+		return getStaticPower() + getConstant() * (percent * percent);
 	}
 
 	/**
@@ -11,6 +11,9 @@ package org.cloudbus.cloudsim.provisioners;
 import org.cloudbus.cloudsim.Vm;
 import org.cloudbus.cloudsim.core.GuestEntity;
 
+import java.io.Serial;
+import java.io.Serializable;
+
 /**
  * BwProvisioner is an abstract class that represents the provisioning policy used by a host
  * to allocate bandwidth (bw) to virtual machines inside it. 
@@ -24,7 +27,9 @@ import org.cloudbus.cloudsim.core.GuestEntity;
  * @author Remo Andreoli
  * @since CloudSim Toolkit 1.0
  */
-public abstract class BwProvisioner {
+public abstract class BwProvisioner implements Serializable {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** The total bandwidth capacity from the host that the provisioner can allocate to VMs. */
 	private long bw;
@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim.provisioners;
 
+import java.io.Serial;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -24,9 +25,12 @@ import org.cloudbus.cloudsim.core.GuestEntity;
  * @since CloudSim Toolkit 1.0
  */
 public class BwProvisionerSimple extends BwProvisioner {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** The BW map, where each key is a VM id and each value
          * is the amount of BW allocated to that VM. */
+	@SuppressWarnings("serial")
 	private Map<String, Long> bwTable;
 
 	/**
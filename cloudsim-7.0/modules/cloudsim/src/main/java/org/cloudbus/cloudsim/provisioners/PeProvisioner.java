@@ -8,6 +8,8 @@
 
 package org.cloudbus.cloudsim.provisioners;
 
+import java.io.Serial;
+import java.io.Serializable;
 import java.util.List;
 import org.cloudbus.cloudsim.DatacenterCharacteristics;
 
@@ -27,7 +29,9 @@ import org.cloudbus.cloudsim.core.GuestEntity;
  * @author Anton Beloglazov
  * @since CloudSim Toolkit 2.0
  */
-public abstract class PeProvisioner {
+public abstract class PeProvisioner implements Serializable {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** The total mips capacity of the PE that the provisioner can allocate to VMs. */
 	private double mips;
@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim.provisioners;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -25,9 +26,12 @@ import org.cloudbus.cloudsim.core.GuestEntity;
  * @since CloudSim Toolkit 2.0
  */
 public class PeProvisionerSimple extends PeProvisioner {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** The PE map, where each key is a VM id and each value
          * is the list of in terms of their allocated amount of MIPS to that VM. */
+	@SuppressWarnings("serial")
 	private Map<String, List<Double>> peTable;
 
 	/**
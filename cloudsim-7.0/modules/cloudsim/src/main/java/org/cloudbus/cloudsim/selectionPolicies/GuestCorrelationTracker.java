@@ -0,0 +1,172 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.selectionPolicies;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.PowerGuestEntity;
+import org.cloudbus.cloudsim.util.CovarianceStat;
+import org.cloudbus.cloudsim.util.HistoryStat;
+
+/**
+ * Keeps, for every host, the running co-moments of the CPU utilization histories of its guests,
+ * so that the correlation-based selection policies do not refit the whole histories at every invocation.
+ * The co-moments are brought up to date lazily, with the samples added to the histories since the last
+ * invocation; they are rebuilt from the histories only when a guest that is not tracked is a candidate,
+ * when a tracked guest has left the host, or when the tracked histories have not been sampled together.
+ *
+ * <br/>The co-moments of the hosts that some tracked guests have left, because they were destroyed or
+ * migrated away, are dropped once per simulation time, so that long simulations do not keep every guest
+ * they have ever run.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+class GuestCorrelationTracker implements Serializable {
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/** The co-moments of the guests of a host. */
+	private static class HostState implements Serializable {
+		@Serial
+		private static final long serialVersionUID = 1L;
+
+		@SuppressWarnings("serial")
+		final List<PowerGuestEntity> guests;
+		@SuppressWarnings("serial")
+		final Map<PowerGuestEntity, Integer> indexes = new HashMap<>();
+		/** The number of samples of each history already added to the co-moments. */
+		final long[] consumed;
+		final CovarianceStat stat;
+
+		HostState(List<PowerGuestEntity> guests) {
+			this.guests = List.copyOf(guests);
+			consumed = new long[guests.size()];
+
+			int size = Integer.MAX_VALUE;
+			int maxSize = Integer.MAX_VALUE;
+			for (int i = 0; i < guests.size(); i++) {
+				HistoryStat history = guests.get(i).getUtilizationHistory();
+				indexes.put(guests.get(i), i);
+				consumed[i] = history.getCount();
+				size = Math.min(size, history.size());
+				maxSize = Math.min(maxSize, history.getMaxSize());
+			}
+			stat = new CovarianceStat(guests.size(), maxSize);
+			add(size);
+		}
+
+		/**
+		 * Adds the new samples of the histories, if they have been sampled together since the last update.
+		 *
+		 * @return false if the co-moments cannot be updated and must be rebuilt
+		 */
+		boolean update() {
+			long newSamples = -1;
+			for (int i = 0; i < guests.size(); i++) {
+				HistoryStat history = guests.get(i).getUtilizationHistory();
+				long n = history.getCount() - consumed[i];
+				if ((newSamples != -1 && n != newSamples) || n > history.size()) {
+					return false;
+				}
+				newSamples = n;
+			}
+			if (newSamples > stat.getMaxSize()) {
+				return false;
+			}
+			for (int i = 0; i < guests.size(); i++) {
+				consumed[i] += newSamples;
+			}
+			add((int) newSamples);
+			return true;
+		}
+
+		/** Adds the n newest samples of the histories to the co-moments, oldest first. */
+		private void add(int n) {
+			double[][] samples = new double[n][guests.size()];
+			for (int i = 0; i < guests.size(); i++) {
+				Iterator<Double> it = guests.get(i).getUtilizationHistory().descendingIterator();
+				for (int j = n - 1; j >= 0; j--) {
+					samples[j][i] = it.next();
+				}
+			}
+			for (double[] sample : samples) {
+				stat.offer(sample);
+			}
+		}
+
+		/** Checks whether all the tracked guests are still on the host. */
+		boolean isOn(Object host) {
+			for (PowerGuestEntity guest : guests) {
+				if (guest.getHost() != host) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/** Gets the indexes of the candidates among the tracked guests, or null if one of them is not tracked. */
+		int[] indexesOf(List<PowerGuestEntity> candidates) {
+			int[] series = new int[candidates.size()];
+			for (int i = 0; i < series.length; i++) {
+				Integer index = indexes.get(candidates.get(i));
+				if (index == null) {
+					return null;
+				}
+				series[i] = index;
+			}
+			return series;
+		}
+	}
+
+	@SuppressWarnings("serial")
+	private final Map<Object, HostState> states = new HashMap<>();
+	/** The last simulation time the states of the hosts left by their guests were dropped. */
+	private double lastPruneTime = -1;
+
+	/**
+	 * Gets the coefficient of determination of the utilization history of every candidate regressed on
+	 * the histories of the other candidates, over the newest samples that all the histories have.
+	 *
+	 * @param candidates the guests of the host
+	 * @param host the host
+	 * @return the coefficients of determination, in the order of the candidates
+	 * @throws IllegalArgumentException if the coefficients cannot be computed, e.g., if there are
+	 *         not enough samples
+	 */
+	double[] getRSquared(List<PowerGuestEntity> candidates, Object host) {
+		if (CloudSim.clock() != lastPruneTime) {
+			lastPruneTime = CloudSim.clock();
+			states.entrySet().removeIf(entry -> !entry.getValue().isOn(entry.getKey()));
+		}
+
+		HostState state = states.get(host);
+		int[] series = state != null && state.isOn(host) ? state.indexesOf(candidates) : null;
+		if (series == null || !state.update()) {
+			state = new HostState(candidates);
+			states.put(host, state);
+			series = state.indexesOf(candidates);
+		}
+		return state.stat.getRSquared(series);
+	}
+
+	/**
+	 * Gets the number of hosts whose co-moments are kept. Used for testing purposes.
+	 *
+	 * @return the number of hosts whose co-moments are kept
+	 */
+	int getNumTrackedHosts() {
+		return states.size();
+	}
+}
@@ -8,14 +8,14 @@
 
 package org.cloudbus.cloudsim.selectionPolicies;
 
+import java.io.Serial;
 import java.util.ArrayDeque;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 
-import org.apache.commons.math3.linear.Array2DRowRealMatrix;
 import org.cloudbus.cloudsim.core.PowerGuestEntity;
-import org.cloudbus.cloudsim.util.MathUtil;
+import org.cloudbus.cloudsim.util.CovarianceStat;
 
 /**
  * A VM selection policy that selects for migration the VM with the Maximum Correlation Coefficient (MCC) among 
@@ -30,17 +30,25 @@ import org.cloudbus.cloudsim.util.MathUtil;
  * Cloud Data Centers", Concurrency and Computation: Practice and Experience (CCPE), Volume 24,
  * Issue 13, Pages: 1397-1420, John Wiley &amp; Sons, Ltd, New York, USA, 2012</a>
  * </ul>
+ *
+ * <br/>The co-moments of the utilization histories of the VMs of every host are kept up to date
+ * incrementally, so that the correlation coefficients are obtained without refitting the histories.
  * 
  * @author Anton Beloglazov
  * @author Remo Andreoli
  * @since CloudSim Toolkit 3.0
  */
 public class PowerSelectionPolicyMaximumCorrelation implements SelectionPolicy<PowerGuestEntity> {
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** The fallback VM selection policy to be used when
          * the  Maximum Correlation policy doesn't have data to be computed. */
 	private SelectionPolicy<PowerGuestEntity> fallbackPolicy;
 
+	/** The co-moments of the utilization histories of the VMs of every host. */
+	private final GuestCorrelationTracker correlationTracker = new GuestCorrelationTracker();
+
 	/**
 	 * Instantiates a new PowerSelectionPolicyMaximumCorrelation.
 	 * 
@@ -57,16 +65,16 @@ public class PowerSelectionPolicyMaximumCorrelation implements SelectionPolicy<P
 			return null;
 		}
 
-		List<Double> metrics = null;
+		double[] metrics;
 		try {
-			metrics = getCorrelationCoefficients(getUtilizationMatrix(candidates));
+			metrics = correlationTracker.getRSquared(candidates, host);
 		} catch (IllegalArgumentException e) { // the degrees of freedom must be greater than zero
 			return getFallbackPolicy().select(candidates, host, excludedCandidates);
 		}
 		double maxMetric = Double.MIN_VALUE;
 		int maxIndex = 0;
-		for (int i = 0; i < metrics.size(); i++) {
-			double metric = metrics.get(i);
+		for (int i = 0; i < metrics.length; i++) {
+			double metric = metrics[i];
 			if (metric > maxMetric) {
 				maxMetric = metric;
 				maxIndex = i;
@@ -119,7 +127,8 @@ public class PowerSelectionPolicyMaximumCorrelation implements SelectionPolicy<P
 	}
 
 	/**
-	 * Gets the correlation coefficients.
+	 * Gets the correlation coefficients, i.e., the coefficient of determination of every line
+	 * regressed on the other lines.
 	 * 
 	 * @param data the data
 	 * @return the correlation coefficients
@@ -127,22 +136,17 @@ public class PowerSelectionPolicyMaximumCorrelation implements SelectionPolicy<P
     public List<Double> getCorrelationCoefficients(final double[][] data) {
 		int n = data.length;
 		int m = data[0].length;
-		List<Double> correlationCoefficients = new LinkedList<>();
-		for (int i = 0; i < n; i++) {
-			double[][] x = new double[n - 1][m];
-			int k = 0;
-			for (int j = 0; j < n; j++) {
-				if (j != i) {
-					x[k++] = data[j];
-				}
+		CovarianceStat stat = new CovarianceStat(n, m);
+		double[] sample = new double[n];
+		for (int j = 0; j < m; j++) {
+			for (int i = 0; i < n; i++) {
+				sample[i] = data[i][j];
 			}
-
-			// Transpose the matrix so that it fits the linear model
-			double[][] xT = new Array2DRowRealMatrix(x).transpose().getData();
-
-			// RSquare is the "coefficient of determination"
-			correlationCoefficients.add(MathUtil.createLinearRegression(xT,
-					data[i]).calculateRSquared());
+			stat.offer(sample);
+		}
+		List<Double> correlationCoefficients = new LinkedList<>();
+		for (double rSquared : stat.getRSquared()) {
+			correlationCoefficients.add(rSquared);
 		}
 		return correlationCoefficients;
 	}
@@ -10,6 +10,7 @@ package org.cloudbus.cloudsim.selectionPolicies;
 
 import org.cloudbus.cloudsim.core.HostEntity;
 
+import java.io.Serial;
 import java.util.List;
 import java.util.Set;
 
@@ -21,6 +22,9 @@ import java.util.Set;
  */
 
 public class SelectionPolicyFirstFit<CandidateEntity> implements SelectionPolicy<CandidateEntity> {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     @Override
     public CandidateEntity select(List<CandidateEntity> candidates, Object obj, Set<CandidateEntity> excludedCandidates) {
         CandidateEntity selectedHost = null;
@@ -10,6 +10,7 @@ package org.cloudbus.cloudsim.selectionPolicies;
 import org.cloudbus.cloudsim.core.HostEntity;
 import org.cloudbus.cloudsim.power.PowerHost;
 
+import java.io.Serial;
 import java.util.List;
 import java.util.Set;
 
@@ -20,6 +21,9 @@ import java.util.Set;
  * @since CloudSim toolkit 7.0
  */
 public class SelectionPolicyLeastFull<T extends HostEntity> implements SelectionPolicy<T> {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     @Override
     public T select(List<T> candidates, Object obj, Set<T> excludedCandidates) {
         double maxAvailable = Double.MIN_VALUE;
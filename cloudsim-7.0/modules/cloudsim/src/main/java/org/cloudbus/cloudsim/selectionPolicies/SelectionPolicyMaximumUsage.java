@@ -9,6 +9,7 @@ package org.cloudbus.cloudsim.selectionPolicies;
 
 import org.cloudbus.cloudsim.core.GuestEntity;
 
+import java.io.Serial;
 import java.util.List;
 import java.util.Set;
 
@@ -17,6 +18,9 @@ import java.util.Set;
  * Modified by Remo Andreoli (Feb 2024)
  */
 public class SelectionPolicyMaximumUsage<T extends GuestEntity> implements SelectionPolicy<T> {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     @Override
     public T select(List<T> candidates, Object obj, Set<T> excludedCandidates) {
         if (candidates.isEmpty()) {
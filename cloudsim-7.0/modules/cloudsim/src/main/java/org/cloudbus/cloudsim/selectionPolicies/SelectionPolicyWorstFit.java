@@ -9,6 +9,7 @@ package org.cloudbus.cloudsim.selectionPolicies;
 
 import org.cloudbus.cloudsim.core.HostEntity;
 
+import java.io.Serial;
 import java.util.*;
 
 /**
@@ -21,11 +22,16 @@ import java.util.*;
  */
 
 public class SelectionPolicyWorstFit<T extends HostEntity> implements SelectionPolicy<T> {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     /** The map between each VM and the number of Pes used.
      * The map key is a VM UID and the value is the number of used Pes for that VM. */
+    @SuppressWarnings("serial")
     private Map<String, Integer> usedPes;
 
     /** The number of free Pes for each host from hostCandidates. */
+    @SuppressWarnings("serial")
     private List<Integer> freePes;
 
     @Override
@@ -0,0 +1,186 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes log messages in the background: the messages are appended to a ring buffer, and a daemon thread
+ * takes all the messages of the buffer at once and passes them to a {@link BatchWriter}, so that the
+ * threads that log do not wait for the I/O and the writes are batched. The messages are written in the
+ * order they were appended. When the buffer is full, the threads that log wait, so no message is lost.
+ *
+ * <br/>The messages still in the buffer when the program exits are lost, unless {@link #flush()} or
+ * {@link #close()} is called before.
+ *
+ * @param <T> the type of the messages
+ * @since CloudSim Toolkit 7.0
+ */
+public class AsyncAppender<T> implements AutoCloseable {
+
+	/**
+	 * Writes a batch of messages.
+	 *
+	 * @param <T> the type of the messages
+	 */
+	@FunctionalInterface
+	public interface BatchWriter<T> {
+		/**
+		 * Writes messages, in order.
+		 *
+		 * @param batch the messages
+		 * @throws Exception if the messages cannot be written; they are then dropped
+		 */
+		void write(List<T> batch) throws Exception;
+	}
+
+	private final Object[] buffer;
+
+	/** The index of the oldest message of the buffer. */
+	private int head = 0;
+
+	private int size = 0;
+
+	/** The number of messages appended, and written, since the appender was created. */
+	private long appended = 0, written = 0;
+
+	private boolean closed = false;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private final Condition notEmpty = lock.newCondition();
+
+	/** Signalled when messages have been written, so that there is room in the buffer. */
+	private final Condition writtenCondition = lock.newCondition();
+
+	private final BatchWriter<T> writer;
+
+	private final Thread thread;
+
+	/**
+	 * Creates an appender, and starts its thread.
+	 *
+	 * @param name the name of the thread
+	 * @param capacity the number of messages of the buffer
+	 * @param writer the writer of the messages
+	 */
+	public AsyncAppender(String name, int capacity, BatchWriter<T> writer) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("The capacity should be positive, but is: " + capacity);
+		}
+		buffer = new Object[capacity];
+		this.writer = writer;
+		thread = new Thread(this::run, name);
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Appends a message, waiting if the buffer is full.
+	 *
+	 * @param message the message
+	 * @throws IllegalStateException if the appender is closed
+	 */
+	public void append(T message) {
+		lock.lock();
+		try {
+			if (closed) {
+				throw new IllegalStateException("The appender " + thread.getName() + " is closed");
+			}
+			while (size == buffer.length) {
+				writtenCondition.awaitUninterruptibly();
+			}
+			buffer[(head + size) % buffer.length] = message;
+			size++;
+			appended++;
+			if (size == 1) {
+				notEmpty.signal();
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Waits until the messages appended before are written.
+	 */
+	public void flush() {
+		lock.lock();
+		try {
+			long target = appended;
+			while (written < target && thread.isAlive()) {
+				writtenCondition.awaitUninterruptibly();
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Writes the remaining messages, and stops the thread of the appender.
+	 */
+	@Override
+	public void close() {
+		lock.lock();
+		try {
+			closed = true;
+			notEmpty.signal();
+		} finally {
+			lock.unlock();
+		}
+		try {
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void run() {
+		List<T> batch = new ArrayList<>();
+		while (true) {
+			lock.lock();
+			try {
+				while (size == 0 && !closed) {
+					notEmpty.awaitUninterruptibly();
+				}
+				if (size == 0) {
+					return;
+				}
+				for (; size > 0; size--) {
+					batch.add((T) buffer[head]);
+					buffer[head] = null;
+					head = (head + 1) % buffer.length;
+				}
+				// the buffer is free again, the messages taken are being written
+				writtenCondition.signalAll();
+			} finally {
+				lock.unlock();
+			}
+
+			try {
+				writer.write(batch);
+			} catch (Exception e) {
+				e.printStackTrace();
+			}
+
+			lock.lock();
+			try {
+				written += batch.size();
+				writtenCondition.signalAll();
+			} finally {
+				lock.unlock();
+			}
+			batch.clear();
+		}
+	}
+}
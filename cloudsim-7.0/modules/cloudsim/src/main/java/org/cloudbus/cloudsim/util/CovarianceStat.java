@@ -0,0 +1,190 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.util;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.LUDecomposition;
+import org.apache.commons.math3.linear.RealMatrix;
+
+/**
+ * Moving window of the last offer()ed joint samples of a set of series, that keeps the running sums and
+ * co-moments of the series. The means, covariances and correlations of the window are computed in O(1),
+ * and the coefficients of determination (R²) of every series regressed on the other ones in a time that
+ * only depends on the number of series, not on the size of the window.
+ *
+ * <br/>The running sums are recomputed from the window every time it is fully replaced,
+ * so that the rounding errors of the sliding updates do not accumulate.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+public class CovarianceStat implements Serializable {
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	private final int numSeries;
+	private final int maxSize;
+	/** The samples of the window, as a circular buffer. */
+	private final double[][] window;
+	private final double[] sums;
+	/** The sums of the cross products of the series; only the lower triangle is used. */
+	private final double[][] coMoments;
+	/** The index of the oldest sample of the window. */
+	private int head = 0;
+	private int size = 0;
+
+	public CovarianceStat(int numSeries, int maxSize) {
+		if (numSeries <= 0 || maxSize <= 0) {
+			throw new IllegalArgumentException("The number of series and the window size must be positive");
+		}
+		this.numSeries = numSeries;
+		this.maxSize = maxSize;
+		window = new double[maxSize][numSeries];
+		sums = new double[numSeries];
+		coMoments = new double[numSeries][numSeries];
+	}
+
+	/**
+	 * Adds a joint sample of the series, evicting the oldest one if the window is full.
+	 *
+	 * @param sample one value per series
+	 */
+	public void offer(double... sample) {
+		if (sample.length != numSeries) {
+			throw new IllegalArgumentException("Expected " + numSeries + " values, got " + sample.length);
+		}
+		double[] slot;
+		if (size == maxSize) {
+			slot = window[head];
+			accumulate(slot, -1);
+			head = (head + 1) % maxSize;
+		} else {
+			slot = window[(head + size++) % maxSize];
+		}
+		System.arraycopy(sample, 0, slot, 0, numSeries);
+		accumulate(slot, 1);
+
+		if (head == 0 && size == maxSize) {
+			recompute();
+		}
+	}
+
+	private void accumulate(double[] sample, double sign) {
+		for (int i = 0; i < numSeries; i++) {
+			double x = sign * sample[i];
+			sums[i] += x;
+			for (int j = 0; j <= i; j++) {
+				coMoments[i][j] += x * sample[j];
+			}
+		}
+	}
+
+	private void recompute() {
+		resetSums();
+		for (double[] sample : window) {
+			accumulate(sample, 1);
+		}
+	}
+
+	private void resetSums() {
+		Arrays.fill(sums, 0.0);
+		for (double[] row : coMoments) {
+			Arrays.fill(row, 0.0);
+		}
+	}
+
+	public void clear() {
+		head = 0;
+		size = 0;
+		resetSums();
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int getNumSeries() {
+		return numSeries;
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	public double getMean(int i) {
+		return sums[i] / size;
+	}
+
+	/**
+	 * Gets the (population) covariance of two series over the window.
+	 */
+	public double getCovariance(int i, int j) {
+		double coMoment = i >= j ? coMoments[i][j] : coMoments[j][i];
+		return (coMoment - sums[i] * sums[j] / size) / size;
+	}
+
+	/**
+	 * Gets the Pearson correlation of two series over the window.
+	 */
+	public double getCorrelation(int i, int j) {
+		return getCovariance(i, j) / Math.sqrt(getCovariance(i, i) * getCovariance(j, j));
+	}
+
+	/**
+	 * Gets the coefficient of determination of the multiple linear regression (with intercept)
+	 * of every series on all the other ones.
+	 *
+	 * @see #getRSquared(int[])
+	 */
+	public double[] getRSquared() {
+		int[] series = new int[numSeries];
+		for (int i = 0; i < numSeries; i++) {
+			series[i] = i;
+		}
+		return getRSquared(series);
+	}
+
+	/**
+	 * Gets the coefficient of determination of the multiple linear regression (with intercept)
+	 * of every given series on the other given series, as an ordinary least squares fit of the
+	 * window would. The covariance matrix Σ of the series is inverted once, in O(k³) for k series,
+	 * and the coefficient of every series i is then 1 - 1 / (Σ<sub>ii</sub> (Σ<sup>-1</sup>)<sub>ii</sub>).
+	 *
+	 * @param series the indexes of the series to consider
+	 * @return the coefficients of determination, in the order of the given series
+	 * @throws IllegalArgumentException if there are less than two series, if the window does not
+	 *         have more samples than regressors, or if the series are linearly dependent
+	 */
+	public double[] getRSquared(int[] series) {
+		int k = series.length;
+		if (k < 2) {
+			throw new IllegalArgumentException("At least two series are required");
+		}
+		if (size < k) { // the degrees of freedom must be greater than zero
+			throw new IllegalArgumentException("Not enough samples (" + size + ") for " + (k - 1) + " regressors");
+		}
+		double[][] cov = new double[k][k];
+		for (int a = 0; a < k; a++) {
+			for (int b = 0; b <= a; b++) {
+				cov[a][b] = cov[b][a] = getCovariance(series[a], series[b]);
+			}
+		}
+
+		// throws SingularMatrixException, an IllegalArgumentException, on linearly dependent series
+		RealMatrix inverse = new LUDecomposition(new Array2DRowRealMatrix(cov, false)).getSolver().getInverse();
+		double[] rSquared = new double[k];
+		for (int i = 0; i < k; i++) {
+			rSquared[i] = 1 - 1 / (cov[i][i] * inverse.getEntry(i, i));
+		}
+		return rSquared;
+	}
+}
@@ -13,16 +13,19 @@ import java.util.Map;
 
 /**
  * Measurement of execution times of CloudSim's methods.
+ * The start times are kept per thread, with {@link System#nanoTime()}.
  * 
  * @author Anton Beloglazov
  * @since CloudSim Toolkit 3.0
+ * @deprecated Use an {@link ExecutionTimer}, which also keeps a histogram of the execution times.
  */
+@Deprecated
 public class ExecutionTimeMeasurer {
 
 	/** A map of execution times where each key
          * represents the name of the method/process being its
          * execution time computed and each key is the
-         * time the method/process started (in milliseconds). 
+         * time the method/process started (in nanoseconds), for the current thread. 
          * Usually, this name is the method/process name, making
          * easy to identify the execution times into the map.
          * 
@@ -30,7 +33,7 @@ public class ExecutionTimeMeasurer {
          * It in fact stores the method/process start time,
          * no the time it spent executing.
          */
-	private final static Map<String, Long> executionTimes = new HashMap<>();
+	private final static ThreadLocal<Map<String, Long>> executionTimes = ThreadLocal.withInitial(HashMap::new);
 
 	/**
 	 * Start measuring the execution time of a method/process.
@@ -41,7 +44,7 @@ public class ExecutionTimeMeasurer {
          * @see #executionTimes
 	 */
 	public static void start(String name) {
-		getExecutionTimes().put(name, System.currentTimeMillis());
+		getExecutionTimes().put(name, System.nanoTime());
 	}
 
 	/**
@@ -52,19 +55,17 @@ public class ExecutionTimeMeasurer {
          * @see #executionTimes
 	 */
 	public static double end(String name) {
-		double time = (System.currentTimeMillis() - getExecutionTimes().get(name)) / 1000.0;
-		getExecutionTimes().remove(name);
-		return time;
+		return (System.nanoTime() - getExecutionTimes().remove(name)) / 1e9;
 	}
 
 	/**
-	 * Gets map the execution times.
+	 * Gets map the execution times of the current thread.
 	 * 
 	 * @return the execution times map
          * @see #executionTimes
 	 */
 	public static Map<String, Long> getExecutionTimes() {
-		return executionTimes;
+		return executionTimes.get();
 	}
 
 }
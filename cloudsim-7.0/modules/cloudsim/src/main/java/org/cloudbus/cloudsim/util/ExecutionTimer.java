@@ -0,0 +1,126 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.util;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Measurement of the execution times of a method/process, with {@link System#nanoTime()}. Every thread
+ * records its times in its own {@link LatencyHistogram}, without locks, and the histograms are merged when
+ * the times are read, so that the memory does not grow with the number of measurements:
+ *
+ * <pre>
+ * long start = timer.start();
+ * ...
+ * timer.stop(start);
+ * </pre>
+ *
+ * The merged histogram is exact when no thread records times at the same time.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+public class ExecutionTimer implements Serializable {
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	private final String name;
+
+	/** The histograms of the threads that have recorded times. */
+	private transient Queue<LatencyHistogram> recorders;
+
+	private transient ThreadLocal<LatencyHistogram> recorder;
+
+	/**
+	 * Creates a timer.
+	 *
+	 * @param name the name of the method/process being measured
+	 */
+	public ExecutionTimer(String name) {
+		this.name = name;
+		init();
+	}
+
+	private void init() {
+		recorders = new ConcurrentLinkedQueue<>();
+		recorder = ThreadLocal.withInitial(() -> {
+			LatencyHistogram histogram = new LatencyHistogram();
+			recorders.add(histogram);
+			return histogram;
+		});
+	}
+
+	/**
+	 * Starts measuring an execution time.
+	 *
+	 * @return the start time, to pass to {@link #stop(long)}
+	 */
+	public long start() {
+		return System.nanoTime();
+	}
+
+	/**
+	 * Finishes measuring an execution time, and records it.
+	 *
+	 * @param start the start time returned by {@link #start()}
+	 * @return the execution time, in seconds
+	 */
+	public double stop(long start) {
+		long time = System.nanoTime() - start;
+		recorder.get().record(time);
+		return time / 1e9;
+	}
+
+	/**
+	 * Gets the execution times recorded by all the threads.
+	 *
+	 * @return a new histogram of the times, in nanoseconds
+	 */
+	public LatencyHistogram getHistogram() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (LatencyHistogram threadHistogram : recorders) {
+			histogram.add(threadHistogram);
+		}
+		return histogram;
+	}
+
+	/**
+	 * Removes the recorded execution times. No thread should record times at the same time.
+	 */
+	public void reset() {
+		for (LatencyHistogram threadHistogram : recorders) {
+			threadHistogram.reset();
+		}
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public String toString() {
+		return name + ": " + getHistogram();
+	}
+
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+		out.writeObject(getHistogram());
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		init();
+		recorders.add((LatencyHistogram) in.readObject());
+	}
+}
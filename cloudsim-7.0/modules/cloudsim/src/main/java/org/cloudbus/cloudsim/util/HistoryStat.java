@@ -1,5 +1,6 @@
 package org.cloudbus.cloudsim.util;
 
+import java.io.Serial;
 import java.util.ArrayDeque;
 import java.util.Comparator;
 import java.util.PriorityQueue;
@@ -11,8 +12,13 @@ import java.util.PriorityQueue;
  * @TODO The implementation needs to be completed with all methods from the ArrayDeque interface.
  */
 public class HistoryStat extends ArrayDeque<Double> {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     private final int max_size;
     private double sum = 0.0;
+    /** Number of samples offer()ed since the creation, including the ones out of the window. */
+    private long count = 0;
     private PriorityQueue<Double> lower;
     private PriorityQueue<Double> higher;
 
@@ -61,6 +67,7 @@ public class HistoryStat extends ArrayDeque<Double> {
         }
         boolean rv = super.offer(val);
         sum += val;
+        count++;
         if (lower != null)
             addHeaps(val);
         return rv;
@@ -85,4 +92,19 @@ public class HistoryStat extends ArrayDeque<Double> {
     public double getMean() {
         return sum / size();
     }
+
+    /**
+     * Gets the number of samples offer()ed since the creation of the history, which keeps
+     * increasing after the oldest samples leave the window.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the size of the moving window.
+     */
+    public int getMaxSize() {
+        return max_size;
+    }
 }
@@ -0,0 +1,175 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.util;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Histogram of durations in nanoseconds, with log-linear buckets: every power of two is split in
+ * {@value #SUB_BUCKETS} buckets of equal width, so that the percentiles are within 1/{@value #SUB_BUCKETS}
+ * (about 6%) of the recorded values whatever their magnitude, and the memory is fixed. The count, minimum
+ * and maximum are exact. The mean and standard deviation are computed from the recorded values, not from the
+ * buckets, with Welford's online algorithm, which keeps them accurate when the durations are long and close
+ * to each other.
+ *
+ * <br/>The histogram is not thread-safe: see {@link ExecutionTimer} to record durations from several threads.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+public class LatencyHistogram implements Serializable {
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/** The number of buckets per power of two. */
+	public static final int SUB_BUCKETS = 16;
+
+	private static final int SUB_BITS = Integer.numberOfTrailingZeros(SUB_BUCKETS);
+
+	/** The number of buckets, up to {@link Long#MAX_VALUE}. */
+	private static final int NUM_BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+	private final long[] counts = new long[NUM_BUCKETS];
+	private long count = 0;
+	private long min = Long.MAX_VALUE;
+	private long max = 0;
+	private double mean = 0;
+	/** The sum of the squared differences from the mean. */
+	private double m2 = 0;
+
+	/**
+	 * Records a duration.
+	 *
+	 * @param nanos the duration, in nanoseconds; negative durations are recorded as 0
+	 */
+	public void record(long nanos) {
+		long value = Math.max(nanos, 0);
+		counts[getBucket(value)]++;
+		count++;
+		min = Math.min(min, value);
+		max = Math.max(max, value);
+		double delta = value - mean;
+		mean += delta / count;
+		m2 += delta * (value - mean);
+	}
+
+	/**
+	 * Adds the durations recorded by another histogram.
+	 *
+	 * @param other the other histogram
+	 */
+	public void add(LatencyHistogram other) {
+		for (int i = 0; i < NUM_BUCKETS; i++) {
+			counts[i] += other.counts[i];
+		}
+		if (other.count > 0) {
+			// combines the means and squared differences of both histograms (Chan et al.)
+			long total = count + other.count;
+			double delta = other.mean - mean;
+			mean += delta * other.count / total;
+			m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+			count = total;
+		}
+		min = Math.min(min, other.min);
+		max = Math.max(max, other.max);
+	}
+
+	/**
+	 * Removes all the recorded durations.
+	 */
+	public void reset() {
+		Arrays.fill(counts, 0);
+		count = 0;
+		min = Long.MAX_VALUE;
+		max = 0;
+		mean = 0;
+		m2 = 0;
+	}
+
+	private static int getBucket(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+		return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+	}
+
+	/** Gets the largest value of a bucket. */
+	private static long getBucketMax(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		int shift = bucket / SUB_BUCKETS - 1;
+		long low = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+		return low + ((1L << shift) - 1);
+	}
+
+	/** Gets the number of recorded durations. */
+	public long getCount() {
+		return count;
+	}
+
+	/** Gets the shortest recorded duration, in nanoseconds, or 0 if there is none. */
+	public long getMin() {
+		return count == 0 ? 0 : min;
+	}
+
+	/** Gets the longest recorded duration, in nanoseconds, or 0 if there is none. */
+	public long getMax() {
+		return max;
+	}
+
+	/** Gets the mean of the recorded durations, in nanoseconds, or NaN if there is none. */
+	public double getMean() {
+		return count == 0 ? Double.NaN : mean;
+	}
+
+	/**
+	 * Gets the standard deviation of the recorded durations, in nanoseconds, as a sample standard deviation
+	 * like {@link MathUtil#stDev(java.util.List)}, or NaN if there are less than two.
+	 */
+	public double getStDev() {
+		if (count < 2) {
+			return Double.NaN;
+		}
+		return Math.sqrt(m2 / (count - 1));
+	}
+
+	/**
+	 * Gets a percentile of the recorded durations: the largest value of the bucket of the duration
+	 * at that rank, bounded by the longest duration.
+	 *
+	 * @param percentile the percentile, between 0 and 100
+	 * @return the percentile, in nanoseconds, or 0 if there are no durations
+	 */
+	public long getPercentile(double percentile) {
+		if (percentile < 0 || percentile > 100) {
+			throw new IllegalArgumentException("The percentile should be between 0 and 100, but is: " + percentile);
+		}
+		if (count == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+		long seen = 0;
+		for (int i = 0; i < NUM_BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return Math.min(getBucketMax(i), max);
+			}
+		}
+		return max;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("count %d, mean %.3fms, p50 %.3fms, p99 %.3fms, max %.3fms", count, getMean() / 1e6,
+				getPercentile(50) / 1e6, getPercentile(99) / 1e6, max / 1e6);
+	}
+}
@@ -0,0 +1,704 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipInputStream;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.UtilizationModel;
+import org.cloudbus.cloudsim.UtilizationModelFull;
+
+/**
+ * A streaming counterpart of {@link WorkloadFileReader} for large traces of the
+ * <a href="http://www.cs.huji.ac.il/labs/parallel/workload/">Parallel Workloads Archive</a>.
+ * <p/>
+ * Lines are tokenised directly from the raw bytes of the trace, without building
+ * intermediate strings or running regular expressions, and the same acceptance rules as
+ * {@link WorkloadFileReader} are applied: comment lines are skipped, only lines with exactly
+ * the configured number of fields are considered, and lines whose relevant fields are not
+ * integers are ignored.
+ * <p/>
+ * The trace can be consumed in two ways:
+ * <ul>
+ *   <li>{@link #iterator()} yields cloudlets lazily, so only a bounded window of jobs is kept
+ *   in memory. Jobs are reordered by submit time within a window of
+ *   {@link #setReorderWindow(int)} jobs (SWF traces are already sorted by submit time, the
+ *   window only absorbs small local disorders).
+ *   <li>{@link #generateWorkload()} materialises the whole trace in file order, like
+ *   {@link WorkloadFileReader}. Uncompressed traces are memory-mapped and split into
+ *   line-aligned chunks that are parsed in parallel when {@link #setParallelism(int)} is
+ *   greater than one.
+ * </ul>
+ *
+ * @since CloudSim Toolkit 7.0
+ *
+ * @see WorkloadFileReader
+ */
+public class StreamingWorkloadFileReader implements WorkloadModel, Iterable<Cloudlet> {
+    /**
+     * Default number of jobs buffered by {@link #iterator()} to order them by submit time.
+     */
+    public static final int DEFAULT_REORDER_WINDOW = 1024;
+
+    /**
+     * Size of the read buffer for compressed traces.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Largest region of an uncompressed trace that is mapped at once.
+     */
+    private static final long MAX_CHUNK_SIZE = 1L << 30;
+
+    /**
+     * @see WorkloadFileReader
+     */
+    private static final int IRRELEVANT = -1;
+
+    /**
+     * Every created cloudlet uses the full capacity of its resources,
+     * a single stateless model is shared among all of them.
+     */
+    private static final UtilizationModel UTILIZATION_MODEL = new UtilizationModelFull();
+
+    /**
+     * Trace file name.
+     */
+    private final File file;
+
+    /**
+     * The Cloudlet's PE rating (in MIPS), considering that all PEs of a Cloudlet
+     * have the same rate.
+     */
+    private final int rating;
+
+    /**
+     * List of Cloudlets created by {@link #generateWorkload()}.
+     */
+    private List<Cloudlet> jobs = null;
+
+    /**
+     * Number of jobs buffered by {@link #iterator()} to order them by submit time.
+     */
+    private int reorderWindow = DEFAULT_REORDER_WINDOW;
+
+    /**
+     * Number of chunks an uncompressed trace is split into by {@link #generateWorkload()}.
+     */
+    private int parallelism = 1;
+
+    /* Index of fields from the Standard Workload Format, see WorkloadFileReader. */
+
+    private int JOB_NUM = 0;
+
+    private int SUBMIT_TIME = 2 - 1;
+
+    private final int RUN_TIME = 4 - 1;
+
+    private final int NUM_PROC = 5 - 1;
+
+    private int REQ_NUM_PROC = 8 - 1;
+
+    private int REQ_RUN_TIME = 9 - 1;
+
+    private final int USER_ID = 12 - 1;
+
+    private final int GROUP_ID = 13 - 1;
+
+    private int MAX_FIELD = 18;
+
+    /**
+     * The bytes that denote the start of a comment.
+     */
+    private byte[] COMMENT = {';'};
+
+    /**
+     * Create a new StreamingWorkloadFileReader object.
+     *
+     * @param fileName the workload trace filename in one of the following formats:
+     *                 <i>ASCII text, zip, gz.</i>
+     * @param rating the cloudlet's PE rating (in MIPS), considering that all PEs
+     * of a cloudlet have the same rate
+     * @throws FileNotFoundException
+     * @throws IllegalArgumentException if the file name is null or empty, or the rating is <= 0
+     */
+    public StreamingWorkloadFileReader(final String fileName, final int rating) throws FileNotFoundException {
+        if (fileName == null || fileName.isEmpty()) {
+            throw new IllegalArgumentException("Invalid trace file name.");
+        } else if (rating <= 0) {
+            throw new IllegalArgumentException("Resource PE rating must be > 0.");
+        }
+
+        file = new File(fileName);
+        if (!file.exists()) {
+            throw new FileNotFoundException("Workload trace " + fileName + " does not exist");
+        }
+
+        this.rating = rating;
+    }
+
+    /**
+     * Reads all jobs from the trace file and generates the respective cloudlets, in file order.
+     * Prefer {@link #iterator()} when the trace does not fit in memory.
+     *
+     * @return the list of cloudlets read from the file; <code>null</code> in case of failure.
+     */
+    @Override
+    public List<Cloudlet> generateWorkload() {
+        if (jobs == null) {
+            try {
+                if (parallelism > 1 && isPlainText()) {
+                    jobs = readChunks();
+                } else {
+                    jobs = readSequentially();
+                }
+            } catch (final IOException | UncheckedIOException e) {
+                return null;
+            }
+        }
+
+        return jobs;
+    }
+
+    /**
+     * Opens the trace and returns a lazy iterator over its cloudlets, ordered by submit time
+     * within the {@link #setReorderWindow(int) reorder window}. The underlying file is closed
+     * once the iterator is exhausted, or explicitly through {@link CloudletIterator#close()}.
+     *
+     * @throws UncheckedIOException if the trace cannot be opened or read
+     */
+    @Override
+    public CloudletIterator iterator() {
+        try {
+            return new CloudletIterator(openStream());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Sets the string that identifies the start of a comment line.
+     *
+     * @param cmt a character that denotes the start of a comment, e.g. ";" or "#"
+     * @return <code>true</code> if it is successful, <code>false</code> otherwise
+     */
+    public boolean setComment(final String cmt) {
+        boolean success = false;
+        if (cmt != null && cmt.length() > 0) {
+            COMMENT = cmt.getBytes(StandardCharsets.UTF_8);
+            success = true;
+        }
+        return success;
+    }
+
+    /**
+     * Tells this class what to look in the trace file, see
+     * {@link WorkloadFileReader#setField(int, int, int, int, int)}.
+     *
+     * @param maxField max. number of field/column in one row
+     * @param jobNum field/column number for locating the job ID
+     * @param submitTime field/column number for locating the job submit time
+     * @param runTime field/column number for locating the job run time
+     * @param numProc field/column number for locating the number of PEs required to run a job
+     * @return <code>true</code> if successful, <code>false</code> otherwise
+     * @throws IllegalArgumentException if any of the arguments are not within the acceptable ranges
+     */
+    public boolean setField(
+            final int maxField,
+            final int jobNum,
+            final int submitTime,
+            final int runTime,
+            final int numProc) {
+        // need to subtract by 1 since array starts at 0.
+        if (jobNum > 0) {
+            JOB_NUM = jobNum - 1;
+        } else if (jobNum == 0) {
+            throw new IllegalArgumentException("Invalid job number field.");
+        } else {
+            JOB_NUM = IRRELEVANT;
+        }
+
+        if (maxField > 0) {
+            MAX_FIELD = maxField;
+        } else {
+            throw new IllegalArgumentException("Invalid max. number of field.");
+        }
+
+        if (submitTime > 0) {
+            SUBMIT_TIME = submitTime - 1;
+        } else {
+            throw new IllegalArgumentException("Invalid submit time field.");
+        }
+
+        if (runTime > 0) {
+            REQ_RUN_TIME = runTime - 1;
+        } else {
+            throw new IllegalArgumentException("Invalid run time field.");
+        }
+
+        if (numProc > 0) {
+            REQ_NUM_PROC = numProc - 1;
+        } else {
+            throw new IllegalArgumentException("Invalid number of processors field.");
+        }
+
+        return true;
+    }
+
+    /**
+     * Sets how many jobs {@link #iterator()} buffers to order them by submit time.
+     * A window of 1 yields the jobs in file order.
+     *
+     * @param reorderWindow the number of buffered jobs, at least 1
+     */
+    public void setReorderWindow(final int reorderWindow) {
+        if (reorderWindow < 1) {
+            throw new IllegalArgumentException("Reorder window must be >= 1.");
+        }
+        this.reorderWindow = reorderWindow;
+    }
+
+    /**
+     * Sets in how many chunks an uncompressed trace is parsed concurrently by
+     * {@link #generateWorkload()}. Compressed traces are always parsed sequentially.
+     *
+     * @param parallelism the number of chunks, at least 1
+     */
+    public void setParallelism(final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be >= 1.");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * A lazy iterator over the cloudlets of the trace, which also exposes the submit time
+     * of the last returned cloudlet so that a broker can replay the trace.
+     */
+    public final class CloudletIterator implements Iterator<Cloudlet>, Closeable {
+        private final RecordScanner scanner;
+        private final PriorityQueue<PendingJob> window = new PriorityQueue<>();
+        private long sequence = 0;
+        private int accepted = 0;
+        private boolean exhausted = false;
+        private long submitTime = -1;
+
+        private CloudletIterator(final InputStream in) {
+            scanner = new RecordScanner(in);
+        }
+
+        @Override
+        public boolean hasNext() {
+            fill();
+            return !window.isEmpty();
+        }
+
+        @Override
+        public Cloudlet next() {
+            fill();
+            final PendingJob job = window.poll();
+            if (job == null) {
+                throw new NoSuchElementException();
+            }
+            submitTime = job.submitTime;
+            return job.cloudlet;
+        }
+
+        /**
+         * @return the submit time recorded in the trace for the last cloudlet returned by
+         * {@link #next()}, or -1 if no cloudlet has been returned yet
+         */
+        public long getSubmitTime() {
+            return submitTime;
+        }
+
+        @Override
+        public void close() {
+            exhausted = true;
+            try {
+                scanner.close();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void fill() {
+            try {
+                while (!exhausted && window.size() < reorderWindow) {
+                    if (scanner.next()) {
+                        accepted++;
+                        final int id = scanner.jobId == IRRELEVANT ? accepted : (int) scanner.jobId;
+                        window.add(new PendingJob(scanner.submitTime, sequence++,
+                                createJob(id, scanner.runTime, scanner.numProc)));
+                    } else {
+                        close();
+                    }
+                }
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // ------------------- PRIVATE METHODS -------------------
+
+    /**
+     * A cloudlet waiting in the reorder window of a {@link CloudletIterator}.
+     * Ties on submit time are broken by file order.
+     */
+    private record PendingJob(long submitTime, long sequence, Cloudlet cloudlet) implements Comparable<PendingJob> {
+        @Override
+        public int compareTo(final PendingJob o) {
+            final int cmp = Long.compare(submitTime, o.submitTime);
+            return cmp != 0 ? cmp : Long.compare(sequence, o.sequence);
+        }
+    }
+
+    /**
+     * Creates a Cloudlet for a job, see {@link WorkloadFileReader}.
+     */
+    private Cloudlet createJob(final int id, final int runTime, final int numProc) {
+        final long len = (long) runTime * rating;
+        return new Cloudlet(id, len, numProc, 0, 0, UTILIZATION_MODEL, UTILIZATION_MODEL, UTILIZATION_MODEL);
+    }
+
+    private boolean isPlainText() {
+        final String name = file.getName();
+        return !name.endsWith(".gz") && !name.endsWith(".zip");
+    }
+
+    private InputStream openStream() throws IOException {
+        final String name = file.getName();
+        if (name.endsWith(".gz")) {
+            return new GZIPInputStream(new FileInputStream(file), BUFFER_SIZE);
+        } else if (name.endsWith(".zip")) {
+            final ZipInputStream zin = new ZipInputStream(new FileInputStream(file));
+            zin.getNextEntry();
+            return zin;
+        }
+        return new FileInputStream(file);
+    }
+
+    private List<Cloudlet> readSequentially() throws IOException {
+        final List<Cloudlet> list = new ArrayList<>();
+        try (RecordScanner scanner = new RecordScanner(openStream())) {
+            while (scanner.next()) {
+                final int id = scanner.jobId == IRRELEVANT ? list.size() + 1 : (int) scanner.jobId;
+                list.add(createJob(id, scanner.runTime, scanner.numProc));
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Maps an uncompressed trace, splits it in line-aligned chunks parsed in parallel
+     * into primitive records, then creates the cloudlets in file order.
+     */
+    private List<Cloudlet> readChunks() throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final long size = channel.size();
+            final int chunks = (int) Math.max(parallelism, (size + MAX_CHUNK_SIZE - 1) / MAX_CHUNK_SIZE);
+
+            final long[] bounds = new long[chunks + 1];
+            bounds[chunks] = size;
+            for (int i = 1; i < chunks; i++) {
+                bounds[i] = nextLineStart(channel, Math.max(bounds[i - 1], size / chunks * i));
+            }
+
+            final List<long[]> records = IntStream.range(0, chunks).parallel()
+                    .mapToObj(i -> parseChunk(channel, bounds[i], bounds[i + 1]))
+                    .toList();
+
+            int total = 0;
+            for (final long[] chunk : records) {
+                total += (int) chunk[0];
+            }
+
+            final List<Cloudlet> list = new ArrayList<>(total);
+            for (final long[] chunk : records) {
+                for (int r = 0; r < chunk[0]; r++) {
+                    final int base = 1 + r * 3;
+                    final int id = chunk[base] == IRRELEVANT ? list.size() + 1 : (int) chunk[base];
+                    list.add(createJob(id, (int) chunk[base + 1], (int) chunk[base + 2]));
+                }
+            }
+            return list;
+        }
+    }
+
+    /**
+     * @return the position of the first line that starts at or after the given position
+     */
+    private static long nextLineStart(final FileChannel channel, final long position) throws IOException {
+        if (position == 0) {
+            return 0;
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(4096);
+        long pos = position - 1;
+        while (true) {
+            buffer.clear();
+            final int read = channel.read(buffer, pos);
+            if (read <= 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += read;
+        }
+    }
+
+    /**
+     * Parses a region of an uncompressed trace.
+     *
+     * @return the number of records, followed by (job id, run time, number of PEs) triples
+     */
+    private long[] parseChunk(final FileChannel channel, final long start, final long end) {
+        long[] records = new long[1 + 3 * 1024];
+        int count = 0;
+        try (RecordScanner scanner = new RecordScanner(channel.map(FileChannel.MapMode.READ_ONLY, start, end - start))) {
+            while (scanner.next()) {
+                final int base = 1 + count * 3;
+                if (base + 3 > records.length) {
+                    records = Arrays.copyOf(records, records.length * 2);
+                }
+                records[base] = scanner.jobId;
+                records[base + 1] = scanner.runTime;
+                records[base + 2] = scanner.numProc;
+                count++;
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        records[0] = count;
+        return records;
+    }
+
+    /**
+     * Tokenises SWF lines byte by byte, parsing numeric fields on the fly.
+     * After each successful {@link #next()} the fields of the record are available
+     * as {@link #jobId} ({@link #IRRELEVANT} if the trace has no job numbers),
+     * {@link #submitTime}, {@link #runTime} and {@link #numProc}.
+     */
+    private final class RecordScanner implements Closeable {
+        private final InputStream in;
+        private final ByteBuffer mapped;
+        private final byte[] buffer;
+        private int pos = 0;
+        private int limit = 0;
+
+        private final int maxField = MAX_FIELD;
+        private final byte[] comment = COMMENT;
+        private final long[] values = new long[maxField];
+        private final boolean[] valid = new boolean[maxField];
+
+        private int count;
+        private boolean inToken;
+        private boolean negative;
+        private boolean numeric;
+        private int digits;
+        private long value;
+
+        long jobId;
+        long submitTime;
+        int runTime;
+        int numProc;
+
+        RecordScanner(final InputStream in) {
+            this.in = in;
+            this.mapped = null;
+            this.buffer = new byte[BUFFER_SIZE];
+        }
+
+        RecordScanner(final ByteBuffer mapped) {
+            this.in = null;
+            this.mapped = mapped;
+            this.buffer = null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (in != null) {
+                in.close();
+            }
+        }
+
+        /**
+         * Advances to the next well-formed job of the trace.
+         *
+         * @return <code>false</code> when the end of the trace has been reached
+         */
+        boolean next() throws IOException {
+            int b;
+            while ((b = read()) != -1) {
+                if (scanLine(b) && extract()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int read() throws IOException {
+            if (mapped != null) {
+                return mapped.hasRemaining() ? mapped.get() & 0xFF : -1;
+            }
+            if (pos == limit) {
+                pos = 0;
+                limit = in.read(buffer, 0, buffer.length);
+                if (limit <= 0) {
+                    limit = 0;
+                    // entries of a zip archive are read one after the other
+                    if (in instanceof ZipInputStream zin && zin.getNextEntry() != null) {
+                        return '\n';
+                    }
+                    return -1;
+                }
+            }
+            return buffer[pos++] & 0xFF;
+        }
+
+        /**
+         * Tokenises the line starting with the given byte, up to and including its terminator.
+         *
+         * @return <code>true</code> if the line is not a comment and has exactly
+         * {@link #MAX_FIELD} fields
+         */
+        private boolean scanLine(int b) throws IOException {
+            int matched = 0;
+            while (matched < comment.length && b == (comment[matched] & 0xFF)) {
+                matched++;
+                b = read();
+            }
+            if (matched == comment.length) {
+                while (b != -1 && b != '\n' && b != '\r') {
+                    b = read();
+                }
+                return false;
+            }
+
+            count = 0;
+            inToken = false;
+            for (int i = 0; i < matched; i++) {
+                accept(comment[i] & 0xFF);
+            }
+            while (b != -1 && b != '\n' && b != '\r') {
+                accept(b);
+                b = read();
+            }
+            endToken();
+            return count == maxField;
+        }
+
+        private void accept(final int b) {
+            if (b == ' ' || b == '\t' || b == 0x0B || b == '\f') {
+                endToken();
+                return;
+            }
+            if (!inToken) {
+                inToken = true;
+                negative = false;
+                numeric = true;
+                digits = 0;
+                value = 0;
+                if (b == '-' || b == '+') {
+                    negative = b == '-';
+                    return;
+                }
+            }
+            if (count >= maxField || !numeric) {
+                return;
+            }
+            final int d = b - '0';
+            if (d < 0 || d > 9 || value > (Long.MAX_VALUE - d) / 10) {
+                numeric = false;
+            } else {
+                value = value * 10 + d;
+                digits++;
+            }
+        }
+
+        private void endToken() {
+            if (!inToken) {
+                return;
+            }
+            if (count < maxField) {
+                values[count] = negative ? -value : value;
+                valid[count] = numeric && digits > 0;
+            }
+            count++;
+            inToken = false;
+        }
+
+        /**
+         * Extracts the job fields from the tokenised line,
+         * following the rules of {@link WorkloadFileReader}.
+         *
+         * @return <code>false</code> if a required field is missing or not an integer
+         */
+        private boolean extract() {
+            if (JOB_NUM != IRRELEVANT && !isInt(JOB_NUM)) {
+                return false;
+            }
+            if (!isLong(SUBMIT_TIME) || !isInt(REQ_RUN_TIME) || !isInt(RUN_TIME)
+                    || !isInt(USER_ID) || !isInt(GROUP_ID) || !isInt(REQ_NUM_PROC)) {
+                return false;
+            }
+
+            jobId = JOB_NUM == IRRELEVANT ? IRRELEVANT : values[JOB_NUM];
+            submitTime = values[SUBMIT_TIME];
+
+            // according to the SWF manual, runtime of 0 is possible due
+            // to rounding down. E.g. runtime is 0.4 seconds -> runtime = 0
+            runTime = Math.max(1, (int) values[RUN_TIME]);
+
+            // if the required num of allocated processors field is ignored
+            // or zero, then use the actual field
+            numProc = (int) values[REQ_NUM_PROC];
+            if (numProc == IRRELEVANT || numProc == 0) {
+                if (!isInt(NUM_PROC)) {
+                    return false;
+                }
+                numProc = (int) values[NUM_PROC];
+            }
+            if (numProc <= 0) {
+                numProc = 1;
+            }
+            return true;
+        }
+
+        private boolean isLong(final int field) {
+            return field < maxField && valid[field];
+        }
+
+        private boolean isInt(final int field) {
+            return isLong(field) && values[field] >= Integer.MIN_VALUE && values[field] <= Integer.MAX_VALUE;
+        }
+    }
+}
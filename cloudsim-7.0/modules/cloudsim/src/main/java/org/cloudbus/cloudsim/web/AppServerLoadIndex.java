@@ -0,0 +1,216 @@
+package org.cloudbus.cloudsim.web;
+
+import org.cloudbus.cloudsim.EX.disk.HddVm;
+import org.cloudbus.cloudsim.EX.vm.VmStatus;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * An indexed min-heap of application servers by their load. The load of a
+ * server is updated, whenever its cloudlet scheduler reports that cloudlets
+ * have entered or left its exec list, so the least loaded server is found in
+ * O(log n), rather than by evaluating all servers.
+ *
+ * <br>
+ * <br>
+ *
+ * Servers with equal loads are ordered by when they were last assigned a
+ * session, so that sessions are distributed among them in a round robin
+ * fashion. Servers which are not running or are out of memory are skipped.
+ *
+ */
+class AppServerLoadIndex {
+
+    private static final class Entry {
+        final HddVm vm;
+        final Runnable listener;
+        final long order;
+        double load;
+        long lastAssigned = 0;
+        int position;
+
+        Entry(final HddVm vm, final Runnable listener, final long order) {
+            this.vm = vm;
+            this.listener = listener;
+            this.order = order;
+        }
+    }
+
+    private final ToDoubleFunction<HddVm> loadFunction;
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private final List<Entry> heap = new ArrayList<>();
+    /** Performance optimisation - reused when skipping servers. */
+    private final List<Entry> skipped = new ArrayList<>();
+    private long orderCounter = 0;
+    private long assignCounter = 0;
+
+    /**
+     * Constr.
+     *
+     * @param loadFunction
+     *            - computes the load of a server. Must only depend on its
+     *            executing cloudlets.
+     */
+    public AppServerLoadIndex(final ToDoubleFunction<HddVm> loadFunction) {
+        this.loadFunction = loadFunction;
+    }
+
+    /**
+     * Adds a server to the index, and starts listening for changes of its
+     * load.
+     *
+     * @param vm
+     *            - the server. If already in the index, nothing happens.
+     */
+    public void add(final HddVm vm) {
+        if (!entries.containsKey(vm.getId())) {
+            Entry e = new Entry(vm, () -> update(vm), orderCounter++);
+            e.load = loadFunction.applyAsDouble(vm);
+            entries.put(vm.getId(), e);
+            insert(e);
+            vm.getCloudletScheduler().addLoadListener(e.listener);
+        }
+    }
+
+    /**
+     * Removes a server from the index.
+     *
+     * @param vm
+     *            - the server. If not in the index, nothing happens.
+     */
+    public void remove(final HddVm vm) {
+        Entry e = entries.remove(vm.getId());
+        if (e != null) {
+            vm.getCloudletScheduler().removeLoadListener(e.listener);
+            removeAt(e.position);
+        }
+    }
+
+    /**
+     * Re-evaluates the load of a server.
+     *
+     * @param vm
+     *            - the server.
+     */
+    public void update(final HddVm vm) {
+        Entry e = entries.get(vm.getId());
+        if (e != null) {
+            e.load = loadFunction.applyAsDouble(vm);
+            siftUp(e.position);
+            siftDown(e.position);
+        }
+    }
+
+    /**
+     * Returns the least loaded running server, which is not out of memory.
+     *
+     * @return the least loaded running server, or null if there is none.
+     */
+    public HddVm leastLoaded() {
+        HddVm result = null;
+        while (!heap.isEmpty()) {
+            Entry top = heap.get(0);
+            if (top.vm.getStatus() == VmStatus.RUNNING && !top.vm.isOutOfMemory()) {
+                result = top.vm;
+                break;
+            }
+            skipped.add(top);
+            removeAt(0);
+        }
+        for (Entry e : skipped) {
+            insert(e);
+        }
+        skipped.clear();
+        return result;
+    }
+
+    /**
+     * Records that a session has been assigned to the server, so that the
+     * servers with the same load are assigned sessions before it.
+     *
+     * @param vm
+     *            - the server.
+     */
+    public void assigned(final HddVm vm) {
+        Entry e = entries.get(vm.getId());
+        if (e != null) {
+            e.lastAssigned = ++assignCounter;
+            siftDown(e.position);
+        }
+    }
+
+    /**
+     * Returns the number of servers in the index.
+     *
+     * @return the number of servers in the index.
+     */
+    public int size() {
+        return heap.size();
+    }
+
+    private void insert(final Entry e) {
+        e.position = heap.size();
+        heap.add(e);
+        siftUp(e.position);
+    }
+
+    private void removeAt(final int position) {
+        Entry last = heap.remove(heap.size() - 1);
+        if (position < heap.size()) {
+            set(position, last);
+            siftUp(position);
+            siftDown(last.position);
+        }
+    }
+
+    private void siftUp(int position) {
+        Entry e = heap.get(position);
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!less(e, heap.get(parent))) {
+                break;
+            }
+            set(position, heap.get(parent));
+            position = parent;
+        }
+        set(position, e);
+    }
+
+    private void siftDown(int position) {
+        Entry e = heap.get(position);
+        int size = heap.size();
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && less(heap.get(child + 1), heap.get(child))) {
+                child++;
+            }
+            if (!less(heap.get(child), e)) {
+                break;
+            }
+            set(position, heap.get(child));
+            position = child;
+        }
+        set(position, e);
+    }
+
+    private void set(final int position, final Entry e) {
+        heap.set(position, e);
+        e.position = position;
+    }
+
+    private static boolean less(final Entry e1, final Entry e2) {
+        if (e1.load != e2.load) {
+            return e1.load < e2.load;
+        } else if (e1.lastAssigned != e2.lastAssigned) {
+            return e1.lastAssigned < e2.lastAssigned;
+        }
+        return e1.order < e2.order;
+    }
+}
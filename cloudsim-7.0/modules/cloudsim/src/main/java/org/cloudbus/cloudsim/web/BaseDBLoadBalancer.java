@@ -1,9 +1,15 @@
 package org.cloudbus.cloudsim.web;
 
+import org.cloudbus.cloudsim.EX.disk.DataItem;
+import org.cloudbus.cloudsim.EX.disk.HddPe;
 import org.cloudbus.cloudsim.EX.disk.HddVm;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implements common functionalities for DB load balancers
@@ -15,6 +21,16 @@ public abstract class BaseDBLoadBalancer implements IDBBalancer {
 
     protected List<HddVm> dbVms;
 
+    /**
+     * The DB VMs, which can access each data item, by the id of the item. A VM
+     * is listed once for each of its harddisks with the item. Built when first
+     * needed, as the VMs may not be placed on hosts before that.
+     */
+    private final Map<Integer, List<HddVm>> dataItemsToVms = new HashMap<>();
+    /** The list and number of VMs the index was built for. */
+    private List<HddVm> indexedVms = null;
+    private int numIndexedVms = -1;
+
     /**
      * Constr.
      * 
@@ -43,6 +59,46 @@ public abstract class BaseDBLoadBalancer implements IDBBalancer {
     @Override
     public void setVms(final List<HddVm> vms) {
         dbVms = vms;
+        indexedVms = null;
+    }
+
+    /**
+     * Returns the DB VMs with access to a harddisk containing the data item, in
+     * the order of {@link #getVMs()}. A VM is listed once for each of its
+     * harddisks with the item. The data items of the harddisks and the hosts
+     * of the VMs are assumed not to change after the VMs are placed.
+     * 
+     * @param dataItemId
+     *            - the id of the data item.
+     * @return the DB VMs with access to the data item. Must not be modified.
+     */
+    protected List<HddVm> getVmsWithData(final int dataItemId) {
+        if (indexedVms != getVMs() || numIndexedVms != getVMs().size()) {
+            indexDataItems();
+        }
+        return dataItemsToVms.getOrDefault(dataItemId, Collections.emptyList());
+    }
+
+    private void indexDataItems() {
+        dataItemsToVms.clear();
+        boolean allPlaced = true;
+        for (HddVm vm : getVMs()) {
+            if (vm.getHost() == null) {
+                allPlaced = false;
+                continue;
+            }
+            for (HddPe hdd : vm.getHost().getHddList()) {
+                if (vm.getHddsIds().contains(hdd.getId())) {
+                    for (DataItem item : hdd.getData()) {
+                        dataItemsToVms.computeIfAbsent(item.getId(), k -> new ArrayList<>()).add(vm);
+                    }
+                }
+            }
+        }
+
+        // Index again next time, if some VMs are not yet placed
+        indexedVms = allPlaced ? getVMs() : null;
+        numIndexedVms = getVMs().size();
     }
 
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import org.cloudbus.cloudsim.EX.disk.HddVm;
 import org.cloudbus.cloudsim.EX.util.Id;
 import org.cloudbus.cloudsim.EX.vm.VmStatus;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -41,7 +42,7 @@ public abstract class BaseWebLoadBalancer implements ILoadBalancer {
         super();
         this.appId = appId;
         id = Id.pollId(SimpleWebLoadBalancer.class);
-        this.appServers = appServers;
+        this.appServers = new AppServerList(appServers);
         this.dbBalancer = dbBalancer;
         this.ip = ip;
     }
@@ -86,4 +87,71 @@ public abstract class BaseWebLoadBalancer implements ILoadBalancer {
     public IDBBalancer getDbBalancer() {
         return dbBalancer;
     }
+
+    /**
+     * Called after an app server has been added to the list of app servers,
+     * either by {@link #registerAppServer(HddVm)} or through the list returned
+     * by {@link #getAppServers()}. Not called for the servers passed to the
+     * constructor.
+     * 
+     * @param vm
+     *            - the added app server.
+     */
+    protected void appServerAdded(final HddVm vm) {
+    }
+
+    /**
+     * Called after an app server has been removed from the list of app
+     * servers.
+     * 
+     * @param vm
+     *            - the removed app server.
+     */
+    protected void appServerRemoved(final HddVm vm) {
+    }
+
+    /**
+     * A view of the list of app servers, which notifies the load balancer of
+     * the added and removed servers.
+     */
+    private final class AppServerList extends AbstractList<HddVm> {
+        private final List<HddVm> delegate;
+
+        AppServerList(final List<HddVm> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public HddVm get(final int index) {
+            return delegate.get(index);
+        }
+
+        @Override
+        public int size() {
+            return delegate.size();
+        }
+
+        @Override
+        public HddVm set(final int index, final HddVm vm) {
+            HddVm old = delegate.set(index, vm);
+            appServerRemoved(old);
+            appServerAdded(vm);
+            return old;
+        }
+
+        @Override
+        public void add(final int index, final HddVm vm) {
+            delegate.add(index, vm);
+            modCount++;
+            appServerAdded(vm);
+        }
+
+        @Override
+        public HddVm remove(final int index) {
+            HddVm old = delegate.remove(index);
+            modCount++;
+            appServerRemoved(old);
+            return old;
+        }
+    }
 }
@@ -74,28 +74,11 @@ public class CompressLoadBalancer extends BaseWebLoadBalancer implements ILoadBa
                 }
             }
         } else {// Assign to one of the running VMs
+            // The sessions being assigned are not active in the broker yet,
+            // so the used servers do not change while assigning them
+            Map<Integer, Integer> usedASServers = this.broker.getASServersToNumSessions();
             for (WebSession session : noAppServSessions) {
-                List<HddVm> vms = new ArrayList<>(runingVMs);
-                Map<Integer, Integer> usedASServers = this.broker.getASServersToNumSessions();
-                cpuUtilReverseComparator.setUsedASServers(usedASServers.keySet());
-                vms.sort(cpuUtilReverseComparator);
-
-                // For debug purposes:
-                debugSB.setLength(0);
-                for (HddVm vm : vms) {
-                    debugSB.append(String.format("%s[%s] cpu(%.2f), ram(%.2f), cdlts(%d), sess(%d); ", vm,
-                            (usedASServers.containsKey(vm.getId()) ? "" : "FREE, ") + vm.getStatus(), vm.getCPUUtil(),
-                            vm.getRAMUtil(), vm.getCloudletScheduler().getCloudletExecList().size(),
-                            usedASServers.getOrDefault(vm.getId(), 0)));
-                }
-
-                HddVm hostVM = vms.get(vms.size() - 1);
-                for (HddVm vm : vms) {
-                    if (vm.getCPUUtil() < cpuThreshold && vm.getRAMUtil() < ramThreshold && !vm.isOutOfMemory()) {
-                        hostVM = vm;
-                        break;
-                    }
-                }
+                HddVm hostVM = selectServer(runingVMs, usedASServers);
 
                 session.setAppVmId(hostVM.getId());
                 CustomLog
@@ -103,16 +86,30 @@ public class CompressLoadBalancer extends BaseWebLoadBalancer implements ILoadBa
                                 broker, session.getSessionId(), hostVM, hostVM.getStatus(), hostVM.getCPUUtil(),
                                 hostVM.getRAMUtil(), hostVM.getCloudletScheduler().getCloudletExecList().size(),
                                 usedASServers.getOrDefault(hostVM.getId(), 0));
-                CustomLog.printf("[Load Balancer](%s), Candidate VMs: %s", broker, debugSB);
-
-                // Log the state of the DB servers
-                debugSB.setLength(0);
-                for (HddVm dbVm : getDbBalancer().getVMs()) {
-                    debugSB.append(String.format("%s cpu(%.2f), ram(%.2f), disk(%.2f), cdlts(%d);", dbVm,
-                            dbVm.getCPUUtil(), dbVm.getRAMUtil(), dbVm.getDiskUtil(), dbVm.getCloudletScheduler()
-                                    .getCloudletExecList().size()));
+
+                // For debug purposes:
+                if (CustomLog.isLevelHighEnough(Level.FINE)) {
+                    List<HddVm> vms = new ArrayList<>(runingVMs);
+                    cpuUtilReverseComparator.setUsedASServers(usedASServers.keySet());
+                    vms.sort(cpuUtilReverseComparator);
+                    debugSB.setLength(0);
+                    for (HddVm vm : vms) {
+                        debugSB.append(String.format("%s[%s] cpu(%.2f), ram(%.2f), cdlts(%d), sess(%d); ", vm,
+                                (usedASServers.containsKey(vm.getId()) ? "" : "FREE, ") + vm.getStatus(),
+                                vm.getCPUUtil(), vm.getRAMUtil(), vm.getCloudletScheduler().getCloudletExecList()
+                                        .size(), usedASServers.getOrDefault(vm.getId(), 0)));
+                    }
+                    CustomLog.printf(Level.FINE, "[Load Balancer](%s), Candidate VMs: %s", broker, debugSB);
+
+                    // Log the state of the DB servers
+                    debugSB.setLength(0);
+                    for (HddVm dbVm : getDbBalancer().getVMs()) {
+                        debugSB.append(String.format("%s cpu(%.2f), ram(%.2f), disk(%.2f), cdlts(%d);", dbVm,
+                                dbVm.getCPUUtil(), dbVm.getRAMUtil(), dbVm.getDiskUtil(), dbVm
+                                        .getCloudletScheduler().getCloudletExecList().size()));
+                    }
+                    CustomLog.printf(Level.FINE, "[Load Balancer](%s), DB VMs: %s", broker, debugSB);
                 }
-                CustomLog.printf("[Load Balancer](%s), DB VMs: %s", broker, debugSB);
             }
 
             // Set the DB VM
@@ -124,6 +121,49 @@ public class CompressLoadBalancer extends BaseWebLoadBalancer implements ILoadBa
         }
     }
 
+    /**
+     * Selects the server, which would be first among the servers sorted by
+     * {@link CPUUtilisationComparator} and under the thresholds, without
+     * sorting or copying them. The used servers come first, from the most
+     * utilised, and then the free ones, in their order. If no server is under
+     * the thresholds, the last one in that order is selected.
+     */
+    private HddVm selectServer(final List<HddVm> vms, final Map<Integer, Integer> usedASServers) {
+        HddVm bestUsed = null;
+        double bestUsedUtil = 0;
+        HddVm firstFree = null;
+        HddVm lastFree = null;
+        HddVm leastUtilUsed = null;
+        double leastUtil = 0;
+        for (HddVm vm : vms) {
+            double cpuUtil = vm.getCPUUtil();
+            boolean underThresholds = cpuUtil < cpuThreshold && vm.getRAMUtil() < ramThreshold
+                    && !vm.isOutOfMemory();
+            if (usedASServers.containsKey(vm.getId())) {
+                if (underThresholds && (bestUsed == null || cpuUtil > bestUsedUtil)) {
+                    bestUsed = vm;
+                    bestUsedUtil = cpuUtil;
+                }
+                if (leastUtilUsed == null || cpuUtil <= leastUtil) {
+                    leastUtilUsed = vm;
+                    leastUtil = cpuUtil;
+                }
+            } else {
+                if (underThresholds && firstFree == null) {
+                    firstFree = vm;
+                }
+                lastFree = vm;
+            }
+        }
+
+        if (bestUsed != null) {
+            return bestUsed;
+        } else if (firstFree != null) {
+            return firstFree;
+        }
+        return lastFree != null ? lastFree : leastUtilUsed;
+    }
+
     private void updateNumberOfSessions(List<WebSession> noAppServSessions, int time) {
         int secsToKeep = 60;
         if (noAppServSessions == null || !noAppServSessions.isEmpty()) {
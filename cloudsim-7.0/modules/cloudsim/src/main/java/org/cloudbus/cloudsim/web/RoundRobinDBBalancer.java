@@ -2,7 +2,6 @@ package org.cloudbus.cloudsim.web;
 
 import org.cloudbus.cloudsim.Cloudlet;
 import org.cloudbus.cloudsim.EX.disk.HddCloudlet;
-import org.cloudbus.cloudsim.EX.disk.HddPe;
 import org.cloudbus.cloudsim.EX.disk.HddVm;
 import org.cloudbus.cloudsim.EX.util.CustomLog;
 
@@ -48,14 +47,7 @@ public class RoundRobinDBBalancer extends BaseDBLoadBalancer {
      */
     @Override
     public void allocateToServer(final HddCloudlet cloudlet) {
-        List<HddVm> suitable = new ArrayList<>();
-        for (HddVm vm : getVMs()) {
-            for (HddPe hdd : vm.getHost().getHddList()) {
-                if (vm.getHddsIds().contains(hdd.getId()) && hdd.containsDataItem(cloudlet.getData().getId())) {
-                    suitable.add(vm);
-                }
-            }
-        }
+        List<HddVm> suitable = getVmsWithData(cloudlet.getData().getId());
 
         if (suitable.isEmpty()) {
             CustomLog
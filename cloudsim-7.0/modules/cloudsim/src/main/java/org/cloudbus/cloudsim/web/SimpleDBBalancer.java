@@ -5,7 +5,6 @@ package org.cloudbus.cloudsim.web;
 
 import org.cloudbus.cloudsim.Cloudlet;
 import org.cloudbus.cloudsim.EX.disk.HddCloudlet;
-import org.cloudbus.cloudsim.EX.disk.HddPe;
 import org.cloudbus.cloudsim.EX.disk.HddVm;
 import org.cloudbus.cloudsim.EX.util.CustomLog;
 
@@ -51,13 +50,9 @@ public class SimpleDBBalancer extends BaseDBLoadBalancer implements IDBBalancer
      */
     @Override
     public void allocateToServer(final HddCloudlet cloudlet) {
-        label: for (HddVm vm : getVMs()) {
-            for (HddPe hdd : vm.getHost().getHddList()) {
-                if (vm.getHddsIds().contains(hdd.getId()) && hdd.containsDataItem(cloudlet.getData().getId())) {
-                    cloudlet.setGuestId(vm.getId());
-                    break label;
-                }
-            }
+        List<HddVm> suitable = getVmsWithData(cloudlet.getData().getId());
+        if (!suitable.isEmpty()) {
+            cloudlet.setGuestId(suitable.get(0).getId());
         }
 
         // If the cloudlet has not yet been assigned a VM
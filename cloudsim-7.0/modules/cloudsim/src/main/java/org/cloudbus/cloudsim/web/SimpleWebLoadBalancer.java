@@ -1,6 +1,5 @@
 package org.cloudbus.cloudsim.web;
 
-import org.cloudbus.cloudsim.EX.disk.HddCloudlet;
 import org.cloudbus.cloudsim.EX.disk.HddVm;
 import org.cloudbus.cloudsim.EX.util.CustomLog;
 import org.cloudbus.cloudsim.web.workload.brokers.WebBroker;
@@ -10,15 +9,17 @@ import java.util.logging.Level;
 
 /**
  * Implements simple load balancing - sessions are assigned to the least busy
- * (in terms of CPU) application server VMs.
+ * (in terms of CPU) application server VMs. The servers are kept in an
+ * {@link AppServerLoadIndex}, updated as cloudlets are submitted to and
+ * completed by them, so a session is assigned in O(log n) time.
  * 
  * @author nikolay.grozev
  * @author Remo Andreoli
  */
 public class SimpleWebLoadBalancer extends BaseWebLoadBalancer implements ILoadBalancer {
 
-    private long startPositionWhenEqual = 0;
     private final StringBuffer debugSB = new StringBuffer();
+    private final AppServerLoadIndex loadIndex = new AppServerLoadIndex(SimpleWebLoadBalancer::evaluateSuitability);
     WebBroker broker;
 
     /**
@@ -39,24 +40,56 @@ public class SimpleWebLoadBalancer extends BaseWebLoadBalancer implements ILoadB
     public SimpleWebLoadBalancer(final long appId, final String ip, final List<HddVm> appServers,
             final IDBBalancer dbBalancer) {
         super(appId, ip, appServers, dbBalancer);
+        for (HddVm vm : appServers) {
+            loadIndex.add(vm);
+        }
     }
 
     public SimpleWebLoadBalancer(final long appId, final String ip, final List<HddVm> appServers,
             final IDBBalancer dbBalancer, WebBroker broker) {
-        super(appId, ip, appServers, dbBalancer);
+        this(appId, ip, appServers, dbBalancer);
         this.broker = broker;
     }
 
+    @Override
+    protected void appServerAdded(final HddVm vm) {
+        loadIndex.add(vm);
+    }
+
+    @Override
+    protected void appServerRemoved(final HddVm vm) {
+        loadIndex.remove(vm);
+    }
+
     @Override
     public void assignToServers(final WebSession... sessions) {
         // Filter all sessions without an assigned application server
         List<WebSession> noAppServSessions = new ArrayList<>(Arrays.asList(sessions));
         noAppServSessions.removeIf(sess -> sess.getAppVmId() != null);
 
-        List<HddVm> runingVMs = getRunningAppServers();
-        // No running AS servers - log an error
-        if (runingVMs.isEmpty()) {
-            for (WebSession session : noAppServSessions) {
+        boolean logAssignments = CustomLog.isLevelHighEnough(CustomLog.DEFAULT_LEVEL);
+        @SuppressWarnings("unchecked")
+        Map<Integer, Integer> usedASServers = broker != null && logAssignments ? this.broker
+                .getASServersToNumSessions() : Collections.EMPTY_MAP;
+
+        // The candidate VMs are only listed for debugging, as it takes
+        // evaluating all of them
+        debugSB.setLength(0);
+        if (CustomLog.isLevelHighEnough(Level.FINE)) {
+            for (HddVm vm : getRunningAppServers()) {
+                debugSB.append(String.format("%s[%s] cpu(%.2f), ram(%.2f), cdlts(%d), sess(%d); ", vm, vm.getStatus(),
+                        vm.getCPUUtil(), vm.getRAMUtil(), vm.getCloudletScheduler().getCloudletExecList().size(),
+                        usedASServers.getOrDefault(vm.getId(), 0)));
+            }
+        }
+
+        for (WebSession session : noAppServSessions) {
+            // Get the VM which is utilized the least. Sessions are not
+            // cloudlets yet, so the VM stays the least utilized, unless
+            // others are utilized the same.
+            HddVm hostVM = loadIndex.leastLoaded();
+            if (hostVM == null) {
+                // No running AS servers - log an error
                 if (getAppServers().isEmpty()) {
                     CustomLog.printf(Level.SEVERE,
                             "Simple Load Balancer(%s): session %d cannot be scheduled, as there are no AS servers",
@@ -67,53 +100,22 @@ public class SimpleWebLoadBalancer extends BaseWebLoadBalancer implements ILoadB
                                     "[Simple Load Balancer](%s): session %d cannot be scheduled, as all AS servers are either booting or terminated",
                                     broker == null ? "N/A" : broker, session.getSessionId());
                 }
+                continue;
             }
-        } else {
-            @SuppressWarnings("unchecked")
-            Map<Integer, Integer> usedASServers = broker != null ? this.broker.getASServersToNumSessions()
-                    : Collections.EMPTY_MAP;
-
-            // Get the VMs which are utilized the least
-            debugSB.setLength(0);
-            List<HddVm> bestVms = new ArrayList<>();
-            double bestUtilization = Double.MAX_VALUE;
-            for (HddVm vm : runingVMs) {
-                double vmUtilization = evaluateSuitability(vm);
-                if (!vm.isOutOfMemory()) {
-                    if (vmUtilization < bestUtilization) {
-                        bestVms.clear();
-                        bestUtilization = vmUtilization;
-                        bestVms.add(vm);
-                    } else if (vmUtilization == bestUtilization) {
-                        bestVms.add(vm);
-                    }
-                }
-
-                debugSB.append(String.format("%s[%s] cpu(%.2f), ram(%.2f), cdlts(%d), sess(%d); ", vm, vm.getStatus(),
-                        vm.getCPUUtil(), vm.getRAMUtil(), vm.getCloudletScheduler().getCloudletExecList().size(),
-                        usedASServers.getOrDefault(vm.getId(), 0)));
-            }
-
-            // Distribute the sessions among the best VMs
-            long i = startPositionWhenEqual++;
-            if (!bestVms.isEmpty()) {
-                for (WebSession session : noAppServSessions) {
-                    long index = i++ % bestVms.size();
-                    HddVm hostVM = bestVms.get((int) index);
-                    session.setAppVmId(hostVM.getId());
 
-                    CustomLog
-                            .printf("[Simple Load Balancer(%s): Assigning sesssion %d to %s[%s] cpu(%.2f), ram(%.2f), cdlts(%d), sess(%d);",
-                                    broker == null ? "N/A" : broker, session.getSessionId(), hostVM,
-                                    hostVM.getStatus(), hostVM.getCPUUtil(), hostVM.getRAMUtil(), hostVM
-                                            .getCloudletScheduler().getCloudletExecList().size(),
-                                    usedASServers.getOrDefault(hostVM.getId(), 0));
-                    CustomLog.printf("[Simple Load Balancer(%s), Candidate VMs: %s", broker == null ? "N/A" : broker,
-                            debugSB);
+            session.setAppVmId(hostVM.getId());
+            loadIndex.assigned(hostVM);
 
-                }
+            if (logAssignments) {
+                CustomLog
+                        .printf("[Simple Load Balancer(%s): Assigning sesssion %d to %s[%s] cpu(%.2f), ram(%.2f), cdlts(%d), sess(%d);",
+                                broker == null ? "N/A" : broker, session.getSessionId(), hostVM,
+                                hostVM.getStatus(), hostVM.getCPUUtil(), hostVM.getRAMUtil(), hostVM
+                                        .getCloudletScheduler().getCloudletExecList().size(),
+                                usedASServers.getOrDefault(hostVM.getId(), 0));
             }
-
+            CustomLog.printf(Level.FINE, "[Simple Load Balancer(%s), Candidate VMs: %s", broker == null ? "N/A"
+                    : broker, debugSB);
         }
 
         // Set the DB VM
@@ -124,21 +126,27 @@ public class SimpleWebLoadBalancer extends BaseWebLoadBalancer implements ILoadB
         }
 
         // Log the state of the DB servers
-        debugSB.setLength(0);
-        for (HddVm dbVm : getDbBalancer().getVMs()) {
-            debugSB.append(String.format("%s cpu(%.2f), ram(%.2f), disk(%.2f), cdlts(%d);", dbVm, dbVm.getCPUUtil(),
-                    dbVm.getRAMUtil(), dbVm.getDiskUtil(), dbVm.getCloudletScheduler().getCloudletExecList().size()));
+        if (CustomLog.isLevelHighEnough(Level.FINE)) {
+            debugSB.setLength(0);
+            for (HddVm dbVm : getDbBalancer().getVMs()) {
+                debugSB.append(String.format("%s cpu(%.2f), ram(%.2f), disk(%.2f), cdlts(%d);", dbVm,
+                        dbVm.getCPUUtil(), dbVm.getRAMUtil(), dbVm.getDiskUtil(), dbVm.getCloudletScheduler()
+                                .getCloudletExecList().size()));
+            }
+            CustomLog.printf(Level.FINE, "[Simple Load Balancer], DB VMs: %s", debugSB);
         }
-        CustomLog.printf("[Simple Load Balancer], DB VMs: %s", debugSB);
-
     }
 
+    /**
+     * Returns the load of the VM - the length of its executing cloudlets,
+     * relative to its capacity.
+     * 
+     * @param vm
+     *            - the VM.
+     * @return the load of the VM.
+     */
     protected static double evaluateSuitability(final HddVm vm) {
-        double sumExecCloudLets = 0;
-        for (HddCloudlet cloudlet : vm.getCloudletScheduler().<HddCloudlet> getCloudletExecList()) {
-            sumExecCloudLets += cloudlet.getCloudletLength();
-        }
         double vmMips = vm.getMips() * vm.getNumberOfPes();
-        return sumExecCloudLets / vmMips;
+        return vm.getCloudletScheduler().getExecCloudletsLength() / vmMips;
     }
 }
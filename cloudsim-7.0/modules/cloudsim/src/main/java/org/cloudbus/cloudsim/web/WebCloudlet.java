@@ -1,5 +1,7 @@
 package org.cloudbus.cloudsim.web;
 
+import java.io.Serial;
+
 import org.cloudbus.cloudsim.EX.disk.DataItem;
 import org.cloudbus.cloudsim.EX.disk.HddCloudlet;
 import org.cloudbus.cloudsim.EX.util.Textualize;
@@ -22,6 +24,8 @@ import org.cloudbus.cloudsim.EX.util.Textualize;
 @Textualize(properties = { "CloudletId", "SessionId", "Ram", "VmId", "Delay", "IdealStartTime", "ExecStartTime",
         "CloudletLength", "CloudletIOLength", "ActualCPUTime", "FinishTime", "CloudletStatusString", "Finished" })
 public class WebCloudlet extends HddCloudlet {
+    @Serial
+    private static final long serialVersionUID = 1L;
 
     private final double idealStartTime;
     private int sessionId;
@@ -362,6 +362,17 @@ public class WebSession {
                 && currentDBServerCloudLets != null && areAllCloudletsFinished(currentDBServerCloudLets);
     }
 
+    /**
+     * Returns if the session waits for cloudlets it has submitted to finish.
+     * The session can not poll new cloudlets until then.
+     * 
+     * @return if the session waits for cloudlets it has submitted to finish.
+     */
+    public boolean hasCloudletsInProgress() {
+        return (currentAppServerCloudLet != null && !currentAppServerCloudLet.isFinished())
+                || (currentDBServerCloudLets != null && !areAllCloudletsFinished(currentDBServerCloudLets));
+    }
+
     /**
      * Returns if the session has failed.
      * 
@@ -11,6 +11,7 @@ import org.cloudbus.cloudsim.EX.util.TextUtil;
 import org.cloudbus.cloudsim.web.ILoadBalancer;
 import org.cloudbus.cloudsim.web.WebTags;
 
+import java.io.Serial;
 import java.util.Arrays;
 import java.util.List;
 
@@ -22,6 +23,9 @@ import java.util.List;
  * @author Remo Andreoli
  */
 public class PerformanceLoggingWebBroker extends WebBroker {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     public static final List<? extends Class<?>> HEADER_TYPES = Arrays.asList(Double.class, Integer.class,
             Double.class, Double.class, Double.class);
 
@@ -0,0 +1,128 @@
+package org.cloudbus.cloudsim.web.workload.brokers;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.EX.MonitoringBrokerEX;
+import org.cloudbus.cloudsim.EX.PredictiveAutoscalingPolicy;
+import org.cloudbus.cloudsim.EX.billing.IVmBillingPolicy;
+import org.cloudbus.cloudsim.EX.delay.IVmBootDelayDistribution;
+import org.cloudbus.cloudsim.EX.disk.HddCloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.EX.disk.HddVm;
+import org.cloudbus.cloudsim.EX.forecast.ILoadForecaster;
+import org.cloudbus.cloudsim.EX.util.CustomLog;
+import org.cloudbus.cloudsim.EX.vm.VmStatus;
+import org.cloudbus.cloudsim.web.ILoadBalancer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A predictive autoscaling policy for the application servers of a 3-tier
+ * application, served by a {@link WebBroker}. New servers are cloned from the
+ * first server of the load balancer of the application. Only running servers
+ * without sessions are stopped, and only when they are close to their next
+ * charge time, as in {@link CompressedAutoscalingPolicy}.
+ * 
+ */
+public class PredictiveWebAutoscalingPolicy extends PredictiveAutoscalingPolicy {
+
+    private final long appId;
+    private final double delta;
+
+    /**
+     * Constr.
+     * 
+     * @param appId
+     *            - the id of the application, whose servers are scaled.
+     * @param forecaster
+     *            - the model of the CPU demand of the application. Must not be
+     *            null.
+     * @param bootDelay
+     *            - the boot delays of the VMs, as defined in the data centre.
+     *            Only their expected values are used, so the data centre's
+     *            instance can be passed without changing its delays. Must not
+     *            be null.
+     * @param targetUtilisation
+     *            - the CPU utilisation the servers should have, in the
+     *            interval (0, 1].
+     * @param minVms
+     *            - the minimal number of running or booting servers. Must be
+     *            positive.
+     * @param underProvisioningPenalty
+     *            - by how much the cost of a missing server is multiplied,
+     *            when evaluating the under-provisioning cost.
+     * @param delta
+     *            - a server is only stopped, if its next charge time is within
+     *            this time.
+     */
+    public PredictiveWebAutoscalingPolicy(final long appId, final ILoadForecaster forecaster,
+            final IVmBootDelayDistribution bootDelay, final double targetUtilisation, final int minVms,
+            final double underProvisioningPenalty, final double delta) {
+        super(forecaster, bootDelay, targetUtilisation, minVms, underProvisioningPenalty);
+        this.appId = appId;
+        this.delta = delta;
+    }
+
+    @Override
+    protected List<HddVm> getVms(final MonitoringBrokerEX broker) {
+        ILoadBalancer loadBalancer = getLoadBalancer(broker);
+        return loadBalancer == null ? Collections.emptyList() : loadBalancer.getAppServers();
+    }
+
+    @Override
+    protected void startVms(final MonitoringBrokerEX broker, final int numVms) {
+        WebBroker webBroker = (WebBroker) broker;
+        ILoadBalancer loadBalancer = getLoadBalancer(broker);
+
+        List<HddVm> newVMs = new ArrayList<>();
+        for (int i = 0; i < numVms; i++) {
+            HddVm newASServer = loadBalancer.getAppServers().get(0).clone(new HddCloudletSchedulerTimeShared());
+            loadBalancer.registerAppServer(newASServer);
+            newVMs.add(newASServer);
+        }
+
+        CustomLog.printf("Predictive-Autoscale(%s) Scale-Up: forecast(%.2f) New AS VMs provisioned: %s",
+                webBroker.toString(), getLastForecast(), newVMs.toString());
+        webBroker.createVmsAfter(newVMs, 0);
+    }
+
+    @Override
+    protected void stopVms(final MonitoringBrokerEX broker, final int numVms) {
+        WebBroker webBroker = (WebBroker) broker;
+        ILoadBalancer loadBalancer = getLoadBalancer(broker);
+        IVmBillingPolicy billingPolicy = webBroker.getVMBillingPolicy();
+        Set<Integer> usedASServers = webBroker.getUsedASServers();
+
+        List<HddVm> freeVms = new ArrayList<>();
+        for (HddVm vm : loadBalancer.getAppServers()) {
+            if (vm.getStatus() == VmStatus.RUNNING && !usedASServers.contains(vm.getId())) {
+                freeVms.add(vm);
+            }
+        }
+        if (billingPolicy != null) {
+            freeVms.sort(Comparator.comparingDouble(billingPolicy::nexChargeTime));
+        }
+
+        List<HddVm> toStop = new ArrayList<>();
+        for (HddVm vm : freeVms) {
+            if (toStop.size() >= numVms
+                    || billingPolicy != null && billingPolicy.nexChargeTime(vm) - CloudSim.clock() >= delta) {
+                break;
+            }
+            toStop.add(vm);
+        }
+
+        if (!toStop.isEmpty()) {
+            CustomLog.printf("Predictive-Autoscale(%s) Scale-Down: forecast(%.2f) AS VMs terminated: %s",
+                    webBroker.toString(), getLastForecast(), toStop.toString());
+            webBroker.destroyVMsAfter(toStop, 0);
+            loadBalancer.getAppServers().removeAll(toStop);
+        }
+    }
+
+    private ILoadBalancer getLoadBalancer(final MonitoringBrokerEX broker) {
+        return broker instanceof WebBroker webBroker ? webBroker.getLoadBalancers().get(appId) : null;
+    }
+}
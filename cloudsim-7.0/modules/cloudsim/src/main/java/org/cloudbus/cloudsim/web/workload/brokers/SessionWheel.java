@@ -0,0 +1,235 @@
+package org.cloudbus.cloudsim.web.workload.brokers;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A hierarchical timing wheel of the times web sessions must be woken at. The
+ * wheel has several levels of 64 slots. A slot of the lowest level holds the
+ * sessions due in one tick, and a slot of a higher level the sessions due in
+ * 64 slots of the level below. As the wheel advances, the sessions of a slot
+ * of a higher level are moved down to the lower levels. Thus scheduling a
+ * session is O(1), however many sessions are scheduled, and a broker only
+ * needs one simulation event for the earliest wake time, rather than one per
+ * session.
+ *
+ * <br>
+ * <br>
+ *
+ * The exact wake times are kept, so the sessions are woken at the times they
+ * were scheduled for - the ticks only determine the slots.
+ *
+ */
+class SessionWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int NUM_SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = NUM_SLOTS - 1;
+    private static final int NUM_LEVELS = 4;
+
+    /** Orders the sessions woken together as they would be by separate events. */
+    private static final Comparator<Entry> WAKE_ORDER = Comparator.comparingDouble((Entry e) -> e.time).thenComparingLong(
+            e -> e.sequence);
+
+    /** A session scheduled in the wheel. */
+    private static final class Entry {
+        final int sessionId;
+        final double time;
+        final long tick;
+        final long sequence;
+
+        Entry(final int sessionId, final double time, final long tick, final long sequence) {
+            this.sessionId = sessionId;
+            this.time = time;
+            this.tick = tick;
+            this.sequence = sequence;
+        }
+    }
+
+    private final double tickLength;
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private final List<Entry>[][] slots = new List[NUM_LEVELS][NUM_SLOTS];
+
+    /** The sessions due after the last slot of the highest level. */
+    private final List<Entry> overflow = new ArrayList<>();
+
+    /** The tick the wheel is at. The sessions of the earlier ticks are woken. */
+    private long currentTick = 0;
+
+    private int size = 0;
+    private long sequence = 0;
+
+    /**
+     * Constr.
+     *
+     * @param tickLength
+     *            - the length of the lowest level slots, in simulation time.
+     *            Must be positive.
+     */
+    public SessionWheel(final double tickLength) {
+        if (tickLength <= 0) {
+            throw new IllegalArgumentException("The length of the ticks must be positive");
+        }
+        this.tickLength = tickLength;
+    }
+
+    /**
+     * Schedules a session to be woken at the specified time. A session can be
+     * scheduled several times.
+     *
+     * @param sessionId
+     *            - the id of the session.
+     * @param time
+     *            - the time to wake the session at.
+     */
+    public void schedule(final int sessionId, final double time) {
+        place(new Entry(sessionId, time, Math.max(tickOf(time), currentTick), sequence++));
+        size++;
+    }
+
+    /**
+     * Returns the earliest time a session is scheduled at.
+     *
+     * @return the earliest time a session is scheduled at, or NaN if there are
+     *         no scheduled sessions.
+     */
+    public double nextWakeTime() {
+        if (size == 0) {
+            return Double.NaN;
+        }
+        for (int level = 0; level < NUM_LEVELS; level++) {
+            // The slot the wheel is at is empty above the lowest level
+            int first = slotIndex(currentTick, level) + (level == 0 ? 0 : 1);
+            for (int i = first; i < NUM_SLOTS; i++) {
+                List<Entry> slot = slots[level][i];
+                if (slot != null && !slot.isEmpty()) {
+                    return earliest(slot);
+                }
+            }
+        }
+        return earliest(overflow);
+    }
+
+    /**
+     * Removes the sessions scheduled at or before the specified time and
+     * returns their ids, in the order of their wake times and then of their
+     * scheduling.
+     *
+     * @param time
+     *            - the current time.
+     * @return the ids of the sessions to wake.
+     */
+    public List<Integer> pollDue(final double time) {
+        List<Entry> due = new ArrayList<>();
+        long targetTick = tickOf(time);
+        while (size > 0 && currentTick < targetTick) {
+            drain(slots[0][slotIndex(currentTick, 0)], due, Double.POSITIVE_INFINITY);
+            advance();
+        }
+        if (size == 0) {
+            currentTick = Math.max(currentTick, targetTick);
+        } else if (currentTick == targetTick) {
+            drain(slots[0][slotIndex(currentTick, 0)], due, time);
+        }
+
+        due.sort(WAKE_ORDER);
+        List<Integer> result = new ArrayList<>(due.size());
+        for (Entry e : due) {
+            result.add(e.sessionId);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of scheduled sessions.
+     *
+     * @return the number of scheduled sessions.
+     */
+    public int size() {
+        return size;
+    }
+
+    private long tickOf(final double time) {
+        return (long) Math.floor(time / tickLength);
+    }
+
+    private static int slotIndex(final long tick, final int level) {
+        return (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+    }
+
+    /**
+     * Puts the entry in the lowest level, whose slots the wheel has not passed
+     * yet for the tick of the entry.
+     */
+    private void place(final Entry e) {
+        for (int level = 0; level < NUM_LEVELS; level++) {
+            int shift = SLOT_BITS * (level + 1);
+            if ((e.tick >>> shift) == (currentTick >>> shift)) {
+                int index = slotIndex(e.tick, level);
+                if (slots[level][index] == null) {
+                    slots[level][index] = new ArrayList<>();
+                }
+                slots[level][index].add(e);
+                return;
+            }
+        }
+        overflow.add(e);
+    }
+
+    /**
+     * Moves the wheel to the next tick, and moves down the sessions of the
+     * slots of the higher levels it enters.
+     */
+    private void advance() {
+        currentTick++;
+        for (int level = 1; level < NUM_LEVELS; level++) {
+            if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+                return;
+            }
+            cascade(slots[level][slotIndex(currentTick, level)]);
+        }
+        if ((currentTick & ((1L << (SLOT_BITS * NUM_LEVELS)) - 1)) == 0) {
+            cascade(overflow);
+        }
+    }
+
+    private void cascade(final List<Entry> slot) {
+        if (slot != null && !slot.isEmpty()) {
+            List<Entry> entries = new ArrayList<>(slot);
+            slot.clear();
+            for (Entry e : entries) {
+                place(e);
+            }
+        }
+    }
+
+    private void drain(final List<Entry> slot, final List<Entry> due, final double time) {
+        if (slot == null || slot.isEmpty()) {
+            return;
+        }
+        if (time == Double.POSITIVE_INFINITY) {
+            due.addAll(slot);
+            size -= slot.size();
+            slot.clear();
+        } else {
+            for (int i = slot.size() - 1; i >= 0; i--) {
+                if (slot.get(i).time <= time) {
+                    due.add(slot.remove(i));
+                    size--;
+                }
+            }
+        }
+    }
+
+    private static double earliest(final List<Entry> entries) {
+        double result = Double.NaN;
+        for (Entry e : entries) {
+            if (Double.isNaN(result) || e.time < result) {
+                result = e.time;
+            }
+        }
+        return result;
+    }
+}
@@ -11,6 +11,7 @@ import org.cloudbus.cloudsim.EX.util.CustomLog;
 import org.cloudbus.cloudsim.web.*;
 import org.cloudbus.cloudsim.web.workload.IWorkloadGenerator;
 
+import java.io.Serial;
 import java.util.*;
 import java.util.logging.Level;
 
@@ -20,16 +21,33 @@ import java.util.logging.Level;
  * continuously over a specified period. Consequently clients must specify the
  * endpoint (in terms of time) of the simulation.
  * 
+ * <br>
+ * <br>
+ * 
+ * A session is updated when its cloudlets return, and when its next step is
+ * due. The steps due are kept in a {@link SessionWheel}, and the broker only
+ * has one pending event for the earliest of them, so the number of events does
+ * not grow with the number of active sessions.
+ * 
  * @author nikolay.grozev
  * 
  */
 public class WebBroker extends MonitoringBrokerEX {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     private boolean isTimerRunning = false;
     private final double stepPeriod;
     private final Map<Long, ILoadBalancer> appsToLoadBalancers = new HashMap<>();
     private final Map<Long, List<IWorkloadGenerator>> appsToGenerators = new HashMap<>();
 
     private final LinkedHashMap<Integer, WebSession> activeSessions = new LinkedHashMap<>();
+    /** The times the next steps of the active sessions are due at. */
+    private final SessionWheel sessionWheel;
+    /** The time of the pending {@link WebTags#WAKE_SESSIONS_TAG} event, or NaN if none. */
+    private double nextWakeTime = Double.NaN;
+    /** If the due sessions are being woken, and the wake up is scheduled afterwards. */
+    private boolean wakingSessions = false;
     private final List<WebSession> completedSessions = new ArrayList<>();
     private final List<WebSession> canceledSessions = new ArrayList<>();
 
@@ -66,6 +84,7 @@ public class WebBroker extends MonitoringBrokerEX {
             final String... metadata) throws Exception {
         super(name, lifeLength, monitoringPeriod, autoscalePeriod);
         this.stepPeriod = refreshPeriod;
+        this.sessionWheel = new SessionWheel(refreshPeriod);
         this.dataCenterId = dataCenterId;
         this.metadata = metadata;
     }
@@ -199,9 +218,9 @@ public class WebBroker extends MonitoringBrokerEX {
                     // Start the session or schedule it if its VMs are not
                     // initiated.
                     if (session.areVirtualMachinesReady()) {
-                        updateSessions(session.getSessionId());
+                        updateSession(session.getSessionId());
                     } else {
-                        send(getId(), stepPeriod, WebTags.UPDATE_SESSION_TAG, session.getSessionId());
+                        scheduleSessionStep(session.getSessionId(), CloudSim.clock() + stepPeriod);
                     }
                 }
             }
@@ -304,7 +323,9 @@ public class WebBroker extends MonitoringBrokerEX {
             submitSessions((List<WebSession>) data[0], (Long) data[1]);
         } else if (tag == WebTags.UPDATE_SESSION_TAG) {
             Integer sessId = (Integer) ev.getData();
-            updateSessions(sessId);
+            updateSession(sessId);
+        } else if (tag == WebTags.WAKE_SESSIONS_TAG) {
+            wakeSessions();
         } else {
             super.processOtherEvent(ev);
         }
@@ -327,9 +348,74 @@ public class WebBroker extends MonitoringBrokerEX {
         }
     }
 
-    private void updateSessions(final Integer... sessionIds) {
+    /**
+     * Schedules the next step of a session, in the session wheel. Only the
+     * time of the step is compared to the pending wake up, as the pending wake
+     * up is never later than the steps already in the wheel. Thus scheduling a
+     * step is O(1).
+     * 
+     * @param sessionId
+     *            - the id of the session.
+     * @param time
+     *            - the time of the step.
+     */
+    private void scheduleSessionStep(final int sessionId, final double time) {
+        sessionWheel.schedule(sessionId, time);
+        if (!wakingSessions && (Double.isNaN(nextWakeTime) || time < nextWakeTime)) {
+            nextWakeTime = time;
+            send(getId(), Math.max(0, time - CloudSim.clock()), WebTags.WAKE_SESSIONS_TAG);
+        }
+    }
+
+    /**
+     * Makes sure there is an event for the earliest step due in the session
+     * wheel. Looks up the earliest step in the wheel, so it is called once per
+     * wake up rather than once per step.
+     */
+    private void scheduleWakeUp() {
+        double wakeTime = sessionWheel.nextWakeTime();
+        if (!Double.isNaN(wakeTime)
+                && (Double.isNaN(nextWakeTime) || nextWakeTime < CloudSim.clock() || wakeTime < nextWakeTime)) {
+            nextWakeTime = wakeTime;
+            send(getId(), Math.max(0, wakeTime - CloudSim.clock()), WebTags.WAKE_SESSIONS_TAG);
+        }
+    }
+
+    /**
+     * Updates the sessions whose steps are due. The sessions, which still wait
+     * for their cloudlets, are updated when the cloudlets return.
+     */
+    private void wakeSessions() {
+        double currTime = CloudSim.clock();
+        if (currTime >= nextWakeTime) {
+            nextWakeTime = Double.NaN;
+        }
+        List<Integer> dueIds = sessionWheel.pollDue(currTime);
+        List<Integer> idsToUpdate = new ArrayList<>(dueIds.size());
+        for (Integer id : dueIds) {
+            WebSession sess = activeSessions.get(id);
+            if (sess != null && !sess.isComplete() && !sess.isFailed() && sess.areVirtualMachinesReady()
+                    && sess.hasCloudletsInProgress()) {
+                continue;
+            }
+            idsToUpdate.add(id);
+        }
+        wakingSessions = true;
+        try {
+            updateSessions(idsToUpdate);
+        } finally {
+            wakingSessions = false;
+        }
+        scheduleWakeUp();
+    }
+
+    private void updateSession(final Integer sessionId) {
+        updateSessions(Collections.singletonList(sessionId));
+    }
+
+    private void updateSessions(final List<Integer> sessionIds) {
         List<Integer> completedIds = new ArrayList<>();
-        for (Integer id : sessionIds.length == 0 ? activeSessions.keySet() : Arrays.asList(sessionIds)) {
+        for (Integer id : sessionIds) {
             WebSession sess = activeSessions.get(id);
 
             // If the session is complete - there is no need to update it.
@@ -364,7 +450,7 @@ public class WebBroker extends MonitoringBrokerEX {
                         double nextIdealTime = currTime + stepPeriod;
                         sess.notifyOfTime(nextIdealTime);
 
-                        send(getId(), stepPeriod, WebTags.UPDATE_SESSION_TAG, sess.getSessionId());
+                        scheduleSessionStep(sess.getSessionId(), nextIdealTime);
                     }
                 } catch (SessionFailedException e) {
                     CustomLog.printf("Broker(%s): Session %d with metadata %s has failed. Details: %s", this,
@@ -412,7 +498,7 @@ public class WebBroker extends MonitoringBrokerEX {
         if (CloudSim.clock() < getLifeLength()) {
             // kill the broker only if its life length is over/expired
             if (cloudlet instanceof WebCloudlet) {
-                updateSessions(((WebCloudlet) cloudlet).getSessionId());
+                updateSession(((WebCloudlet) cloudlet).getSessionId());
             }
         }
     }
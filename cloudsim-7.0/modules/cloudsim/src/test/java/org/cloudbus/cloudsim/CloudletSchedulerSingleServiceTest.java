@@ -141,6 +141,27 @@ public class CloudletSchedulerSingleServiceTest {
 		assertSame(cloudlet, vmScheduler.getNextFinishedCloudlet());
 	}
 
+	@Test
+	public void testCloudletFinishNotifiesCompletionQueue() {
+		UtilizationModelStochastic utilizationModel = new UtilizationModelStochastic();
+		Cloudlet cloudlet = new Cloudlet(0, CLOUDLET_LENGTH, PES_NUMBER, CLOUDLET_FILE_SIZE, CLOUDLET_OUTPUT_SIZE,
+				utilizationModel, utilizationModel, utilizationModel);
+		cloudlet.setResourceParameter(0, 0, 0);
+
+		List<CloudletScheduler> completionQueue = new ArrayList<>();
+		vmScheduler.setCompletionQueue(completionQueue);
+		vmScheduler.cloudletSubmit(cloudlet, 0);
+		assertTrue(completionQueue.isEmpty());
+
+		vmScheduler.cloudletFinish(cloudlet);
+		assertEquals(List.of(vmScheduler), completionQueue);
+
+		// a scheduler with pending finished cloudlets is queued as soon as it is tracked
+		List<CloudletScheduler> otherQueue = new ArrayList<>();
+		vmScheduler.setCompletionQueue(otherQueue);
+		assertEquals(List.of(vmScheduler), otherQueue);
+	}
+
 	@Test
 	public void testGetTotalCurrentMips() {
 		List<Double> mipsShare = new ArrayList<>();
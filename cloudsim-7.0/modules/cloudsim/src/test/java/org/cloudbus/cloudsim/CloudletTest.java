@@ -19,6 +19,7 @@ import java.util.LinkedList;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * @author		Anton Beloglazov
@@ -94,4 +95,16 @@ public class CloudletTest {
 		testGetUtilizationOfBw();
 	}
 
+	@Test
+	public void testFinalizeSuccessfulCloudlet() {
+		cloudlet.setResourceParameter(0, 0);
+		cloudlet.setCloudletStatus(Cloudlet.CloudletStatus.SUCCESS);
+		cloudlet.finalizeCloudlet();
+
+		// the finished length is in instructions, so nothing remains
+		assertEquals(CLOUDLET_LENGTH * PES_NUMBER * Consts.MILLION, cloudlet.getCloudletFinishedSoFar());
+		assertEquals(0, cloudlet.getRemainingCloudletLength());
+		assertTrue(cloudlet.isFinished());
+	}
+
 }
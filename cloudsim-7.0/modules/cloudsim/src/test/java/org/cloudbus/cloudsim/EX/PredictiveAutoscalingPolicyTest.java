@@ -0,0 +1,269 @@
+package org.cloudbus.cloudsim.EX;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.Serial;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.GuestEntity;
+import org.cloudbus.cloudsim.EX.billing.IVmBillingPolicy;
+import org.cloudbus.cloudsim.EX.delay.ConstantVmBootDelay;
+import org.cloudbus.cloudsim.EX.delay.GaussianByTypeBootDelay;
+import org.cloudbus.cloudsim.EX.delay.IVmBootDelayDistribution;
+import org.cloudbus.cloudsim.EX.forecast.ILoadForecaster;
+import org.cloudbus.cloudsim.EX.vm.MonitoredVmEX;
+import org.cloudbus.cloudsim.EX.vm.VMMetadata;
+import org.cloudbus.cloudsim.EX.vm.VmStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PredictiveAutoscalingPolicyTest {
+
+    private static final double AUTOSCALE_PERIOD = 60;
+    private static final double BOOT_DELAY = 30;
+    private static final double TARGET_UTILISATION = 0.5;
+    private static final double PENALTY = 2;
+    private static final double DELTA = 1e-9;
+
+    /** A VM, whose CPU utilisation is set by the test. */
+    private static class StubVm extends MonitoredVmEX {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private double cpuUtil = 0;
+
+        StubVm(final int userId) {
+            super("Stub", userId, 1000, 1, 512, 1000, 1000, "Xen", new CloudletSchedulerTimeShared(), metadata(),
+                    -1);
+        }
+
+        private static VMMetadata metadata() {
+            VMMetadata metadata = new VMMetadata();
+            metadata.setType("m1.small");
+            metadata.setOS("Linux");
+            return metadata;
+        }
+
+        @Override
+        public double getCPUUtil() {
+            return cpuUtil;
+        }
+    }
+
+    /**
+     * Forecasts a demand of 1.2 until time 100, 0.4 until time 200 and none
+     * afterwards, and records the measurements and the forecasted times.
+     */
+    private static class StubForecaster implements ILoadForecaster {
+        private final List<double[]> updates = new ArrayList<>();
+        private final List<Double> forecastTimes = new ArrayList<>();
+
+        @Override
+        public void update(final double time, final double value) {
+            updates.add(new double[] { time, value });
+        }
+
+        @Override
+        public double forecast(final double time) {
+            forecastTimes.add(time);
+            return time < 100 ? 1.2 : time < 200 ? 0.4 : 0;
+        }
+    }
+
+    /** Charges 1 per minute for any VM. */
+    private static class StubBillingPolicy implements IVmBillingPolicy {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public BigDecimal bill(final List<? extends GuestEntity> vms) {
+            return BigDecimal.ZERO;
+        }
+
+        @Override
+        public BigDecimal bill(final List<? extends GuestEntity> vms, final double before) {
+            return BigDecimal.ZERO;
+        }
+
+        @Override
+        public double nexChargeTime(final Vm vm) {
+            return CloudSim.clock() + 3600;
+        }
+
+        @Override
+        public BigDecimal normalisedCostPerMinute(final Vm vm) {
+            return BigDecimal.ONE;
+        }
+    }
+
+    /**
+     * Scales stub VMs, which boot for {@link #BOOT_DELAY}, and records how
+     * many VMs it is asked to start and stop.
+     */
+    private static class StubPolicy extends PredictiveAutoscalingPolicy {
+        private final List<StubVm> vms = new ArrayList<>();
+        private final List<Integer> started = new ArrayList<>();
+        private final List<Integer> stopped = new ArrayList<>();
+
+        StubPolicy(final ILoadForecaster forecaster) {
+            this(forecaster, new ConstantVmBootDelay(BOOT_DELAY));
+        }
+
+        StubPolicy(final ILoadForecaster forecaster, final IVmBootDelayDistribution bootDelay) {
+            super(forecaster, bootDelay, TARGET_UTILISATION, 1, PENALTY);
+        }
+
+        @Override
+        protected List<StubVm> getVms(final MonitoringBrokerEX broker) {
+            for (StubVm vm : vms) {
+                if (vm.getStatus() == VmStatus.INITIALISING
+                        && vm.getSubmissionTime() + BOOT_DELAY <= CloudSim.clock()) {
+                    vm.setStatus(VmStatus.RUNNING);
+                }
+            }
+            return vms;
+        }
+
+        @Override
+        protected void startVms(final MonitoringBrokerEX broker, final int numVms) {
+            started.add(numVms);
+            for (int i = 0; i < numVms; i++) {
+                StubVm vm = new StubVm(broker.getId());
+                vm.setStatus(VmStatus.INITIALISING);
+                vms.add(vm);
+            }
+        }
+
+        @Override
+        protected void stopVms(final MonitoringBrokerEX broker, final int numVms) {
+            stopped.add(numVms);
+            for (int i = 0; i < numVms; i++) {
+                vms.remove(vms.size() - 1).setStatus(VmStatus.TERMINATED);
+            }
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        Log.disable();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Log.enable();
+    }
+
+    @Test
+    public void testScalesAheadOfForecastAndAccumulatesCosts() throws Exception {
+        CloudSim.init(1, Calendar.getInstance(), false);
+        MonitoringBrokerEX broker = new MonitoringBrokerEX("Broker", 10000, -1, AUTOSCALE_PERIOD);
+        broker.setVMBillingPolicy(new StubBillingPolicy());
+        StubForecaster forecaster = new StubForecaster();
+        StubPolicy policy = new StubPolicy(forecaster);
+        broker.addAutoScalingPolicy(policy);
+
+        StubVm first = new StubVm(broker.getId());
+        first.setStatus(VmStatus.RUNNING);
+        first.cpuUtil = 0.9;
+        policy.vms.add(first);
+
+        // The policy is invoked at 0.01, 60.01, 120.01 and 180.01
+        CloudSim.terminateSimulation(200);
+        CloudSim.startSimulation();
+        CloudSim.stopSimulation();
+
+        // The running VMs are measured at every invocation
+        assertEquals(4, forecaster.updates.size());
+        assertEquals(0.01, forecaster.updates.get(0)[0], DELTA);
+        assertEquals(0.9, forecaster.updates.get(0)[1], DELTA);
+
+        // The demand is forecasted for when a new VM would be ready, and until
+        // the next invocation
+        assertEquals(List.of(0.01 + BOOT_DELAY, 0.01 + BOOT_DELAY), forecaster.forecastTimes.subList(0, 2));
+        assertEquals(List.of(60.01 + BOOT_DELAY, 60.01 + BOOT_DELAY + AUTOSCALE_PERIOD),
+                forecaster.forecastTimes.subList(2, 4));
+
+        // 0.01: 1.2 is forecasted - 3 VMs are needed at 50% utilisation.
+        // 60.01: 1.2 and 0.4 are forecasted - the 3 VMs are kept.
+        // 120.01: 0.4 is forecasted - 2 VMs are stopped.
+        // 180.01: nothing is forecasted - the minimal VM is kept.
+        assertEquals(List.of(2), policy.started);
+        assertEquals(List.of(2), policy.stopped);
+        assertEquals(1, policy.vms.size());
+        assertEquals(0, policy.getLastForecast(), DELTA);
+
+        // The demand of 0.9 needs 1.8 VMs. Until 120.01 3 VMs run - 1.2 in
+        // excess for 2 minutes. Then 1 VM runs - 0.8 missing for a minute,
+        // doubled as a penalty.
+        assertEquals(2.4, policy.getOverProvisioningCost().doubleValue(), DELTA);
+        assertEquals(1.6, policy.getUnderProvisioningCost().doubleValue(), DELTA);
+    }
+
+    @Test
+    public void testWithoutBillingPolicyNoCosts() throws Exception {
+        CloudSim.init(1, Calendar.getInstance(), false);
+        MonitoringBrokerEX broker = new MonitoringBrokerEX("Broker", 10000, -1, AUTOSCALE_PERIOD);
+        StubForecaster forecaster = new StubForecaster();
+        StubPolicy policy = new StubPolicy(forecaster);
+        broker.addAutoScalingPolicy(policy);
+
+        StubVm first = new StubVm(broker.getId());
+        first.setStatus(VmStatus.RUNNING);
+        policy.vms.add(first);
+
+        CloudSim.terminateSimulation(200);
+        CloudSim.startSimulation();
+        CloudSim.stopSimulation();
+
+        assertEquals(List.of(2), policy.started);
+        assertEquals(0, policy.getUnderProvisioningCost().signum());
+        assertEquals(0, policy.getOverProvisioningCost().signum());
+    }
+
+    @Test
+    public void testLeadTimeIsExpectedBootDelay() throws Exception {
+        // The data centre's boot delays, whose mean is the boot delay of the
+        // stub VMs, and a copy seeded the same
+        Map<Pair<String, String>, Pair<Double, Double>> delayDefs = Map.of(ImmutablePair.of("m1.small", "Linux"),
+                ImmutablePair.of(BOOT_DELAY, 10.0));
+        byte[] seed = { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16 };
+        GaussianByTypeBootDelay bootDelay = new GaussianByTypeBootDelay(delayDefs, seed);
+        GaussianByTypeBootDelay reference = new GaussianByTypeBootDelay(delayDefs, seed);
+
+        CloudSim.init(1, Calendar.getInstance(), false);
+        MonitoringBrokerEX broker = new MonitoringBrokerEX("Broker", 10000, -1, AUTOSCALE_PERIOD);
+        StubForecaster forecaster = new StubForecaster();
+        StubPolicy policy = new StubPolicy(forecaster, bootDelay);
+        broker.addAutoScalingPolicy(policy);
+
+        StubVm first = new StubVm(broker.getId());
+        first.setStatus(VmStatus.RUNNING);
+        policy.vms.add(first);
+
+        CloudSim.terminateSimulation(200);
+        CloudSim.startSimulation();
+        CloudSim.stopSimulation();
+
+        // The demand is forecasted after the mean boot delay
+        assertEquals(8, forecaster.forecastTimes.size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(0.01 + i * AUTOSCALE_PERIOD + BOOT_DELAY, forecaster.forecastTimes.get(2 * i), DELTA);
+        }
+
+        // The policy has not drawn any of the data centre's boot delays
+        for (int i = 0; i < 5; i++) {
+            assertEquals(reference.getDelay(first), bootDelay.getDelay(first), DELTA);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.cloudbus.cloudsim.EX.disk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class HddVmTest {
+
+    @Test
+    public void testRequestedMipsBeforePlacement() {
+        HddVm vm = new HddVm("App-Srv", 0, 250, 200, 2, 512, 1000, 10000, "Xen",
+                new HddCloudletSchedulerTimeShared(), new Integer[0]);
+
+        // Without a host the VM requests its MIPS on each of its PEs, as any
+        // VM being instantiated
+        assertEquals(List.of(250.0, 250.0), vm.getCurrentRequestedMips());
+    }
+}
@@ -0,0 +1,63 @@
+package org.cloudbus.cloudsim.EX.forecast;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class LoadForecasterTest {
+
+    private static final double DELTA = 0.01;
+
+    @Test
+    public void testNoMeasurements() {
+        assertTrue(Double.isNaN(new TrendEWMAForecaster(0.5, 0.5).forecast(10)));
+        assertTrue(Double.isNaN(new HoltWintersForecaster(0.5, 0.5, 0.5, 1, 4).forecast(10)));
+    }
+
+    @Test
+    public void testTrendEWMAFollowsLinearLoad() {
+        TrendEWMAForecaster forecaster = new TrendEWMAForecaster(0.5, 0.5);
+        // Irregularly spaced measurements of 2 + 0.5 * t
+        double[] times = { 0, 1, 3, 4, 7, 8, 10, 13, 14, 16, 19, 20, 22, 25, 26, 28, 30, 33, 35, 36, 40 };
+        for (double t : times) {
+            forecaster.update(t, 2 + 0.5 * t);
+        }
+        assertEquals(0.5, forecaster.getTrend(), DELTA);
+        assertEquals(2 + 0.5 * 50, forecaster.forecast(50), 0.1);
+    }
+
+    @Test
+    public void testTrendEWMAWithoutTrend() {
+        TrendEWMAForecaster forecaster = new TrendEWMAForecaster(0.5, 0);
+        forecaster.update(0, 4);
+        forecaster.update(1, 8);
+        assertEquals(6, forecaster.getLevel(), DELTA);
+        assertEquals(6, forecaster.forecast(100), DELTA);
+    }
+
+    @Test
+    public void testHoltWintersAverageOfFirstSeason() {
+        HoltWintersForecaster forecaster = new HoltWintersForecaster(0.5, 0.5, 0.5, 10, 4);
+        forecaster.update(0, 1);
+        forecaster.update(10, 3);
+        assertEquals(2, forecaster.forecast(20), DELTA);
+    }
+
+    @Test
+    public void testHoltWintersFollowsSeasons() {
+        double[] season = { 1, 5, 9, 5 };
+        HoltWintersForecaster forecaster = new HoltWintersForecaster(0.3, 0.1, 0.3, 10, season.length);
+        int steps = 10 * season.length;
+        for (int i = 0; i < steps; i++) {
+            forecaster.update(i * 10, season[i % season.length] + 0.1 * i);
+        }
+
+        // The next steps continue the seasons and the trend
+        double last = (steps - 1) * 10;
+        for (int h = 1; h <= season.length; h++) {
+            int i = steps - 1 + h;
+            assertEquals(season[i % season.length] + 0.1 * i, forecaster.forecast(last + h * 10), 0.2);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.cloudbus.cloudsim.EX.vm;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+import org.cloudbus.cloudsim.EX.vm.MonitoredVmEX.MonitoredData;
+import org.junit.jupiter.api.Test;
+
+public class MonitoredDataTest {
+
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void testWindowAverages() {
+        MonitoredData data = new MonitoredData();
+        assertArrayEquals(new double[] { 0, 0, 0 }, data.computerAvgData(), DELTA);
+
+        data.put(1, 0.1, 0.2, 0.3);
+        data.put(2, 0.3, 0.4, 0.5);
+        data.put(3, 0.5, 0.6, 0.7);
+        assertEquals(3, data.size());
+        assertArrayEquals(new double[] { 0.3, 0.4, 0.5 }, data.computerAvgData(), DELTA);
+
+        double[] result = new double[3];
+        assertEquals(2, data.averageOfLast(2, result));
+        assertArrayEquals(new double[] { 0.4, 0.5, 0.6 }, result, DELTA);
+        assertEquals(1, data.averageSince(2.5, result));
+        assertArrayEquals(new double[] { 0.5, 0.6, 0.7 }, result, DELTA);
+        assertEquals(0, data.averageSince(4, result));
+        assertArrayEquals(new double[] { 0, 0, 0 }, result, DELTA);
+
+        data.cleanUp(4, 1.5);
+        assertEquals(1, data.size());
+        assertArrayEquals(new double[] { 0.5, 0.6, 0.7 }, data.computerAvgData(), DELTA);
+
+        data.cleanUp(10, 1.5);
+        assertEquals(0, data.size());
+        assertArrayEquals(new double[] { 0, 0, 0 }, data.computerAvgData(), DELTA);
+    }
+
+    @Test
+    public void testAgainstRetainedObservations() {
+        MonitoredData data = new MonitoredData();
+        Deque<double[]> expected = new ArrayDeque<>();
+        Random random = new Random(17);
+        double period = 20;
+        double[] result = new double[3];
+
+        for (int t = 0; t < 2000; t++) {
+            // Bursts of observations, so that the buffer wraps and grows
+            int num = t % 100 < 50 ? 1 : 8;
+            for (int i = 0; i < num; i++) {
+                double[] util = { random.nextDouble(), random.nextDouble(), random.nextDouble() };
+                data.put(t, util[0], util[1], util[2]);
+                expected.addLast(new double[] { t, util[0], util[1], util[2] });
+            }
+            data.cleanUp(t, period);
+            while (expected.peekFirst()[0] < t - period) {
+                expected.removeFirst();
+            }
+            assertEquals(expected.size(), data.size());
+
+            double[] sums = new double[3];
+            int count = 0;
+            for (double[] e : expected) {
+                if (e[0] >= t - 5) {
+                    count++;
+                    for (int i = 0; i < 3; i++) {
+                        sums[i] += e[i + 1];
+                    }
+                }
+            }
+            assertEquals(count, data.averageSince(t - 5, result));
+            for (int i = 0; i < 3; i++) {
+                assertEquals(sums[i] / count, result[i], DELTA);
+            }
+        }
+        assertEquals(256, data.dataSize());
+    }
+
+    @Test
+    public void testRoundingErrorDoesNotBuildUp() {
+        MonitoredData data = new MonitoredData();
+        double[] result = new double[3];
+
+        // A large observation, which expires while the window is never empty
+        data.put(0, 1e9, 1e9, 1e9);
+        for (int t = 1; t <= 1000; t++) {
+            data.put(t, 0.1, 0.2, 0.3);
+            data.cleanUp(t, 10);
+        }
+        assertEquals(11, data.averageSince(0, result));
+        assertArrayEquals(new double[] { 0.1, 0.2, 0.3 }, result, 1e-12);
+    }
+}
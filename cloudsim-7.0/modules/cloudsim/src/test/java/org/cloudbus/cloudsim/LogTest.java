@@ -13,7 +13,9 @@ import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.PrintStream;
 import java.text.DecimalFormatSymbols;
+import java.time.Duration;
 import java.util.Locale;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -174,4 +176,63 @@ public class LogTest {
 		OUTPUT.reset();
 	}
 
+	@Test
+	public void testSupplier() {
+		OUTPUT.reset();
+		Log.println(() -> "test " + 123);
+		assertEquals("test 123" + LINE_SEPARATOR, OUTPUT.toString());
+		OUTPUT.reset();
+
+		Log.disable();
+		Log.print(() -> {
+			throw new AssertionError("The message should not be built");
+		});
+		Log.enable();
+		assertEquals("", OUTPUT.toString());
+	}
+
+	@Test
+	public void testAsyncOutput() {
+		OUTPUT.reset();
+		Log.enableAsyncOutput(4);
+		try {
+			assertTrue(Log.isAsyncOutputEnabled());
+			StringBuilder expected = new StringBuilder();
+			for (int i = 0; i < 100; i++) {
+				Log.println("line " + i);
+				expected.append("line ").append(i).append(LINE_SEPARATOR);
+			}
+			Log.flush();
+			assertEquals(expected.toString(), OUTPUT.toString());
+		} finally {
+			Log.disableAsyncOutput();
+		}
+		assertFalse(Log.isAsyncOutputEnabled());
+		OUTPUT.reset();
+	}
+
+	@Test
+	public void testAsyncOutputToDefaultOutput() {
+		PrintStream systemOut = System.out;
+		ByteArrayOutputStream console = new ByteArrayOutputStream();
+		System.setOut(new PrintStream(console, true));
+		// the output stream is resolved by the thread of the appender
+		Log.setOutput(null);
+		try {
+			assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+				Log.enableAsyncOutput(4);
+				try {
+					Log.println("line");
+					Log.flush();
+				} finally {
+					Log.disableAsyncOutput();
+				}
+			});
+			assertEquals("line" + LINE_SEPARATOR, console.toString());
+		} finally {
+			System.setOut(systemOut);
+			Log.setOutput(null);
+		}
+	}
+
 }
@@ -35,4 +35,18 @@ public class UtilizationModelPlanetLabInMemoryTest {
 				0.01);
 		assertEquals(0.51, utilizationModel.getUtilization(287 * SCHEDULING_INTERVAL), 0);
 	}
+
+	@Test
+	public void testGetNextChangeTime() {
+		// the utilization changes between the first samples
+		assertEquals(0.5 * SCHEDULING_INTERVAL, utilizationModel.getNextChangeTime(0.5 * SCHEDULING_INTERVAL), 0);
+		// the samples 54, 55 and 56 have the same value
+		assertEquals(56 * SCHEDULING_INTERVAL, utilizationModel.getNextChangeTime(54.2 * SCHEDULING_INTERVAL), 0);
+		assertEquals(56 * SCHEDULING_INTERVAL, utilizationModel.getNextChangeTime(55 * SCHEDULING_INTERVAL), 0);
+		// the last sample is a copy of the previous one
+		assertEquals(Double.MAX_VALUE, utilizationModel.getNextChangeTime(287.5 * SCHEDULING_INTERVAL), 0);
+
+		assertEquals(Double.MAX_VALUE, new UtilizationModelFull().getNextChangeTime(10), 0);
+		assertEquals(10, new UtilizationModelStochastic().getNextChangeTime(10), 0);
+	}
 }
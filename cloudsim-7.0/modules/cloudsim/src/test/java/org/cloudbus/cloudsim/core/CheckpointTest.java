@@ -0,0 +1,310 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.CloudletSchedulerDynamicWorkload;
+import org.cloudbus.cloudsim.Datacenter;
+import org.cloudbus.cloudsim.DatacenterBroker;
+import org.cloudbus.cloudsim.DatacenterCharacteristics;
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.Pe;
+import org.cloudbus.cloudsim.UtilizationModelNull;
+import org.cloudbus.cloudsim.UtilizationModelPlanetLabInMemory;
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.VmSchedulerTimeSharedOverSubscription;
+import org.cloudbus.cloudsim.power.PowerDatacenter;
+import org.cloudbus.cloudsim.power.PowerHost;
+import org.cloudbus.cloudsim.power.PowerVm;
+import org.cloudbus.cloudsim.power.PowerVmAllocationPolicyMigrationAbstract;
+import org.cloudbus.cloudsim.power.PowerVmAllocationPolicyMigrationStaticThreshold;
+import org.cloudbus.cloudsim.power.models.PowerModelSpecPowerHpProLiantMl110G4Xeon3040;
+import org.cloudbus.cloudsim.power.models.PowerModelSpecPowerHpProLiantMl110G5Xeon3075;
+import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
+import org.cloudbus.cloudsim.selectionPolicies.SelectionPolicyMinimumMigrationTime;
+import org.cloudbus.cloudsim.selectionPolicies.SelectionPolicyMinimumUtilization;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @since CloudSim Toolkit 7.0
+ */
+public class CheckpointTest {
+
+	private static final int NUM_BROKERS = 2;
+
+	private static final double SCHEDULING_INTERVAL = 300;
+
+	private static final double SIMULATION_LIMIT = 24 * 60 * 60;
+
+	/** The end of the warm-up of the PlanetLab simulations. */
+	private static final double WARM_UP = 6 * 60 * 60;
+
+	private static final int NUM_HOSTS = 4;
+
+	private static final int NUM_VMS = 8;
+
+	/** The number of samples of a PlanetLab trace, one per scheduling interval of a day. */
+	private static final int TRACE_LENGTH = 288;
+
+	private static final double UTILIZATION_THRESHOLD = 0.8;
+
+	@TempDir
+	Path tempDir;
+
+	@BeforeEach
+	public void setUp() {
+		Log.disable();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		Log.enable();
+	}
+
+	@Test
+	public void testRestoredRunsMatchUninterrupted() throws Exception {
+		String fileName = tempDir.resolve("warmup.ckpt").toString();
+
+		createSimulation();
+		assertTrue(CloudSim.checkpointSimulation(50, fileName));
+		List<String> uninterrupted = runSimulation();
+		assertEquals(1 + 4 * NUM_BROKERS, uninterrupted.size());
+
+		// every variant resumes from the same state
+		for (int variant = 0; variant < 2; variant++) {
+			CloudSim.restoreSimulation(fileName);
+			assertTrue(CloudSim.clock() >= 50);
+			assertEquals(uninterrupted, runSimulation());
+		}
+	}
+
+	@Test
+	public void testReplaceVmAllocationPolicy() throws Exception {
+		String fileName = tempDir.resolve("warmup.ckpt").toString();
+
+		createSimulation();
+		CloudSim.checkpointSimulation(50, fileName);
+		List<String> uninterrupted = runSimulation();
+
+		CloudSim.restoreSimulation(fileName);
+		Datacenter datacenter = (Datacenter) CloudSim.getEntity("Datacenter_0");
+		DatacenterBroker broker = (DatacenterBroker) CloudSim.getEntity("Broker_0");
+		datacenter.replaceVmAllocationPolicy(new VmAllocationPolicySimple(datacenter.getHostList()));
+		// the guests created during the warm-up are taken over by the new policy
+		for (GuestEntity guest : broker.getGuestsCreatedList()) {
+			assertNotNull(datacenter.getVmAllocationPolicy().getHost(guest));
+		}
+		assertEquals(uninterrupted, runSimulation());
+	}
+
+	@Test
+	public void testRestoredPlanetLabRunsMatchUninterrupted() throws Exception {
+		String fileName = tempDir.resolve("planetlab.ckpt").toString();
+
+		createPlanetLabSimulation();
+		assertTrue(CloudSim.checkpointSimulation(WARM_UP, fileName));
+		PowerDatacenter datacenter = (PowerDatacenter) CloudSim.getEntity("Datacenter_0");
+		List<String> uninterrupted = runPlanetLabSimulation();
+		assertTrue(datacenter.getMigrationCount() > 0);
+
+		CloudSim.restoreSimulation(fileName);
+		assertEquals(uninterrupted, runPlanetLabSimulation());
+	}
+
+	@Test
+	public void testSwapVmSelectionPolicyAfterRestore() throws Exception {
+		String fileName = tempDir.resolve("planetlab.ckpt").toString();
+
+		createPlanetLabSimulation();
+		CloudSim.checkpointSimulation(WARM_UP, fileName);
+		List<String> uninterrupted = runPlanetLabSimulation();
+
+		CloudSim.restoreSimulation(fileName);
+		PowerDatacenter datacenter = (PowerDatacenter) CloudSim.getEntity("Datacenter_0");
+		PowerVmAllocationPolicyMigrationAbstract policy =
+				(PowerVmAllocationPolicyMigrationAbstract) datacenter.getVmAllocationPolicy();
+		List<List<Double>> warmUp = getTimeHistories(policy);
+		policy.setVmSelectionPolicy(new SelectionPolicyMinimumUtilization());
+		List<String> variant = runPlanetLabSimulation();
+
+		assertNotEquals(uninterrupted, variant);
+		assertHistoriesContinue(warmUp, policy);
+	}
+
+	@Test
+	public void testReplaceMigrationPolicyKeepsHistory() throws Exception {
+		String fileName = tempDir.resolve("planetlab.ckpt").toString();
+
+		createPlanetLabSimulation();
+		CloudSim.checkpointSimulation(WARM_UP, fileName);
+		runPlanetLabSimulation();
+
+		CloudSim.restoreSimulation(fileName);
+		PowerDatacenter datacenter = (PowerDatacenter) CloudSim.getEntity("Datacenter_0");
+		PowerVmAllocationPolicyMigrationAbstract previous =
+				(PowerVmAllocationPolicyMigrationAbstract) datacenter.getVmAllocationPolicy();
+		List<List<Double>> warmUp = getTimeHistories(previous);
+		PowerVmAllocationPolicyMigrationAbstract policy = new PowerVmAllocationPolicyMigrationStaticThreshold(
+				datacenter.getHostList(), new SelectionPolicyMinimumUtilization(), UTILIZATION_THRESHOLD);
+		datacenter.replaceVmAllocationPolicy(policy);
+
+		for (int h = 0; h < NUM_HOSTS; h++) {
+			assertEquals(previous.getUtilizationHistory(h), policy.getUtilizationHistory(h));
+			assertEquals(previous.getMetricHistory(h), policy.getMetricHistory(h));
+			assertEquals(previous.getTimeHistory(h), policy.getTimeHistory(h));
+		}
+		runPlanetLabSimulation();
+		assertHistoriesContinue(warmUp, policy);
+	}
+
+	private void createSimulation() throws Exception {
+		CloudSim.init(NUM_BROKERS, null, false);
+		SimulationFixtures.createDatacenter("Datacenter_0", 2);
+		for (int b = 0; b < NUM_BROKERS; b++) {
+			SimulationFixtures.createBroker(b);
+		}
+	}
+
+	private List<String> runSimulation() {
+		List<DatacenterBroker> brokers = new ArrayList<>();
+		for (int b = 0; b < NUM_BROKERS; b++) {
+			brokers.add((DatacenterBroker) CloudSim.getEntity("Broker_" + b));
+		}
+		return SimulationFixtures.getResults(CloudSim.startSimulation(), brokers);
+	}
+
+	/**
+	 * Creates a simulation as the PlanetLab examples: a power-aware datacenter whose VMs follow traces in the
+	 * PlanetLab format, and are migrated away from the hosts whose utilization exceeds a threshold.
+	 */
+	private void createPlanetLabSimulation() throws Exception {
+		CloudSim.init(1, null, false);
+
+		List<PowerHost> hostList = new ArrayList<>();
+		for (int h = 0; h < NUM_HOSTS; h++) {
+			double mips = h % 2 == 0 ? 1860 : 2660;
+			List<Pe> peList = List.of(new Pe(0, new PeProvisionerSimple(mips)), new Pe(1, new PeProvisionerSimple(mips)));
+			hostList.add(new PowerHost(h, new RamProvisionerSimple(4096), new BwProvisionerSimple(1000000), 1000000,
+					peList, new VmSchedulerTimeSharedOverSubscription(peList), h % 2 == 0
+							? new PowerModelSpecPowerHpProLiantMl110G4Xeon3040()
+							: new PowerModelSpecPowerHpProLiantMl110G5Xeon3075()));
+		}
+		DatacenterCharacteristics characteristics = new DatacenterCharacteristics("x86", "Linux", "Xen", hostList,
+				10.0, 3.0, 0.05, 0.001, 0.0);
+		PowerDatacenter datacenter = new PowerDatacenter("Datacenter_0", characteristics,
+				new PowerVmAllocationPolicyMigrationStaticThreshold(hostList,
+						new SelectionPolicyMinimumMigrationTime<>(), UTILIZATION_THRESHOLD),
+				new LinkedList<>(), SCHEDULING_INTERVAL);
+		datacenter.setDisableMigrations(false);
+
+		DatacenterBroker broker = new DatacenterBroker("Broker_0");
+		List<Path> traces = writeTraces();
+		int[] vmMips = { 2500, 2000, 1000, 500 };
+		List<Vm> vms = new ArrayList<>();
+		List<Cloudlet> cloudlets = new ArrayList<>();
+		for (int i = 0; i < traces.size(); i++) {
+			double mips = vmMips[i % vmMips.length];
+			vms.add(new PowerVm(i, broker.getId(), mips, 1, 613, 100000, 2500, 1, "Xen",
+					new CloudletSchedulerDynamicWorkload(mips, 1), SCHEDULING_INTERVAL));
+			Cloudlet cloudlet = new Cloudlet(i, 2500 * (long) SIMULATION_LIMIT, 1, 300, 300,
+					new UtilizationModelPlanetLabInMemory(traces.get(i).toString(), SCHEDULING_INTERVAL),
+					new UtilizationModelNull(), new UtilizationModelNull());
+			cloudlet.setUserId(broker.getId());
+			cloudlet.setGuestId(i);
+			cloudlets.add(cloudlet);
+		}
+		broker.submitGuestList(vms);
+		broker.submitCloudletList(cloudlets);
+	}
+
+	/**
+	 * Writes a trace per VM in the PlanetLab format: the CPU utilization percentage of every scheduling interval
+	 * of a day, one per line. The utilization of each VM is a random walk from its own level, the same in every run.
+	 *
+	 * @return the trace files
+	 */
+	private List<Path> writeTraces() throws IOException {
+		Path dir = Files.createDirectories(tempDir.resolve("planetlab"));
+		Random random = new Random(1);
+		List<Path> traces = new ArrayList<>();
+		for (int i = 0; i < NUM_VMS; i++) {
+			Path trace = dir.resolve("vm" + i);
+			try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(trace))) {
+				int utilization = 10 + random.nextInt(60);
+				for (int t = 0; t < TRACE_LENGTH; t++) {
+					utilization = Math.clamp(utilization + random.nextInt(21) - 10, 0, 100);
+					out.println(utilization);
+				}
+			}
+			traces.add(trace);
+		}
+		return traces;
+	}
+
+	/**
+	 * Runs a PlanetLab simulation until its limit, and describes its outcome: the energy, the migrations
+	 * and the host of every VM at the end.
+	 */
+	private static List<String> runPlanetLabSimulation() {
+		PowerDatacenter datacenter = (PowerDatacenter) CloudSim.getEntity("Datacenter_0");
+		// the limit of the simulation is not part of the checkpoint
+		CloudSim.terminateSimulation(SIMULATION_LIMIT);
+		double endTime = CloudSim.startSimulation();
+
+		List<String> results = new ArrayList<>();
+		results.add("end " + endTime + " energy " + datacenter.getPower() + " migrations "
+				+ datacenter.getMigrationCount());
+		for (GuestEntity vm : datacenter.getVmList()) {
+			results.add(vm.getId() + " " + vm.getHost().getId());
+		}
+		return results;
+	}
+
+	private static List<List<Double>> getTimeHistories(PowerVmAllocationPolicyMigrationAbstract policy) {
+		List<List<Double>> histories = new ArrayList<>();
+		for (int h = 0; h < NUM_HOSTS; h++) {
+			List<Double> history = policy.getTimeHistory(h);
+			histories.add(history == null ? List.of() : new ArrayList<>(history));
+		}
+		return histories;
+	}
+
+	/** Checks that the histories of the policy start with the warm-up and go on after it. */
+	private static void assertHistoriesContinue(List<List<Double>> warmUp, PowerVmAllocationPolicyMigrationAbstract policy) {
+		assertTrue(warmUp.stream().anyMatch(history -> !history.isEmpty()));
+		for (int h = 0; h < NUM_HOSTS; h++) {
+			List<Double> history = policy.getTimeHistory(h);
+			if (warmUp.get(h).isEmpty()) {
+				continue;
+			}
+			assertEquals(warmUp.get(h), history.subList(0, warmUp.get(h).size()));
+			assertTrue(history.getLast() > WARM_UP);
+		}
+	}
+}
@@ -0,0 +1,64 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.util.List;
+
+import org.cloudbus.cloudsim.DatacenterBroker;
+import org.cloudbus.cloudsim.Log;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the life cycle of the simulations run by {@link CloudSim}.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+public class CloudSimTest {
+
+	@BeforeEach
+	public void setUp() {
+		Log.disable();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		Log.enable();
+	}
+
+	@Test
+	public void testInitResetsTerminationTime() throws Exception {
+		assertEquals(1, runSimulation(300).getCloudletReceivedList().size());
+
+		// the termination time of the previous simulation does not cut the next one short
+		DatacenterBroker broker = runSimulation(-1);
+		assertEquals(4, broker.getCloudletReceivedList().size());
+	}
+
+	/**
+	 * Runs a simulation of a broker, whose cloudlets finish after about 200, 400, 400 and 600 seconds.
+	 *
+	 * @param terminateAt the time to terminate the simulation at, or -1 to run it to its end
+	 * @return the broker
+	 */
+	private static DatacenterBroker runSimulation(double terminateAt) throws Exception {
+		CloudSim.init(1, null, false);
+		SimulationFixtures.createDatacenter("Datacenter", 1);
+		DatacenterBroker broker = SimulationFixtures.createBroker(0);
+		if (terminateAt > 0) {
+			CloudSim.terminateSimulation(terminateAt);
+		}
+		CloudSim.startSimulation();
+		CloudSim.stopSimulation();
+		return broker;
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.cloudbus.cloudsim.core.predicates.Predicate;
+import org.cloudbus.cloudsim.core.predicates.PredicateFrom;
+import org.cloudbus.cloudsim.core.predicates.PredicateNotType;
+import org.cloudbus.cloudsim.core.predicates.PredicateType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @since CloudSim Toolkit 7.0
+ */
+public class DeferredQueueTest {
+
+	private static final CloudActionTags[] TAGS = { CloudActionTags.VM_CREATE_ACK, CloudActionTags.CLOUDLET_RETURN,
+			CloudActionTags.CLOUDLET_SUBMIT, CloudActionTags.VM_MIGRATE };
+
+	@Test
+	public void testSelectionMatchesScan() {
+		Random random = new Random(7);
+		DeferredQueue queue = new DeferredQueue();
+		List<SimEvent> events = new ArrayList<>();
+		for (int round = 0; round < 2000; round++) {
+			Predicate p = switch (random.nextInt(5)) {
+				case 0 -> new PredicateType(TAGS[random.nextInt(TAGS.length)]);
+				case 1 -> new PredicateType(new CloudSimTags[] { TAGS[random.nextInt(TAGS.length)], TAGS[0], TAGS[0] });
+				case 2 -> new PredicateFrom(random.nextInt(5));
+				case 3 -> new PredicateFrom(new int[] { random.nextInt(5), random.nextInt(5) });
+				default -> new PredicateNotType(TAGS[random.nextInt(TAGS.length)]);
+			};
+
+			switch (random.nextInt(6)) {
+				case 0, 1 -> {
+					SimEvent e = new SimEvent(SimEvent.SEND, random.nextInt(20), random.nextInt(5), 0,
+							TAGS[random.nextInt(TAGS.length)], null);
+					queue.addEvent(e);
+					events.add(e);
+				}
+				case 2 -> {
+					SimEvent expected = first(events, p);
+					assertSame(expected, queue.poll(p));
+					events.remove(expected);
+				}
+				case 3 -> {
+					// removal through the iterator keeps the sub-queues up to date
+					Iterator<SimEvent> iterator = queue.iterator();
+					if (iterator.hasNext()) {
+						events.remove(iterator.next());
+						iterator.remove();
+					}
+				}
+				case 4 -> {
+					// the events removed from the middle of the queue are skipped
+					SimEvent expected = first(events, CloudSim.SIM_ANY);
+					assertSame(expected, queue.peek());
+					if (expected != null) {
+						assertTrue(queue.remove(expected));
+						events.remove(expected);
+					}
+				}
+				default -> {
+					assertSame(first(events, p), queue.peek(p));
+					assertEquals(events.stream().filter(p::match).count(), queue.count(p));
+				}
+			}
+			assertEquals(events.size(), queue.size());
+			assertEquals(events.isEmpty(), queue.isEmpty());
+		}
+		assertEquals(new HashSet<>(events), new HashSet<>(Arrays.asList(queue.toArray())));
+	}
+
+	@Test
+	public void testRemovedEventsAreDiscarded() {
+		DeferredQueue queue = new DeferredQueue();
+		List<SimEvent> events = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			SimEvent e = new SimEvent(SimEvent.SEND, i, i % 2, 0, TAGS[i % 2], null);
+			queue.addEvent(e);
+			events.add(e);
+		}
+		// the events of the second tag are never at the head of the queue
+		for (int i = 1; i < events.size(); i += 2) {
+			assertSame(events.get(i), queue.poll(new PredicateType(TAGS[1])));
+			assertEquals(events.size() - (i + 1) / 2, queue.size());
+			assertFalse(queue.contains(events.get(i)));
+		}
+		assertNull(queue.peek(new PredicateFrom(1)));
+		assertEquals(events.size() / 2, queue.toArray().length);
+		for (int i = 0; i < events.size(); i += 2) {
+			assertSame(events.get(i), queue.peek());
+			assertTrue(queue.remove(events.get(i)));
+		}
+		assertTrue(queue.isEmpty());
+	}
+
+	@Test
+	public void testNoMatch() {
+		DeferredQueue queue = new DeferredQueue();
+		queue.addEvent(new SimEvent(SimEvent.SEND, 1, 2, 0, CloudActionTags.CLOUDLET_RETURN, null));
+		assertNull(queue.peek(new PredicateType(CloudActionTags.VM_CREATE_ACK)));
+		assertNull(queue.poll(new PredicateFrom(3)));
+		assertEquals(0, queue.count(new PredicateType(CloudActionTags.VM_CREATE_ACK)));
+		assertEquals(1, queue.count(CloudSim.SIM_ANY));
+	}
+
+	private static SimEvent first(List<SimEvent> events, Predicate p) {
+		SimEvent first = null;
+		for (SimEvent e : events) {
+			if (p.match(e) && (first == null || e.compareTo(first) < 0)) {
+				first = e;
+			}
+		}
+		return first;
+	}
+}
@@ -0,0 +1,223 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.cloudbus.cloudsim.DatacenterBroker;
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.NetworkTopology;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @since CloudSim Toolkit 7.0
+ */
+public class ParallelSimulationTest {
+
+	private static final double LATENCY = 0.5;
+
+	/**
+	 * Sends a message to every peer when it starts, and forwards every message it receives,
+	 * to itself without delay and to the peers with multiples of the given delay, until the hop limit.
+	 */
+	private static class Relay extends SimEntity {
+		private final List<Integer> peers = new ArrayList<>();
+		/** The events processed by the relay, in order. */
+		private final List<String> trace;
+		private final double delay;
+
+		Relay(String name, double delay, List<String> trace) {
+			super(name);
+			this.delay = delay;
+			this.trace = trace;
+		}
+
+		@Override
+		public void startEntity() {
+			for (int peer : peers) {
+				schedule(peer, delay, CloudActionTags.BLANK, 0);
+			}
+		}
+
+		@Override
+		public void processEvent(SimEvent ev) {
+			int hops = (Integer) ev.getData();
+			trace.add(CloudSim.clock() + " " + getName() + " <- " + ev.getSourceId() + " " + hops);
+			if (hops < 4) {
+				if (hops % 2 == 0) {
+					schedule(getId(), 0, CloudActionTags.BLANK, hops + 1);
+				}
+				for (int peer : peers) {
+					schedule(peer, delay * (1 + hops / 2), CloudActionTags.BLANK, hops + 1);
+				}
+			}
+		}
+
+		@Override
+		public void shutdownEntity() {
+		}
+	}
+
+	@BeforeEach
+	public void setUp() {
+		Log.disable();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		Log.enable();
+		CloudSim.disableParallelExecution();
+		CloudSim.disableParallelDispatch();
+	}
+
+	@Test
+	public void testEventOrderMatchesSequential() {
+		List<String> sequential = runRelays(() -> {}, false);
+		List<String> parallel = runRelays(() -> CloudSim.enableParallelExecution(3, LATENCY), false);
+		assertFalse(sequential.isEmpty());
+		assertEquals(sequential, parallel);
+	}
+
+	/**
+	 * Runs relays in three partitions. The relays either share one trace, and must then be run alone,
+	 * or have their own traces, and allow concurrent dispatch.
+	 */
+	private List<String> runRelays(Runnable mode, boolean sharedTrace) {
+		CloudSim.init(0, null, false);
+		List<String> shared = new ArrayList<>();
+		List<Relay> relays = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			Relay relay = new Relay("Relay_" + i, LATENCY, sharedTrace ? shared : new ArrayList<>());
+			relay.setPartition(i % 3);
+			relay.setConcurrentDispatch(!sharedTrace);
+			relays.add(relay);
+		}
+		// every relay sends to the ones of the other partitions, so that the events
+		// from different senders have the same times
+		for (Relay relay : relays) {
+			for (Relay peer : relays) {
+				if (peer.getPartition() != relay.getPartition()) {
+					relay.peers.add(peer.getId());
+				}
+			}
+		}
+		mode.run();
+		List<String> trace = new ArrayList<>();
+		trace.add("end " + CloudSim.startSimulation());
+		if (sharedTrace) {
+			trace.addAll(shared);
+		} else {
+			for (Relay relay : relays) {
+				trace.addAll(relay.trace);
+			}
+		}
+		return trace;
+	}
+
+	@Test
+	public void testLookaheadViolation() {
+		CloudSim.init(0, null, false);
+		Relay relay0 = new Relay("Relay_0", LATENCY, new ArrayList<>());
+		Relay relay1 = new Relay("Relay_1", LATENCY, new ArrayList<>());
+		relay1.setPartition(1);
+		relay0.peers.add(relay1.getId());
+		relay1.peers.add(relay0.getId());
+
+		CloudSim.enableParallelExecution(2, 2 * LATENCY);
+		assertThrows(IllegalStateException.class, CloudSim::startSimulation);
+	}
+
+	@Test
+	public void testFederationMatchesSequential() throws Exception {
+		List<String> sequential = runFederation(() -> {});
+		List<String> parallel = runFederation(() -> CloudSim.enableParallelExecution(2, LATENCY));
+		assertEquals(8, sequential.size() - 1);
+		assertEquals(sequential, parallel);
+	}
+
+	@Test
+	public void testParallelDispatchMatchesSequential() throws Exception {
+		assertEquals(runRelays(() -> {}, false), runRelays(() -> CloudSim.enableParallelDispatch(4), false));
+
+		// the messages logged by the entities are printed in the same order too
+		OutputStream output = Log.getOutput();
+		ByteArrayOutputStream sequentialLog = new ByteArrayOutputStream();
+		ByteArrayOutputStream parallelLog = new ByteArrayOutputStream();
+		List<String> sequential, parallel;
+		Log.enable();
+		try {
+			Log.setOutput(sequentialLog);
+			sequential = runFederation(() -> {});
+			Log.setOutput(parallelLog);
+			parallel = runFederation(() -> CloudSim.enableParallelDispatch(4));
+		} finally {
+			Log.setOutput(output);
+		}
+		assertEquals(sequential, parallel);
+		assertEquals(sequentialLog.toString(), parallelLog.toString());
+	}
+
+	@Test
+	public void testParallelDispatchIsDeterministic() throws Exception {
+		List<String> sequentialRelays = runRelays(() -> {}, false);
+		List<String> sequentialSharedRelays = runRelays(() -> {}, true);
+		List<String> sequentialFederation = runFederation(() -> {});
+		for (int run = 0; run < 20; run++) {
+			assertEquals(sequentialRelays, runRelays(() -> CloudSim.enableParallelDispatch(4), false));
+			// the relays sharing their trace do not allow concurrent dispatch, so they are run one at a time
+			assertEquals(sequentialSharedRelays, runRelays(() -> CloudSim.enableParallelDispatch(4), true));
+			assertEquals(sequentialFederation, runFederation(() -> CloudSim.enableParallelDispatch(4)));
+		}
+	}
+
+	private List<String> runFederation(Runnable mode) throws Exception {
+		CloudSim.init(2, null, false);
+		List<SimEntity> datacenters = List.of(SimulationFixtures.createDatacenter("Datacenter_0", 1),
+				SimulationFixtures.createDatacenter("Datacenter_1", 1));
+		List<DatacenterBroker> brokers = List.of(SimulationFixtures.createBroker(0), SimulationFixtures.createBroker(1));
+
+		datacenters.get(1).setPartition(1);
+		brokers.get(1).setPartition(1);
+		// the brokers and datacenters only interact by events
+		for (SimEntity datacenter : datacenters) {
+			datacenter.setConcurrentDispatch(true);
+		}
+		for (DatacenterBroker broker : brokers) {
+			broker.setConcurrentDispatch(true);
+		}
+		for (SimEntity datacenter : datacenters) {
+			for (DatacenterBroker broker : brokers) {
+				NetworkTopology.addLink(broker.getId(), datacenter.getId(), 1000, LATENCY);
+			}
+		}
+		mode.run();
+
+		double endTime;
+		try {
+			endTime = CloudSim.startSimulation();
+		} finally {
+			for (SimEntity datacenter : datacenters) {
+				NetworkTopology.unmapNode(datacenter.getId());
+			}
+			for (DatacenterBroker broker : brokers) {
+				NetworkTopology.unmapNode(broker.getId());
+			}
+		}
+		return SimulationFixtures.getResults(endTime, brokers);
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.Datacenter;
+import org.cloudbus.cloudsim.DatacenterBroker;
+import org.cloudbus.cloudsim.DatacenterCharacteristics;
+import org.cloudbus.cloudsim.Host;
+import org.cloudbus.cloudsim.Pe;
+import org.cloudbus.cloudsim.UtilizationModelFull;
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
+
+/**
+ * The datacenters and brokers of the simulations run by the tests of the simulation core.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+final class SimulationFixtures {
+
+	private SimulationFixtures() {
+	}
+
+	/**
+	 * Creates a datacenter of hosts with 2 PEs of 1000 MIPS.
+	 *
+	 * @param name the name of the datacenter
+	 * @param numHosts the number of hosts
+	 * @return the datacenter
+	 */
+	static Datacenter createDatacenter(String name, int numHosts) throws Exception {
+		List<Host> hostList = new ArrayList<>();
+		for (int h = 0; h < numHosts; h++) {
+			List<Pe> peList = List.of(new Pe(0, new PeProvisionerSimple(1000)), new Pe(1, new PeProvisionerSimple(1000)));
+			hostList.add(new Host(h, new RamProvisionerSimple(2048), new BwProvisionerSimple(10000), 1000000, peList,
+					new VmSchedulerTimeShared(peList)));
+		}
+		DatacenterCharacteristics characteristics = new DatacenterCharacteristics("x86", "Linux", "Xen", hostList,
+				10.0, 3.0, 0.05, 0.001, 0.0);
+		return new Datacenter(name, characteristics, new VmAllocationPolicySimple(hostList), new ArrayList<>(), 0);
+	}
+
+	/**
+	 * Creates a broker that submits 2 VMs and 4 cloudlets, whose lengths depend on the index of the broker.
+	 *
+	 * @param index the index of the broker, which is named after it
+	 * @return the broker
+	 */
+	static DatacenterBroker createBroker(int index) throws Exception {
+		DatacenterBroker broker = new DatacenterBroker("Broker_" + index);
+		List<Vm> vms = new ArrayList<>();
+		List<Cloudlet> cloudlets = new ArrayList<>();
+		for (int i = 0; i < 2; i++) {
+			vms.add(new Vm(i, broker.getId(), 1000, 1, 512, 1000, 10000, "Xen", new CloudletSchedulerTimeShared()));
+		}
+		for (int i = 0; i < 4; i++) {
+			Cloudlet cloudlet = new Cloudlet(i, 100000L * (index + i + 1), 1, 300, 300,
+					new UtilizationModelFull(), new UtilizationModelFull(), new UtilizationModelFull());
+			cloudlet.setUserId(broker.getId());
+			cloudlet.setGuestId(i % 2);
+			cloudlets.add(cloudlet);
+		}
+		broker.submitGuestList(vms);
+		broker.submitCloudletList(cloudlets);
+		return broker;
+	}
+
+	/**
+	 * Describes the outcome of a simulation: its end time, then where and when every cloudlet received by
+	 * the brokers was run.
+	 *
+	 * @param endTime the end time of the simulation
+	 * @param brokers the brokers
+	 * @return one line per cloudlet, after the end time
+	 */
+	static List<String> getResults(double endTime, List<DatacenterBroker> brokers) {
+		List<String> results = new ArrayList<>();
+		results.add("end " + endTime);
+		for (DatacenterBroker broker : brokers) {
+			for (Cloudlet cloudlet : broker.getCloudletReceivedList()) {
+				results.add(broker.getName() + " " + cloudlet.getCloudletId() + " " + cloudlet.getResourceId() + " "
+						+ cloudlet.getGuestId() + " " + cloudlet.getExecStartTime() + " " + cloudlet.getExecFinishTime());
+			}
+		}
+		return results;
+	}
+}
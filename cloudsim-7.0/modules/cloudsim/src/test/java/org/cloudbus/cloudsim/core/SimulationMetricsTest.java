@@ -0,0 +1,149 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.Datacenter;
+import org.cloudbus.cloudsim.DatacenterBroker;
+import org.cloudbus.cloudsim.DatacenterCharacteristics;
+import org.cloudbus.cloudsim.Host;
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.Pe;
+import org.cloudbus.cloudsim.UtilizationModelFull;
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @since CloudSim Toolkit 7.0
+ */
+public class SimulationMetricsTest {
+
+	private static final int NUM_CLOUDLETS = 4;
+
+	@BeforeEach
+	public void setUp() {
+		Log.disable();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		Log.enable();
+	}
+
+	@Test
+	public void testMetricsNotCollectedByDefault() throws Exception {
+		createSimulation();
+		CloudSim.startSimulation();
+		assertNull(CloudSim.getMetrics());
+	}
+
+	@Test
+	public void testMetrics() throws Exception {
+		createSimulation();
+		CloudSim.enableMetrics();
+		CloudSim.startSimulation();
+		assertFalse(CloudSim.isMetricsEnabled());
+
+		SimulationMetrics metrics = CloudSim.getMetrics();
+		assertNotNull(metrics);
+		assertEquals(NUM_CLOUDLETS, metrics.getFinishedCloudlets());
+		assertEquals(0, metrics.getActiveCloudlets());
+		assertEquals(0, metrics.getFutureQueueSize());
+		assertTrue(metrics.getSimulationClock() > 0);
+
+		Map<String, Long> eventsByEntity = metrics.getEventsByEntity();
+		assertTrue(eventsByEntity.get("Broker") > 0);
+		assertTrue(eventsByEntity.get("Datacenter") > 0);
+		// every event dispatched to an entity is processed
+		assertEquals(metrics.getEventsDispatched(),
+				eventsByEntity.values().stream().mapToLong(Long::longValue).sum());
+		assertEquals(metrics.getEventsDispatched(),
+				metrics.getEventsByTag().values().stream().mapToLong(Long::longValue).sum());
+		assertTrue(metrics.getEventsByTag().containsKey("CloudActionTags.CLOUDLET_SUBMIT"));
+
+		long[] histogram = metrics.getProcessingTimeHistogram("Broker");
+		assertEquals((long) eventsByEntity.get("Broker"), Arrays.stream(histogram).sum());
+		assertNull(metrics.getProcessingTimeHistogram("Nobody"));
+
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = new ObjectName(SimulationMetrics.OBJECT_NAME);
+		assertEquals((long) NUM_CLOUDLETS, server.getAttribute(name, "FinishedCloudlets"));
+		assertEquals(metrics.getEventsDispatched(), server.getAttribute(name, "EventsDispatched"));
+	}
+
+	@Test
+	public void testDump() throws Exception {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		createSimulation();
+		CloudSim.enableMetrics(1000, output);
+		CloudSim.startSimulation();
+
+		CloudSim.getMetrics().dump(new PrintStream(output, true));
+		String dump = output.toString();
+		assertTrue(dump.contains("cloudlets 0 active " + NUM_CLOUDLETS + " finished"), dump);
+		assertTrue(dump.contains("Broker: "), dump);
+	}
+
+	private void createSimulation() throws Exception {
+		CloudSim.init(1, null, false);
+		createDatacenter("Datacenter");
+		DatacenterBroker broker = new DatacenterBroker("Broker");
+		List<Vm> vms = new ArrayList<>();
+		List<Cloudlet> cloudlets = new ArrayList<>();
+		for (int i = 0; i < 2; i++) {
+			vms.add(new Vm(i, broker.getId(), 1000, 1, 512, 1000, 10000, "Xen", new CloudletSchedulerTimeShared()));
+		}
+		for (int i = 0; i < NUM_CLOUDLETS; i++) {
+			Cloudlet cloudlet = new Cloudlet(i, 100000L * (i + 1), 1, 300, 300,
+					new UtilizationModelFull(), new UtilizationModelFull(), new UtilizationModelFull());
+			cloudlet.setUserId(broker.getId());
+			cloudlet.setGuestId(i % 2);
+			cloudlets.add(cloudlet);
+		}
+		broker.submitGuestList(vms);
+		broker.submitCloudletList(cloudlets);
+	}
+
+	private static void createDatacenter(String name) throws Exception {
+		List<Host> hostList = new ArrayList<>();
+		for (int h = 0; h < 2; h++) {
+			List<Pe> peList = List.of(new Pe(0, new PeProvisionerSimple(1000)), new Pe(1, new PeProvisionerSimple(1000)));
+			hostList.add(new Host(h, new RamProvisionerSimple(2048), new BwProvisionerSimple(10000), 1000000, peList,
+					new VmSchedulerTimeShared(peList)));
+		}
+		DatacenterCharacteristics characteristics = new DatacenterCharacteristics("x86", "Linux", "Xen", hostList,
+				10.0, 3.0, 0.05, 0.001, 0.0);
+		new Datacenter(name, characteristics, new VmAllocationPolicySimple(hostList), new ArrayList<>(), 0);
+	}
+}
@@ -0,0 +1,69 @@
+package org.cloudbus.cloudsim.geolocation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class LongDoubleCacheTest {
+
+    @Test
+    public void testGetAndPut() {
+        LongDoubleCache cache = new LongDoubleCache(4, 1000);
+        Map<Long, Double> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            long key = random.nextInt(300) - 150;
+            double value = random.nextDouble();
+            cache.put(key, value);
+            expected.put(key, value);
+        }
+        // The key of the empty slots is kept aside
+        cache.put(Long.MIN_VALUE, 5);
+        expected.put(Long.MIN_VALUE, 5.0);
+
+        assertEquals(expected.size(), cache.size());
+        for (Map.Entry<Long, Double> e : expected.entrySet()) {
+            assertEquals(e.getValue(), cache.get(e.getKey()));
+        }
+        assertTrue(Double.isNaN(cache.get(1000)));
+    }
+
+    @Test
+    public void testNaNIsNotCached() {
+        LongDoubleCache cache = new LongDoubleCache(4, 1000);
+        cache.put(1, 1);
+        cache.put(1, Double.NaN);
+        assertEquals(1, cache.get(1));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testClearedWhenFull() {
+        LongDoubleCache cache = new LongDoubleCache(4, 10);
+        for (int i = 0; i < 9; i++) {
+            cache.put(i, i);
+        }
+        assertEquals(9, cache.size());
+        cache.put(9, 9);
+        assertEquals(0, cache.size());
+        assertTrue(Double.isNaN(cache.get(0)));
+    }
+
+    @Test
+    public void testParseIPv4() {
+        assertEquals(0, IPUtil.parseIPv4("0.0.0.0"));
+        assertEquals(0xFFFFFFFFL, IPUtil.parseIPv4("255.255.255.255"));
+        assertEquals((124L << 24) | (168 << 16) | (86 << 8) | 122, IPUtil.parseIPv4("124.168.86.122"));
+        assertEquals(-1, IPUtil.parseIPv4("256.1.1.1"));
+        assertEquals(-1, IPUtil.parseIPv4("1.1.1"));
+        assertEquals(-1, IPUtil.parseIPv4("1..1.1"));
+        assertEquals(-1, IPUtil.parseIPv4("1.1.1.1."));
+        assertEquals(-1, IPUtil.parseIPv4("::1"));
+        assertEquals(-1, IPUtil.parseIPv4("localhost"));
+    }
+}
@@ -0,0 +1,141 @@
+package org.cloudbus.cloudsim.geolocation.geoip2;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.cloudbus.cloudsim.geolocation.BaseGeolocationService;
+import org.junit.jupiter.api.Test;
+
+public class PingERSiteIndexTest {
+
+    private static final int NUM_APPROX = 3;
+
+    /** The haversine distance on a sphere, which the lower bounds hold for. */
+    private static final PingERSiteIndex.Distance HAVERSINE = (lat1, lon1, lat2, lon2) -> {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.pow(Math.sin(dLat / 2), 2) + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.pow(Math.sin(dLon / 2), 2);
+        return 6_371_008.8 * 2 * Math.asin(Math.min(1, Math.sqrt(a)));
+    };
+
+    /** The exact distance on the WGS-84 ellipsoid, which the service uses. */
+    private static final PingERSiteIndex.Distance VINCENTY = BaseGeolocationService::vincentyDistance;
+
+    @Test
+    public void testEstimateMatchesExhaustiveSearch() {
+        assertMatchesExhaustiveSearch(HAVERSINE);
+    }
+
+    @Test
+    public void testEstimateMatchesExhaustiveSearchOnEllipsoid() {
+        assertMatchesExhaustiveSearch(VINCENTY);
+    }
+
+    private static void assertMatchesExhaustiveSearch(final PingERSiteIndex.Distance distance) {
+        Random random = new Random(13);
+        int numSites = 300;
+        List<String> names = new ArrayList<>();
+        List<double[]> coords = new ArrayList<>();
+        for (int i = 0; i < numSites; i++) {
+            names.add("site" + i);
+            coords.add(new double[] { Math.toDegrees(Math.asin(2 * random.nextDouble() - 1)),
+                    random.nextDouble() * 360 - 180 });
+        }
+        float[][] latencies = new float[numSites][numSites];
+        for (float[] row : latencies) {
+            Arrays.fill(row, Float.NaN);
+        }
+        // A few monitoring sites measuring many remote ones, as in PingER
+        for (int i = 0; i < 20; i++) {
+            for (int j = 0; j < numSites; j++) {
+                if (random.nextDouble() < 0.4) {
+                    latencies[i][j] = 1 + random.nextFloat() * 300;
+                }
+            }
+        }
+        PingERSiteIndex index = new PingERSiteIndex(names, coords, latencies, NUM_APPROX);
+
+        for (int q = 0; q < 200; q++) {
+            double lat1 = random.nextDouble() * 180 - 90;
+            double lon1 = random.nextDouble() * 360 - 180;
+            double lat2 = random.nextDouble() * 180 - 90;
+            double lon2 = random.nextDouble() * 360 - 180;
+            double expected = exhaustiveEstimate(coords, latencies, lat1, lon1, lat2, lon2, distance);
+            assertEquals(expected, index.estimateLatency(lat1, lon1, lat2, lon2, NUM_APPROX, distance), 1e-9);
+        }
+    }
+
+    @Test
+    public void testNearestSite() {
+        List<String> names = List.of("Melbourne", "London", "New York");
+        List<double[]> coords = List.of(new double[] { -37.8, 145.0 }, new double[] { 51.5, -0.1 }, new double[] {
+                40.7, -74.0 });
+        float[][] latencies = new float[3][3];
+        for (float[] row : latencies) {
+            Arrays.fill(row, Float.NaN);
+        }
+        latencies[0][1] = 150;
+        PingERSiteIndex index = new PingERSiteIndex(names, coords, latencies, NUM_APPROX);
+
+        assertEquals(3, index.getNumSites());
+        assertEquals(1, index.getNumPairs());
+        assertEquals("London", index.getName(index.nearestSite(48.9, 2.3)));
+        assertEquals("Melbourne", index.getName(index.nearestSite(-33.9, 151.2)));
+        assertEquals(-1, index.nearestSite(Double.NaN, 0));
+
+        // The only pair is used whatever the locations
+        assertEquals(150, index.estimateLatency(48.9, 2.3, 40.7, -74.0, NUM_APPROX, HAVERSINE), 1e-9);
+        assertTrue(Double.isNaN(index.estimateLatency(Double.NaN, 2.3, 40.7, -74.0, NUM_APPROX, HAVERSINE)));
+    }
+
+    /**
+     * Computes the distances of all pairs, and takes the nearest ones without
+     * common sites.
+     */
+    private static double exhaustiveEstimate(final List<double[]> coords, final float[][] latencies,
+            final double lat1, final double lon1, final double lat2, final double lon2,
+            final PingERSiteIndex.Distance distance) {
+        List<double[]> pairs = new ArrayList<>();
+        for (int i = 0; i < latencies.length; i++) {
+            for (int j = 0; j < latencies.length; j++) {
+                if (!Float.isNaN(latencies[i][j])) {
+                    double[] c1 = coords.get(i);
+                    double[] c2 = coords.get(j);
+                    double direct = distance.distance(lat1, lon1, c1[0], c1[1])
+                            + distance.distance(lat2, lon2, c2[0], c2[1]);
+                    double inverse = distance.distance(lat1, lon1, c2[0], c2[1])
+                            + distance.distance(lat2, lon2, c1[0], c1[1]);
+                    pairs.add(new double[] { Math.min(direct, inverse), pairs.size(), i, j, latencies[i][j] });
+                }
+            }
+        }
+        pairs.sort(Comparator.comparingDouble((double[] p) -> p[0]).thenComparingDouble(p -> p[1]));
+
+        boolean[] used = new boolean[latencies.length];
+        double sum = 0;
+        double weights = 0;
+        double best = Double.NaN;
+        int selected = 0;
+        for (double[] p : pairs) {
+            int s1 = (int) p[2];
+            int s2 = (int) p[3];
+            if (selected < NUM_APPROX && !used[s1] && !used[s2]) {
+                used[s1] = true;
+                used[s2] = true;
+                best = selected == 0 ? p[0] : best;
+                double weight = best / p[0];
+                sum += p[4] * weight;
+                weights += weight;
+                selected++;
+            }
+        }
+        return sum / weights;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.jfr;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.Datacenter;
+import org.cloudbus.cloudsim.DatacenterBroker;
+import org.cloudbus.cloudsim.DatacenterCharacteristics;
+import org.cloudbus.cloudsim.Host;
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.Pe;
+import org.cloudbus.cloudsim.UtilizationModelFull;
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @since CloudSim Toolkit 7.0
+ */
+public class SimulationEventsTest {
+
+	private static final int NUM_CLOUDLETS = 4;
+
+	@TempDir
+	Path tempDir;
+
+	@BeforeEach
+	public void setUp() {
+		Log.disable();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		Log.enable();
+	}
+
+	@Test
+	public void testEventsRecorded() throws Exception {
+		List<RecordedEvent> events = record(true);
+		Map<String, Integer> counts = count(events);
+		assertTrue(counts.getOrDefault(EventDispatchEvent.NAME, 0) > 0, counts.toString());
+		assertTrue(counts.getOrDefault(SchedulerUpdateEvent.NAME, 0) > 0, counts.toString());
+		assertEquals(2, counts.getOrDefault(VmPlacementEvent.NAME, 0), counts.toString());
+
+		int submits = 0;
+		for (RecordedEvent event : events) {
+			if (event.getEventType().getName().equals(VmPlacementEvent.NAME)) {
+				assertEquals("VmAllocationPolicySimple", event.getString("policy"));
+				assertTrue(event.getBoolean("allocated"));
+			} else if (event.getEventType().getName().equals(EventDispatchEvent.NAME)
+					&& event.getString("tag").equals("CLOUDLET_SUBMIT")) {
+				assertEquals("Broker", event.getString("source"));
+				assertEquals("Datacenter", event.getString("destination"));
+				submits++;
+			}
+		}
+		assertEquals(NUM_CLOUDLETS, submits);
+	}
+
+	@Test
+	public void testEventsDisabledByDefault() throws Exception {
+		assertEquals(Map.of(), count(record(false)));
+	}
+
+	private List<RecordedEvent> record(boolean enabled) throws Exception {
+		Path file = tempDir.resolve("simulation.jfr");
+		try (Recording recording = new Recording()) {
+			if (enabled) {
+				SimulationEvents.enable(recording);
+			}
+			recording.start();
+			createSimulation();
+			CloudSim.startSimulation();
+			recording.stop();
+			recording.dump(file);
+		}
+		List<RecordedEvent> events = new ArrayList<>();
+		for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+			if (SimulationEvents.NAMES.contains(event.getEventType().getName())) {
+				events.add(event);
+			}
+		}
+		return events;
+	}
+
+	private static Map<String, Integer> count(List<RecordedEvent> events) {
+		Map<String, Integer> counts = new TreeMap<>();
+		for (RecordedEvent event : events) {
+			counts.merge(event.getEventType().getName(), 1, Integer::sum);
+		}
+		return counts;
+	}
+
+	private void createSimulation() throws Exception {
+		CloudSim.init(1, null, false);
+		createDatacenter("Datacenter");
+		DatacenterBroker broker = new DatacenterBroker("Broker");
+		List<Vm> vms = new ArrayList<>();
+		List<Cloudlet> cloudlets = new ArrayList<>();
+		for (int i = 0; i < 2; i++) {
+			vms.add(new Vm(i, broker.getId(), 1000, 1, 512, 1000, 10000, "Xen", new CloudletSchedulerTimeShared()));
+		}
+		for (int i = 0; i < NUM_CLOUDLETS; i++) {
+			Cloudlet cloudlet = new Cloudlet(i, 100000L * (i + 1), 1, 300, 300,
+					new UtilizationModelFull(), new UtilizationModelFull(), new UtilizationModelFull());
+			cloudlet.setUserId(broker.getId());
+			cloudlet.setGuestId(i % 2);
+			cloudlets.add(cloudlet);
+		}
+		broker.submitGuestList(vms);
+		broker.submitCloudletList(cloudlets);
+	}
+
+	private static void createDatacenter(String name) throws Exception {
+		List<Host> hostList = new ArrayList<>();
+		for (int h = 0; h < 2; h++) {
+			List<Pe> peList = List.of(new Pe(0, new PeProvisionerSimple(1000)), new Pe(1, new PeProvisionerSimple(1000)));
+			hostList.add(new Host(h, new RamProvisionerSimple(2048), new BwProvisionerSimple(10000), 1000000, peList,
+					new VmSchedulerTimeShared(peList)));
+		}
+		DatacenterCharacteristics characteristics = new DatacenterCharacteristics("x86", "Linux", "Xen", hostList,
+				10.0, 3.0, 0.05, 0.001, 0.0);
+		new Datacenter(name, characteristics, new VmAllocationPolicySimple(hostList), new ArrayList<>(), 0);
+	}
+}
@@ -0,0 +1,154 @@
+package org.cloudbus.cloudsim.network;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DelayMatrix_FloatTest {
+
+	private static final int NODES = 150;
+
+	private TopologicalGraph graph;
+
+	@BeforeEach
+	public void setUp() {
+		// integer delays keep every path sum exact in float
+		Random random = new Random(42);
+		graph = new TopologicalGraph();
+		for (int i = 0; i < NODES; i++) {
+			graph.addNode(new TopologicalNode(i));
+		}
+		for (int i = 0; i < NODES * 3; i++) {
+			int src = random.nextInt(NODES);
+			int dest = random.nextInt(NODES);
+			if (src != dest) {
+				graph.addLink(new TopologicalLink(src, dest, 1 + random.nextInt(50), 1));
+			}
+		}
+	}
+
+	@Test
+	public void testBlockedFloydWarshall() {
+		float[][] adj = adjacency(true);
+		float[][] expected = naiveShortestPaths(adjacency(true));
+
+		FloydWarshall_Float floyd = new FloydWarshall_Float();
+		floyd.initialize(NODES);
+		float[][] actual = floyd.allPairsShortestPaths(adj);
+		int[][] pred = floyd.getPK();
+
+		for (int i = 0; i < NODES; i++) {
+			for (int j = 0; j < NODES; j++) {
+				assertEquals(expected[i][j], actual[i][j], 0);
+
+				// walking the predecessors back from j must reach i with the same total delay
+				if (i != j && actual[i][j] != Float.MAX_VALUE) {
+					float length = 0;
+					int node = j;
+					while (node != i) {
+						int prev = pred[i][node];
+						length += adj[prev][node];
+						node = prev;
+					}
+					assertEquals(actual[i][j], length, 0);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testOnDemandMatchesDense() {
+		for (boolean directed : new boolean[] { true, false }) {
+			DelayMatrix_Float dense = new DelayMatrix_Float(graph, directed);
+			DelayMatrix_Float onDemand = new OnDemandDelayMatrix_Float(graph, directed, 8);
+
+			for (int i = 0; i < NODES; i++) {
+				for (int j = 0; j < NODES; j++) {
+					assertEquals(dense.getDelay(i, j), onDemand.getDelay(i, j), 0);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testOffHeapMatchesDense(@TempDir Path tempDir) throws IOException {
+		DelayMatrix_Float dense = new DelayMatrix_Float(graph, false);
+		DelayMatrix_Float direct = new OffHeapDelayMatrix_Float(graph, false, OffHeapDelayMatrix_Float.Encoding.FLOAT32);
+		DelayMatrix_Float mapped = new OffHeapDelayMatrix_Float(graph, false, OffHeapDelayMatrix_Float.Encoding.FLOAT32,
+				tempDir.resolve("delays.bin"));
+		DelayMatrix_Float half = new OffHeapDelayMatrix_Float(graph, false, OffHeapDelayMatrix_Float.Encoding.FLOAT16);
+
+		for (int i = 0; i < NODES; i++) {
+			for (int j = 0; j < NODES; j++) {
+				float expected = dense.getDelay(i, j);
+				assertEquals(expected, direct.getDelay(i, j), 0);
+				assertEquals(expected, mapped.getDelay(i, j), 0);
+				if (expected == Float.MAX_VALUE) {
+					assertEquals(expected, half.getDelay(i, j), 0);
+				} else {
+					assertEquals(expected, half.getDelay(i, j), expected * 1e-3);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testClusteredIsExactForRepresentatives() {
+		DelayMatrix_Float dense = new DelayMatrix_Float(graph, false);
+		ClusteredDelayMatrix_Float clustered = new ClusteredDelayMatrix_Float(graph, false, 10);
+
+		for (int i = 0; i < NODES; i++) {
+			int representative = clustered.getRepresentative(i);
+			for (int j = 0; j < NODES; j++) {
+				float expected = dense.getDelay(i, j);
+				float actual = clustered.getDelay(i, j);
+				if (expected == Float.MAX_VALUE) {
+					assertEquals(expected, actual, 0);
+				} else {
+					assertTrue(actual >= expected);
+				}
+				if (representative >= 0) {
+					assertEquals(dense.getDelay(i, representative), clustered.getDelay(i, representative), 0);
+				}
+			}
+		}
+	}
+
+	private float[][] adjacency(boolean directed) {
+		float[][] adj = new float[NODES][NODES];
+		for (float[] row : adj) {
+			Arrays.fill(row, Float.MAX_VALUE);
+		}
+		graph.getLinkIterator().forEachRemaining(link -> {
+			adj[link.getSrcNodeID()][link.getDestNodeID()] = link.getLinkDelay();
+			if (!directed) {
+				adj[link.getDestNodeID()][link.getSrcNodeID()] = link.getLinkDelay();
+			}
+		});
+		return adj;
+	}
+
+	private static float[][] naiveShortestPaths(float[][] d) {
+		for (int i = 0; i < NODES; i++) {
+			d[i][i] = 0;
+		}
+		for (int k = 0; k < NODES; k++) {
+			for (int i = 0; i < NODES; i++) {
+				for (int j = 0; j < NODES; j++) {
+					if (d[i][k] != Float.MAX_VALUE && d[k][j] != Float.MAX_VALUE && d[i][k] + d[k][j] < d[i][j]) {
+						d[i][j] = d[i][k] + d[k][j];
+					}
+				}
+			}
+		}
+		return d;
+	}
+}
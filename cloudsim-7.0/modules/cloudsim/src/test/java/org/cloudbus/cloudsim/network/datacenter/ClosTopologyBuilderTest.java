@@ -0,0 +1,124 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.network.datacenter;
+
+import java.util.Calendar;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.cloudbus.cloudsim.UtilizationModelFull;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since CloudSim Toolkit 7.0
+ */
+public class ClosTopologyBuilderTest {
+
+	private static final long HOST_BW = 1000;
+	private static final long FABRIC_BW = 10000;
+
+	@BeforeEach
+	public void setUp() {
+		CloudSim.init(1, Calendar.getInstance(), false);
+	}
+
+	@Test
+	public void testFatTree() throws Exception {
+		NetworkDatacenter dc = NetworkTestSupport.createDatacenter("FatTreeDc", 16, HOST_BW);
+		List<Switch> switches = ClosTopologyBuilder.fatTree(dc, 4, 0.001, HOST_BW, FABRIC_BW);
+
+		assertEquals(20, switches.size());
+		assertEquals(8, countLevel(switches, Switch.SwitchLevel.EDGE_LEVEL));
+		assertEquals(8, countLevel(switches, Switch.SwitchLevel.AGGR_LEVEL));
+		assertEquals(4, countLevel(switches, Switch.SwitchLevel.ROOT_LEVEL));
+
+		for (Switch sw : switches) {
+			switch (sw.level) {
+				case EDGE_LEVEL -> {
+					assertEquals(2, sw.hostList.size());
+					assertEquals(2, sw.uplinkSwitches.size());
+				}
+				case AGGR_LEVEL -> {
+					assertEquals(2, sw.downlinkSwitches.size());
+					assertEquals(2, sw.uplinkSwitches.size());
+					assertEquals(2, sw.downlinkRoutes.size());
+				}
+				case ROOT_LEVEL -> {
+					// one aggregate switch per pod, reaching the 8 edge switches
+					assertEquals(4, sw.downlinkSwitches.size());
+					assertEquals(8, sw.downlinkRoutes.size());
+				}
+			}
+		}
+
+		for (NetworkHost hs : dc.<NetworkHost>getHostList()) {
+			assertNotNull(hs.getSwitch());
+		}
+
+		assertThrows(IllegalArgumentException.class, () -> ClosTopologyBuilder.fatTree(dc, 3, 0.001, HOST_BW, FABRIC_BW));
+		assertThrows(IllegalArgumentException.class, () -> ClosTopologyBuilder.fatTree(dc, 2, 0.001, HOST_BW, FABRIC_BW));
+	}
+
+	@Test
+	public void testLeafSpine() throws Exception {
+		NetworkDatacenter dc = NetworkTestSupport.createDatacenter("LeafSpineDc", 10, HOST_BW);
+		List<Switch> switches = ClosTopologyBuilder.leafSpine(dc, 4, 3, 0.001, HOST_BW, FABRIC_BW);
+
+		assertEquals(7, switches.size());
+		for (Switch sw : switches) {
+			if (sw.level == Switch.SwitchLevel.EDGE_LEVEL) {
+				assertTrue(sw.hostList.size() <= 3);
+				assertEquals(3, sw.uplinkSwitches.size());
+			} else {
+				assertEquals(4, sw.downlinkSwitches.size());
+				assertEquals(4, sw.downlinkRoutes.size());
+			}
+		}
+	}
+
+	@Test
+	public void testEcmpSpreadsFlows() throws Exception {
+		NetworkDatacenter dc = NetworkTestSupport.createDatacenter("EcmpDc", 16, HOST_BW);
+		Switch edge = ClosTopologyBuilder.fatTree(dc, 4, 0.001, HOST_BW, FABRIC_BW).getFirst();
+
+		Set<Switch> used = new HashSet<>();
+		for (int flow = 0; flow < 32; flow++) {
+			HostPacket pkt = createPacket(flow, 100 + flow);
+			Switch uplink = edge.selectUplink(pkt);
+			assertTrue(edge.uplinkSwitches.contains(uplink));
+			// the packets of a flow always follow the same path
+			assertSame(uplink, edge.selectUplink(createPacket(flow, 100 + flow)));
+			used.add(uplink);
+		}
+		assertEquals(2, used.size());
+	}
+
+	private static HostPacket createPacket(int senderGuestId, int receiverGuestId) {
+		NetworkCloudlet sender = createCloudlet(senderGuestId);
+		NetworkCloudlet receiver = createCloudlet(receiverGuestId);
+		sender.addSendStage(1000, receiver);
+		return new HostPacket(sender, 0);
+	}
+
+	private static NetworkCloudlet createCloudlet(int guestId) {
+		NetworkCloudlet cl = new NetworkCloudlet(guestId, 0, 1, 0, 0,
+				new UtilizationModelFull(), new UtilizationModelFull(), new UtilizationModelFull());
+		cl.setGuestId(guestId);
+		return cl;
+	}
+
+	private static long countLevel(List<Switch> switches, Switch.SwitchLevel level) {
+		return switches.stream().filter(sw -> sw.level == level).count();
+	}
+}
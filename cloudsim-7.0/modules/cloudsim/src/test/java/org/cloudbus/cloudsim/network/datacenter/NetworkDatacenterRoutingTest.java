@@ -0,0 +1,122 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.network.datacenter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.Pe;
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.VmAllocationPolicy.GuestMapping;
+import org.cloudbus.cloudsim.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.core.CloudActionTags;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.SimEntity;
+import org.cloudbus.cloudsim.core.SimEvent;
+import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since CloudSim Toolkit 7.0
+ */
+public class NetworkDatacenterRoutingTest {
+
+	/**
+	 * Creates a VM hosting a nested guest, migrates it to a host of another edge switch and
+	 * destroys it, recording the routes of both guests after every step.
+	 */
+	private static class Driver extends SimEntity {
+		private final NetworkDatacenter dc;
+		private final NetworkVm vm;
+		private final Vm nested;
+		private final NetworkHost target;
+		/** The routes after every step, as [vm host, vm switch, nested host, nested switch]. */
+		private final List<Integer[]> routes = new ArrayList<>();
+
+		Driver(NetworkDatacenter dc, NetworkVm vm, Vm nested, NetworkHost target) {
+			super("Driver");
+			this.dc = dc;
+			this.vm = vm;
+			this.nested = nested;
+			this.target = target;
+		}
+
+		@Override
+		public void startEntity() {
+			sendNow(dc.getId(), CloudActionTags.VM_CREATE, vm);
+			schedule(getId(), 1, CloudActionTags.BLANK, CloudActionTags.VM_MIGRATE);
+			schedule(getId(), 2, CloudActionTags.BLANK, CloudActionTags.VM_DESTROY);
+			schedule(getId(), 3, CloudActionTags.BLANK);
+		}
+
+		@Override
+		public void processEvent(SimEvent ev) {
+			routes.add(new Integer[] { dc.VmtoHostlist.get(vm.getId()), dc.VmToSwitchid.get(vm.getId()),
+					dc.VmtoHostlist.get(nested.getId()), dc.VmToSwitchid.get(nested.getId()) });
+			if (ev.getData() == CloudActionTags.VM_MIGRATE) {
+				target.addMigratingInGuest(vm);
+				sendNow(dc.getId(), CloudActionTags.VM_MIGRATE, new GuestMapping(vm, target, null, false, false));
+			} else if (ev.getData() == CloudActionTags.VM_DESTROY) {
+				sendNow(dc.getId(), CloudActionTags.VM_DESTROY, vm);
+			}
+		}
+
+		@Override
+		public void shutdownEntity() {
+		}
+	}
+
+	@BeforeEach
+	public void setUp() {
+		Log.disable();
+		CloudSim.init(1, null, false);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		Log.enable();
+	}
+
+	@Test
+	public void testRoutesFollowMigratedAndDestroyedGuests() throws Exception {
+		NetworkDatacenter dc = NetworkTestSupport.createDatacenter("RoutingDc", 4, 1000);
+		ClosTopologyBuilder.leafSpine(dc, 2, 1, 0.001, 1000, 10000);
+		List<NetworkHost> hosts = dc.getHostList();
+		NetworkHost source = hosts.getFirst();
+		NetworkHost target = hosts.stream().filter(h -> h.getSwitch() != source.getSwitch()).findFirst().orElseThrow();
+
+		List<Pe> vmPes = List.of(new Pe(0, new PeProvisionerSimple(500)));
+		NetworkVm vm = new NetworkVm(0, 0, 500, 1, 1024, 100, 1000, "Xen", new CloudletSchedulerTimeShared(),
+				new VmSchedulerTimeShared(vmPes), new RamProvisionerSimple(1024), new BwProvisionerSimple(100), vmPes);
+		Vm nested = new Vm(1, 0, 250, 1, 256, 10, 100, "Docker", new CloudletSchedulerTimeShared());
+		assertTrue(vm.guestCreate(nested));
+		vm.setHost(source);
+
+		Driver driver = new Driver(dc, vm, nested, target);
+		CloudSim.startSimulation();
+
+		assertEquals(3, driver.routes.size());
+		assertRoutes(source, driver.routes.get(0));
+		assertRoutes(target, driver.routes.get(1));
+		assertArrayEquals(new Integer[] { null, null, null, null }, driver.routes.get(2));
+	}
+
+	private static void assertRoutes(NetworkHost host, Integer[] routes) {
+		Integer switchId = host.getSwitch().getId();
+		assertArrayEquals(new Integer[] { host.getId(), switchId, host.getId(), switchId }, routes);
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.network.datacenter;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the packet-level model of the switches, with and without batching, and
+ * the flow-level model of {@link FlowNetwork}.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+public class NetworkModelsTest {
+
+	private static final long VM_BW = 1000;
+	private static final long FABRIC_BW = 2000;
+
+	/** Time of the 1000 bytes of a packet on a link of a VM or a host, in seconds. */
+	private static final double HOP_TIME = 8.0 * 1000 / VM_BW;
+
+	/** The execution of the senders before sending, and of the gatherer after receiving. */
+	private static final double EXEC_TIME = 1;
+
+	private static final double TOLERANCE = 0.05;
+
+	private static final Consumer<NetworkDatacenter> PACKETS = dc -> {};
+	private static final Consumer<NetworkDatacenter> BATCHES = dc -> dc.setPacketBatching(true);
+	private static final Consumer<NetworkDatacenter> FLOWS = dc -> dc.setFlowLevelNetwork(true);
+
+	@BeforeEach
+	public void setUp() {
+		Log.disable();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		Log.enable();
+	}
+
+	@Test
+	public void testBatchingKeepsDeliveryTimes() throws Exception {
+		// packets of different sizes share the links, on the same and across leaf switches:
+		// those of the third and fourth VMs reach their leaf switch at the same time
+		long[][] data = { { 500 }, { 1000, 3000 }, { 1000, 1000 }, { 2000, 0 } };
+		Map<Integer, Double> packets = NetworkTestSupport.runGather(PACKETS, VM_BW, FABRIC_BW, data);
+		assertEquals(8, packets.size());
+		assertEquals(packets, NetworkTestSupport.runGather(BATCHES, VM_BW, FABRIC_BW, data));
+	}
+
+	@Test
+	public void testFlowAndPacketLevelTransferTimes() throws Exception {
+		// same leaf switch: the packet is stored and forwarded once by the leaf switch
+		long[][] sameLeaf = { {}, { 1000 }, {}, {} };
+		assertEquals(2 * HOP_TIME, transferTime(PACKETS, sameLeaf), TOLERANCE);
+		assertEquals(HOP_TIME, transferTime(FLOWS, sameLeaf), TOLERANCE);
+
+		// across leaf switches: the spine links have twice the bandwidth
+		long[][] crossLeaf = { {}, {}, { 1000 }, {} };
+		assertEquals(3 * HOP_TIME, transferTime(PACKETS, crossLeaf), TOLERANCE);
+		assertEquals(HOP_TIME, transferTime(FLOWS, crossLeaf), TOLERANCE);
+
+		// two flows share the link to the receiver host fairly
+		long[][] shared = { {}, { 1000 }, { 1000 }, {} };
+		assertEquals(2 * HOP_TIME, transferTime(FLOWS, shared), TOLERANCE);
+	}
+
+	@Test
+	public void testFlowOverLinkWithoutBandwidth() throws Exception {
+		long[][] crossLeaf = { {}, {}, { 1000 }, {} };
+		IllegalStateException e = assertThrows(IllegalStateException.class,
+				() -> NetworkTestSupport.runGather(FLOWS, VM_BW, 0, crossLeaf));
+		assertTrue(e.getMessage().contains("without bandwidth"));
+	}
+
+	@Test
+	public void testFlowLevelCanNotBeDisabled() throws Exception {
+		CloudSim.init(1, null, false);
+		NetworkDatacenter dc = NetworkTestSupport.createDatacenter("FlowDc", 1, VM_BW);
+		dc.setPacketBatching(false);
+		dc.setFlowLevelNetwork(true);
+		FlowNetwork flowNetwork = dc.getFlowNetwork();
+		dc.setFlowLevelNetwork(true);
+		assertSame(flowNetwork, dc.getFlowNetwork());
+		assertThrows(IllegalStateException.class, () -> dc.setFlowLevelNetwork(false));
+		assertTrue(dc.isFlowLevelNetwork());
+	}
+
+	/**
+	 * Gets the time between the start of the transfers and the last delivery to the gatherer.
+	 */
+	private static double transferTime(Consumer<NetworkDatacenter> model, long[][] data) throws Exception {
+		Map<Integer, Double> finishTimes = NetworkTestSupport.runGather(model, VM_BW, FABRIC_BW, data);
+		double sent = finishTimes.get(1);
+		return finishTimes.get(0) - sent - EXEC_TIME;
+	}
+}
@@ -0,0 +1,121 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.network.datacenter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.DatacenterBroker;
+import org.cloudbus.cloudsim.DatacenterCharacteristics;
+import org.cloudbus.cloudsim.Pe;
+import org.cloudbus.cloudsim.UtilizationModelFull;
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
+
+/**
+ * Datacenters and workloads shared by the tests of the datacenter network.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+final class NetworkTestSupport {
+
+	static final double SWITCHING_DELAY = 0.001;
+
+	private NetworkTestSupport() {
+	}
+
+	/**
+	 * Creates a datacenter of single-core hosts, without network.
+	 */
+	static NetworkDatacenter createDatacenter(String name, int numHosts, long hostBw) throws Exception {
+		List<NetworkHost> hostList = new ArrayList<>();
+		for (int i = 0; i < numHosts; i++) {
+			List<Pe> peList = new ArrayList<>();
+			peList.add(new Pe(0, new PeProvisionerSimple(1000)));
+			hostList.add(new NetworkHost(i, new RamProvisionerSimple(2048), new BwProvisionerSimple(hostBw),
+					1000000, peList, new VmSchedulerTimeShared(peList)));
+		}
+
+		DatacenterCharacteristics characteristics = new DatacenterCharacteristics(
+				"x86", "Linux", "Xen", hostList, 10.0, 3.0, 0.05, 0.001, 0.0);
+		return new NetworkDatacenter(name, characteristics, new VmAllocationPolicySimple(hostList), new LinkedList<>(), 0);
+	}
+
+	/**
+	 * Runs a gather workload on a leaf-spine network of 4 hosts, 2 per leaf switch, with a VM
+	 * per host: cloudlets on the VMs send the given amounts of data to a gatherer on the first VM.
+	 * The senders send after executing for 1 second, and the gatherer executes for 1 second after
+	 * receiving all the data.
+	 *
+	 * @param setup configures the network model of the datacenter
+	 * @param vmBw the bandwidth of the VMs
+	 * @param fabricBw the bandwidth of the links between the leaf and the spine switches
+	 * @param data the amounts of data sent by the cloudlets of each VM, in bytes, where 0 stands
+	 *            for a cloudlet which only executes
+	 * @return the finish times of the cloudlets, by cloudlet id, in the order they were received
+	 */
+	static Map<Integer, Double> runGather(Consumer<NetworkDatacenter> setup, long vmBw, long fabricBw, long[][] data)
+			throws Exception {
+		CloudSim.init(1, null, false);
+		NetworkDatacenter dc = createDatacenter("GatherDc", 4, 100000);
+		ClosTopologyBuilder.leafSpine(dc, 2, 1, SWITCHING_DELAY, vmBw, fabricBw);
+		setup.accept(dc);
+
+		DatacenterBroker broker = new DatacenterBroker("Broker");
+		List<Vm> vms = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			vms.add(new Vm(i, broker.getId(), 1000, 1, 512, vmBw, 1000, "Xen", new CloudletSchedulerTimeShared()));
+		}
+
+		List<NetworkCloudlet> cloudlets = new ArrayList<>();
+		NetworkCloudlet gatherer = createCloudlet(0, broker.getId(), 0);
+		cloudlets.add(gatherer);
+		for (int vm = 0; vm < data.length; vm++) {
+			for (long bytes : data[vm]) {
+				NetworkCloudlet sender = createCloudlet(cloudlets.size(), broker.getId(), vm);
+				sender.addExecutionStage(1000);
+				if (bytes > 0) {
+					sender.addSendStage(bytes, gatherer);
+					gatherer.addRecvStage(sender);
+				}
+				cloudlets.add(sender);
+			}
+		}
+		gatherer.addExecutionStage(1000);
+
+		broker.submitGuestList(vms);
+		broker.submitCloudletList(cloudlets);
+		CloudSim.startSimulation();
+
+		Map<Integer, Double> results = new LinkedHashMap<>();
+		for (Cloudlet cloudlet : broker.getCloudletReceivedList()) {
+			results.put(cloudlet.getCloudletId(), cloudlet.getExecFinishTime());
+		}
+		return results;
+	}
+
+	private static NetworkCloudlet createCloudlet(int id, int userId, int vmId) {
+		NetworkCloudlet cl = new NetworkCloudlet(id, 0, 1, 0, 0,
+				new UtilizationModelFull(), new UtilizationModelFull(), new UtilizationModelFull());
+		cl.setUserId(userId);
+		cl.setGuestId(vmId);
+		return cl;
+	}
+}
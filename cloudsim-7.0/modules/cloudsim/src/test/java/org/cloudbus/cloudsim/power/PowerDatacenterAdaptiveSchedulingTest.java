@@ -0,0 +1,195 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.power;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.CloudletSchedulerDynamicWorkload;
+import org.cloudbus.cloudsim.DatacenterBroker;
+import org.cloudbus.cloudsim.DatacenterCharacteristics;
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.Pe;
+import org.cloudbus.cloudsim.UtilizationModel;
+import org.cloudbus.cloudsim.UtilizationModelNull;
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.VmAllocationPolicySimpler;
+import org.cloudbus.cloudsim.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.power.models.PowerModelLinear;
+import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @since CloudSim Toolkit 7.0
+ */
+public class PowerDatacenterAdaptiveSchedulingTest {
+
+	private static final double SCHEDULING_INTERVAL = 300;
+
+	private static final double MIPS = 1000;
+
+	/** The times at which the utilization of the cloudlet changes, all multiples of the scheduling interval. */
+	private static final double[] CHANGE_TIMES = { 0, 600, 1500 };
+
+	private static final double[] UTILIZATION = { 0.5, 1.0, 0.25 };
+
+	private static final double MAX_POWER = 200;
+
+	/** The delay between the start of the simulation and the submission of the cloudlet. */
+	private static final double SUBMISSION_DELAY = 0.01;
+
+	private static final double COMPLETION_TIME = 1800;
+
+	/** The length of the cloudlet, which completes at {@link #COMPLETION_TIME}. */
+	private static final long LENGTH = (long) (MIPS * (0.5 * 600 + 1.0 * 900 + 0.25 * 300));
+
+	/** A utilization that changes by steps, at known times. */
+	private static class StepUtilizationModel implements UtilizationModel {
+		@Override
+		public double getUtilization(double time) {
+			int step = 0;
+			while (step + 1 < CHANGE_TIMES.length && CHANGE_TIMES[step + 1] <= time) {
+				step++;
+			}
+			return UTILIZATION[step];
+		}
+
+		@Override
+		public double getNextChangeTime(double time) {
+			for (double changeTime : CHANGE_TIMES) {
+				if (changeTime > time) {
+					return changeTime;
+				}
+			}
+			return Double.MAX_VALUE;
+		}
+	}
+
+	/** A datacenter that records the times of its updates, and the next update delays it schedules. */
+	private static class RecordingPowerDatacenter extends PowerDatacenter {
+		private final List<Double> updateTimes = new ArrayList<>();
+		private final List<Double> nextUpdateTimes = new ArrayList<>();
+		private Cloudlet cloudlet;
+
+		RecordingPowerDatacenter(String name, DatacenterCharacteristics characteristics, List<PowerHost> hostList,
+				double schedulingInterval) throws Exception {
+			super(name, characteristics, new VmAllocationPolicySimpler(hostList), new ArrayList<>(), schedulingInterval);
+		}
+
+		@Override
+		protected double updateCloudetProcessingWithoutSchedulingFutureEventsForce() {
+			updateTimes.add(CloudSim.clock());
+			return super.updateCloudetProcessingWithoutSchedulingFutureEventsForce();
+		}
+
+		@Override
+		protected double getNextUpdateDelay(double currentTime, double minTime) {
+			double delay = super.getNextUpdateDelay(currentTime, minTime);
+			nextUpdateTimes.add(currentTime + delay);
+			return delay;
+		}
+	}
+
+	@BeforeEach
+	public void setUp() {
+		Log.disable();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		Log.enable();
+	}
+
+	@Test
+	public void testUpdatesAtChangePoints() throws Exception {
+		RecordingPowerDatacenter fixed = runSimulation(SCHEDULING_INTERVAL, false, false);
+		RecordingPowerDatacenter adaptive = runSimulation(SCHEDULING_INTERVAL, true, true);
+
+		// the submission of the cloudlet is recorded, and the first update follows it by the scheduling interval,
+		// then every update is scheduled at the next utilization change, and the last one at the completion of the cloudlet
+		assertEquals(List.of(CHANGE_TIMES[1], CHANGE_TIMES[2], COMPLETION_TIME), adaptive.nextUpdateTimes);
+		assertEquals(SUBMISSION_DELAY, adaptive.updateTimes.getFirst(), 0);
+		assertEquals(adaptive.nextUpdateTimes, adaptive.updateTimes.subList(2, adaptive.updateTimes.size()));
+		assertEquals(COMPLETION_TIME, adaptive.cloudlet.getExecFinishTime(), 0);
+
+		// the fixed-interval run takes one update per scheduling interval
+		assertEquals(Math.ceil(COMPLETION_TIME / SCHEDULING_INTERVAL), fixed.updateTimes.size(), 0);
+		assertTrue(adaptive.updateTimes.size() < fixed.updateTimes.size());
+	}
+
+	@Test
+	public void testEnergyMatchesFixedInterval() throws Exception {
+		double fixedEnergy = runSimulation(SCHEDULING_INTERVAL, false, true).getPower();
+		double adaptiveEnergy = runSimulation(SCHEDULING_INTERVAL, true, true).getPower();
+
+		assertTrue(fixedEnergy > 0);
+		// the fixed-interval updates lag the utilization changes by the submission delay of the cloudlet
+		assertEquals(fixedEnergy, adaptiveEnergy, MAX_POWER * SUBMISSION_DELAY);
+	}
+
+	@Test
+	public void testExactEnergyDoesNotDependOnSchedulingInterval() throws Exception {
+		// neither interval is aligned with the utilization changes, and the coarse one exceeds the simulation
+		RecordingPowerDatacenter fine = runSimulation(7, false, true);
+		RecordingPowerDatacenter coarse = runSimulation(2000, false, true);
+
+		// the exact integration updates the datacenter at the change points the intervals miss
+		assertTrue(fine.updateTimes.containsAll(List.of(CHANGE_TIMES[1], CHANGE_TIMES[2], COMPLETION_TIME)));
+		assertTrue(coarse.updateTimes.containsAll(List.of(CHANGE_TIMES[1], CHANGE_TIMES[2], COMPLETION_TIME)));
+
+		// the steps of the cloudlet, from its submission to its completion
+		double staticPower = 0.3 * MAX_POWER;
+		double dynamicPower = MAX_POWER - staticPower;
+		double expectedEnergy = staticPower * (COMPLETION_TIME - SUBMISSION_DELAY)
+				+ dynamicPower * (UTILIZATION[0] * (CHANGE_TIMES[1] - SUBMISSION_DELAY)
+						+ UTILIZATION[1] * (CHANGE_TIMES[2] - CHANGE_TIMES[1])
+						+ UTILIZATION[2] * (COMPLETION_TIME - CHANGE_TIMES[2]));
+		assertEquals(expectedEnergy, fine.getPower(), 1e-6);
+		assertEquals(expectedEnergy, coarse.getPower(), 1e-6);
+	}
+
+	private static RecordingPowerDatacenter runSimulation(double schedulingInterval, boolean adaptive, boolean exact)
+			throws Exception {
+		CloudSim.init(1, null, false);
+
+		List<PowerHost> hostList = new ArrayList<>();
+		List<Pe> peList = List.of(new Pe(0, new PeProvisionerSimple(MIPS)));
+		hostList.add(new PowerHost(0, new RamProvisionerSimple(2048), new BwProvisionerSimple(10000), 1000000, peList,
+				new VmSchedulerTimeShared(peList), new PowerModelLinear(MAX_POWER, 0.3)));
+		DatacenterCharacteristics characteristics = new DatacenterCharacteristics("x86", "Linux", "Xen", hostList,
+				10.0, 3.0, 0.05, 0.001, 0.0);
+		RecordingPowerDatacenter datacenter = new RecordingPowerDatacenter("Datacenter_0", characteristics, hostList,
+				schedulingInterval);
+		datacenter.setDisableMigrations(true);
+		datacenter.setExactEnergyIntegration(exact);
+		datacenter.setAdaptiveScheduling(adaptive);
+
+		DatacenterBroker broker = new DatacenterBroker("Broker_0");
+		Vm vm = new Vm(0, broker.getId(), MIPS, 1, 512, 1000, 10000, "Xen", new CloudletSchedulerDynamicWorkload(MIPS, 1));
+		Cloudlet cloudlet = new Cloudlet(0, LENGTH, 1, 300, 300,
+				new StepUtilizationModel(), new UtilizationModelNull(), new UtilizationModelNull());
+		cloudlet.setUserId(broker.getId());
+		cloudlet.setGuestId(vm.getId());
+		broker.submitGuestList(List.of(vm));
+		broker.submitCloudletList(List.of(cloudlet));
+		datacenter.cloudlet = cloudlet;
+
+		CloudSim.startSimulation();
+		return datacenter;
+	}
+}
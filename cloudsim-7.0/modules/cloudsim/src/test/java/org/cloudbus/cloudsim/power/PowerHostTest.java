@@ -59,4 +59,21 @@ public class PowerHostTest {
 		assertEquals(expectedEnergy, host.getEnergyLinearInterpolation(0.2, 0.9, TIME), 0);
 	}
 
+	@Test
+	public void testGetEnergyBetweenChangePoints() throws Exception {
+		host.addStateHistoryEntry(0, 0.2 * MIPS, 0.2 * MIPS, true);
+		host.addStateHistoryEntry(10, 0.9 * MIPS, 0.9 * MIPS, true);
+		host.addStateHistoryEntry(25, 0, 0, false);
+		host.addStateHistoryEntry(30, 0.5 * MIPS, 0.5 * MIPS, true);
+
+		double power20 = host.getPowerModel().getPower(0.2);
+		double power90 = host.getPowerModel().getPower(0.9);
+		double power50 = host.getPowerModel().getPower(0.5);
+		assertEquals(0, host.getEnergy(0, 0), 0);
+		assertEquals(power90 * 8, host.getEnergy(12, 20), 1e-9);
+		assertEquals(power20 * 5 + power90 * 15 + power50 * 5, host.getEnergy(5, 35), 1e-9);
+		// the energy is additive over consecutive time frames
+		assertEquals(host.getEnergy(0, 40), host.getEnergy(0, 10) + host.getEnergy(10, 27) + host.getEnergy(27, 40), 1e-9);
+	}
+
 }
@@ -0,0 +1,128 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.power.models;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.cloudbus.cloudsim.Pe;
+import org.cloudbus.cloudsim.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.power.PowerHost;
+import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @since CloudSim Toolkit 7.0
+ */
+public class PowerModelBatchTest {
+
+	private static final List<PowerModel> MODELS = List.of(
+			new PowerModelLinear(250, 0.7),
+			new PowerModelSquare(200, 0.3),
+			new PowerModelCubic(300, 0.5),
+			new PowerModelSqrt(150, 0.6),
+			new PowerModelSpecPowerIbmX3550XeonX5675(),
+			new PowerModelSpecPowerHpProLiantMl110G4Xeon3040(),
+			// evaluated by calling the model
+			utilization -> 100 * utilization);
+
+	@Test
+	public void testGetPowerMatchesModels() {
+		int n = 10 * MODELS.size();
+		List<PowerModel> models = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			models.add(MODELS.get(i % MODELS.size()));
+		}
+		PowerModelBatch batch = new PowerModelBatch(models);
+		assertEquals(n, batch.size());
+		assertTrue(batch.isFor(models));
+
+		Random random = new Random(0);
+		double[] utilization = new double[n];
+		double[] power = new double[n];
+		for (int round = 0; round < 100; round++) {
+			for (int i = 0; i < n; i++) {
+				// include the idle, full and SPECpower data points
+				utilization[i] = switch (random.nextInt(4)) {
+					case 0 -> 0;
+					case 1 -> random.nextInt(11) / 10.0;
+					default -> random.nextDouble();
+				};
+			}
+			batch.getPower(utilization, power);
+			for (int i = 0; i < n; i++) {
+				assertEquals(models.get(i).getPower(utilization[i]), power[i], 0);
+			}
+		}
+	}
+
+	@Test
+	public void testGetEnergyLinearInterpolation() {
+		PowerModelBatch batch = new PowerModelBatch(MODELS);
+		double[] from = { 0.2, 0, 0.5, 1, 0.35, 0.8, 0.1 };
+		double[] to = { 0.9, 0.4, 0, 0.5, 0.35, 0.25, 0.7 };
+		double[] energy = new double[MODELS.size()];
+		double time = 300;
+
+		double total = batch.getEnergyLinearInterpolation(from, to, time, energy);
+		double expectedTotal = 0;
+		for (int i = 0; i < MODELS.size(); i++) {
+			double expected = 0;
+			if (from[i] != 0) {
+				double fromPower = MODELS.get(i).getPower(from[i]);
+				expected = (fromPower + (MODELS.get(i).getPower(to[i]) - fromPower) / 2) * time;
+			}
+			assertEquals(expected, energy[i], 0);
+			expectedTotal += expected;
+		}
+		assertEquals(expectedTotal, total, 0);
+	}
+
+	@Test
+	public void testInvalidBatch() {
+		PowerModelBatch batch = new PowerModelBatch(MODELS);
+		assertFalse(batch.isFor(MODELS.subList(1, MODELS.size())));
+		assertFalse(batch.isFor(new ArrayList<>(List.of(new PowerModelLinear(250, 0.7)))));
+
+		double[] utilization = new double[MODELS.size()];
+		utilization[3] = 1.2;
+		assertThrows(IllegalArgumentException.class, () -> batch.getPower(utilization, new double[MODELS.size()]));
+	}
+
+	@Test
+	public void testBatchForHostsIsReused() {
+		List<PowerHost> hosts = new ArrayList<>();
+		for (int i = 0; i < MODELS.size(); i++) {
+			List<Pe> peList = List.of(new Pe(0, new PeProvisionerSimple(1000)));
+			hosts.add(new PowerHost(i, new RamProvisionerSimple(1024), new BwProvisionerSimple(1000), 10000,
+					peList, new VmSchedulerTimeShared(peList), MODELS.get(i)));
+		}
+
+		PowerModelBatch batch = PowerModelBatch.forHosts(null, hosts);
+		assertTrue(batch.isFor(MODELS));
+		assertSame(batch, PowerModelBatch.forHosts(batch, hosts));
+		double[] energy = batch.getEnergy();
+		batch.getEnergyLinearInterpolation(hosts, 10);
+		assertSame(energy, batch.getEnergy());
+
+		hosts.get(0).setPowerModel(new PowerModelLinear(250, 0.7));
+		assertNotSame(batch, PowerModelBatch.forHosts(batch, hosts));
+		assertNotSame(batch, PowerModelBatch.forHosts(batch, hosts.subList(1, hosts.size())));
+	}
+}
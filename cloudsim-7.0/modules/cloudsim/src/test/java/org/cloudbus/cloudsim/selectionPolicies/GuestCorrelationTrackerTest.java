@@ -0,0 +1,126 @@
+package org.cloudbus.cloudsim.selectionPolicies;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Random;
+
+import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.Host;
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.Pe;
+import org.cloudbus.cloudsim.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.core.CloudActionTags;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.PowerGuestEntity;
+import org.cloudbus.cloudsim.core.SimEntity;
+import org.cloudbus.cloudsim.core.SimEvent;
+import org.cloudbus.cloudsim.power.PowerVm;
+import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class GuestCorrelationTrackerTest {
+
+	/** Runs the steps of a test one time unit apart, so that the simulation clock advances between them. */
+	private static class Stepper extends SimEntity {
+		private final List<Runnable> steps;
+		private int next = 0;
+
+		Stepper(List<Runnable> steps) {
+			super("Stepper");
+			this.steps = steps;
+		}
+
+		@Override
+		public void startEntity() {
+			schedule(getId(), 1, CloudActionTags.BLANK);
+		}
+
+		@Override
+		public void processEvent(SimEvent ev) {
+			steps.get(next++).run();
+			if (next < steps.size()) {
+				schedule(getId(), 1, CloudActionTags.BLANK);
+			}
+		}
+
+		@Override
+		public void shutdownEntity() {
+		}
+	}
+
+	private final Random random = new Random(7);
+
+	@BeforeEach
+	public void setUp() {
+		Log.disable();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		Log.enable();
+	}
+
+	@Test
+	public void testDropsHostsLeftByTheirGuests() {
+		CloudSim.init(1, Calendar.getInstance(), false);
+		Host hostA = createHost(0);
+		Host hostB = createHost(1);
+		List<PowerVm> vms = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			vms.add(createVm(i));
+		}
+		for (int t = 0; t < 10; t++) {
+			for (PowerVm vm : vms) {
+				vm.addUtilizationHistoryValue(random.nextDouble());
+			}
+		}
+		vms.get(0).setHost(hostA);
+		vms.get(1).setHost(hostA);
+		vms.get(2).setHost(hostA);
+		vms.get(3).setHost(hostB);
+		vms.get(4).setHost(hostB);
+
+		GuestCorrelationTracker tracker = new GuestCorrelationTracker();
+		List<Integer> numTrackedHosts = new ArrayList<>();
+		new Stepper(List.of(
+				() -> {
+					tracker.getRSquared(List.<PowerGuestEntity> of(vms.get(0), vms.get(1), vms.get(2)), hostA);
+					tracker.getRSquared(List.<PowerGuestEntity> of(vms.get(3), vms.get(4)), hostB);
+					numTrackedHosts.add(tracker.getNumTrackedHosts());
+
+					// a guest of B is destroyed, and a guest of A migrates to B
+					vms.get(4).setHost(null);
+					vms.get(2).setHost(hostB);
+				},
+				() -> {
+					// B is dropped, and A is rebuilt without the guest that left it
+					tracker.getRSquared(List.<PowerGuestEntity> of(vms.get(0), vms.get(1)), hostA);
+					numTrackedHosts.add(tracker.getNumTrackedHosts());
+				},
+				() -> {
+					tracker.getRSquared(List.<PowerGuestEntity> of(vms.get(2), vms.get(3)), hostB);
+					numTrackedHosts.add(tracker.getNumTrackedHosts());
+				}));
+		CloudSim.startSimulation();
+		CloudSim.stopSimulation();
+
+		assertEquals(List.of(2, 1, 2), numTrackedHosts);
+	}
+
+	private static Host createHost(int id) {
+		List<Pe> peList = List.of(new Pe(0, new PeProvisionerSimple(1000)));
+		return new Host(id, new RamProvisionerSimple(2048), new BwProvisionerSimple(10000), 1000000, peList,
+				new VmSchedulerTimeShared(peList));
+	}
+
+	private static PowerVm createVm(int id) {
+		return new PowerVm(id, 0, 1000, 1, 128, 1000, 1000, 1, "Xen", new CloudletSchedulerTimeShared(), 300);
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @since CloudSim Toolkit 7.0
+ */
+public class AsyncAppenderTest {
+
+	@Test
+	public void testOrderAcrossBatches() {
+		List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+		List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+		try (AsyncAppender<Integer> appender = new AsyncAppender<>("test", 8, batch -> {
+			batchSizes.add(batch.size());
+			written.addAll(batch);
+		})) {
+			for (int i = 0; i < 1000; i++) {
+				appender.append(i);
+			}
+			appender.flush();
+			assertEquals(1000, written.size());
+			for (int i = 0; i < 1000; i++) {
+				assertEquals(i, written.get(i));
+			}
+			assertTrue(batchSizes.stream().allMatch(size -> size <= 8));
+		}
+	}
+
+	@Test
+	public void testBatchesWhileWriting() throws Exception {
+		CountDownLatch writing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+		AsyncAppender<String> appender = new AsyncAppender<>("test", 16, batch -> {
+			batchSizes.add(batch.size());
+			writing.countDown();
+			release.await();
+		});
+		appender.append("first");
+		writing.await();
+		// appended while the first message is written, then written at once
+		for (int i = 0; i < 10; i++) {
+			appender.append("next");
+		}
+		release.countDown();
+		appender.close();
+		assertEquals(List.of(1, 10), batchSizes);
+	}
+
+	@Test
+	public void testCloseWritesRemaining() {
+		List<String> written = Collections.synchronizedList(new ArrayList<>());
+		AsyncAppender<String> appender = new AsyncAppender<>("test", 4, written::addAll);
+		appender.append("a");
+		appender.append("b");
+		appender.close();
+		assertEquals(List.of("a", "b"), written);
+		assertThrows(IllegalStateException.class, () -> appender.append("c"));
+	}
+
+	@Test
+	public void testInvalidCapacity() {
+		assertThrows(IllegalArgumentException.class, () -> new AsyncAppender<String>("test", 0, batch -> {}));
+	}
+}
@@ -0,0 +1,83 @@
+package org.cloudbus.cloudsim.util;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.cloudbus.cloudsim.container.utils.Correlation;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CovarianceStatTest {
+    private static final int WINDOW = 30;
+
+    @Test
+    public void testSlidingWindowMatchesRefit() {
+        Random random = new Random(42);
+        int n = 4;
+        CovarianceStat stat = new CovarianceStat(n, WINDOW);
+        double[][] data = new double[n][3 * WINDOW];
+        for (int t = 0; t < data[0].length; t++) {
+            double common = random.nextDouble();
+            for (int i = 0; i < n; i++) {
+                data[i][t] = (i + 1) * common + random.nextDouble();
+            }
+            stat.offer(data[0][t], data[1][t], data[2][t], data[3][t]);
+
+            int size = Math.min(t + 1, WINDOW);
+            assertEquals(size, stat.size());
+            double[][] window = new double[n][];
+            for (int i = 0; i < n; i++) {
+                window[i] = Arrays.copyOfRange(data[i], t + 1 - size, t + 1);
+            }
+
+            assertEquals(Arrays.stream(window[2]).average().orElseThrow(), stat.getMean(2), 1e-9);
+            if (size > 1) {
+                assertEquals(Correlation.getCor(window[0], window[3]), stat.getCorrelation(0, 3), 1e-9);
+            }
+            if (size > n) {
+                double[] rSquared = stat.getRSquared();
+                for (int i = 0; i < n; i++) {
+                    assertEquals(refitRSquared(window, i), rSquared[i], 1e-9);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSubsetOfSeries() {
+        CovarianceStat stat = new CovarianceStat(3, WINDOW);
+        double[][] data = { { 1, 2, 2, 4, 3, 6 }, { 14, 23, 30, 50, 39, 67 }, { 4, 4, 7, 7, 10, 10 } };
+        for (int t = 0; t < data[0].length; t++) {
+            stat.offer(data[0][t], data[1][t], data[2][t]);
+        }
+
+        double[] rSquared = stat.getRSquared(new int[] { 2, 0 });
+        double[][] subset = { data[2], data[0] };
+        assertEquals(refitRSquared(subset, 0), rSquared[0], 1e-9);
+        assertEquals(refitRSquared(subset, 1), rSquared[1], 1e-9);
+    }
+
+    @Test
+    public void testNotEnoughSamples() {
+        CovarianceStat stat = new CovarianceStat(3, WINDOW);
+        stat.offer(1, 2, 3);
+        stat.offer(2, 5, 1);
+        assertThrows(IllegalArgumentException.class, stat::getRSquared);
+        assertThrows(IllegalArgumentException.class, () -> stat.getRSquared(new int[] { 1 }));
+        assertThrows(IllegalArgumentException.class, () -> stat.offer(1, 2));
+    }
+
+    private static double refitRSquared(double[][] data, int i) {
+        double[][] x = new double[data.length - 1][];
+        for (int j = 0, k = 0; j < data.length; j++) {
+            if (j != i) {
+                x[k++] = data[j];
+            }
+        }
+        double[][] xT = new Array2DRowRealMatrix(x).transpose().getData();
+        return MathUtil.createLinearRegression(xT, data[i]).calculateRSquared();
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @since CloudSim Toolkit 7.0
+ */
+public class ExecutionTimerTest {
+
+	@Test
+	public void testConcurrentThreads() throws Exception {
+		ExecutionTimer timer = new ExecutionTimer("test");
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		for (int t = 0; t < 4; t++) {
+			executor.execute(() -> {
+				for (int i = 0; i < 1000; i++) {
+					timer.stop(timer.start());
+				}
+			});
+		}
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+		assertEquals(4000, timer.getHistogram().getCount());
+		timer.reset();
+		assertEquals(0, timer.getHistogram().getCount());
+	}
+
+	@Test
+	public void testStopReturnsSeconds() throws Exception {
+		ExecutionTimer timer = new ExecutionTimer("sleep");
+		long start = timer.start();
+		Thread.sleep(20);
+		double time = timer.stop(start);
+		assertTrue(time >= 0.02 && time < 10, String.valueOf(time));
+		assertTrue(timer.getHistogram().getMax() >= 20_000_000);
+	}
+
+	@Test
+	public void testSerialization() throws Exception {
+		ExecutionTimer timer = new ExecutionTimer("test");
+		timer.stop(timer.start());
+		timer.stop(timer.start());
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(timer);
+		}
+		ExecutionTimer copy;
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			copy = (ExecutionTimer) in.readObject();
+		}
+		copy.stop(copy.start());
+		assertEquals("test", copy.getName());
+		assertEquals(3, copy.getHistogram().getCount());
+	}
+}
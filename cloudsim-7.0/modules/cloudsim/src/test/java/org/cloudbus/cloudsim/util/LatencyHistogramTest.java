@@ -0,0 +1,111 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @since CloudSim Toolkit 7.0
+ */
+public class LatencyHistogramTest {
+
+	@Test
+	public void testEmpty() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getMax());
+		assertEquals(0, histogram.getPercentile(99));
+		assertTrue(Double.isNaN(histogram.getMean()));
+	}
+
+	@Test
+	public void testSmallValuesAreExact() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (long value = 0; value < LatencyHistogram.SUB_BUCKETS; value++) {
+			histogram.record(value);
+		}
+		assertEquals(0, histogram.getPercentile(0));
+		assertEquals(7, histogram.getPercentile(50));
+		assertEquals(LatencyHistogram.SUB_BUCKETS - 1, histogram.getPercentile(100));
+	}
+
+	@Test
+	public void testStatisticsMatchMathUtil() {
+		Random random = new Random(42);
+		LatencyHistogram histogram = new LatencyHistogram();
+		List<Double> values = new ArrayList<>();
+		for (int i = 0; i < 10000; i++) {
+			// log-uniform from 1 microsecond to 1 second
+			long value = (long) Math.pow(10, 3 + 6 * random.nextDouble());
+			histogram.record(value);
+			values.add((double) value);
+		}
+
+		assertEquals(values.size(), histogram.getCount());
+		assertEquals(MathUtil.mean(values), histogram.getMean(), 1e-6 * MathUtil.mean(values));
+		assertEquals(MathUtil.stDev(values), histogram.getStDev(), 1e-6 * MathUtil.stDev(values));
+		assertEquals(values.stream().mapToDouble(Double::doubleValue).max().getAsDouble(), histogram.getMax(), 0);
+
+		double[] sorted = values.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+		for (double percentile : new double[] {1, 50, 90, 99, 99.9}) {
+			double exact = sorted[(int) Math.ceil(percentile / 100 * sorted.length) - 1];
+			double estimate = histogram.getPercentile(percentile);
+			assertTrue(estimate >= exact && estimate <= exact * (1 + 1.0 / LatencyHistogram.SUB_BUCKETS),
+					percentile + ": " + estimate + " vs " + exact);
+		}
+	}
+
+	@Test
+	public void testStDevOfLongCloseDurations() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		LatencyHistogram half = new LatencyHistogram();
+		long offset = 10_000_000_000_000L; // about 3 hours
+		List<Double> deviations = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			(i % 2 == 0 ? histogram : half).record(offset + i % 7);
+			deviations.add((double) (i % 7));
+		}
+		histogram.add(half);
+
+		// the squares of the durations are about 1e26, where a double is only precise to about 1e10,
+		// while the mean is precise to about 1e-3
+		assertEquals(MathUtil.stDev(deviations), histogram.getStDev(), 1e-4 * MathUtil.stDev(deviations));
+		assertEquals(offset + MathUtil.mean(deviations), histogram.getMean(), 1e-2);
+	}
+
+	@Test
+	public void testAdd() {
+		LatencyHistogram first = new LatencyHistogram();
+		LatencyHistogram second = new LatencyHistogram();
+		first.record(1000);
+		second.record(Long.MAX_VALUE);
+		first.add(second);
+		assertEquals(2, first.getCount());
+		assertEquals(1000, first.getMin());
+		assertEquals(Long.MAX_VALUE, first.getMax());
+		assertEquals(Long.MAX_VALUE, first.getPercentile(100));
+
+		first.reset();
+		assertEquals(0, first.getCount());
+		assertEquals(0, first.getMax());
+	}
+
+	@Test
+	public void testInvalidPercentile() {
+		assertThrows(IllegalArgumentException.class, () -> new LatencyHistogram().getPercentile(101));
+	}
+}
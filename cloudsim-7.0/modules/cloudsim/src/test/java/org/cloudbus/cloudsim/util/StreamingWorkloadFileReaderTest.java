@@ -0,0 +1,93 @@
+package org.cloudbus.cloudsim.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingWorkloadFileReaderTest {
+
+    private static final String TRACE = "src" + File.separator + "test" + File.separator + "LCG.swf.gz";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void readMatchesWorkloadFileReader() throws IOException {
+	List<Cloudlet> expected = new WorkloadFileReader(TRACE, 1).generateWorkload();
+	List<Cloudlet> actual = new StreamingWorkloadFileReader(TRACE, 1).generateWorkload();
+
+	assertEquals(188041, actual.size());
+	for (int i = 0; i < expected.size(); i++) {
+	    assertEquals(expected.get(i).getCloudletId(), actual.get(i).getCloudletId());
+	    assertEquals(expected.get(i).getCloudletLength(), actual.get(i).getCloudletLength());
+	    assertEquals(expected.get(i).getNumberOfPes(), actual.get(i).getNumberOfPes());
+	}
+    }
+
+    @Test
+    public void iterateInSubmitTimeOrder() throws IOException {
+	StreamingWorkloadFileReader reader = new StreamingWorkloadFileReader(TRACE, 1);
+
+	int count = 0;
+	long lastSubmitTime = -1;
+	StreamingWorkloadFileReader.CloudletIterator it = reader.iterator();
+	while (it.hasNext()) {
+	    assertTrue(it.next().getCloudletLength() > 0);
+	    assertTrue(it.getSubmitTime() >= lastSubmitTime);
+	    lastSubmitTime = it.getSubmitTime();
+	    count++;
+	}
+	assertEquals(188041, count);
+    }
+
+    @Test
+    public void parallelReadOfPlainTrace() throws IOException {
+	Path plain = tempDir.resolve("LCG.swf");
+	try (GZIPInputStream in = new GZIPInputStream(new FileInputStream(TRACE))) {
+	    Files.copy(in, plain);
+	}
+
+	List<Cloudlet> sequential = new StreamingWorkloadFileReader(plain.toString(), 1).generateWorkload();
+	StreamingWorkloadFileReader reader = new StreamingWorkloadFileReader(plain.toString(), 1);
+	reader.setParallelism(7);
+	List<Cloudlet> parallel = reader.generateWorkload();
+
+	assertEquals(188041, parallel.size());
+	for (int i = 0; i < sequential.size(); i++) {
+	    assertEquals(sequential.get(i).getCloudletId(), parallel.get(i).getCloudletId());
+	    assertEquals(sequential.get(i).getCloudletLength(), parallel.get(i).getCloudletLength());
+	}
+    }
+
+    @Test
+    public void generatedIdsAndMalformedLines() throws IOException {
+	Path trace = tempDir.resolve("small.swf");
+	Files.writeString(trace, String.join("\n",
+		"; a comment line",
+		"7 10 0 100 2 -1 -1 -1 -1 -1 -1 1 1 -1 -1 -1 -1 -1",
+		"8 20 0 1.5 2 -1 -1 -1 -1 -1 -1 1 1 -1 -1 -1 -1 -1",
+		"9 30 0 100 2",
+		"  10 40 0 0 -1 -1 -1 4 -1 -1 -1 1 1 -1 -1 -1 -1 -1"));
+
+	StreamingWorkloadFileReader reader = new StreamingWorkloadFileReader(trace.toString(), 10);
+	reader.setField(18, -1, 2, 4, 8);
+	List<Cloudlet> jobs = reader.generateWorkload();
+
+	assertEquals(2, jobs.size());
+	assertEquals(1, jobs.get(0).getCloudletId());
+	assertEquals(2, jobs.get(0).getNumberOfPes());
+	assertEquals(2, jobs.get(1).getCloudletId());
+	assertEquals(10, jobs.get(1).getCloudletLength());
+	assertEquals(4, jobs.get(1).getNumberOfPes());
+    }
+}
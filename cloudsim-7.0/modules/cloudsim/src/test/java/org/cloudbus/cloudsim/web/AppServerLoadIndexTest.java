@@ -0,0 +1,88 @@
+package org.cloudbus.cloudsim.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.cloudbus.cloudsim.EX.disk.HddCloudlet;
+import org.cloudbus.cloudsim.EX.disk.HddCloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.EX.disk.HddVm;
+import org.cloudbus.cloudsim.EX.vm.VmStatus;
+import org.junit.jupiter.api.Test;
+
+public class AppServerLoadIndexTest {
+
+    private static HddVm createVm(final double mips) {
+        HddVm vm = new HddVm("App-Srv", 1, mips, 100, 1, 512, 1000, 1000, "Xen",
+                new HddCloudletSchedulerTimeShared(), 5, new Integer[0]);
+        vm.setStatus(VmStatus.RUNNING);
+        return vm;
+    }
+
+    private static HddCloudlet submit(final HddVm vm, final long length) {
+        HddCloudlet cloudlet = new HddCloudlet(length, 0, 5, 1, false, null);
+        vm.getCloudletScheduler().cloudletSubmit(cloudlet, 0);
+        return cloudlet;
+    }
+
+    @Test
+    public void testFollowsSubmittedAndCancelledCloudlets() {
+        HddVm vm1 = createVm(1000);
+        HddVm vm2 = createVm(2000);
+        AppServerLoadIndex index = new AppServerLoadIndex(SimpleWebLoadBalancer::evaluateSuitability);
+        index.add(vm1);
+        index.add(vm2);
+
+        HddCloudlet cloudlet = submit(vm1, 100);
+        assertEquals(100, vm1.getCloudletScheduler().getExecCloudletsLength());
+        assertSame(vm2, index.leastLoaded());
+
+        // Twice the length, but twice the capacity too
+        submit(vm2, 300);
+        assertSame(vm1, index.leastLoaded());
+
+        vm1.getCloudletScheduler().cloudletCancel(cloudlet.getCloudletId());
+        assertEquals(0, vm1.getCloudletScheduler().getExecCloudletsLength());
+        assertSame(vm1, index.leastLoaded());
+    }
+
+    @Test
+    public void testEqualLoadsInRoundRobin() {
+        AppServerLoadIndex index = new AppServerLoadIndex(SimpleWebLoadBalancer::evaluateSuitability);
+        List<HddVm> vms = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            vms.add(createVm(1000));
+            index.add(vms.get(i));
+        }
+
+        for (int i = 0; i < 7; i++) {
+            HddVm vm = index.leastLoaded();
+            assertSame(vms.get(i % 3), vm);
+            index.assigned(vm);
+        }
+    }
+
+    @Test
+    public void testSkipsServersNotRunning() {
+        HddVm vm1 = createVm(1000);
+        HddVm vm2 = createVm(1000);
+        AppServerLoadIndex index = new AppServerLoadIndex(SimpleWebLoadBalancer::evaluateSuitability);
+        index.add(vm1);
+        index.add(vm2);
+        submit(vm2, 100);
+
+        vm1.setOutOfMemory(true);
+        assertSame(vm2, index.leastLoaded());
+        assertEquals(2, index.size());
+
+        vm2.setStatus(VmStatus.TERMINATED);
+        assertNull(index.leastLoaded());
+
+        index.remove(vm1);
+        index.remove(vm2);
+        assertEquals(0, index.size());
+    }
+}
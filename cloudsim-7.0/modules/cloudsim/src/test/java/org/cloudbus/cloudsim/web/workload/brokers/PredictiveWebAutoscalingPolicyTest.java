@@ -0,0 +1,183 @@
+package org.cloudbus.cloudsim.web.workload.brokers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.Serial;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.cloudbus.cloudsim.Datacenter;
+import org.cloudbus.cloudsim.DatacenterCharacteristics;
+import org.cloudbus.cloudsim.Host;
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.Pe;
+import org.cloudbus.cloudsim.Storage;
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.GuestEntity;
+import org.cloudbus.cloudsim.EX.billing.IVmBillingPolicy;
+import org.cloudbus.cloudsim.EX.delay.ConstantVmBootDelay;
+import org.cloudbus.cloudsim.EX.disk.DataItem;
+import org.cloudbus.cloudsim.EX.disk.HddCloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.EX.disk.HddDataCenter;
+import org.cloudbus.cloudsim.EX.disk.HddHost;
+import org.cloudbus.cloudsim.EX.disk.HddPe;
+import org.cloudbus.cloudsim.EX.disk.HddVm;
+import org.cloudbus.cloudsim.EX.disk.VmDiskScheduler;
+import org.cloudbus.cloudsim.EX.forecast.ILoadForecaster;
+import org.cloudbus.cloudsim.EX.vm.VmStatus;
+import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
+import org.cloudbus.cloudsim.web.CompositeGenerator;
+import org.cloudbus.cloudsim.web.IGenerator;
+import org.cloudbus.cloudsim.web.ILoadBalancer;
+import org.cloudbus.cloudsim.web.SimpleDBBalancer;
+import org.cloudbus.cloudsim.web.SimpleWebLoadBalancer;
+import org.cloudbus.cloudsim.web.StatGenerator;
+import org.cloudbus.cloudsim.web.WebCloudlet;
+import org.cloudbus.cloudsim.web.WebSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.uncommons.maths.number.ConstantGenerator;
+import org.uncommons.maths.number.NumberGenerator;
+
+public class PredictiveWebAutoscalingPolicyTest {
+
+    private static final double AUTOSCALE_PERIOD = 60;
+    private static final double DELTA = 20;
+
+    private final DataItem data = new DataItem(5);
+
+    /** Forecasts no demand after the first minute. */
+    private static class StubForecaster implements ILoadForecaster {
+        @Override
+        public void update(final double time, final double value) {
+        }
+
+        @Override
+        public double forecast(final double time) {
+            return time < AUTOSCALE_PERIOD ? 3 : 0;
+        }
+    }
+
+    /** Charges the VMs after set periods. */
+    private static class StubBillingPolicy implements IVmBillingPolicy {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final Map<Integer, Double> timesToCharge = new HashMap<>();
+
+        @Override
+        public BigDecimal bill(final List<? extends GuestEntity> vms) {
+            return BigDecimal.ZERO;
+        }
+
+        @Override
+        public BigDecimal bill(final List<? extends GuestEntity> vms, final double before) {
+            return BigDecimal.ZERO;
+        }
+
+        @Override
+        public double nexChargeTime(final Vm vm) {
+            return CloudSim.clock() + timesToCharge.get(vm.getId());
+        }
+
+        @Override
+        public BigDecimal normalisedCostPerMinute(final Vm vm) {
+            return BigDecimal.ONE;
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        Log.disable();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Log.enable();
+    }
+
+    @Test
+    public void testStopsOnlyFreeServersNearChargeTime() throws Exception {
+        CloudSim.init(1, Calendar.getInstance(), false);
+        Datacenter datacenter = createDatacenter();
+        WebBroker broker = new WebBroker("Broker", 5, 10000, -1, AUTOSCALE_PERIOD, datacenter.getId());
+        StubBillingPolicy billingPolicy = new StubBillingPolicy();
+        broker.setVMBillingPolicy(billingPolicy);
+
+        List<HddVm> appServers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            appServers.add(createVm("App-Srv", broker.getId()));
+        }
+        HddVm dbServer = createVm("Db-Srv", broker.getId());
+        ILoadBalancer balancer = new SimpleWebLoadBalancer(1, "127.0.0.1", new ArrayList<>(appServers),
+                new SimpleDBBalancer(dbServer));
+        broker.addLoadBalancer(balancer);
+        List<Vm> vms = new ArrayList<>(appServers);
+        vms.add(dbServer);
+        broker.submitGuestList(vms);
+        broker.addAutoScalingPolicy(new PredictiveWebAutoscalingPolicy(balancer.getAppId(), new StubForecaster(),
+                new ConstantVmBootDelay(0), 1, 1, 1, DELTA));
+
+        // The session runs on the first server, which is charged soon. The
+        // second server is free and charged soon. The third server is free,
+        // but charged later.
+        billingPolicy.timesToCharge.put(appServers.get(0).getId(), 5.0);
+        billingPolicy.timesToCharge.put(appServers.get(1).getId(), 10.0);
+        billingPolicy.timesToCharge.put(appServers.get(2).getId(), 50.0);
+        WebSession session = createSession(broker.getId());
+        broker.submitSessionsAtTime(List.of(session), balancer.getAppId(), 1);
+
+        // The policy is invoked at 0.01 and 60.01, while the session runs
+        CloudSim.terminateSimulation(100);
+        CloudSim.startSimulation();
+        CloudSim.stopSimulation();
+
+        assertEquals(appServers.get(0).getId(), session.getAppVmId());
+        assertEquals(List.of(appServers.get(0), appServers.get(2)), balancer.getAppServers());
+        assertEquals(VmStatus.TERMINATED, appServers.get(1).getStatus());
+        assertEquals(VmStatus.RUNNING, appServers.get(2).getStatus());
+    }
+
+    private static HddVm createVm(final String name, final int userId) {
+        return new HddVm(name, userId, 250, 200, 1, 512, 1000, 10000, "Xen", new HddCloudletSchedulerTimeShared(),
+                new Integer[0]);
+    }
+
+    private WebSession createSession(final int userId) {
+        Map<String, NumberGenerator<? extends Number>> generators = new HashMap<>();
+        generators.put(StatGenerator.CLOUDLET_LENGTH, new ConstantGenerator<>(10));
+        generators.put(StatGenerator.CLOUDLET_RAM, new ConstantGenerator<>(1));
+        generators.put(StatGenerator.CLOUDLET_IO, new ConstantGenerator<>(10));
+        generators.put(StatGenerator.CLOUDLET_MODIFIES_DATA, new ConstantGenerator<>(0));
+        IGenerator<WebCloudlet> asGenerator = new StatGenerator(generators, data);
+        IGenerator<Collection<WebCloudlet>> dbGenerator = new CompositeGenerator<>(new StatGenerator(generators,
+                data));
+        // Steps every 5 seconds until the end of the simulation
+        return new WebSession(asGenerator, dbGenerator, userId, 100, 1000);
+    }
+
+    private Datacenter createDatacenter() throws Exception {
+        List<Pe> peList = List.of(new Pe(0, new PeProvisionerSimple(1000)));
+        List<HddPe> hddList = List.of(new HddPe(new PeProvisionerSimple(1000), data));
+        List<Host> hostList = new ArrayList<>();
+        hostList.add(new HddHost(new RamProvisionerSimple(4096), new BwProvisionerSimple(10000), 1000000, peList,
+                hddList, new VmSchedulerTimeShared(peList), new VmDiskScheduler(hddList)));
+
+        DatacenterCharacteristics characteristics = new DatacenterCharacteristics("x86", "Linux", "Xen", hostList,
+                10.0, 3.0, 0.05, 0.001, 0.0);
+        return new HddDataCenter("WebDataCenter", characteristics, new VmAllocationPolicySimple(hostList),
+                new LinkedList<Storage>(), 0);
+    }
+}
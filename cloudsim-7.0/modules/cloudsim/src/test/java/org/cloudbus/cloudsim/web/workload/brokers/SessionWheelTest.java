@@ -0,0 +1,70 @@
+package org.cloudbus.cloudsim.web.workload.brokers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class SessionWheelTest {
+
+    @Test
+    public void testWakesInTimeOrder() {
+        SessionWheel wheel = new SessionWheel(5);
+        wheel.schedule(1, 7.5);
+        wheel.schedule(2, 5);
+        wheel.schedule(3, 7.5);
+        wheel.schedule(4, 9.9);
+
+        assertEquals(5, wheel.nextWakeTime());
+        assertEquals(List.of(2), wheel.pollDue(5));
+        assertEquals(7.5, wheel.nextWakeTime());
+        // Same time - in the order of scheduling
+        assertEquals(List.of(1, 3), wheel.pollDue(8));
+        assertEquals(List.of(4), wheel.pollDue(10));
+        assertEquals(0, wheel.size());
+        assertTrue(Double.isNaN(wheel.nextWakeTime()));
+    }
+
+    @Test
+    public void testDistantTimes() {
+        SessionWheel wheel = new SessionWheel(1);
+        Random random = new Random(42);
+        List<Double> times = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            // Spans all levels of the wheel, and beyond them
+            double time = Math.pow(10, random.nextDouble() * 8);
+            times.add(time);
+            wheel.schedule(i, time);
+        }
+        Collections.sort(times);
+
+        int polled = 0;
+        while (wheel.size() > 0) {
+            double next = wheel.nextWakeTime();
+            assertEquals(times.get(polled), next);
+            polled += wheel.pollDue(next).size();
+        }
+        assertEquals(times.size(), polled);
+    }
+
+    @Test
+    public void testScheduleWhileAdvancing() {
+        SessionWheel wheel = new SessionWheel(1);
+        wheel.schedule(1, 1);
+        double time = 0;
+        for (int step = 0; step < 1000; step++) {
+            time = wheel.nextWakeTime();
+            assertEquals(step + 1, time);
+            assertEquals(List.of(1), wheel.pollDue(time));
+            wheel.schedule(1, time + 1);
+        }
+        // Scheduled in the past - due right away
+        wheel.schedule(2, time - 10);
+        assertEquals(List.of(2), wheel.pollDue(time));
+    }
+}
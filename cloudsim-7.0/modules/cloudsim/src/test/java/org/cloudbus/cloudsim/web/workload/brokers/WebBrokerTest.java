@@ -0,0 +1,171 @@
+package org.cloudbus.cloudsim.web.workload.brokers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.Datacenter;
+import org.cloudbus.cloudsim.DatacenterCharacteristics;
+import org.cloudbus.cloudsim.Host;
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.Pe;
+import org.cloudbus.cloudsim.Storage;
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.EX.disk.DataItem;
+import org.cloudbus.cloudsim.EX.disk.HddCloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.EX.disk.HddDataCenter;
+import org.cloudbus.cloudsim.EX.disk.HddHost;
+import org.cloudbus.cloudsim.EX.disk.HddPe;
+import org.cloudbus.cloudsim.EX.disk.HddVm;
+import org.cloudbus.cloudsim.EX.disk.VmDiskScheduler;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.SimEvent;
+import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
+import org.cloudbus.cloudsim.web.CompositeGenerator;
+import org.cloudbus.cloudsim.web.IGenerator;
+import org.cloudbus.cloudsim.web.ILoadBalancer;
+import org.cloudbus.cloudsim.web.SimpleDBBalancer;
+import org.cloudbus.cloudsim.web.SimpleWebLoadBalancer;
+import org.cloudbus.cloudsim.web.StatGenerator;
+import org.cloudbus.cloudsim.web.WebCloudlet;
+import org.cloudbus.cloudsim.web.WebSession;
+import org.cloudbus.cloudsim.web.WebTags;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.uncommons.maths.number.ConstantGenerator;
+import org.uncommons.maths.number.NumberGenerator;
+
+public class WebBrokerTest {
+
+    private static final double STEP_PERIOD = 5;
+    private static final int NUM_SESSIONS = 30;
+    private static final int NUM_STEPS = 4;
+
+    private final DataItem data = new DataItem(5);
+
+    /** A broker, which counts the events it is woken up by. */
+    private static class CountingWebBroker extends WebBroker {
+        private int wakeEvents = 0;
+
+        CountingWebBroker(final String name, final int dataCenterId) throws Exception {
+            super(name, STEP_PERIOD, 10000, dataCenterId);
+        }
+
+        @Override
+        public void processEvent(final SimEvent ev) {
+            if (ev.getTag() == WebTags.WAKE_SESSIONS_TAG) {
+                wakeEvents++;
+            }
+            super.processEvent(ev);
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        Log.disable();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Log.enable();
+    }
+
+    @Test
+    public void testSessionStepsWokenByTheWheel() throws Exception {
+        CloudSim.init(1, Calendar.getInstance(), false);
+        Datacenter datacenter = createDatacenter();
+        CountingWebBroker broker = new CountingWebBroker("Broker", datacenter.getId());
+
+        HddVm appServerVm = new HddVm("App-Srv", broker.getId(), 250, 200, 1, 512, 1000, 10000, "Xen",
+                new HddCloudletSchedulerTimeShared(), new Integer[0]);
+        HddVm dbServerVm = new HddVm("Db-Srv", broker.getId(), 250, 200, 1, 512, 1000, 10000, "Xen",
+                new HddCloudletSchedulerTimeShared(), new Integer[0]);
+        ILoadBalancer balancer = new SimpleWebLoadBalancer(1, "127.0.0.1", List.of(appServerVm),
+                new SimpleDBBalancer(dbServerVm));
+        broker.addLoadBalancer(balancer);
+        broker.submitGuestList(List.<Vm> of(appServerVm, dbServerVm));
+
+        List<WebSession> sessions = new ArrayList<>();
+        for (int i = 0; i < NUM_SESSIONS; i++) {
+            sessions.add(createSession(broker.getId()));
+        }
+        broker.submitSessionsAtTime(sessions, balancer.getAppId(), 1);
+
+        // The sessions are over long before the broker's life ends
+        CloudSim.terminateSimulation(100);
+        CloudSim.startSimulation();
+        CloudSim.stopSimulation();
+
+        assertEquals(NUM_SESSIONS, broker.getServedSessions().size());
+        assertTrue(broker.getCanceledSessions().isEmpty());
+        for (WebSession session : sessions) {
+            assertTrue(session.isComplete());
+        }
+
+        // Each step sends a cloudlet to both servers
+        List<Cloudlet> received = broker.getCloudletReceivedList();
+        assertEquals(NUM_SESSIONS * NUM_STEPS * 2, received.size());
+
+        // The steps of a session are a step period apart, as the cloudlets of
+        // all sessions finish within a step
+        Map<Integer, List<Double>> appStartTimes = new HashMap<>();
+        for (Cloudlet cloudlet : received) {
+            if (cloudlet.getGuestId() == appServerVm.getId()) {
+                appStartTimes.computeIfAbsent(((WebCloudlet) cloudlet).getSessionId(), id -> new ArrayList<>())
+                        .add(cloudlet.getExecStartTime());
+            }
+        }
+        assertEquals(NUM_SESSIONS, appStartTimes.size());
+        for (List<Double> startTimes : appStartTimes.values()) {
+            assertEquals(NUM_STEPS, startTimes.size());
+            startTimes.sort(null);
+            for (int i = 1; i < startTimes.size(); i++) {
+                assertEquals(STEP_PERIOD, startTimes.get(i) - startTimes.get(i - 1), 0.01);
+            }
+        }
+
+        // The sessions stepping together are woken by one event, rather than
+        // one event each
+        assertTrue(broker.wakeEvents <= NUM_STEPS + 1,
+                "Woken up " + broker.wakeEvents + " times for " + NUM_STEPS + " steps");
+    }
+
+    private WebSession createSession(final int userId) {
+        NumberGenerator<Integer> modifiesDataGen = new ConstantGenerator<>(0);
+        Map<String, NumberGenerator<? extends Number>> generators = new HashMap<>();
+        generators.put(StatGenerator.CLOUDLET_LENGTH, new ConstantGenerator<>(10));
+        generators.put(StatGenerator.CLOUDLET_RAM, new ConstantGenerator<>(1));
+        generators.put(StatGenerator.CLOUDLET_IO, new ConstantGenerator<>(10));
+        generators.put(StatGenerator.CLOUDLET_MODIFIES_DATA, modifiesDataGen);
+        IGenerator<WebCloudlet> asGenerator = new StatGenerator(generators, data);
+        IGenerator<Collection<WebCloudlet>> dbGenerator = new CompositeGenerator<>(new StatGenerator(generators,
+                data));
+        return new WebSession(asGenerator, dbGenerator, userId, NUM_STEPS, 100);
+    }
+
+    private Datacenter createDatacenter() throws Exception {
+        List<Pe> peList = List.of(new Pe(0, new PeProvisionerSimple(1000)));
+        List<HddPe> hddList = List.of(new HddPe(new PeProvisionerSimple(1000), data));
+        List<Host> hostList = new ArrayList<>();
+        hostList.add(new HddHost(new RamProvisionerSimple(2048), new BwProvisionerSimple(10000), 1000000, peList,
+                hddList, new VmSchedulerTimeShared(peList), new VmDiskScheduler(hddList)));
+
+        DatacenterCharacteristics characteristics = new DatacenterCharacteristics("x86", "Linux", "Xen", hostList,
+                10.0, 3.0, 0.05, 0.001, 0.0);
+        return new HddDataCenter("WebDataCenter", characteristics, new VmAllocationPolicySimple(hostList),
+                new LinkedList<Storage>(), 0);
+    }
+}